@@ -18,6 +18,7 @@ package name.mlopatkin.andlogview.filters;
 
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
+import name.mlopatkin.andlogview.logmodel.Field;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 
 import com.google.common.collect.ImmutableSet;
@@ -46,6 +47,16 @@ public final class BufferFilter extends AbstractFilter<BufferFilter> implements
         return !allowedBuffers.contains(logRecord.getBuffer());
     }
 
+    @Override
+    public Set<Field<?>> getInspectedFields() {
+        return ImmutableSet.of(Field.BUFFER);
+    }
+
+    @Override
+    public Object getMatchKey() {
+        return new MatchKey(allowedBuffers);
+    }
+
     @Override
     protected BufferFilter copy(boolean enabled) {
         return new BufferFilter(allowedBuffers, enabled);
@@ -72,4 +83,6 @@ public final class BufferFilter extends AbstractFilter<BufferFilter> implements
     public Set<LogRecord.Buffer> getAllowedBuffers() {
         return allowedBuffers;
     }
+
+    private record MatchKey(ImmutableSet<LogRecord.Buffer> allowedBuffers) {}
 }
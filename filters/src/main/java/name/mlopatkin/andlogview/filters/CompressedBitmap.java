@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.filters;
+
+import com.google.common.base.Preconditions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The immutable compressed set of non-negative ints, in the spirit of Roaring bitmaps. The values are split into
+ * containers of 2<sup>16</sup> values by their high bits. Sparse containers store the low 16 bits of their values in a
+ * sorted array, dense containers are plain bitmaps of 8 KiB. A set of log rows that match a filter usually takes a few
+ * bits per row or less.
+ */
+final class CompressedBitmap {
+    private static final int CONTAINER_BITS = 16;
+    private static final int CONTAINER_CAPACITY = 1 << CONTAINER_BITS;
+    private static final int LOW_BITS_MASK = CONTAINER_CAPACITY - 1;
+    private static final int CONTAINER_WORDS = CONTAINER_CAPACITY / Long.SIZE;
+    // The array container with this many values takes as much memory as the bitmap container.
+    private static final int MAX_ARRAY_CARDINALITY = CONTAINER_WORDS * Long.BYTES / Character.BYTES;
+
+    static final CompressedBitmap EMPTY = new CompressedBitmap(new Object[0]);
+
+    // Each container is either char[] (sorted low bits of values), long[] (bitmap) or null if it has no values.
+    private final @Nullable Object[] containers;
+
+    private CompressedBitmap(@Nullable Object[] containers) {
+        this.containers = containers;
+    }
+
+    /**
+     * Creates the bitmap that contains all values in {@code [0, size)}.
+     *
+     * @param size the number of values
+     * @return the new bitmap
+     */
+    static CompressedBitmap range(int size) {
+        var containers = new Object[containerCount(size)];
+        for (int i = 0; i < containers.length; ++i) {
+            var words = new long[CONTAINER_WORDS];
+            int valuesInContainer = Math.min(CONTAINER_CAPACITY, size - (i << CONTAINER_BITS));
+            Arrays.fill(words, 0, valuesInContainer / Long.SIZE, -1L);
+            if (valuesInContainer % Long.SIZE != 0) {
+                words[valuesInContainer / Long.SIZE] = (1L << valuesInContainer) - 1;
+            }
+            containers[i] = compact(words);
+        }
+        return new CompressedBitmap(containers);
+    }
+
+    boolean contains(int value) {
+        int index = value >>> CONTAINER_BITS;
+        if (index >= containers.length) {
+            return false;
+        }
+        var container = containers[index];
+        int low = value & LOW_BITS_MASK;
+        if (container instanceof char[] values) {
+            return Arrays.binarySearch(values, (char) low) >= 0;
+        } else if (container instanceof long[] words) {
+            return (words[low / Long.SIZE] & (1L << low)) != 0;
+        }
+        return false;
+    }
+
+    int cardinality() {
+        int result = 0;
+        for (var container : containers) {
+            result += cardinality(container);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the approximate amount of memory used by this bitmap.
+     *
+     * @return the size in bytes
+     */
+    long getSizeInBytes() {
+        long result = 16 + (long) containers.length * 4;
+        for (var container : containers) {
+            if (container instanceof char[] values) {
+                result += 16 + (long) values.length * Character.BYTES;
+            } else if (container instanceof long[] words) {
+                result += 16 + (long) words.length * Long.BYTES;
+            }
+        }
+        return result;
+    }
+
+    CompressedBitmap or(CompressedBitmap other) {
+        var result = new Object[Math.max(containers.length, other.containers.length)];
+        for (int i = 0; i < result.length; ++i) {
+            var mine = container(i);
+            var theirs = other.container(i);
+            if (mine == null || theirs == null) {
+                result[i] = mine != null ? mine : theirs;
+            } else {
+                var words = toWords(mine);
+                var otherWords = toWords(theirs);
+                for (int w = 0; w < CONTAINER_WORDS; ++w) {
+                    words[w] |= otherWords[w];
+                }
+                result[i] = compact(words);
+            }
+        }
+        return new CompressedBitmap(result);
+    }
+
+    CompressedBitmap andNot(CompressedBitmap other) {
+        var result = new Object[containers.length];
+        for (int i = 0; i < result.length; ++i) {
+            var mine = container(i);
+            var theirs = other.container(i);
+            if (mine == null || theirs == null) {
+                result[i] = mine;
+            } else {
+                var words = toWords(mine);
+                var otherWords = toWords(theirs);
+                for (int w = 0; w < CONTAINER_WORDS; ++w) {
+                    words[w] &= ~otherWords[w];
+                }
+                result[i] = compact(words);
+            }
+        }
+        return new CompressedBitmap(result);
+    }
+
+    /**
+     * Returns all values of this bitmap in ascending order.
+     *
+     * @return the array of values
+     */
+    int[] toArray() {
+        var result = new int[cardinality()];
+        int size = 0;
+        for (int i = 0; i < containers.length; ++i) {
+            int base = i << CONTAINER_BITS;
+            var container = containers[i];
+            if (container instanceof char[] values) {
+                for (char low : values) {
+                    result[size++] = base | low;
+                }
+            } else if (container instanceof long[] words) {
+                for (int w = 0; w < CONTAINER_WORDS; ++w) {
+                    long word = words[w];
+                    while (word != 0) {
+                        result[size++] = base | (w * Long.SIZE + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private @Nullable Object container(int index) {
+        return index < containers.length ? containers[index] : null;
+    }
+
+    private static int containerCount(int size) {
+        return (size + CONTAINER_CAPACITY - 1) >>> CONTAINER_BITS;
+    }
+
+    private static int cardinality(@Nullable Object container) {
+        if (container instanceof char[] values) {
+            return values.length;
+        } else if (container instanceof long[] words) {
+            int result = 0;
+            for (long word : words) {
+                result += Long.bitCount(word);
+            }
+            return result;
+        }
+        return 0;
+    }
+
+    /** Returns the bitmap of the container values as a new array. */
+    private static long[] toWords(Object container) {
+        if (container instanceof long[] words) {
+            return words.clone();
+        }
+        var words = new long[CONTAINER_WORDS];
+        for (char low : (char[]) container) {
+            words[low / Long.SIZE] |= 1L << low;
+        }
+        return words;
+    }
+
+    /** Picks the smallest representation of the container. */
+    private static @Nullable Object compact(long[] words) {
+        int cardinality = cardinality(words);
+        if (cardinality == 0) {
+            return null;
+        }
+        if (cardinality > MAX_ARRAY_CARDINALITY) {
+            return words;
+        }
+        var values = new char[cardinality];
+        int size = 0;
+        for (int w = 0; w < CONTAINER_WORDS; ++w) {
+            long word = words[w];
+            while (word != 0) {
+                values[size++] = (char) (w * Long.SIZE + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Builds the bitmap from values added in ascending order.
+     */
+    static final class Builder {
+        private final List<@Nullable Object> containers = new ArrayList<>();
+        // The values of the last container, which is still being filled.
+        private char[] current = new char[16];
+        private int currentSize;
+        private int lastValue = -1;
+
+        Builder() {}
+
+        /**
+         * Creates the builder that starts with all values of the {@code prefix} below {@code limit}.
+         *
+         * @param prefix the bitmap to take the values from
+         * @param limit the values of the prefix at or above the limit are not included
+         */
+        Builder(CompressedBitmap prefix, int limit) {
+            int fullContainers = Math.min(limit >>> CONTAINER_BITS, prefix.containers.length);
+            for (int i = 0; i < fullContainers; ++i) {
+                containers.add(prefix.containers[i]);
+            }
+            lastValue = (fullContainers << CONTAINER_BITS) - 1;
+            var partial = prefix.container(fullContainers);
+            if (partial != null) {
+                int base = fullContainers << CONTAINER_BITS;
+                for (int value : new CompressedBitmap(new Object[] {partial}).toArray()) {
+                    if (base + value >= limit) {
+                        break;
+                    }
+                    add(base + value);
+                }
+            }
+        }
+
+        /**
+         * Adds the value. It must be greater than all previously added values.
+         *
+         * @param value the value to add
+         * @return this builder
+         */
+        Builder add(int value) {
+            Preconditions.checkArgument(value > lastValue, "Values must be added in ascending order");
+            int index = value >>> CONTAINER_BITS;
+            if (index != containers.size()) {
+                flush();
+                while (containers.size() < index) {
+                    containers.add(null);
+                }
+            }
+            if (currentSize == current.length) {
+                current = Arrays.copyOf(current, Math.min(CONTAINER_CAPACITY, currentSize * 2));
+            }
+            current[currentSize++] = (char) (value & LOW_BITS_MASK);
+            lastValue = value;
+            return this;
+        }
+
+        CompressedBitmap build() {
+            flush();
+            return new CompressedBitmap(containers.toArray());
+        }
+
+        private void flush() {
+            if (currentSize == 0) {
+                return;
+            }
+            if (currentSize > MAX_ARRAY_CARDINALITY) {
+                containers.add(toWords(Arrays.copyOf(current, currentSize)));
+            } else {
+                containers.add(Arrays.copyOf(current, currentSize));
+            }
+            currentSize = 0;
+        }
+    }
+}
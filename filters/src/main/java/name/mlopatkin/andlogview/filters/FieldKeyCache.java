@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.filters;
+
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches the outcome of evaluating a set of filters by the values of the few "cheap" record fields: tag, pid,
+ * priority, app name and buffer. This is only possible if none of the filters looks at other fields, like the message.
+ * Real logs have a few thousands of distinct combinations of these fields at most, so almost all lookups hit.
+ * <p>
+ * The cache is bound to the set of filters it was created for and must be discarded when the set changes. The cache is
+ * thread-safe.
+ *
+ * @param <V> the type of the cached value
+ */
+final class FieldKeyCache<V> {
+    private static final ImmutableSet<Field<?>> KEY_FIELDS =
+            ImmutableSet.of(Field.TAG, Field.PID, Field.PRIORITY, Field.APP_NAME, Field.BUFFER);
+
+    // The cache stops growing at this size. Records with new keys are still evaluated, but their results are not
+    // stored.
+    private static final int MAX_SIZE = 1 << 16;
+
+    private final boolean useTag;
+    private final boolean usePid;
+    private final boolean usePriority;
+    private final boolean useAppName;
+    private final boolean useBuffer;
+    private final ConcurrentHashMap<Key, V> cache = new ConcurrentHashMap<>();
+
+    private FieldKeyCache(Set<Field<?>> inspectedFields) {
+        useTag = inspectedFields.contains(Field.TAG);
+        usePid = inspectedFields.contains(Field.PID);
+        usePriority = inspectedFields.contains(Field.PRIORITY);
+        useAppName = inspectedFields.contains(Field.APP_NAME);
+        useBuffer = inspectedFields.contains(Field.BUFFER);
+    }
+
+    /**
+     * Creates the cache for the given filters if they can be cached.
+     *
+     * @param filters the filters which outcome is cached
+     * @param <V> the type of the cached value
+     * @return the new cache or null if some filter inspects fields outside the cache key or there is nothing to cache
+     */
+    public static <V> @Nullable FieldKeyCache<V> create(Collection<? extends PredicateFilter> filters) {
+        var inspectedFields = new HashSet<Field<?>>();
+        for (var filter : filters) {
+            inspectedFields.addAll(filter.getInspectedFields());
+        }
+        if (filters.isEmpty() || !KEY_FIELDS.containsAll(inspectedFields)) {
+            return null;
+        }
+        return new FieldKeyCache<>(inspectedFields);
+    }
+
+    /**
+     * Returns the cached value for the record or computes it if it isn't cached yet.
+     *
+     * @param record the record
+     * @param evaluator the function to compute the value, must only depend on the cache key fields
+     * @return the value
+     */
+    public V get(LogRecord record, Function<? super LogRecord, ? extends V> evaluator) {
+        var key = new Key(
+                useTag ? record.getTag() : "",
+                usePid ? record.getPid() : LogRecord.NO_ID,
+                usePriority ? record.getPriority() : null,
+                useAppName ? record.getAppName() : "",
+                useBuffer ? record.getBuffer() : null);
+        var result = cache.get(key);
+        if (result == null) {
+            result = evaluator.apply(record);
+            if (cache.size() < MAX_SIZE) {
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private record Key(String tag, int pid, LogRecord.@Nullable Priority priority, String appName,
+            LogRecord.@Nullable Buffer buffer) {}
+}
@@ -15,20 +15,21 @@
  */
 package name.mlopatkin.andlogview.filters;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.utils.events.Observable;
 import name.mlopatkin.andlogview.utils.events.ScopedObserver;
 import name.mlopatkin.andlogview.utils.events.Subject;
 
-import com.google.common.collect.MultimapBuilder;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.SetMultimap;
+import com.google.common.collect.ImmutableList;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
 
 /**
  * Manages a list of filters and composes them based on their type. At first, we hide anything that matches any of the
@@ -36,6 +37,8 @@ import java.util.stream.Stream;
  * FilteringMode#SHOW} (if any).
  * <p/>
  * The order in which filters are added to/removed from FilterChain doesn't matter.
+ * <p/>
+ * Chains that share filters can be evaluated together if they belong to the same {@link FilterChainGroup}.
  */
 public class FilterChain implements AutoCloseable {
     /**
@@ -49,16 +52,25 @@ public class FilterChain implements AutoCloseable {
         void onFiltersChanged();
     }
 
-    private final SetMultimap<FilteringMode, PredicateFilter> filters;
+    private final FilterModel model;
+    private final FilterChainGroup group;
     private final ScopedObserver subscription;
     private final Subject<Observer> observers = new Subject<>();
 
     public FilterChain(FilterModel model) {
-        filters = fetchFilters(model).collect(Multimaps.toMultimap(
-                Filter::getMode,
-                Function.identity(),
-                () -> MultimapBuilder.enumKeys(FilteringMode.class).hashSetValues().build()
-        ));
+        this(model, new FilterChainGroup());
+    }
+
+    /**
+     * Creates the chain that is evaluated together with other chains of the group.
+     *
+     * @param model the model to take filters from
+     * @param group the group of chains to join
+     */
+    public FilterChain(FilterModel model, FilterChainGroup group) {
+        this.model = model;
+        this.group = group;
+        group.add(this);
 
         subscription =
                 model.asObservable().addScopedObserver(new FiltersChangeObserver(
@@ -69,33 +81,20 @@ public class FilterChain implements AutoCloseable {
     }
 
     private void onFiltersChanged(FilterModel model) {
-        filters.clear();
-        fetchFilters(model).forEach(filter -> filters.put(filter.getMode(), filter));
+        group.onChainChanged(this);
 
         for (var observer : observers) {
             observer.onFiltersChanged();
         }
     }
 
-    private boolean include(FilteringMode mode, LogRecord record) {
-        var filtersForMode = filters.get(mode);
-        if (filtersForMode.isEmpty()) {
-            return mode.getDefaultResult();
-        }
-        for (var filter : filtersForMode) {
-            if (filter.test(record)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static Stream<PredicateFilter> fetchFilters(FilterModel model) {
+    ImmutableList<PredicateFilter> fetchFilters() {
         return model.getFilters()
                 .stream()
                 .filter(Filter::isEnabled)
                 .map(FilterChain::transformFilter)
-                .filter(Objects::nonNull);
+                .filter(Objects::nonNull)
+                .collect(toImmutableList());
     }
 
     private static @Nullable PredicateFilter transformFilter(Filter filter) {
@@ -107,7 +106,49 @@ public class FilterChain implements AutoCloseable {
     }
 
     public boolean shouldShow(LogRecord record) {
-        return !include(FilteringMode.HIDE, record) && include(FilteringMode.SHOW, record);
+        var plan = group.getPlan();
+        return plan.test(plan.indexOf(this), record);
+    }
+
+    /**
+     * Returns the predicate that is equivalent to {@link #shouldShow(LogRecord)} with the current set of filters. The
+     * predicate isn't affected by the subsequent changes of this chain, so it can be evaluated on any thread.
+     *
+     * @return the snapshot of this chain as a predicate
+     */
+    public Predicate<LogRecord> snapshot() {
+        var plan = group.getPlan();
+        int index = plan.indexOf(this);
+        return record -> plan.test(index, record);
+    }
+
+    /**
+     * Returns the function that explains why the record is hidden by this chain with the current set of filters. The
+     * function returns the {@link FilteringMode#HIDE} filters that match the record. If there are none, but the record
+     * still doesn't pass the chain, then the function returns all {@link FilteringMode#SHOW} filters, because none of
+     * them matches the record. The function returns the empty list if the record passes the chain. Like
+     * {@link #snapshot()}, the function isn't affected by the subsequent changes of this chain.
+     *
+     * @return the function that finds the filters hiding the record
+     */
+    public Function<LogRecord, List<PredicateFilter>> snapshotHidingFilters() {
+        var plan = group.getPlan();
+        int index = plan.indexOf(this);
+        return record -> plan.findHidingFilters(index, record);
+    }
+
+    /**
+     * Returns the filter of the whole snapshot of the log that is equivalent to {@link #snapshot()}. The outcome of
+     * each filter is computed for all rows at once and stored in the cache, so the following snapshots after toggling,
+     * reordering or changing the mode of filters only combine the cached results.
+     *
+     * @param matchCache the cache of the filter outcomes
+     * @return the snapshot of this chain as a filter of rows
+     */
+    public RowsFilter snapshotRowsFilter(FilterMatchCache matchCache) {
+        var plan = group.getPlan();
+        int index = plan.indexOf(this);
+        return (rows, isCancelled) -> plan.filterRows(index, rows, matchCache, isCancelled);
     }
 
     public Observable<Observer> asObservable() {
@@ -117,5 +158,6 @@ public class FilterChain implements AutoCloseable {
     @Override
     public void close() {
         subscription.close();
+        group.remove(this);
     }
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.filters;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.collect.ImmutableList;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Evaluates several {@link FilterChain}s together. The chains of the main log view and of the index windows share most
+ * of their filters, because an index window inherits all filters that precede it in the main filter model. The group
+ * collects distinct filters of all its chains and computes the verdicts of all chains for a record in a single pass,
+ * evaluating each filter at most once. The verdicts of recently evaluated records are remembered, so the chains that
+ * process the same batch of records after the first one only look them up.
+ * <p>
+ * Chains join the group when created and leave it when closed. The group must be used on the thread that changes the
+ * filter models, but {@linkplain FilterChain#snapshot() snapshots} of its chains can be evaluated on any thread.
+ */
+public final class FilterChainGroup {
+    private final FilterStatistics statistics;
+    private final List<FilterChain> chains = new ArrayList<>();
+    // Rebuilt lazily after the filters of some chain change.
+    private @Nullable Plan plan;
+
+    public FilterChainGroup() {
+        this(new FilterStatistics());
+    }
+
+    /**
+     * Creates the group that records filter evaluations in the statistics.
+     *
+     * @param statistics the statistics to update
+     */
+    public FilterChainGroup(FilterStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    void add(FilterChain chain) {
+        chains.add(chain);
+        plan = null;
+    }
+
+    void remove(FilterChain chain) {
+        chains.remove(chain);
+        plan = null;
+    }
+
+    void onChainChanged(FilterChain chain) {
+        // A change of the shared filter is reported to all chains of the group. The plan built after the first
+        // notification already accounts for the change, so the following notifications keep it.
+        var current = plan;
+        if (current != null && !current.isUpToDate(chain)) {
+            plan = null;
+        }
+    }
+
+    Plan getPlan() {
+        var current = plan;
+        if (current == null) {
+            current = plan = new Plan(chains, statistics);
+        }
+        return current;
+    }
+
+    /**
+     * The immutable evaluation plan for the current filters of all chains in the group.
+     */
+    static final class Plan {
+        // Verdicts of all chains for a record are stored as a bit mask. The chains that don't fit in are evaluated
+        // separately.
+        private static final int MAX_SHARED_CHAINS = Long.SIZE;
+        private static final int MEMO_SIZE = 1 << 16;
+
+        private final Map<FilterChain, Integer> chainIndices = new IdentityHashMap<>();
+        private final List<ImmutableList<PredicateFilter>> filtersOfChains = new ArrayList<>();
+        private final List<PredicateFilter> filters = new ArrayList<>();
+        private final List<FilterStatistics.Counter> counters = new ArrayList<>();
+        private final FilterStatistics statistics;
+        private final int[][] hideFilters;
+        private final int[][] showFilters;
+        private final MessageKeywordIndex keywordIndex;
+        private final @Nullable FieldKeyCache<Long> verdictCache;
+        // Direct-mapped cache of verdicts by record identity. Only needed if there are several chains.
+        private final @Nullable Verdicts @Nullable [] memo;
+
+        Plan(List<FilterChain> chains, FilterStatistics statistics) {
+            this.statistics = statistics;
+            hideFilters = new int[chains.size()][];
+            showFilters = new int[chains.size()][];
+            var filterIndices = new IdentityHashMap<PredicateFilter, Integer>();
+            for (int i = 0; i < chains.size(); ++i) {
+                var chain = chains.get(i);
+                var chainFilters = chain.fetchFilters();
+                chainIndices.put(chain, i);
+                filtersOfChains.add(chainFilters);
+                hideFilters[i] = chainFilters.stream()
+                        .filter(filter -> filter.getMode() == FilteringMode.HIDE)
+                        .mapToInt(filter -> filterIndices.computeIfAbsent(filter, this::addFilter))
+                        .toArray();
+                showFilters[i] = chainFilters.stream()
+                        .filter(filter -> filter.getMode() == FilteringMode.SHOW)
+                        .mapToInt(filter -> filterIndices.computeIfAbsent(filter, this::addFilter))
+                        .toArray();
+            }
+            keywordIndex = MessageKeywordIndex.create(filters);
+            verdictCache = FieldKeyCache.create(filters);
+            memo = chains.size() > 1 && verdictCache == null ? new Verdicts[MEMO_SIZE] : null;
+        }
+
+        private int addFilter(PredicateFilter filter) {
+            filters.add(filter);
+            counters.add(statistics.getCounter(filter));
+            return filters.size() - 1;
+        }
+
+        boolean isUpToDate(FilterChain chain) {
+            var index = chainIndices.get(chain);
+            if (index == null) {
+                return false;
+            }
+            var planned = filtersOfChains.get(index);
+            var actual = chain.fetchFilters();
+            if (planned.size() != actual.size()) {
+                return false;
+            }
+            for (int i = 0; i < planned.size(); ++i) {
+                if (planned.get(i) != actual.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int indexOf(FilterChain chain) {
+            return Objects.requireNonNull(chainIndices.get(chain), "The chain is not a part of the group");
+        }
+
+        boolean test(int chain, LogRecord record) {
+            if (chain >= MAX_SHARED_CHAINS) {
+                return evaluate(chain, new RecordEvaluation(record));
+            }
+            return (getVerdicts(record) & (1L << chain)) != 0;
+        }
+
+        ImmutableList<PredicateFilter> findHidingFilters(int chain, LogRecord record) {
+            var evaluation = new RecordEvaluation(record);
+            var hiding = ImmutableList.<PredicateFilter>builder();
+            for (int filter : hideFilters[chain]) {
+                if (evaluation.test(filter)) {
+                    hiding.add(filters.get(filter));
+                }
+            }
+            var result = hiding.build();
+            if (!result.isEmpty() || include(FilteringMode.SHOW, showFilters[chain], evaluation)) {
+                return result;
+            }
+            // None of the showing filters matches the record, so each one of them hides it.
+            return Arrays.stream(showFilters[chain]).mapToObj(filters::get).collect(toImmutableList());
+        }
+
+        int[] filterRows(int chain, List<LogRecord> rows, FilterMatchCache matchCache, BooleanSupplier isCancelled) {
+            var hidden = unionOfMatches(hideFilters[chain], rows, matchCache, isCancelled);
+            var shown = showFilters[chain].length > 0
+                    ? unionOfMatches(showFilters[chain], rows, matchCache, isCancelled)
+                    : CompressedBitmap.range(rows.size());
+            return shown.andNot(hidden).toArray();
+        }
+
+        private CompressedBitmap unionOfMatches(int[] filtersForMode, List<LogRecord> rows,
+                FilterMatchCache matchCache, BooleanSupplier isCancelled) {
+            var result = CompressedBitmap.EMPTY;
+            for (int filter : filtersForMode) {
+                result = result.or(matchCache.getMatches(filters.get(filter), rows, isCancelled));
+            }
+            return result;
+        }
+
+        private long getVerdicts(LogRecord record) {
+            var cache = verdictCache;
+            if (cache != null) {
+                return cache.get(record, this::evaluateAll);
+            }
+            var verdictsMemo = memo;
+            if (verdictsMemo == null) {
+                return evaluateAll(record);
+            }
+            int slot = System.identityHashCode(record) & (MEMO_SIZE - 1);
+            var cached = verdictsMemo[slot];
+            if (cached != null && cached.record() == record) {
+                return cached.verdicts();
+            }
+            long verdicts = evaluateAll(record);
+            verdictsMemo[slot] = new Verdicts(record, verdicts);
+            return verdicts;
+        }
+
+        private long evaluateAll(LogRecord record) {
+            var evaluation = new RecordEvaluation(record);
+            long verdicts = 0;
+            int sharedChains = Math.min(hideFilters.length, MAX_SHARED_CHAINS);
+            for (int chain = 0; chain < sharedChains; ++chain) {
+                if (evaluate(chain, evaluation)) {
+                    verdicts |= 1L << chain;
+                }
+            }
+            return verdicts;
+        }
+
+        private boolean evaluate(int chain, RecordEvaluation evaluation) {
+            return !include(FilteringMode.HIDE, hideFilters[chain], evaluation)
+                    && include(FilteringMode.SHOW, showFilters[chain], evaluation);
+        }
+
+        private static boolean include(FilteringMode mode, int[] filtersForMode, RecordEvaluation evaluation) {
+            if (filtersForMode.length == 0) {
+                return mode.getDefaultResult();
+            }
+            for (int filter : filtersForMode) {
+                if (evaluation.test(filter)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Evaluates filters against a single record, remembering the outcome of each filter if chains share filters.
+         */
+        private final class RecordEvaluation {
+            private static final byte UNKNOWN = 0;
+            private static final byte REJECTED = 1;
+            private static final byte ACCEPTED = 2;
+
+            private final MessageKeywordIndex.RecordMatches matches;
+            private final byte @Nullable [] outcomes;
+
+            RecordEvaluation(LogRecord record) {
+                matches = keywordIndex.forRecord(record);
+                outcomes = hideFilters.length > 1 ? new byte[filters.size()] : null;
+            }
+
+            boolean test(int filter) {
+                var knownOutcomes = outcomes;
+                if (knownOutcomes == null) {
+                    return counters.get(filter).test(matches, filters.get(filter));
+                }
+                if (knownOutcomes[filter] == UNKNOWN) {
+                    boolean accepted = counters.get(filter).test(matches, filters.get(filter));
+                    knownOutcomes[filter] = accepted ? ACCEPTED : REJECTED;
+                }
+                return knownOutcomes[filter] == ACCEPTED;
+            }
+        }
+
+        private record Verdicts(LogRecord record, long verdicts) {}
+    }
+}
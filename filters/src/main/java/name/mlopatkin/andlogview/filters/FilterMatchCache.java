@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.filters;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.base.Preconditions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Remembers the rows of the log that match each filter as {@linkplain CompressedBitmap compressed bitmaps}. When a
+ * filter is toggled, its mode is changed, or the filters are reordered, the visible rows are combined from the cached
+ * bitmaps instead of evaluating the filters again. Filters with the same conditions share the bitmap, see
+ * {@link PredicateFilter#getMatchKey()}.
+ * <p>
+ * The bitmap is computed for the snapshot of log rows. The log only grows by inserting records or is cleared entirely,
+ * so the cache finds the longest prefix of the snapshot that wasn't changed since the bitmap was computed and only
+ * evaluates the filter for the rows after it. The least recently used bitmaps are dropped when the cache exceeds its
+ * memory budget.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class FilterMatchCache {
+    // The cache remembers every this many rows to find out which part of the bitmap is still valid.
+    private static final int CHECKPOINT_INTERVAL = 4096;
+    // The number of rows evaluated by a single parallel task. Aligned to the containers of the bitmap.
+    private static final int CHUNK_SIZE = 1 << 16;
+    // The rough size of the cache entry besides its bitmap and checkpoints.
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long memoryBudget;
+    private final FilterStatistics statistics;
+    // Access-ordered, so the eldest entry is the least recently used.
+    private final LinkedHashMap<Object, Matches> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedMemory;
+
+    /**
+     * Creates the cache.
+     *
+     * @param memoryBudget the approximate amount of memory the cache can take, in bytes
+     */
+    public FilterMatchCache(long memoryBudget) {
+        this(memoryBudget, new FilterStatistics());
+    }
+
+    /**
+     * Creates the cache that records filter evaluations in the statistics.
+     *
+     * @param memoryBudget the approximate amount of memory the cache can take, in bytes
+     * @param statistics the statistics to update
+     */
+    public FilterMatchCache(long memoryBudget, FilterStatistics statistics) {
+        Preconditions.checkArgument(memoryBudget >= 0, "Negative memory budget %s", memoryBudget);
+        this.memoryBudget = memoryBudget;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the indices of the rows that match the filter, evaluating it only for the rows that aren't cached yet.
+     * Rows are evaluated in parallel, so the filter must be thread-safe.
+     *
+     * @param filter the filter
+     * @param rows the snapshot of the log rows
+     * @param isCancelled the cancellation check, called periodically while evaluating
+     * @return the bitmap of the matching row indices
+     * @throws CancellationException if {@code isCancelled} returns true while evaluating
+     */
+    CompressedBitmap getMatches(PredicateFilter filter, List<LogRecord> rows, BooleanSupplier isCancelled) {
+        var key = filter.getMatchKey();
+        Matches cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        int validRows = cached != null ? cached.getUnchangedRowCount(rows) : 0;
+        if (cached != null && validRows == rows.size() && validRows == cached.rowCount) {
+            return cached.matches;
+        }
+        var builder = cached != null
+                ? new CompressedBitmap.Builder(cached.matches, validRows)
+                : new CompressedBitmap.Builder();
+        int firstChunk = validRows / CHUNK_SIZE;
+        int chunkCount = (rows.size() + CHUNK_SIZE - 1) / CHUNK_SIZE - firstChunk;
+        var chunks = new int[Math.max(0, chunkCount)][];
+        var counter = statistics.getCounter(filter);
+        IntStream.range(0, chunks.length).parallel().forEach(chunk -> {
+            if (isCancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            int from = Math.max(validRows, (firstChunk + chunk) * CHUNK_SIZE);
+            int to = Math.min(rows.size(), (firstChunk + chunk + 1) * CHUNK_SIZE);
+            chunks[chunk] = evaluate(filter, counter, rows, from, to);
+        });
+        for (var chunk : chunks) {
+            for (int row : chunk) {
+                builder.add(row);
+            }
+        }
+        var result = new Matches(builder.build(), rows);
+        put(key, result);
+        return result.matches;
+    }
+
+    private static int[] evaluate(PredicateFilter filter, FilterStatistics.Counter counter, List<LogRecord> rows,
+            int from, int to) {
+        var result = new int[to - from];
+        int size = 0;
+        for (int i = from; i < to; ++i) {
+            if (counter.test(filter, rows.get(i))) {
+                result[size++] = i;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private synchronized void put(Object key, Matches matches) {
+        var previous = entries.put(key, matches);
+        if (previous != null) {
+            usedMemory -= previous.getSizeInBytes();
+        }
+        usedMemory += matches.getSizeInBytes();
+        var iter = entries.values().iterator();
+        while (usedMemory > memoryBudget && iter.hasNext()) {
+            usedMemory -= iter.next().getSizeInBytes();
+            iter.remove();
+        }
+    }
+
+    /**
+     * Drops all cached bitmaps.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        usedMemory = 0;
+    }
+
+    /**
+     * Returns the approximate amount of memory used by the cached bitmaps.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * The matching rows of the snapshot and the means to check whether the other snapshot starts with the same rows.
+     */
+    private static final class Matches {
+        final CompressedBitmap matches;
+        final int rowCount;
+        // Rows at 0, CHECKPOINT_INTERVAL, 2 * CHECKPOINT_INTERVAL, ...
+        private final LogRecord[] checkpoints;
+        private final @Nullable LogRecord lastRow;
+
+        Matches(CompressedBitmap matches, List<LogRecord> rows) {
+            this.matches = matches;
+            this.rowCount = rows.size();
+            this.checkpoints = new LogRecord[(rowCount + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL];
+            for (int i = 0; i < checkpoints.length; ++i) {
+                checkpoints[i] = rows.get(i * CHECKPOINT_INTERVAL);
+            }
+            this.lastRow = rowCount > 0 ? rows.get(rowCount - 1) : null;
+        }
+
+        /**
+         * Returns the number of leading rows of the snapshot that are known to be the same as the rows these matches
+         * were computed for. Records are only inserted, so if the checkpoint row is still in place, then all rows
+         * before it are in place too.
+         */
+        int getUnchangedRowCount(List<LogRecord> rows) {
+            for (int i = 0; i < checkpoints.length; ++i) {
+                int row = i * CHECKPOINT_INTERVAL;
+                if (row >= rows.size() || rows.get(row) != checkpoints[i]) {
+                    return i > 0 ? row - CHECKPOINT_INTERVAL + 1 : 0;
+                }
+            }
+            if (lastRow != null && rowCount <= rows.size() && rows.get(rowCount - 1) == lastRow) {
+                return rowCount;
+            }
+            return checkpoints.length > 0 ? (checkpoints.length - 1) * CHECKPOINT_INTERVAL + 1 : 0;
+        }
+
+        long getSizeInBytes() {
+            return ENTRY_OVERHEAD + matches.getSizeInBytes() + (long) checkpoints.length * Integer.BYTES;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.filters;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics of filter evaluations: how many records each filter was evaluated for, how many of them it
+ * matched and how much time it took. Reading the clock costs about as much as evaluating a simple filter, so only a
+ * random sample of evaluations is timed and the total time is extrapolated from it.
+ * <p>
+ * Evaluations that are avoided by caching are not counted. The statistics are collected per
+ * {@linkplain PredicateFilter#getMatchKey() match key}, so they survive toggling the filter and changing its mode.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class FilterStatistics {
+    // One of this many evaluations is timed on average.
+    private static final int SAMPLING_INTERVAL = 64;
+
+    private final ConcurrentHashMap<Object, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * The statistics of a single filter.
+     *
+     * @param evaluations the number of records the filter was evaluated for
+     * @param matches the number of records the filter matched
+     * @param estimatedNanos the estimated total time of evaluations, in nanoseconds
+     */
+    public record Stats(long evaluations, long matches, long estimatedNanos) {
+        public static final Stats EMPTY = new Stats(0, 0, 0);
+    }
+
+    /**
+     * Returns the statistics collected so far for the filter.
+     *
+     * @param filter the filter
+     * @return the statistics, empty if the filter was never evaluated
+     */
+    public Stats getStats(PredicateFilter filter) {
+        var counter = counters.get(filter.getMatchKey());
+        return counter != null ? counter.getStats() : Stats.EMPTY;
+    }
+
+    Counter getCounter(PredicateFilter filter) {
+        return counters.computeIfAbsent(filter.getMatchKey(), k -> new Counter());
+    }
+
+    /**
+     * Evaluates the filter and records the outcome. Resolve the counter once per batch of records, the lookup by the
+     * match key may be costly.
+     */
+    static final class Counter {
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder sampledEvaluations = new LongAdder();
+        private final LongAdder sampledNanos = new LongAdder();
+
+        boolean test(PredicateFilter filter, LogRecord record) {
+            if (shouldSample()) {
+                long start = System.nanoTime();
+                boolean result = filter.test(record);
+                return addSample(result, System.nanoTime() - start);
+            }
+            return add(filter.test(record));
+        }
+
+        boolean test(MessageKeywordIndex.RecordMatches recordMatches, PredicateFilter filter) {
+            if (shouldSample()) {
+                long start = System.nanoTime();
+                boolean result = recordMatches.test(filter);
+                return addSample(result, System.nanoTime() - start);
+            }
+            return add(recordMatches.test(filter));
+        }
+
+        private static boolean shouldSample() {
+            return ThreadLocalRandom.current().nextInt(SAMPLING_INTERVAL) == 0;
+        }
+
+        private boolean add(boolean result) {
+            evaluations.increment();
+            if (result) {
+                matches.increment();
+            }
+            return result;
+        }
+
+        private boolean addSample(boolean result, long nanos) {
+            sampledEvaluations.increment();
+            sampledNanos.add(nanos);
+            return add(result);
+        }
+
+        Stats getStats() {
+            long sampled = sampledEvaluations.sum();
+            long total = evaluations.sum();
+            long estimatedNanos = sampled > 0 ? (long) ((double) sampledNanos.sum() / sampled * total) : 0;
+            return new Stats(total, matches.sum(), estimatedNanos);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.filters;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Finds all occurrences of multiple keywords in a text with a single pass, ignoring the case of ASCII letters. This is
+ * the Aho-Corasick automaton: a trie of keywords where each state also has a link to the longest proper suffix of it
+ * that is also in the trie. Scanning takes time proportional to the length of the text, regardless of the number of
+ * keywords.
+ * <p>
+ * The matcher is immutable and thread-safe.
+ */
+final class KeywordMatcher {
+    private static final int ROOT = 0;
+    private static final int NO_STATE = -1;
+
+    // Transitions of the trie. Labels of the state are sorted to allow binary search.
+    private final char[][] labels;
+    private final int[][] targets;
+    // The state of the longest proper suffix.
+    private final int[] fail;
+    // Keywords that end in the state, including the ones that end in its suffixes.
+    private final int[][] outputs;
+
+    /**
+     * Creates the matcher.
+     *
+     * @param keywords the non-empty keywords, the index of the keyword in the list is its id
+     */
+    KeywordMatcher(List<String> keywords) {
+        var trie = new ArrayList<TreeMap<Character, Integer>>();
+        var keywordsOfState = new ArrayList<List<Integer>>();
+        trie.add(new TreeMap<>());
+        keywordsOfState.add(new ArrayList<>());
+        for (int id = 0; id < keywords.size(); ++id) {
+            var keyword = keywords.get(id);
+            Preconditions.checkArgument(!keyword.isEmpty(), "Keyword cannot be empty");
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); ++i) {
+                var transitions = trie.get(state);
+                var next = transitions.get(Ascii.toLowerCase(keyword.charAt(i)));
+                if (next == null) {
+                    next = trie.size();
+                    transitions.put(Ascii.toLowerCase(keyword.charAt(i)), next);
+                    trie.add(new TreeMap<>());
+                    keywordsOfState.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            keywordsOfState.get(state).add(id);
+        }
+
+        int stateCount = trie.size();
+        labels = new char[stateCount][];
+        targets = new int[stateCount][];
+        fail = new int[stateCount];
+        outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; ++state) {
+            var transitions = trie.get(state);
+            labels[state] = new char[transitions.size()];
+            targets[state] = new int[transitions.size()];
+            int i = 0;
+            for (var transition : transitions.entrySet()) {
+                labels[state][i] = transition.getKey();
+                targets[state][i] = transition.getValue();
+                ++i;
+            }
+        }
+
+        // Suffix links are computed in the breadth-first order, so the links of shorter states are ready when needed.
+        outputs[ROOT] = new int[0];
+        var queue = new ArrayDeque<Integer>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            var stateOutputs = new ArrayList<>(keywordsOfState.get(state));
+            for (int output : outputs[fail[state]]) {
+                stateOutputs.add(output);
+            }
+            outputs[state] = stateOutputs.stream().mapToInt(Integer::intValue).toArray();
+            for (int i = 0; i < labels[state].length; ++i) {
+                int child = targets[state][i];
+                fail[child] = next(fail[state], labels[state][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Marks ids of all keywords that occur in the text.
+     *
+     * @param text the text to scan
+     * @param found the set where ids of the found keywords are added
+     */
+    public void findAll(CharSequence text, BitSet found) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); ++i) {
+            state = next(state, Ascii.toLowerCase(text.charAt(i)));
+            for (int output : outputs[state]) {
+                found.set(output);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        int next;
+        while ((next = transition(state, c)) == NO_STATE) {
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+        return next;
+    }
+
+    private int transition(int state, char c) {
+        var stateLabels = labels[state];
+        // Most states have a single transition.
+        if (stateLabels.length == 1) {
+            return stateLabels[0] == c ? targets[state][0] : NO_STATE;
+        }
+        int index = Arrays.binarySearch(stateLabels, c);
+        return index >= 0 ? targets[state][index] : NO_STATE;
+    }
+}
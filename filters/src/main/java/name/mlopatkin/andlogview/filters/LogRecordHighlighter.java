@@ -20,15 +20,14 @@ import name.mlopatkin.andlogview.utils.events.Observable;
 import name.mlopatkin.andlogview.utils.events.ScopedObserver;
 import name.mlopatkin.andlogview.utils.events.Subject;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 
 import org.jspecify.annotations.Nullable;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class LogRecordHighlighter implements AutoCloseable {
@@ -43,15 +42,26 @@ public class LogRecordHighlighter implements AutoCloseable {
         void onFiltersChanged();
     }
 
-    private final List<ColoringFilter> filters;
-    private final List<ColoringFilter> reversedView;
+    private final FilterStatistics statistics;
     private final ScopedObserver subscription;
+    // Replaced each time the filters change.
+    private Colorer colorer;
 
     private final Subject<Observer> observers = new Subject<>();
 
     public LogRecordHighlighter(FilterModel model) {
-        filters = fetchFilters(model).collect(Collectors.toCollection(ArrayList::new));
-        reversedView = Lists.reverse(filters);
+        this(model, new FilterStatistics());
+    }
+
+    /**
+     * Creates the highlighter that records filter evaluations in the statistics.
+     *
+     * @param model the model to take filters from
+     * @param statistics the statistics to update
+     */
+    public LogRecordHighlighter(FilterModel model, FilterStatistics statistics) {
+        this.statistics = statistics;
+        colorer = new Colorer(fetchFilters(model).collect(ImmutableList.toImmutableList()), statistics);
 
         subscription = model.asObservable()
                 .addScopedObserver(new FiltersChangeObserver(
@@ -69,8 +79,7 @@ public class LogRecordHighlighter implements AutoCloseable {
     }
 
     private void onFiltersChanged(FilterModel model) {
-        filters.clear();
-        fetchFilters(model).forEach(filters::add);
+        colorer = new Colorer(fetchFilters(model).collect(ImmutableList.toImmutableList()), statistics);
 
         for (var observer : observers) {
             observer.onFiltersChanged();
@@ -84,12 +93,17 @@ public class LogRecordHighlighter implements AutoCloseable {
     }
 
     public @Nullable Color getColor(LogRecord record) {
-        for (var filter : reversedView) {
-            if (filter.isEnabled() && filter.test(record)) {
-                return filter.getHighlightColor();
-            }
-        }
-        return null;
+        return colorer.getColor(record);
+    }
+
+    /**
+     * Returns the function equivalent to {@link #getColor(LogRecord)} with the current set of filters. The function
+     * doesn't follow subsequent changes of the filters and can be evaluated on any thread.
+     *
+     * @return the snapshot of this highlighter
+     */
+    public Function<LogRecord, @Nullable Color> snapshot() {
+        return colorer::getColor;
     }
 
     public Observable<Observer> asObservable() {
@@ -100,4 +114,42 @@ public class LogRecordHighlighter implements AutoCloseable {
     public void close() {
         subscription.close();
     }
+
+    /**
+     * Computes colors with the fixed set of filters. Thread-safe.
+     */
+    private static final class Colorer {
+        private final ImmutableList<ColoringFilter> filters;
+        // The counters of the filters at the same positions.
+        private final ImmutableList<FilterStatistics.Counter> counters;
+        private final @Nullable FieldKeyCache<Optional<Color>> colorCache;
+        private final MessageKeywordIndex keywordIndex;
+
+        Colorer(ImmutableList<ColoringFilter> filters, FilterStatistics statistics) {
+            this.filters = filters;
+            this.counters = filters.stream().map(statistics::getCounter).collect(ImmutableList.toImmutableList());
+            this.colorCache = FieldKeyCache.create(filters);
+            this.keywordIndex = MessageKeywordIndex.create(filters);
+        }
+
+        public @Nullable Color getColor(LogRecord record) {
+            var cache = colorCache;
+            if (cache != null) {
+                return cache.get(record, r -> Optional.ofNullable(computeColor(r))).orElse(null);
+            }
+            return computeColor(record);
+        }
+
+        private @Nullable Color computeColor(LogRecord record) {
+            var matches = keywordIndex.forRecord(record);
+            // The last matching filter wins.
+            for (int i = filters.size() - 1; i >= 0; --i) {
+                var filter = filters.get(i);
+                if (filter.isEnabled() && counters.get(i).test(matches, filter)) {
+                    return filter.getHighlightColor();
+                }
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.filters;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.base.Ascii;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Collects {@linkplain PredicateFilter#getMessageKeyword() message keywords} of a set of filters into a single
+ * {@link KeywordMatcher}. The message of the record is scanned once to find keywords of all filters, and filters
+ * which keywords are absent are not evaluated at all.
+ * <p>
+ * The index is bound to the set of filters it was created for and must be discarded when the set changes. The index is
+ * thread-safe.
+ */
+final class MessageKeywordIndex {
+    private static final MessageKeywordIndex EMPTY = new MessageKeywordIndex(new IdentityHashMap<>(), null);
+
+    private final Map<PredicateFilter, Integer> keywordIds;
+    private final @Nullable KeywordMatcher matcher;
+
+    private MessageKeywordIndex(Map<PredicateFilter, Integer> keywordIds, @Nullable KeywordMatcher matcher) {
+        this.keywordIds = keywordIds;
+        this.matcher = matcher;
+    }
+
+    /**
+     * Creates the index for the given filters.
+     *
+     * @param filters the filters
+     * @return the index
+     */
+    public static MessageKeywordIndex create(Collection<? extends PredicateFilter> filters) {
+        var idsOfKeywords = new HashMap<String, Integer>();
+        var keywordIds = new IdentityHashMap<PredicateFilter, Integer>();
+        for (var filter : filters) {
+            var keyword = filter.getMessageKeyword();
+            if (keyword != null) {
+                var id = idsOfKeywords.computeIfAbsent(Ascii.toLowerCase(keyword), k -> idsOfKeywords.size());
+                keywordIds.put(filter, id);
+            }
+        }
+        if (idsOfKeywords.size() < 2) {
+            // The filter looks for its only keyword as fast as the automaton does.
+            return EMPTY;
+        }
+        var keywords = new ArrayList<String>(idsOfKeywords.size());
+        idsOfKeywords.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> keywords.add(entry.getKey()));
+        return new MessageKeywordIndex(keywordIds, new KeywordMatcher(keywords));
+    }
+
+    /**
+     * Starts evaluation of filters for the record.
+     *
+     * @param record the record
+     * @return the evaluator of the filters for this record
+     */
+    public RecordMatches forRecord(LogRecord record) {
+        return new RecordMatches(record);
+    }
+
+    /**
+     * Evaluates filters of the index against a single record. The message is scanned for keywords when the first
+     * filter with a keyword is evaluated. Not thread-safe.
+     */
+    final class RecordMatches {
+        private final LogRecord record;
+        private @Nullable BitSet foundKeywords;
+
+        private RecordMatches(LogRecord record) {
+            this.record = record;
+        }
+
+        /**
+         * Tests the record with the filter.
+         *
+         * @param filter the filter, must be a part of the index
+         * @return the outcome of the filter
+         */
+        public boolean test(PredicateFilter filter) {
+            var keywordId = keywordIds.get(filter);
+            var keywordMatcher = matcher;
+            if (keywordMatcher == null || keywordId == null) {
+                return filter.test(record);
+            }
+            var found = foundKeywords;
+            if (found == null) {
+                found = foundKeywords = new BitSet(keywordIds.size());
+                keywordMatcher.findAll(record.getMessage(), found);
+            }
+            return found.get(keywordId) && filter.testWithoutKeyword(record);
+        }
+    }
+}
@@ -16,8 +16,12 @@
 
 package name.mlopatkin.andlogview.filters;
 
+import name.mlopatkin.andlogview.logmodel.Field;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 
+import org.jspecify.annotations.Nullable;
+
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -29,4 +33,46 @@ public interface PredicateFilter extends Filter, Predicate<LogRecord> {
 
     @Override
     PredicateFilter disabled();
+
+    /**
+     * Returns the fields of the record this filter looks at. The outcome of the filter must only depend on the values
+     * of these fields. The filters may use this to cache the outcome.
+     *
+     * @return the set of fields this filter inspects, all fields by default
+     */
+    default Set<Field<?>> getInspectedFields() {
+        return Field.values();
+    }
+
+    /**
+     * Returns the plain text that the message of the record must contain, ignoring the case of ASCII letters, for this
+     * filter to match. The filter chain may look for keywords of many filters with a single pass over the message.
+     *
+     * @return the keyword or null if this filter has no such condition
+     */
+    default @Nullable String getMessageKeyword() {
+        return null;
+    }
+
+    /**
+     * Tests the record which message is already known to contain the {@linkplain #getMessageKeyword() keyword}. This
+     * method only has to check the remaining conditions of the filter.
+     *
+     * @param record the record
+     * @return the outcome of the filter
+     */
+    default boolean testWithoutKeyword(LogRecord record) {
+        return test(record);
+    }
+
+    /**
+     * Returns the key that identifies the set of records this filter matches, regardless of its mode and enabled state.
+     * Filters with equal keys must match the same records. The {@link FilterMatchCache} shares the match results
+     * between such filters, e.g. between the disabled and the enabled version of the same filter.
+     *
+     * @return the key, the filter itself by default
+     */
+    default Object getMatchKey() {
+        return this;
+    }
 }
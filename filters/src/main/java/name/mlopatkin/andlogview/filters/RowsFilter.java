@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.filters;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Filters the whole snapshot of the log at once.
+ */
+@FunctionalInterface
+public interface RowsFilter {
+    /**
+     * Returns the indices of the rows that pass the filter.
+     *
+     * @param rows the snapshot of the log rows
+     * @param isCancelled the cancellation check, called periodically while filtering
+     * @return the indices of the rows that pass the filter in ascending order
+     * @throws CancellationException if {@code isCancelled} returns true while filtering
+     */
+    int[] filterRows(List<LogRecord> rows, BooleanSupplier isCancelled);
+}
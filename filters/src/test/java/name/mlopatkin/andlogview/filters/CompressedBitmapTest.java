@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class CompressedBitmapTest {
+    @Test
+    void returnsAddedValuesInOrder() {
+        var bitmap = bitmapOf(0, 5, 65535, 65536, 200_000);
+
+        assertThat(bitmap.toArray()).containsExactly(0, 5, 65535, 65536, 200_000);
+        assertThat(bitmap.contains(65536)).isTrue();
+        assertThat(bitmap.contains(65537)).isFalse();
+        assertThat(bitmap.contains(1_000_000)).isFalse();
+    }
+
+    @Test
+    void denseContainersAreStoredAsBitmaps() {
+        var values = IntStream.range(0, 100_000).filter(i -> i % 3 != 0).toArray();
+
+        var bitmap = bitmapOf(values);
+
+        assertThat(bitmap.toArray()).containsExactly(values);
+        assertThat(bitmap.getSizeInBytes()).isLessThan(values.length / 2);
+    }
+
+    @Test
+    void rangeContainsAllValuesBelowSize() {
+        assertThat(CompressedBitmap.range(70_000).toArray()).containsExactly(IntStream.range(0, 70_000).toArray());
+        assertThat(CompressedBitmap.range(0).toArray()).isEmpty();
+    }
+
+    @Test
+    void unionContainsValuesOfBothBitmaps() {
+        var evens = bitmapOf(IntStream.range(0, 70_000).filter(i -> i % 2 == 0).toArray());
+        var sparse = bitmapOf(1, 3, 100_001);
+
+        var union = evens.or(sparse);
+
+        assertThat(union.cardinality()).isEqualTo(35_003);
+        assertThat(union.contains(3)).isTrue();
+        assertThat(union.contains(100_001)).isTrue();
+        assertThat(union.contains(5)).isFalse();
+    }
+
+    @Test
+    void differenceExcludesValuesOfOtherBitmap() {
+        var evens = bitmapOf(IntStream.range(0, 70_000).filter(i -> i % 2 == 0).toArray());
+
+        var odds = CompressedBitmap.range(70_000).andNot(evens);
+
+        assertThat(odds.toArray()).containsExactly(IntStream.range(0, 70_000).filter(i -> i % 2 != 0).toArray());
+    }
+
+    @Test
+    void builderCanStartWithPrefixOfOtherBitmap() {
+        var bitmap = bitmapOf(1, 10, 65540, 65550, 140_000);
+
+        var extended = new CompressedBitmap.Builder(bitmap, 65545).add(65545).add(70_000).build();
+
+        assertThat(extended.toArray()).containsExactly(1, 10, 65540, 65545, 70_000);
+    }
+
+    @Test
+    void builderRejectsValuesOutOfOrder() {
+        var builder = new CompressedBitmap.Builder().add(10);
+
+        assertThatThrownBy(() -> builder.add(10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CompressedBitmap bitmapOf(int... values) {
+        var builder = new CompressedBitmap.Builder();
+        for (int value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+}
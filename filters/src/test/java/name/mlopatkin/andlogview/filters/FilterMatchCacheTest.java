@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class FilterMatchCacheTest {
+    private static final long ENOUGH_MEMORY = 1 << 20;
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @Test
+    void matchesAreComputedOnce() {
+        var cache = new FilterMatchCache(ENOUGH_MEMORY);
+        var filter = countingEvenFilter();
+        var rows = rows(0, 10);
+
+        assertThat(cache.getMatches(filter, rows, () -> false).toArray()).containsExactly(0, 2, 4, 6, 8);
+        assertThat(cache.getMatches(filter, rows, () -> false).toArray()).containsExactly(0, 2, 4, 6, 8);
+        assertThat(evaluations).hasValue(10);
+    }
+
+    @Test
+    void toggledFilterSharesMatches() {
+        var cache = new FilterMatchCache(ENOUGH_MEMORY);
+        var filter = countingEvenFilter();
+        var rows = rows(0, 10);
+
+        cache.getMatches(filter, rows, () -> false);
+        var toggled = cache.getMatches(filter.disabled().enabled(), rows, () -> false);
+
+        assertThat(toggled.toArray()).containsExactly(0, 2, 4, 6, 8);
+        assertThat(evaluations).hasValue(10);
+    }
+
+    @Test
+    void onlyAppendedRowsAreEvaluated() {
+        var cache = new FilterMatchCache(ENOUGH_MEMORY);
+        var filter = countingEvenFilter();
+        var rows = new ArrayList<>(rows(0, 10));
+        cache.getMatches(filter, rows, () -> false);
+        evaluations.set(0);
+
+        rows.addAll(rows(10, 15));
+
+        assertThat(cache.getMatches(filter, rows, () -> false).toArray()).containsExactly(0, 2, 4, 6, 8, 10, 12, 14);
+        assertThat(evaluations).hasValue(5);
+    }
+
+    @Test
+    void rowsAfterInsertionAreEvaluatedAgain() {
+        var cache = new FilterMatchCache(ENOUGH_MEMORY);
+        var filter = countingEvenFilter();
+        var rows = new ArrayList<>(rows(0, 10_000));
+        cache.getMatches(filter, rows, () -> false);
+        evaluations.set(0);
+
+        rows.add(5000, record(1));
+
+        var matches = cache.getMatches(filter, rows, () -> false);
+        assertThat(matches.cardinality()).isEqualTo(5000);
+        assertThat(matches.contains(5000)).isFalse();
+        assertThat(matches.contains(5001)).isTrue();
+        assertThat(evaluations.get()).isLessThan(10_000);
+    }
+
+    @Test
+    void clearedLogIsEvaluatedAgain() {
+        var cache = new FilterMatchCache(ENOUGH_MEMORY);
+        var filter = countingEvenFilter();
+        cache.getMatches(filter, rows(0, 10), () -> false);
+
+        assertThat(cache.getMatches(filter, rows(1, 4), () -> false).toArray()).containsExactly(1);
+    }
+
+    @Test
+    void leastRecentlyUsedMatchesAreEvicted() {
+        var first = countingEvenFilter();
+        var second = countingEvenFilter();
+        var rows = rows(0, 10);
+        var probe = new FilterMatchCache(ENOUGH_MEMORY);
+        probe.getMatches(first, rows, () -> false);
+        var cache = new FilterMatchCache(probe.getUsedMemory() * 3 / 2);
+
+        cache.getMatches(first, rows, () -> false);
+        cache.getMatches(second, rows, () -> false);
+        evaluations.set(0);
+        cache.getMatches(second, rows, () -> false);
+        assertThat(evaluations).hasValue(0);
+        cache.getMatches(first, rows, () -> false);
+        assertThat(evaluations).hasValue(10);
+    }
+
+    @Test
+    void evaluationCanBeCancelled() {
+        var cache = new FilterMatchCache(ENOUGH_MEMORY);
+
+        assertThatThrownBy(() -> cache.getMatches(countingEvenFilter(), rows(0, 10), () -> true))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    private PredicateFilter countingEvenFilter() {
+        return ToggleFilter.show(record -> {
+            evaluations.incrementAndGet();
+            return Integer.parseInt(record.getMessage()) % 2 == 0;
+        });
+    }
+
+    private static List<LogRecord> rows(int from, int to) {
+        var result = new ArrayList<LogRecord>();
+        for (int i = from; i < to; ++i) {
+            result.add(record(i));
+        }
+        return result;
+    }
+
+    private static LogRecord record(int value) {
+        return LogRecordUtils.forMessage(String.valueOf(value));
+    }
+}
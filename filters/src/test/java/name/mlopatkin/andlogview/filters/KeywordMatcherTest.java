@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+class KeywordMatcherTest {
+    @Test
+    void findsOverlappingKeywords() {
+        var matcher = new KeywordMatcher(List.of("he", "she", "his", "hers"));
+
+        assertThat(findAll(matcher, "ushers")).containsExactly(0, 1, 3);
+    }
+
+    @Test
+    void findsKeywordsThatAreSuffixesOfOtherKeywords() {
+        var matcher = new KeywordMatcher(List.of("abcd", "bc", "c"));
+
+        assertThat(findAll(matcher, "xabcx")).containsExactly(1, 2);
+    }
+
+    @Test
+    void ignoresCaseOfAsciiLetters() {
+        var matcher = new KeywordMatcher(List.of("Activity", "wakelock"));
+
+        assertThat(findAll(matcher, "ACTIVITY acquired WakeLock")).containsExactly(0, 1);
+    }
+
+    @Test
+    void doesNotIgnoreCaseOfOtherLetters() {
+        var matcher = new KeywordMatcher(List.of("\u00e9t\u00e9", "a"));
+
+        assertThat(findAll(matcher, "\u00c9T\u00c9")).isEmpty();
+        assertThat(findAll(matcher, "\u00e9T\u00e9")).containsExactly(0);
+    }
+
+    @Test
+    void returnsNothingIfNoKeywordsFound() {
+        var matcher = new KeywordMatcher(List.of("foo", "bar"));
+
+        assertThat(findAll(matcher, "fo ba oo ar")).isEmpty();
+    }
+
+    @Test
+    void rejectsEmptyKeywords() {
+        assertThatThrownBy(() -> new KeywordMatcher(List.of("foo", ""))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Integer> findAll(KeywordMatcher matcher, String text) {
+        var found = new BitSet();
+        matcher.findAll(text, found);
+        return found.stream().boxed().toList();
+    }
+}
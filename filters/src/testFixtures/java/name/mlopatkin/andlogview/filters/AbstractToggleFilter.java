@@ -33,4 +33,9 @@ public abstract class AbstractToggleFilter<T extends AbstractToggleFilter<T>> ex
     public boolean test(LogRecord logRecord) {
         return predicate.test(logRecord);
     }
+
+    @Override
+    public Object getMatchKey() {
+        return predicate;
+    }
 }
@@ -16,10 +16,18 @@
 
 package name.mlopatkin.andlogview.jmh;
 
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.parsers.ParserUtils;
+import name.mlopatkin.andlogview.parsers.logcat.ListCollectingHandler;
+import name.mlopatkin.andlogview.parsers.logcat.LogcatParsers;
+
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.CharSource;
 import com.google.common.io.Resources;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 public final class BenchmarkResources {
     private BenchmarkResources() {}
@@ -28,4 +36,12 @@ public final class BenchmarkResources {
         return Resources.asCharSource(Resources.getResource(BenchmarkResources.class, benchmarkDataFile),
                 StandardCharsets.UTF_8);
     }
+
+    public static ImmutableList<LogRecord> loadThreadTimeRecords(String benchmarkDataFile) throws IOException {
+        try (Stream<String> lines = loadResource(benchmarkDataFile).lines();
+                var parser = LogcatParsers.threadTime(new ListCollectingHandler())) {
+            ParserUtils.readInto(parser, lines);
+            return ImmutableList.copyOf(parser.getHandler().getCollectedRecords());
+        }
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.logrecord;
+
+import name.mlopatkin.andlogview.jmh.BenchmarkResources;
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.RequestCompilationException;
+import name.mlopatkin.andlogview.search.text.TextHighlighter;
+
+import com.google.common.collect.ImmutableList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+
+/**
+ * Measures the search strategies produced by {@link RowSearchStrategyFactory}: checking every record of the log and
+ * highlighting the searchable columns of the matching records, as the log table does when it renders them.
+ * <p>
+ * The "goldfish" corpus is the bundled log of the emulator. The "synthetic" corpus is the same log repeated to a
+ * much larger size, with the app names filled in and some messages made longer, so each record is still distinct.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Thread)
+@Fork(1)
+public class RowSearchStrategyPerfTest {
+    private static final int SYNTHETIC_CORPUS_SIZE = 200_000;
+    private static final List<String> APP_NAMES =
+            List.of("system_server", "com.android.systemui", "com.google.android.gms", "name.mlopatkin.shuttle");
+    private static final List<Field<?>> SEARCHABLE_FIELDS = List.of(Field.APP_NAME, Field.TAG, Field.MESSAGE);
+
+    @Param({"goldfish", "synthetic"})
+    public String corpus;
+
+    @Param({
+            // Plain text is always matched ignoring case, these two only differ in the case of the pattern.
+            "activitymanager",
+            "ActivityManager",
+            "NoSuchTextInTheLog",
+            "/Start proc \\d+/",
+            "/Display.*ms/",
+            "tag:ActivityManager",
+            "app:system_server",
+            "msg:Displayed",
+    })
+    public String pattern;
+
+    private ImmutableList<LogRecord> records;
+    private ImmutableList<LogRecord> matchingRecords;
+    private RowSearchStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var goldfish = BenchmarkResources.loadThreadTimeRecords("goldfish_omr1_threadtime.log");
+        records = switch (corpus) {
+            case "goldfish" -> goldfish;
+            case "synthetic" -> createSyntheticCorpus(goldfish);
+            default -> throw new IllegalArgumentException("Unknown corpus " + corpus);
+        };
+        strategy = RowSearchStrategyFactory.compile(pattern);
+        matchingRecords = records.stream().filter(strategy).collect(ImmutableList.toImmutableList());
+    }
+
+    private static ImmutableList<LogRecord> createSyntheticCorpus(List<LogRecord> base) {
+        var result = ImmutableList.<LogRecord>builderWithExpectedSize(SYNTHETIC_CORPUS_SIZE);
+        for (int i = 0; i < SYNTHETIC_CORPUS_SIZE; ++i) {
+            var record = base.get(i % base.size());
+            var message = record.getMessage() + " #" + i;
+            if (i % 16 == 0) {
+                message = message.repeat(8);
+            }
+            result.add(record.withMessage(message).withAppName(APP_NAMES.get(record.getPid() % APP_NAMES.size())));
+        }
+        return result.build();
+    }
+
+    @Benchmark
+    public RowSearchStrategy compile() throws RequestCompilationException {
+        return RowSearchStrategyFactory.compile(pattern);
+    }
+
+    @Benchmark
+    public int findMatches() {
+        int count = 0;
+        RowSearchStrategy searchStrategy = strategy;
+        for (LogRecord record : records) {
+            if (searchStrategy.test(record)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int highlightMatches() {
+        var highlighter = new CountingHighlighter();
+        RowSearchStrategy searchStrategy = strategy;
+        for (LogRecord record : matchingRecords) {
+            for (var field : SEARCHABLE_FIELDS) {
+                searchStrategy.highlightColumn(record, field, highlighter);
+            }
+        }
+        return highlighter.highlightedChars;
+    }
+
+    private static final class CountingHighlighter implements TextHighlighter {
+        int highlightedChars;
+
+        @Override
+        public void highlightText(int from, int to) {
+            highlightedChars += to - from;
+        }
+    }
+}
@@ -19,9 +19,6 @@ package name.mlopatkin.andlogview.ui.filterdialog;
 import name.mlopatkin.andlogview.filters.FilteringMode;
 import name.mlopatkin.andlogview.jmh.BenchmarkResources;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
-import name.mlopatkin.andlogview.parsers.ParserUtils;
-import name.mlopatkin.andlogview.parsers.logcat.ListCollectingHandler;
-import name.mlopatkin.andlogview.parsers.logcat.LogcatParsers;
 
 import com.google.common.collect.ImmutableList;
 
@@ -38,7 +35,6 @@ import org.openjdk.jmh.annotations.Warmup;
 
 import java.util.Collections;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 @BenchmarkMode(Mode.Throughput)
 @Warmup(iterations = 5)
@@ -53,11 +49,7 @@ public class FilterFromDialogSingleTagPerfTest {
     @SuppressWarnings("unchecked")
     @Setup(Level.Trial)
     public void setUp() throws Exception {
-        try (Stream<String> lines = BenchmarkResources.loadResource("goldfish_omr1_threadtime.log").lines();
-                var parser = LogcatParsers.threadTime(new ListCollectingHandler())) {
-            ParserUtils.readInto(parser, lines);
-            records = ImmutableList.copyOf(parser.getHandler().getCollectedRecords());
-        }
+        records = BenchmarkResources.loadThreadTimeRecords("goldfish_omr1_threadtime.log");
 
         simplestPredicate = p -> "ActivityManager".equalsIgnoreCase(p.getTag());
 
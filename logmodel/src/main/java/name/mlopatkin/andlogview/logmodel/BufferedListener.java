@@ -18,6 +18,8 @@ package name.mlopatkin.andlogview.logmodel;
 
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -40,6 +42,8 @@ public class BufferedListener<T> implements RecordListener<T> {
 
     @GuardedBy("lock")
     private ArrayList<T> pendingRecords = new ArrayList<>();
+    @GuardedBy("lock")
+    private @Nullable List<T> pendingReplacement;
 
     public static <V extends Comparable<? super V>> BufferedListener<V> create(BatchRecordsReceiver<V> receiver,
             Executor receiverExecutor) {
@@ -56,7 +60,7 @@ public class BufferedListener<T> implements RecordListener<T> {
     @Override
     public void addRecord(T record) {
         synchronized (lock) {
-            boolean needsFlush = pendingRecords.isEmpty();
+            boolean needsFlush = !hasPendingChangesLocked();
             pendingRecords.add(record);
             if (needsFlush) {
                 receiverExecutor.execute(this::flushRecords);
@@ -66,16 +70,38 @@ public class BufferedListener<T> implements RecordListener<T> {
 
     @Override
     public void setRecords(List<T> records) {
-        receiverExecutor.execute(() -> receiver.setRecords(records));
+        synchronized (lock) {
+            // The records that are not yet flushed are superseded by the new list. The replacement goes through the
+            // same flush so records added after this call are never delivered before it.
+            boolean needsFlush = !hasPendingChangesLocked();
+            pendingRecords = new ArrayList<>();
+            pendingReplacement = records;
+            if (needsFlush) {
+                receiverExecutor.execute(this::flushRecords);
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean hasPendingChangesLocked() {
+        return !pendingRecords.isEmpty() || pendingReplacement != null;
     }
 
     private void flushRecords() {
         ArrayList<T> records;
+        List<T> replacement;
         synchronized (lock) {
             records = pendingRecords;
+            replacement = pendingReplacement;
             pendingRecords = new ArrayList<>();
+            pendingReplacement = null;
+        }
+        if (replacement != null) {
+            receiver.setRecords(replacement);
+        }
+        if (!records.isEmpty()) {
+            records.sort(comparator);
+            receiver.addRecords(records);
         }
-        records.sort(comparator);
-        receiver.addRecords(records);
     }
 }
@@ -19,6 +19,9 @@ package name.mlopatkin.andlogview.logmodel;
 import name.mlopatkin.andlogview.base.concurrent.SequentialExecutor;
 import name.mlopatkin.andlogview.utils.events.Observable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This is a list of logs collected so far. LogModel is a live collection and can grow over time, as the log sources
  * keep producing the logs.
@@ -65,6 +68,20 @@ public interface LogModel {
      */
     LogRecord getAt(int index);
 
+    /**
+     * Returns a copy of all records in the model. The copy is not affected by subsequent changes of the model, so it
+     * can be passed to other threads.
+     *
+     * @return the list of all records in the model
+     */
+    default List<LogRecord> snapshot() {
+        var result = new ArrayList<LogRecord>(size());
+        for (int i = 0; i < size(); ++i) {
+            result.add(getAt(i));
+        }
+        return result;
+    }
+
     // TODO(mlopatkin) Can I get rid of this and recreate a log model from scratch when it makes sense (i.e. for ADB
     //  data sources only)?
 
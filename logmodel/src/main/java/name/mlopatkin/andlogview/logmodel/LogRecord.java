@@ -22,6 +22,7 @@ import com.google.common.collect.ComparisonChain;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Comparator;
+import java.util.Optional;
 
 /**
  * This class contains all available log record data like timestamp, tag,
@@ -87,6 +88,21 @@ public class LogRecord {
             this.name = name;
             this.logcatName = logcatName;
         }
+
+        /**
+         * Looks up the buffer by the name used in {@code logcat -b <...>}.
+         *
+         * @param logcatName the logcat name of the buffer, e.g. {@code main}
+         * @return the buffer or empty Optional if the name is unknown
+         */
+        public static Optional<Buffer> fromLogcatName(String logcatName) {
+            for (var buffer : values()) {
+                if (buffer.logcatName.equals(logcatName)) {
+                    return Optional.of(buffer);
+                }
+            }
+            return Optional.empty();
+        }
     }
 
     public static final int NO_ID = -1;
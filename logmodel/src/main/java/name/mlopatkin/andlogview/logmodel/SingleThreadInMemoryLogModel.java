@@ -43,6 +43,11 @@ class SingleThreadInMemoryLogModel implements LogModel, BatchRecordsReceiver<Log
         return records.get(index);
     }
 
+    @Override
+    public List<LogRecord> snapshot() {
+        return new ArrayList<>(records);
+    }
+
     @Override
     public void addRecords(List<LogRecord> newRecords) {
         if (newRecords.isEmpty()) {
@@ -98,6 +98,21 @@ class BufferedListenerTest {
         verify(receiver, only()).setRecords(asList(1, 2, 3));
     }
 
+    @Test
+    void setRecordsSupersedesPendingRecords() {
+        TestExecutor testExecutor = new TestExecutor();
+        BufferedListener<Integer> listener = createListener(testExecutor);
+        listener.addRecord(1);
+        listener.setRecords(asList(2, 3));
+        listener.addRecord(4);
+
+        testExecutor.flush();
+
+        InOrder order = inOrder(receiver);
+        order.verify(receiver).setRecords(asList(2, 3));
+        order.verify(receiver).addRecords(singletonList(4));
+        order.verifyNoMoreInteractions();
+    }
 
     private BufferedListener<Integer> createListener() {
         return BufferedListener.create(receiver, MoreExecutors.directExecutor());
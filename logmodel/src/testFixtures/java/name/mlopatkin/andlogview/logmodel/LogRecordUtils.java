@@ -21,6 +21,7 @@ import static name.mlopatkin.andlogview.logmodel.LogRecord.NO_ID;
 import static name.mlopatkin.andlogview.logmodel.LogRecord.Priority;
 
 import java.text.ParseException;
+import java.util.Arrays;
 
 /**
  * Some factory methods to construct log records for tests.
@@ -56,6 +57,10 @@ public final class LogRecordUtils {
         return DEFAULT_RECORD.withMessage(message);
     }
 
+    public static LogRecord[] forMessages(String... messages) {
+        return Arrays.stream(messages).map(LogRecordUtils::forMessage).toArray(LogRecord[]::new);
+    }
+
     public static LogRecord forPriority(Priority priority) {
         return DEFAULT_RECORD.withPriority(priority);
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.logmodel;
+
+import name.mlopatkin.andlogview.utils.events.Observable;
+import name.mlopatkin.andlogview.utils.events.Subject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The log model that can be changed by the test. Unlike {@link StaticLogModel}, it notifies the observers about the
+ * inserted records.
+ */
+public class MutableLogModel implements LogModel {
+    private final List<LogRecord> logRecords = new ArrayList<>();
+    private final Subject<Observer> observers = new Subject<>();
+
+    public void append(LogRecord... records) {
+        append(Arrays.asList(records));
+    }
+
+    public void append(List<LogRecord> records) {
+        insert(logRecords.size(), records);
+    }
+
+    public void insert(int position, LogRecord... records) {
+        insert(position, Arrays.asList(records));
+    }
+
+    public void insert(int position, List<LogRecord> records) {
+        logRecords.addAll(position, records);
+        for (Observer observer : observers) {
+            observer.onRecordsInserted(position, records.size());
+        }
+    }
+
+    @Override
+    public int size() {
+        return logRecords.size();
+    }
+
+    @Override
+    public LogRecord getAt(int index) {
+        return logRecords.get(index);
+    }
+
+    @Override
+    public void clear() {
+        int oldSize = logRecords.size();
+        logRecords.clear();
+        for (Observer observer : observers) {
+            observer.onRecordsDiscarded(oldSize);
+        }
+    }
+
+    @Override
+    public Observable<Observer> asObservable() {
+        return observers.asObservable();
+    }
+}
@@ -81,6 +81,8 @@ class DelegateLong extends RegexLogcatParserDelegate {
             currentMessage = nextMessage.get();
             return this::stateProcessFirstMessageLine;
         }
+        // There is no message yet, so the control line cannot be a part of it.
+        maybeHandleControlLine(line);
         return LineParser.currentState();
     }
 
@@ -156,11 +158,19 @@ class DelegateLong extends RegexLogcatParserDelegate {
         return CONTROL_PATTERN.matcher(sequence).matches();
     }
 
+    private void maybeHandleControlLine(CharSequence line) {
+        var matcher = CONTROL_PATTERN.matcher(line);
+        if (matcher.matches()) {
+            eventsHandler.bufferSwitch(matcher.group(2));
+        }
+    }
+
     private State afterControlLikeLine(int consecutiveEolns, CharSequence maybeControlLine, CharSequence line) {
         var msg = Objects.requireNonNull(currentMessage);
         var maybeNextMessage = maybeHandleHeader(line);
         if (maybeNextMessage.isPresent()) {
             msg.commit();
+            maybeHandleControlLine(maybeControlLine);
             currentMessage = maybeNextMessage.get();
             return this::stateProcessFirstMessageLine;
         }
@@ -151,6 +151,18 @@ public interface LogcatParseEventsHandler extends PushParser.ParseEventsHandler
         return logRecord(pid, priority, tag, message);
     }
 
+    /**
+     * Called for control lines like {@code --------- switch to main}. Logcat prints these when it reads several buffers
+     * at once, the records that follow come from the named buffer. Only the {@linkplain Format#LONG long} format
+     * parser reports control lines, other parsers treat them as unparseable.
+     *
+     * @param bufferName the name of the buffer as printed by logcat, e.g. {@code main} or {@code /dev/log/main}
+     * @return {@linkplain ParserControl} instance to determine next parser action
+     */
+    default ParserControl bufferSwitch(String bufferName) {
+        return ParserControl.proceed();
+    }
+
     /**
      * Called for lines that cannot be attributed to any record.
      *
@@ -28,6 +28,8 @@ import java.util.regex.Pattern;
 public class PsPushParser<H extends PsParseEventsHandler> extends AbstractPushParser<H> {
     private static final String HEADER_REGEX =
             "^USER\\s+PID\\s+PPID\\s+(VSIZE|VSZ)\\s+RSS\\s+(PCY\\s+)?WCHAN\\s+(PC|ADDR)\\s+(S\\s+)?NAME\\s*$";
+    // The header of the compact output of "ps -o PID,NAME", supported since Android 8.0.
+    private static final String COMPACT_HEADER_REGEX = "^\\s*PID\\s+NAME\\s*$";
 
     private static final String NUMBER_REGEX = "[\\-]?\\d+";
     private static final String HEX_NUMBER_REGEX = "\\p{XDigit}+";
@@ -68,6 +70,8 @@ public class PsPushParser<H extends PsParseEventsHandler> extends AbstractPushPa
             PROCESS_STATUS_REGEX,
             PROCESS_NAME);
 
+    private static final Pattern COMPACT_PS_LINE_PATTERN = Pattern.compile("^\\s*" + PID_REGEX + SEP + PROCESS_NAME);
+
     private final LineParser lineParser;
 
     public PsPushParser(H eventsHandler) {
@@ -83,15 +87,18 @@ public class PsPushParser<H extends PsParseEventsHandler> extends AbstractPushPa
     private State seekHeader(CharSequence line) {
         if (isProcessListHeader(line)) {
             stopUnless(getHandler().header().shouldProceed());
-            return this::parseProcessListLine;
+            return nextLine -> parseProcessListLine(PS_LINE_PATTERN, nextLine);
+        } else if (isCompactProcessListHeader(line)) {
+            stopUnless(getHandler().header().shouldProceed());
+            return nextLine -> parseProcessListLine(COMPACT_PS_LINE_PATTERN, nextLine);
         } else {
             stopUnless(getHandler().unparseableLine(line).shouldProceed());
         }
         return LineParser.currentState();
     }
 
-    private State parseProcessListLine(CharSequence line) {
-        Matcher m = PS_LINE_PATTERN.matcher(line);
+    private State parseProcessListLine(Pattern linePattern, CharSequence line) {
+        Matcher m = linePattern.matcher(line);
         if (m.matches()) {
             stopUnless(getHandler().processLine(getPid(m), getProcessName(m)).shouldProceed());
         } else {
@@ -111,4 +118,8 @@ public class PsPushParser<H extends PsParseEventsHandler> extends AbstractPushPa
     private static boolean isProcessListHeader(CharSequence line) {
         return Pattern.matches(HEADER_REGEX, line);
     }
+
+    private static boolean isCompactProcessListHeader(CharSequence line) {
+        return Pattern.matches(COMPACT_HEADER_REGEX, line);
+    }
 }
@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.atIndex;
 
 import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.parsers.ParserControl;
 import name.mlopatkin.andlogview.parsers.ParserUtils;
 
 import com.google.common.base.Strings;
@@ -33,6 +34,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
+
 public class DelegateLongTest {
     @Test
     void parsesEmptyMessage() {
@@ -470,6 +473,48 @@ public class DelegateLongTest {
         assertThat(handler.getCollectedRecords()).hasSize(3);
     }
 
+    @Test
+    void reportsBufferSwitches() {
+        var events = new ArrayList<String>();
+        var handler = new ListCollectingHandler() {
+            @Override
+            protected ParserControl logRecord(LogRecord record) {
+                events.add(record.getMessage());
+                return super.logRecord(record);
+            }
+
+            @Override
+            public ParserControl bufferSwitch(String bufferName) {
+                events.add("buffer " + bufferName);
+                return ParserControl.proceed();
+            }
+        };
+        try (var parser = LogcatParsers.logcatLong(handler)) {
+            ParserUtils.readInto(parser, """
+                    --------- beginning of system
+                    [ 01-02 03:04:05.678  1234: 4321 E/sometag ]
+                    First message
+
+                    --------- switch to main
+                    [ 02-03 04:05:06.789  5678: 8765 I/othertag     ]
+                    Second message
+
+                    --------- switch to /dev/log/radio
+                    Not a control line
+
+                    """.lines());
+        }
+
+        assertThat(events).containsExactly(
+                "buffer system",
+                "First message",
+                "buffer main",
+                "Second message",
+                "",
+                "--------- switch to /dev/log/radio",
+                "Not a control line");
+    }
+
     private static ListAssert<LogRecord> assertParsed(String records) {
         var handler = new ListCollectingHandler();
         try (var parser = LogcatParsers.logcatLong(handler)) {
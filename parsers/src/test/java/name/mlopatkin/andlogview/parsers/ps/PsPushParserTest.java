@@ -64,6 +64,13 @@ class PsPushParserTest {
             "root            53     2       0      0 0                   0 I [kworker/6:0H-events_highpri]"
     };
 
+    private static final String[] PS_COMPACT = {
+            "  PID NAME",
+            "    1 init",
+            " 1998 com.android.phone",
+            "29392 [kworker/6:0H-events_highpri]"
+    };
+
     @Test
     public void testParseProcessListLine() {
         PsParseEventsHandler eventsHandler = createMockHandler();
@@ -127,6 +134,19 @@ class PsPushParserTest {
         verify(eventsHandler).processLine(53, "[kworker/6:0H-events_highpri]");
     }
 
+    @Test
+    void parsesCompactProcessList() {
+        PsParseEventsHandler eventsHandler = createMockHandler();
+
+        parseLines(eventsHandler, PS_COMPACT);
+
+        InOrder order = inOrder(eventsHandler);
+        order.verify(eventsHandler).header();
+        order.verify(eventsHandler).processLine(1, "init");
+        order.verify(eventsHandler).processLine(1998, "com.android.phone");
+        order.verify(eventsHandler).processLine(29392, "[kworker/6:0H-events_highpri]");
+    }
+
     @ParameterizedTest(name = "sdkVersion = {0}")
     @MethodSource
     void compatibilityWithAdbPsData(int ignoredSdkVersion, String header, String psLine) {
@@ -20,4 +20,6 @@ plugins {
 
 dependencies {
     implementation(project(":base"))
+
+    testImplementation(testFixtures(project(":base")))
 }
@@ -22,6 +22,8 @@ import name.mlopatkin.andlogview.search.text.TextHighlighter;
 
 import com.google.common.collect.ImmutableList;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.List;
 
 class OrSearcher implements RowSearchStrategy {
@@ -41,6 +43,29 @@ class OrSearcher implements RowSearchStrategy {
         return false;
     }
 
+    @Override
+    public @Nullable List<RequiredText> getRequiredTexts() {
+        var result = ImmutableList.<RequiredText>builder();
+        for (var s : searchers) {
+            var texts = s.getRequiredTexts();
+            if (texts == null) {
+                return null;
+            }
+            result.addAll(texts);
+        }
+        return result.build();
+    }
+
+    @Override
+    public boolean hasAbortedEvaluations() {
+        for (var s : searchers) {
+            if (s.hasAbortedEvaluations()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void highlightColumn(LogRecord record, Field<?> field, TextHighlighter columnHighlighter) {
         for (var s : searchers) {
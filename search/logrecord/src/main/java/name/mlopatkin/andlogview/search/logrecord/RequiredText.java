@@ -1,5 +1,5 @@
 /*
- * Copyright 2011 Mikhail Lopatkin
+ * Copyright 2026 the Andlogview authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,18 +13,15 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package name.mlopatkin.andlogview.widgets;
 
-import javax.swing.table.TableModel;
-import javax.swing.table.TableRowSorter;
+package name.mlopatkin.andlogview.search.logrecord;
 
-public class SortingDisableSorter<T extends TableModel> extends TableRowSorter<T> {
-    @Override
-    public boolean isSortable(int column) {
-        return false;
-    }
+import name.mlopatkin.andlogview.logmodel.Field;
 
-    public SortingDisableSorter(T model) {
-        super(model);
-    }
-}
+/**
+ * The text that a field of the matching record contains, if the case of letters is ignored.
+ *
+ * @param field the field of the record
+ * @param text the text
+ */
+public record RequiredText(Field<?> field, String text) {}
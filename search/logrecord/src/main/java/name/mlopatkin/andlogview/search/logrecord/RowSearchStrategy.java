@@ -19,8 +19,32 @@ import name.mlopatkin.andlogview.logmodel.Field;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.search.text.TextHighlighter;
 
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
 import java.util.function.Predicate;
 
 public interface RowSearchStrategy extends Predicate<LogRecord> {
     void highlightColumn(LogRecord record, Field<?> field, TextHighlighter columnHighlighter);
+
+    /**
+     * Returns the alternatives of the text the matching record contains. Every matching record satisfies at least one
+     * of the returned alternatives. The search can use them to skip records that cannot match, e.g. with the help of
+     * {@link TrigramIndex}.
+     *
+     * @return the list of alternatives or null if the strategy doesn't know them
+     */
+    default @Nullable List<RequiredText> getRequiredTexts() {
+        return null;
+    }
+
+    /**
+     * Checks if some evaluations of this strategy were aborted because the pattern took too long to evaluate. The
+     * aborted evaluation doesn't match, so the search may miss some matching records.
+     *
+     * @return true if some evaluations were aborted
+     */
+    default boolean hasAbortedEvaluations() {
+        return false;
+    }
 }
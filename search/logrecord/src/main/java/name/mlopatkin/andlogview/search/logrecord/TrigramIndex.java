@@ -0,0 +1,413 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.logrecord;
+
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The inverted index of the trigrams of the searchable record fields: message, tag and app name. It quickly finds the
+ * rows that may contain the text, so the search only has to check these. The index is appended to as the new rows
+ * arrive.
+ * <p>
+ * To keep the index small, the rows are grouped into blocks and the index only tracks which blocks contain the trigram.
+ * The list of blocks of each trigram is delta-encoded with varints. The index stops growing when it reaches the memory
+ * budget. The rows that aren't indexed are candidates for any search.
+ * <p>
+ * The trigrams ignore the case of letters. Only the trigrams of ASCII characters, except for {@code i} and {@code I},
+ * are indexed. Unlike other letters, these may lowercase differently in some locales. Other characters never match
+ * a query trigram. Thus the index can be used for both the case-sensitive and case-insensitive searches.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class TrigramIndex {
+    @VisibleForTesting
+    static final int BLOCK_SIZE = 64;
+
+    private static final ImmutableList<Field<?>> INDEXED_FIELDS =
+            ImmutableList.of(Field.MESSAGE, Field.TAG, Field.APP_NAME);
+    // The character that cannot be a part of the indexed trigram.
+    private static final int WILDCARD = 0;
+    private static final int FIELD_SHIFT = 21;
+    // Intersecting the rarest trigrams of the text is enough to get rid of most non-matching blocks.
+    private static final int MAX_QUERY_TRIGRAMS = 8;
+    // Rough estimates of the memory used by the posting list object and by the hash table slot.
+    private static final int POSTING_OVERHEAD_BYTES = 48;
+    private static final int SLOT_BYTES = 8;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final long memoryBudgetBytes;
+
+    // Open-addressing hash table of posting lists, keyed by the field-qualified trigram. Zero key marks the empty slot,
+    // the real keys are never zero.
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private @Nullable Posting[] postings = new Posting[keys.length];
+    private int postingCount;
+    private long usedBytes = (long) keys.length * SLOT_BYTES;
+    private int indexedRows;
+    private boolean isFull;
+
+    /**
+     * Creates the empty index.
+     *
+     * @param memoryBudgetBytes the amount of memory the index may use, approximately
+     */
+    public TrigramIndex(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    /**
+     * Returns the start of the block that holds the row. The index tracks rows in blocks, so truncating drops the rows
+     * of the block at the truncation point too.
+     *
+     * @param row the row
+     * @return the first row of the block
+     */
+    public static int getBlockStart(int row) {
+        return row - row % BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the number of rows in the index. The rows are indexed from the start.
+     *
+     * @return the number of indexed rows
+     */
+    public synchronized int getIndexedRowCount() {
+        return indexedRows;
+    }
+
+    /**
+     * Appends rows to the index. The rows must continue the indexed ones, the rows that are already indexed are
+     * skipped. Nothing is appended if there is a gap between the indexed rows and {@code firstRow} or if the index
+     * has reached its memory budget.
+     *
+     * @param firstRow the row number of the first record
+     * @param records the records of the rows to append
+     */
+    public synchronized void append(int firstRow, List<LogRecord> records) {
+        if (firstRow > indexedRows) {
+            return;
+        }
+        for (int i = indexedRows - firstRow; i < records.size() && !isFull; ++i) {
+            var record = records.get(i);
+            int block = indexedRows / BLOCK_SIZE;
+            for (int fieldIndex = 0; fieldIndex < INDEXED_FIELDS.size(); ++fieldIndex) {
+                addTrigrams(fieldIndex, String.valueOf(INDEXED_FIELDS.get(fieldIndex).getValue(record)), block);
+            }
+            ++indexedRows;
+            isFull = usedBytes >= memoryBudgetBytes;
+        }
+    }
+
+    private void addTrigrams(int fieldIndex, String value, int block) {
+        int window = 0;
+        int validChars = 0;
+        for (int i = 0; i < value.length(); ++i) {
+            int c = fold(value.charAt(i));
+            window = ((window << 7) | c) & ((1 << FIELD_SHIFT) - 1);
+            validChars = c != WILDCARD ? validChars + 1 : 0;
+            if (validChars >= 3) {
+                usedBytes += getOrCreatePosting((fieldIndex << FIELD_SHIFT) | window).add(block);
+            }
+        }
+    }
+
+    /**
+     * Removes the rows starting from {@code rowCount} from the index. The index may also drop a few rows before it,
+     * see {@link #getBlockStart(int)}.
+     *
+     * @param rowCount the number of rows to keep
+     */
+    public synchronized void truncate(int rowCount) {
+        if (rowCount >= indexedRows) {
+            return;
+        }
+        if (rowCount < BLOCK_SIZE) {
+            clear();
+            return;
+        }
+        int keptBlocks = rowCount / BLOCK_SIZE;
+        for (var posting : postings) {
+            if (posting != null) {
+                posting.truncate(keptBlocks);
+            }
+        }
+        indexedRows = keptBlocks * BLOCK_SIZE;
+    }
+
+    private void clear() {
+        keys = new int[INITIAL_CAPACITY];
+        postings = new Posting[keys.length];
+        postingCount = 0;
+        usedBytes = (long) keys.length * SLOT_BYTES;
+        indexedRows = 0;
+        isFull = false;
+    }
+
+    /**
+     * Finds the rows that may contain at least one of the required texts.
+     *
+     * @param requiredTexts the alternatives of the text, see {@link RowSearchStrategy#getRequiredTexts()}
+     * @return the candidate rows or null if the index cannot narrow the search down
+     */
+    public synchronized @Nullable Candidates findCandidates(List<RequiredText> requiredTexts) {
+        var blocks = new BitSet();
+        for (var requiredText : requiredTexts) {
+            int fieldIndex = INDEXED_FIELDS.indexOf(requiredText.field());
+            if (fieldIndex < 0) {
+                return null;
+            }
+            var textPostings = findPostings(fieldIndex, requiredText.text());
+            if (textPostings == null) {
+                return null;
+            }
+            blocks.or(intersect(textPostings));
+        }
+        return new Candidates(blocks, indexedRows);
+    }
+
+    /**
+     * Returns the posting lists of all the trigrams of the text. A missing trigram yields an empty list.
+     *
+     * @return the posting lists or null if the text has no trigrams to look for
+     */
+    private @Nullable List<Posting> findPostings(int fieldIndex, String text) {
+        var result = new ArrayList<Posting>();
+        int window = 0;
+        int validChars = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            int c = fold(text.charAt(i));
+            window = ((window << 7) | c) & ((1 << FIELD_SHIFT) - 1);
+            validChars = c != WILDCARD ? validChars + 1 : 0;
+            if (validChars >= 3) {
+                var posting = findPosting((fieldIndex << FIELD_SHIFT) | window);
+                result.add(posting != null ? posting : Posting.EMPTY);
+            }
+        }
+        if (result.isEmpty()) {
+            return null;
+        }
+        result.sort(Comparator.comparingInt(p -> p.size));
+        return result.subList(0, Math.min(result.size(), MAX_QUERY_TRIGRAMS));
+    }
+
+    private static BitSet intersect(List<Posting> textPostings) {
+        var result = textPostings.get(0).toBitSet();
+        for (int i = 1; i < textPostings.size() && !result.isEmpty(); ++i) {
+            result.and(textPostings.get(i).toBitSet());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the approximate amount of memory used by the index.
+     *
+     * @return the used memory in bytes
+     */
+    public synchronized long getUsedMemory() {
+        return usedBytes;
+    }
+
+    private static int fold(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower < 0x80 && lower != 'i' ? lower : WILDCARD;
+    }
+
+    private @Nullable Posting findPosting(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return postings[slot];
+            }
+        }
+        return null;
+    }
+
+    private Posting getOrCreatePosting(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                var posting = postings[slot];
+                assert posting != null;
+                return posting;
+            }
+        }
+        var posting = new Posting();
+        keys[slot] = key;
+        postings[slot] = posting;
+        usedBytes += POSTING_OVERHEAD_BYTES;
+        if (++postingCount * 2 > keys.length) {
+            rehash();
+        }
+        return posting;
+    }
+
+    private void rehash() {
+        var oldKeys = keys;
+        var oldPostings = postings;
+        keys = new int[oldKeys.length * 2];
+        postings = new Posting[keys.length];
+        usedBytes += (long) (keys.length - oldKeys.length) * SLOT_BYTES;
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != 0) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                postings[slot] = oldPostings[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The ascending list of blocks that contain the trigram. The blocks are stored as varint-encoded deltas from the
+     * previous block, the first block is stored as the delta from -1. The varint has the high bit set in all bytes but
+     * the last one, so the list can be decoded backwards when truncating.
+     */
+    private static final class Posting {
+        static final Posting EMPTY = new Posting();
+
+        byte[] data = new byte[4];
+        int size;
+        int lastBlock = -1;
+
+        /** Adds the block to the list and returns the number of bytes the list has grown by. */
+        int add(int block) {
+            if (block == lastBlock) {
+                return 0;
+            }
+            int delta = block - lastBlock;
+            int grownBy = 0;
+            if (size + 5 > data.length) {
+                int newLength = Math.max(size + 5, data.length * 2);
+                grownBy = newLength - data.length;
+                data = Arrays.copyOf(data, newLength);
+            }
+            while (delta >= 0x80) {
+                data[size++] = (byte) (delta | 0x80);
+                delta >>>= 7;
+            }
+            data[size++] = (byte) delta;
+            lastBlock = block;
+            return grownBy;
+        }
+
+        void truncate(int keptBlocks) {
+            while (lastBlock >= keptBlocks) {
+                int start = size - 1;
+                while (start > 0 && (data[start - 1] & 0x80) != 0) {
+                    --start;
+                }
+                int delta = 0;
+                for (int i = size - 1; i >= start; --i) {
+                    delta = (delta << 7) | (data[i] & 0x7F);
+                }
+                size = start;
+                lastBlock -= delta;
+            }
+        }
+
+        BitSet toBitSet() {
+            var result = new BitSet(lastBlock + 1);
+            int block = -1;
+            int delta = 0;
+            int shift = 0;
+            for (int i = 0; i < size; ++i) {
+                delta |= (data[i] & 0x7F) << shift;
+                if ((data[i] & 0x80) != 0) {
+                    shift += 7;
+                } else {
+                    block += delta;
+                    result.set(block);
+                    delta = 0;
+                    shift = 0;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The rows that may contain the text. All rows that weren't indexed are candidates.
+     */
+    public static final class Candidates {
+        private final BitSet blocks;
+        private final int indexedRows;
+
+        Candidates(BitSet blocks, int indexedRows) {
+            this.blocks = blocks;
+            this.indexedRows = indexedRows;
+        }
+
+        /**
+         * Checks if the row may contain the text.
+         *
+         * @param row the row
+         * @return true if the row is a candidate
+         */
+        public boolean mayMatch(int row) {
+            return row >= indexedRows || blocks.get(row / BLOCK_SIZE);
+        }
+
+        /**
+         * Finds the first candidate row at or after the given row.
+         *
+         * @param row the row to start from
+         * @return the candidate row, not less than {@code row}
+         */
+        public int nextCandidate(int row) {
+            if (mayMatch(row)) {
+                return row;
+            }
+            int block = blocks.nextSetBit(row / BLOCK_SIZE + 1);
+            return block >= 0 ? Math.min(block * BLOCK_SIZE, indexedRows) : indexedRows;
+        }
+
+        /**
+         * Finds the last candidate row at or before the given row.
+         *
+         * @param row the row to start from
+         * @return the candidate row, not greater than {@code row}, or -1 if there is none
+         */
+        public int previousCandidate(int row) {
+            if (mayMatch(row)) {
+                return row;
+            }
+            int block = blocks.previousSetBit(row / BLOCK_SIZE - 1);
+            return block >= 0 ? block * BLOCK_SIZE + BLOCK_SIZE - 1 : -1;
+        }
+    }
+}
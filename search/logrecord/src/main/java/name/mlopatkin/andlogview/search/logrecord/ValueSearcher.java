@@ -21,6 +21,12 @@ import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.search.text.HighlightStrategy;
 import name.mlopatkin.andlogview.search.text.TextHighlighter;
 
+import com.google.common.collect.ImmutableList;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
 class ValueSearcher implements RowSearchStrategy {
     private final HighlightStrategy highlightStrategy;
     private final Field<?> field;
@@ -35,6 +41,17 @@ class ValueSearcher implements RowSearchStrategy {
         return highlightStrategy.test(getValue(record));
     }
 
+    @Override
+    public @Nullable List<RequiredText> getRequiredTexts() {
+        var text = highlightStrategy.getRequiredText();
+        return text != null ? ImmutableList.of(new RequiredText(field, text)) : null;
+    }
+
+    @Override
+    public boolean hasAbortedEvaluations() {
+        return highlightStrategy.getAbortedEvaluations() > 0;
+    }
+
     private String getValue(LogRecord record) {
         return String.valueOf(field.getValue(record));
     }
@@ -167,6 +167,15 @@ public class RowSearchStrategyFactoryTest {
                 .rejects(msgContacts, tagContacts, system);
     }
 
+    @Test
+    public void catastrophicRegexEvaluationIsAbortedAndFlagged() throws Exception {
+        var strategy = RowSearchStrategyFactory.compile("msg:/(.*a){12}b/");
+
+        assertThat(strategy.hasAbortedEvaluations()).isFalse();
+        assertThat(strategy).rejects(LogRecordUtils.forMessage("a".repeat(40)));
+        assertThat(strategy.hasAbortedEvaluations()).isTrue();
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
         "",
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.logrecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
+
+import com.google.common.collect.ImmutableList;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TrigramIndexTest {
+    private static final int BLOCK_SIZE = TrigramIndex.BLOCK_SIZE;
+
+    private final TrigramIndex index = new TrigramIndex(Long.MAX_VALUE);
+
+    @Test
+    void blocksWithoutTextAreNotCandidates() {
+        index.append(0, messages(3 * BLOCK_SIZE, BLOCK_SIZE + 5, "Connection timeout"));
+
+        var candidates = find(Field.MESSAGE, "timeout");
+
+        assertThat(candidates.mayMatch(0)).isFalse();
+        assertThat(candidates.mayMatch(BLOCK_SIZE + 5)).isTrue();
+        assertThat(candidates.mayMatch(2 * BLOCK_SIZE)).isFalse();
+        assertThat(candidates.nextCandidate(0)).isEqualTo(BLOCK_SIZE);
+        assertThat(candidates.nextCandidate(2 * BLOCK_SIZE)).isEqualTo(3 * BLOCK_SIZE);
+        assertThat(candidates.previousCandidate(3 * BLOCK_SIZE - 1)).isEqualTo(2 * BLOCK_SIZE - 1);
+        assertThat(candidates.previousCandidate(BLOCK_SIZE - 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void lookupIgnoresCase() {
+        index.append(0, messages(BLOCK_SIZE, 0, "Connection TIMEOUT"));
+
+        assertThat(find(Field.MESSAGE, "Timeout").mayMatch(0)).isTrue();
+    }
+
+    @Test
+    void rowsAfterIndexedAreCandidates() {
+        index.append(0, messages(BLOCK_SIZE, -1, "timeout"));
+
+        var candidates = find(Field.MESSAGE, "timeout");
+
+        assertThat(candidates.mayMatch(BLOCK_SIZE - 1)).isFalse();
+        assertThat(candidates.mayMatch(BLOCK_SIZE)).isTrue();
+        assertThat(candidates.nextCandidate(0)).isEqualTo(BLOCK_SIZE);
+    }
+
+    @Test
+    void fieldsAreIndexedSeparately() {
+        index.append(0, List.of(LogRecordUtils.forTag("ActivityManager")));
+
+        assertThat(find(Field.TAG, "activity").mayMatch(0)).isTrue();
+        assertThat(find(Field.MESSAGE, "activity").mayMatch(0)).isFalse();
+    }
+
+    @Test
+    void anyAlternativeMakesRowCandidate() {
+        index.append(0, List.of(LogRecordUtils.forTag("ActivityManager")));
+
+        var candidates = index.findCandidates(ImmutableList.of(
+                new RequiredText(Field.MESSAGE, "activity"), new RequiredText(Field.TAG, "manager")));
+
+        assertThat(candidates).isNotNull();
+        assertThat(candidates.mayMatch(0)).isTrue();
+    }
+
+    @Test
+    void textWithoutIndexableTrigramsCannotBeLookedUp() {
+        index.append(0, messages(BLOCK_SIZE, 0, "timeout"));
+
+        assertThat(index.findCandidates(List.of(new RequiredText(Field.MESSAGE, "to")))).isNull();
+        assertThat(index.findCandidates(List.of(new RequiredText(Field.MESSAGE, "ini")))).isNull();
+        assertThat(index.findCandidates(List.of(new RequiredText(Field.PID, "123")))).isNull();
+    }
+
+    @Test
+    void nonAsciiCharactersDoNotHideMatches() {
+        index.append(0, messages(BLOCK_SIZE, 0, "\u041e\u0448\u0438\u0431\u043a\u0430: timeout"));
+
+        assertThat(find(Field.MESSAGE, "\u043e\u0448\u0438\u0431\u043a\u0430: timeout").mayMatch(0)).isTrue();
+    }
+
+    @Test
+    void truncatedRowsAreReindexed() {
+        index.append(0, messages(3 * BLOCK_SIZE, 2 * BLOCK_SIZE + 1, "timeout"));
+
+        index.truncate(2 * BLOCK_SIZE + 1);
+        assertThat(index.getIndexedRowCount()).isEqualTo(2 * BLOCK_SIZE);
+
+        index.append(2 * BLOCK_SIZE, messages(BLOCK_SIZE, 0, "timeout"));
+
+        var candidates = find(Field.MESSAGE, "timeout");
+        assertThat(candidates.mayMatch(2 * BLOCK_SIZE)).isTrue();
+        assertThat(candidates.previousCandidate(3 * BLOCK_SIZE - 1)).isEqualTo(3 * BLOCK_SIZE - 1);
+        assertThat(candidates.previousCandidate(2 * BLOCK_SIZE - 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void alreadyIndexedRowsAreSkippedOnAppend() {
+        var records = messages(2 * BLOCK_SIZE, 0, "timeout");
+        index.append(0, records.subList(0, BLOCK_SIZE));
+
+        index.append(0, records);
+
+        assertThat(index.getIndexedRowCount()).isEqualTo(2 * BLOCK_SIZE);
+    }
+
+    @Test
+    void indexStopsGrowingAtBudget() {
+        var smallIndex = new TrigramIndex(1);
+
+        smallIndex.append(0, messages(BLOCK_SIZE, 0, "timeout"));
+
+        assertThat(smallIndex.getIndexedRowCount()).isEqualTo(1);
+        assertThat(smallIndex.findCandidates(List.of(new RequiredText(Field.MESSAGE, "timeout")))).isNotNull()
+                .satisfies(candidates -> assertThat(candidates.mayMatch(BLOCK_SIZE - 1)).isTrue());
+    }
+
+    private TrigramIndex.Candidates find(Field<?> field, String text) {
+        var candidates = index.findCandidates(List.of(new RequiredText(field, text)));
+        assertThat(candidates).isNotNull();
+        return candidates;
+    }
+
+    /**
+     * Creates records with the filler messages, the message of the record at {@code matchingRow} is
+     * {@code matchingMessage}.
+     */
+    private static List<LogRecord> messages(int count, int matchingRow, String matchingMessage) {
+        var result = new ArrayList<LogRecord>(count);
+        for (int i = 0; i < count; ++i) {
+            result.add(LogRecordUtils.forMessage(i == matchingRow ? matchingMessage : "Filler message " + i));
+        }
+        return result;
+    }
+}
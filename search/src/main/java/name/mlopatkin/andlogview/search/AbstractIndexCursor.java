@@ -22,6 +22,9 @@ import com.google.common.base.Preconditions;
  * Base class for index-based cursor. It tracks position internally as a non-negative integer index bounded by 0
  * (inclusive) and the size of the underlying sequence (exclusive). All indices within the bounds are considered valid
  * and should have corresponding values. An array and its index are the typical example.
+ * <p>
+ * The search may check the values of the cursor in parallel, so {@link #getValueAtIndex(int)},
+ * {@link #findCandidate(int, int)} and {@link #size()} must be safe to call from several threads at once.
  *
  * @param <T> the type of values
  * @param <P> the type of positions
@@ -61,6 +64,17 @@ public abstract class AbstractIndexCursor<T, P> implements SearchCursor<T, P> {
      */
     protected abstract int size();
 
+    /**
+     * Finds the first index starting from {@code fromIndex} in the given direction that may hold a matching value. The
+     * default implementation considers all values to be candidates.
+     *
+     * @param fromIndex the index to start from, may be out of bounds
+     * @param direction the direction to look in, 1 or -1
+     * @return the index of the candidate or the out of bounds index if there are no candidates
+     */
+    protected int findCandidate(int fromIndex, int direction) {
+        return fromIndex;
+    }
 
     @Override
     public final boolean advance(int increment) {
@@ -71,6 +85,16 @@ public abstract class AbstractIndexCursor<T, P> implements SearchCursor<T, P> {
         return false;
     }
 
+    @Override
+    public final boolean advanceToCandidate(int direction) {
+        int candidate = findCandidate(index + direction, direction);
+        if (isValidIndex(candidate)) {
+            index = candidate;
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public final T getValue() {
         Preconditions.checkState(isValidIndex(index), "Current index %s is out of bounds [0, %s)", index, size());
@@ -91,6 +115,17 @@ public abstract class AbstractIndexCursor<T, P> implements SearchCursor<T, P> {
         index = newIndex;
     }
 
+    /** Returns the current index of the cursor. */
+    final int getIndex() {
+        return index;
+    }
+
+    /** Moves the cursor to the valid index. */
+    final void setIndex(int newIndex) {
+        Preconditions.checkArgument(isValidIndex(newIndex), "Index %s is out of bounds [0, %s)", newIndex, size());
+        index = newIndex;
+    }
+
     @Override
     public final boolean isEmpty() {
         return size() == 0;
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * The set of matches of a search, kept as the sorted array of integer keys of the matching items, e.g. their indices.
+ * Finding the number of the match and the next or previous match is a binary search. The set can be extended when new
+ * items are appended.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class MatchSet {
+    // The number of items checked by a single parallel task. The task also checks for cancellation after processing
+    // this many items.
+    @VisibleForTesting
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private int[] keys;
+    private int size;
+
+    /**
+     * Creates the set of matches.
+     *
+     * @param sortedKeys the keys of the matching items in ascending order, the set takes ownership of the array
+     */
+    public MatchSet(int[] sortedKeys) {
+        this.keys = sortedKeys;
+        this.size = sortedKeys.length;
+    }
+
+    /**
+     * Finds the items that match the strategy. The items are split into chunks that are checked in parallel on the
+     * common fork-join pool, so the strategy must be thread-safe.
+     *
+     * @param keys the keys of the items to check in ascending order
+     * @param items the function to get the item by its key
+     * @param strategy the search strategy
+     * @param isCancelled the cancellation flag, checked periodically
+     * @param <T> the type of items
+     * @return the keys of the matching items in ascending order
+     * @throws CancellationException if {@code isCancelled} returns true while searching
+     */
+    public static <T> int[] findMatches(int[] keys, IntFunction<? extends T> items, Predicate<? super T> strategy,
+            BooleanSupplier isCancelled) {
+        var chunks = new int[(keys.length + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        IntStream.range(0, chunks.length).parallel().forEach(chunk -> {
+            if (isCancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            int from = chunk * CHUNK_SIZE;
+            chunks[chunk] = findMatches(keys, from, Math.min(from + CHUNK_SIZE, keys.length), items, strategy);
+        });
+        var result = new int[Arrays.stream(chunks).mapToInt(chunk -> chunk.length).sum()];
+        int resultSize = 0;
+        for (var chunk : chunks) {
+            System.arraycopy(chunk, 0, result, resultSize, chunk.length);
+            resultSize += chunk.length;
+        }
+        return result;
+    }
+
+    private static <T> int[] findMatches(int[] keys, int from, int to, IntFunction<? extends T> items,
+            Predicate<? super T> strategy) {
+        var result = new int[to - from];
+        int resultSize = 0;
+        for (int i = from; i < to; ++i) {
+            if (strategy.test(items.apply(keys[i]))) {
+                result[resultSize++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Appends the keys of the matching items to the set.
+     *
+     * @param sortedKeys the keys in ascending order, all greater than the keys already in the set
+     */
+    public void addAll(int[] sortedKeys) {
+        if (sortedKeys.length == 0) {
+            return;
+        }
+        Preconditions.checkArgument(size == 0 || keys[size - 1] < sortedKeys[0],
+                "Key %s doesn't follow the last key %s", sortedKeys[0], size > 0 ? keys[size - 1] : null);
+        if (size + sortedKeys.length > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(size + sortedKeys.length, keys.length + (keys.length >> 1)));
+        }
+        System.arraycopy(sortedKeys, 0, keys, size, sortedKeys.length);
+        size += sortedKeys.length;
+    }
+
+    /**
+     * Returns the number of matches.
+     *
+     * @return the number of matches
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of the match with the given key, counting from 1.
+     *
+     * @param key the key of the item
+     * @return the number of the match or 0 if the item with this key doesn't match
+     */
+    public int getMatchNumber(int key) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        return index >= 0 ? index + 1 : 0;
+    }
+
+    /**
+     * Finds the match starting from the item with the given key in the given direction. The item itself is only
+     * considered if the direction says so.
+     *
+     * @param fromKey the key of the item to start from, the item doesn't have to be in the set
+     * @param direction the direction of the search
+     * @return the key of the found match or -1 if there is no match in that direction
+     */
+    public int find(int fromKey, Search.Direction direction) {
+        int index = Arrays.binarySearch(keys, 0, size, fromKey);
+        if (index >= 0 && direction.shouldSearchCurrent()) {
+            return fromKey;
+        }
+        // The insertion point is the index of the first key greater than fromKey.
+        int higher = index >= 0 ? index + 1 : -index - 1;
+        int found = direction.isForward() ? higher : (index >= 0 ? index : higher) - 1;
+        return 0 <= found && found < size ? keys[found] : -1;
+    }
+}
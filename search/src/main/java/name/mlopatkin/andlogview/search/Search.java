@@ -31,15 +31,46 @@ public interface Search<P> {
      * @param direction the direction to search in
      * @return the completable future that receives the search result
      */
-    CompletableFuture<Optional<P>> search(Direction direction);
+    default CompletableFuture<Optional<P>> search(Direction direction) {
+        return search(direction, checkedItems -> {});
+    }
+
+    /**
+     * Starts the search starting at the current position in the given direction, like {@link #search(Direction)}, and
+     * reports its progress to the listener. Starting the new search cancels the one in progress, the future of the
+     * cancelled search completes with {@link java.util.concurrent.CancellationException}.
+     *
+     * @param direction the direction to search in
+     * @param progressListener the listener to receive progress updates, may be called on any thread
+     * @return the completable future that receives the search result
+     */
+    CompletableFuture<Optional<P>> search(Direction direction, ProgressListener progressListener);
 
     /**
-     * Sets the new position from which the next search will start.
+     * Sets the new position from which the next search will start. The search in progress, if any, is cancelled.
      *
      * @param position the new position
      */
     void setPosition(P position);
 
+    /**
+     * Cancels the search in progress, if any. The position from which the next search will start doesn't change.
+     */
+    void cancel();
+
+    /**
+     * Receives the progress of the long-running search.
+     */
+    @FunctionalInterface
+    interface ProgressListener {
+        /**
+         * Called periodically while the search is running.
+         *
+         * @param checkedItems the number of items checked so far
+         */
+        void onProgress(int checkedItems);
+    }
+
     /**
      * The direction of a search.
      */
@@ -66,13 +97,17 @@ public interface Search<P> {
         }
 
         boolean tryAdvanceCursor(SearchCursor<?, ?> cursor) {
-            return cursor.advance(increment);
+            return cursor.advanceToCandidate(increment);
         }
 
         boolean shouldSearchCurrent() {
             return shouldSearchCurrent;
         }
 
+        boolean isForward() {
+            return increment > 0;
+        }
+
         /**
          * Returns the Direction constant that performs search in the same direction, but also checks the currently
          * selected item.
@@ -34,6 +34,19 @@ public interface SearchCursor<T, P> {
      */
     boolean advance(int increment);
 
+    /**
+     * Advances the cursor to the next item in the given direction that may match the search this cursor was created
+     * for. The cursor may skip items that cannot match, e.g. with the help of an index. Cursor position doesn't change
+     * if there are no more candidates.
+     *
+     * @param direction the direction to move, 1 to move forward, -1 to move backward
+     * @return {@code true} if the cursor moved, {@code false} if there are no more candidates in that direction
+     * @see SearchDataModel#newCursor(java.util.function.Predicate)
+     */
+    default boolean advanceToCandidate(int direction) {
+        return advance(direction);
+    }
+
     /**
      * Returns the value of the item the cursor points too. Throws an exception if the cursor is empty.
      *
@@ -16,6 +16,8 @@
 
 package name.mlopatkin.andlogview.search;
 
+import java.util.function.Predicate;
+
 /**
  * A model that provides searchable data and their positions. A position can be used to look up data item in the model
  * or associated structures.
@@ -25,9 +27,23 @@ package name.mlopatkin.andlogview.search;
  */
 public interface SearchDataModel<T, P> {
     /**
-     * Creates a new cursor that points to the beginning of the model.
+     * Creates a new cursor that points to the beginning of the model. The search model creates a new cursor for each
+     * search. If the search runs asynchronously, the cursor is used on the search thread, so it should work on the
+     * snapshot of the model rather than on the thread-confined state.
      *
      * @return the new cursor
      */
     SearchCursor<T, P> newCursor();
+
+    /**
+     * Creates a new cursor for the search with the given strategy. The cursor may skip the items that cannot match the
+     * strategy when {@link SearchCursor#advanceToCandidate(int)} is called. By default, the cursor doesn't skip
+     * anything.
+     *
+     * @param strategy the strategy of the search
+     * @return the new cursor
+     */
+    default SearchCursor<T, P> newCursor(Predicate<? super T> strategy) {
+        return newCursor();
+    }
 }
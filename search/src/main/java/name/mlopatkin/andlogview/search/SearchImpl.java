@@ -16,30 +16,107 @@
 
 package name.mlopatkin.andlogview.search;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Predicate;
 
 /**
- * An implementation of {@link Search} that provides access to the strategy.
+ * An implementation of {@link Search} that provides access to the strategy. Each search runs on the search executor
+ * over the fresh cursor of the data model, created for the strategy. Only the position where the search starts is
+ * carried over between searches. The position is updated when the search finds something, unless the search was
+ * cancelled or superseded by then.
  */
 class SearchImpl<T, P, S extends Predicate<? super T>> implements Search<P> {
-    private final SyncSearch<?, P> search;
+    private final SearchDataModel<T, P> dataModel;
     private final S strategy;
+    private final Executor searchExecutor;
+
+    // Guarded by this.
+    private @Nullable P position;
+    // Guarded by this.
+    private @Nullable CompletableFuture<Optional<P>> pendingSearch;
 
-    SearchImpl(SearchCursor<T, P> searchCursor, S strategy) {
+    SearchImpl(SearchDataModel<T, P> dataModel, S strategy, Executor searchExecutor, @Nullable P startPosition) {
+        this.dataModel = dataModel;
         this.strategy = strategy;
-        this.search = new SyncSearch<>(searchCursor, strategy);
+        this.searchExecutor = searchExecutor;
+        this.position = startPosition;
     }
 
     @Override
-    public CompletableFuture<Optional<P>> search(Direction direction) {
-        return CompletableFuture.completedFuture(search.search(direction));
+    public CompletableFuture<Optional<P>> search(Direction direction, ProgressListener progressListener) {
+        var result = new CompletableFuture<Optional<P>>();
+        cancel();
+        var cursor = dataModel.newCursor(strategy);
+        synchronized (this) {
+            var startPosition = position;
+            if (startPosition != null && !cursor.isEmpty()) {
+                trySetPosition(cursor, startPosition);
+            }
+            pendingSearch = result;
+        }
+        try {
+            searchExecutor.execute(() -> runSearch(cursor, direction, progressListener, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void runSearch(SearchCursor<T, P> cursor, Direction direction, ProgressListener progressListener,
+            CompletableFuture<Optional<P>> result) {
+        Optional<P> found;
+        try {
+            found = new SyncSearch<>(cursor, strategy).search(direction, progressListener, result::isDone);
+        } catch (CancellationException e) {
+            // The future is already cancelled.
+            return;
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        synchronized (this) {
+            if (pendingSearch != result) {
+                return;
+            }
+            pendingSearch = null;
+            found.ifPresent(p -> position = p);
+        }
+        result.complete(found);
+    }
+
+    private static <P> void trySetPosition(SearchCursor<?, P> cursor, P position) {
+        try {
+            cursor.setPosition(position);
+        } catch (IllegalArgumentException e) {
+            // The item at the position may be gone from the fresh cursor, e.g. if the model was cleared. The search
+            // starts from the beginning then.
+        }
     }
 
     @Override
     public void setPosition(P position) {
-        search.setPosition(position);
+        cancel();
+        synchronized (this) {
+            this.position = position;
+        }
+    }
+
+    @Override
+    public void cancel() {
+        CompletableFuture<Optional<P>> cancelled;
+        synchronized (this) {
+            cancelled = pendingSearch;
+            pendingSearch = null;
+        }
+        if (cancelled != null) {
+            cancelled.cancel(false);
+        }
     }
 
     public S getStrategy() {
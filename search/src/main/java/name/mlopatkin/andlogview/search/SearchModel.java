@@ -19,9 +19,12 @@ package name.mlopatkin.andlogview.search;
 import name.mlopatkin.andlogview.utils.events.Observable;
 import name.mlopatkin.andlogview.utils.events.Subject;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 import org.jspecify.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 /**
@@ -53,16 +56,29 @@ public class SearchModel<T, P, S extends Predicate<? super T>> {
     private final Subject<StrategyObserver<S>> strategyObservers = new Subject<>();
 
     private final SearchDataModel<T, P> dataModel;
+    private final Executor searchExecutor;
 
     private @Nullable SearchImpl<T, P, S> currentSearch;
 
     /**
-     * Constructs the new search model
+     * Constructs the new search model that searches synchronously.
      *
      * @param dataModel the data model providing data to search in
      */
     public SearchModel(SearchDataModel<T, P> dataModel) {
+        this(dataModel, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Constructs the new search model that searches on the given executor. The cursors of the data model must be
+     * usable on the executor's threads.
+     *
+     * @param dataModel the data model providing data to search in
+     * @param searchExecutor the executor to run searches on
+     */
+    public SearchModel(SearchDataModel<T, P> dataModel, Executor searchExecutor) {
         this.dataModel = dataModel;
+        this.searchExecutor = searchExecutor;
     }
 
     /**
@@ -74,10 +90,7 @@ public class SearchModel<T, P, S extends Predicate<? super T>> {
      * @param startPosition the position to start search at
      */
     public void startSearch(S searchStrategy, P startPosition) {
-        var cursor = dataModel.newCursor();
-        cursor.setPosition(startPosition);
-
-        startSearch(cursor, searchStrategy);
+        startNewSearch(searchStrategy, startPosition);
     }
 
     /**
@@ -87,11 +100,12 @@ public class SearchModel<T, P, S extends Predicate<? super T>> {
      * @param searchStrategy the search strategy
      */
     public void startSearch(S searchStrategy) {
-        startSearch(dataModel.newCursor(), searchStrategy);
+        startNewSearch(searchStrategy, null);
     }
 
-    private void startSearch(SearchCursor<T, P> cursor, S searchStrategy) {
-        currentSearch = new SearchImpl<>(cursor, searchStrategy);
+    private void startNewSearch(S searchStrategy, @Nullable P startPosition) {
+        cancelPendingSearch();
+        currentSearch = new SearchImpl<>(dataModel, searchStrategy, searchExecutor, startPosition);
         for (var o : strategyObservers) {
             o.onNewSearchStrategy(searchStrategy);
         }
@@ -102,6 +116,7 @@ public class SearchModel<T, P, S extends Predicate<? super T>> {
      */
     public void finishSearch() {
         if (currentSearch != null) {
+            cancelPendingSearch();
             currentSearch = null;
             for (var o : strategyObservers) {
                 o.onSearchStrategyCleared();
@@ -109,6 +124,17 @@ public class SearchModel<T, P, S extends Predicate<? super T>> {
         }
     }
 
+    /**
+     * Cancels the search in progress, if any. The search session stays active, so the search can be repeated. This
+     * should be called when the data model changes in a way that invalidates the positions of its items.
+     */
+    public void cancelPendingSearch() {
+        var search = currentSearch;
+        if (search != null) {
+            search.cancel();
+        }
+    }
+
     /**
      * Returns the strategy used for the ongoing search.
      *
@@ -16,13 +16,41 @@
 
 package name.mlopatkin.andlogview.search;
 
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * A search implementation that performs search synchronously.
+ * <p>
+ * If the cursor is an {@link AbstractIndexCursor} and the match isn't found among the first {@link #PROGRESS_STEP}
+ * items, the rest of the items in the search direction are split into chunks that are checked in parallel on the common
+ * fork-join pool. The nearest match in the search direction wins: once some chunk finds a match, the chunks that are
+ * farther away are skipped. The matcher must be thread-safe in this case, as well as the value access of the cursor.
  */
 class SyncSearch<T, P> {
+    // The search checks for cancellation and reports progress after checking this many items.
+    @VisibleForTesting
+    static final int PROGRESS_STEP = 1 << 16;
+
+    // The number of items checked by a single parallel task. The task doesn't start if the closer match is already
+    // found or if the search is cancelled.
+    @VisibleForTesting
+    static final int PARALLEL_CHUNK_SIZE = 1 << 14;
+
+    // The parallel task stops early if the search is cancelled or if the closer match is found. It checks this after
+    // checking this many items, so the slow matcher doesn't keep the task running long after that.
+    @VisibleForTesting
+    static final int CHUNK_CHECK_STEP = 1 << 8;
+
+    private static final int NOT_FOUND = -1;
+
     private final SearchCursor<T, P> cursor;
     private final Predicate<? super T> matcher;
 
@@ -32,6 +60,17 @@ class SyncSearch<T, P> {
     }
 
     public Optional<P> search(Search.Direction direction) {
+        return search(direction, checkedItems -> {}, () -> false);
+    }
+
+    /**
+     * Performs the search like {@link #search(Search.Direction)}, but reports progress and stops if cancelled. The
+     * cursor doesn't move if the search is cancelled.
+     *
+     * @throws CancellationException if {@code isCancelled} returns true while searching
+     */
+    public Optional<P> search(Search.Direction direction, Search.ProgressListener progressListener,
+            BooleanSupplier isCancelled) {
         if (cursor.isEmpty()) {
             return notFound();
         }
@@ -43,10 +82,23 @@ class SyncSearch<T, P> {
             }
         }
 
+        int checkedItems = 0;
         while (direction.tryAdvanceCursor(cursor)) {
             if (matchesCurrent()) {
                 return Optional.of(cursor.getPosition());
             }
+            if (++checkedItems % PROGRESS_STEP == 0) {
+                if (isCancelled.getAsBoolean()) {
+                    cursor.setPosition(initialPosition);
+                    throw new CancellationException();
+                }
+                progressListener.onProgress(checkedItems);
+                if (cursor instanceof AbstractIndexCursor<T, P> indexCursor
+                        && canSearchInParallel(indexCursor, direction)) {
+                    return searchInParallel(indexCursor, direction, initialPosition, checkedItems, progressListener,
+                            isCancelled);
+                }
+            }
         }
 
         // Revert cursor's position. This helps in the following case:
@@ -59,6 +111,82 @@ class SyncSearch<T, P> {
         return notFound();
     }
 
+    private static boolean canSearchInParallel(AbstractIndexCursor<?, ?> cursor, Search.Direction direction) {
+        return getRemainingItems(cursor, direction) > 2 * PARALLEL_CHUNK_SIZE;
+    }
+
+    private static int getRemainingItems(AbstractIndexCursor<?, ?> cursor, Search.Direction direction) {
+        return direction.isForward() ? cursor.size() - cursor.getIndex() - 1 : cursor.getIndex();
+    }
+
+    private Optional<P> searchInParallel(AbstractIndexCursor<T, P> cursor, Search.Direction direction,
+            P initialPosition, int alreadyCheckedItems, Search.ProgressListener progressListener,
+            BooleanSupplier isCancelled) {
+        int step = direction.isForward() ? 1 : -1;
+        int first = cursor.getIndex() + step;
+        int remaining = getRemainingItems(cursor, direction);
+        var hits = new int[(remaining + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE];
+        Arrays.fill(hits, NOT_FOUND);
+        var nearestHitChunk = new AtomicInteger(hits.length);
+        var checkedItems = new AtomicInteger(alreadyCheckedItems);
+        try {
+            IntStream.range(0, hits.length).parallel().forEach(chunk -> {
+                if (chunk > nearestHitChunk.get()) {
+                    return;
+                }
+                if (isCancelled.getAsBoolean()) {
+                    throw new CancellationException();
+                }
+                int chunkFirst = first + step * chunk * PARALLEL_CHUNK_SIZE;
+                int chunkSize = Math.min(PARALLEL_CHUNK_SIZE, remaining - chunk * PARALLEL_CHUNK_SIZE);
+                int chunkCheckedItems = 0;
+                int index = cursor.findCandidate(chunkFirst, step);
+                while (isInChunk(index, chunkFirst, chunkSize, step)) {
+                    if (chunkCheckedItems > 0 && chunkCheckedItems % CHUNK_CHECK_STEP == 0) {
+                        if (isCancelled.getAsBoolean()) {
+                            throw new CancellationException();
+                        }
+                        if (chunk > nearestHitChunk.get()) {
+                            break;
+                        }
+                    }
+                    ++chunkCheckedItems;
+                    if (matcher.test(cursor.getValueAtIndex(index))) {
+                        hits[chunk] = index;
+                        nearestHitChunk.accumulateAndGet(chunk, Math::min);
+                        break;
+                    }
+                    index = cursor.findCandidate(index + step, step);
+                }
+                reportProgress(checkedItems, chunkCheckedItems, progressListener);
+            });
+        } catch (CancellationException e) {
+            cursor.setPosition(initialPosition);
+            throw e;
+        }
+        int nearestChunk = nearestHitChunk.get();
+        if (nearestChunk == hits.length) {
+            cursor.setPosition(initialPosition);
+            return notFound();
+        }
+        cursor.setIndex(hits[nearestChunk]);
+        return Optional.of(cursor.getPosition());
+    }
+
+    private static boolean isInChunk(int index, int chunkFirst, int chunkSize, int step) {
+        int offset = (index - chunkFirst) * step;
+        return 0 <= offset && offset < chunkSize;
+    }
+
+    private static void reportProgress(AtomicInteger checkedItems, int chunkCheckedItems,
+            Search.ProgressListener progressListener) {
+        int total = checkedItems.addAndGet(chunkCheckedItems);
+        int reportedSteps = (total - chunkCheckedItems) / PROGRESS_STEP;
+        if (total / PROGRESS_STEP > reportedSteps) {
+            progressListener.onProgress(total / PROGRESS_STEP * PROGRESS_STEP);
+        }
+    }
+
     public void setPosition(P position) {
         cursor.setPosition(position);
     }
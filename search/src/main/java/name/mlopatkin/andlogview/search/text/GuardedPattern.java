@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.text;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates the regular expression with a bounded number of steps. Some expressions, like {@code (.*a){12}b},
+ * backtrack for seconds before failing on a long enough input. The regex engine cannot be interrupted, but it reads
+ * the input through the {@link CharSequence} interface, so the input is wrapped to count the characters the engine
+ * reads. When the count exceeds the budget, the evaluation is aborted, the input is treated as not matching and the
+ * abort is recorded in {@link RegexStatistics}. Each evaluation gets its own budget, so an abort doesn't affect how
+ * the other inputs are matched.
+ * <p>
+ * The budget grows with the square of the input length, so the expressions that backtrack at most quadratically, like
+ * {@code .*foo.*bar}, are not aborted on inputs of reasonable size. The budget is capped, but reading this many
+ * characters through the wrapper still takes a few hundred milliseconds, so a single abort is expensive.
+ * <p>
+ * This class is thread-safe.
+ */
+final class GuardedPattern {
+    @VisibleForTesting
+    static final long MIN_STEP_BUDGET = 1 << 20;
+    @VisibleForTesting
+    static final long MAX_STEP_BUDGET = 1 << 27;
+    // The regex engine reads each character a few times per backtracking attempt.
+    private static final long STEPS_PER_ATTEMPT = 4;
+
+    private final Pattern pattern;
+    private final RegexStatistics statistics;
+
+    GuardedPattern(Pattern pattern, RegexStatistics statistics) {
+        this.pattern = pattern;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Checks if some substring of the input matches the pattern.
+     *
+     * @param input the input
+     * @return true if the matching substring is found, false if it isn't or the evaluation is aborted
+     */
+    boolean find(String input) {
+        try {
+            return pattern.matcher(new BoundedInput(input)).find();
+        } catch (StepBudgetExceededException e) {
+            statistics.recordAbortedEvaluation();
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the whole input matches the pattern.
+     *
+     * @param input the input
+     * @return true if the input matches, false if it doesn't or the evaluation is aborted
+     */
+    boolean matches(String input) {
+        try {
+            return pattern.matcher(new BoundedInput(input)).matches();
+        } catch (StepBudgetExceededException e) {
+            statistics.recordAbortedEvaluation();
+            return false;
+        }
+    }
+
+    /**
+     * Highlights all occurrences of the pattern in the text. The occurrences found before the evaluation is aborted
+     * remain highlighted.
+     *
+     * @param text the text
+     * @param highlighter the highlighter
+     */
+    void highlightAll(String text, TextHighlighter highlighter) {
+        // All occurrences share the budget of the whole text.
+        Matcher m = pattern.matcher(new BoundedInput(text));
+        try {
+            while (m.find()) {
+                highlighter.highlightText(m.start(), m.end());
+            }
+        } catch (StepBudgetExceededException e) {
+            statistics.recordAbortedEvaluation();
+        }
+    }
+
+    @VisibleForTesting
+    static long getStepBudget(int inputLength) {
+        // Longer inputs get the maximal budget anyway, clamping the length prevents the overflow.
+        long length = Math.min(inputLength, 1 << 16);
+        return Math.min(MAX_STEP_BUDGET, MIN_STEP_BUDGET + STEPS_PER_ATTEMPT * length * length);
+    }
+
+    /**
+     * The input that counts the characters read by the regex engine and throws when the budget is exhausted.
+     */
+    private static final class BoundedInput implements CharSequence {
+        private final String text;
+        private long remainingSteps;
+
+        BoundedInput(String text) {
+            this.text = text;
+            this.remainingSteps = getStepBudget(text.length());
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--remainingSteps < 0) {
+                throw StepBudgetExceededException.INSTANCE;
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Unwinds the regex engine. The exception is preallocated and has no stack trace, so throwing it is cheap.
+     */
+    private static final class StepBudgetExceededException extends RuntimeException {
+        static final StepBudgetExceededException INSTANCE = new StepBudgetExceededException();
+
+        private StepBudgetExceededException() {
+            super("The step budget of the regex evaluation is exceeded", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.text;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Finds the pattern in strings ignoring case. The string contains the pattern if the lowercased string contains the
+ * lowercased pattern, using {@link String#toLowerCase(Locale)} with the default locale. Unlike lowercasing, the search
+ * doesn't allocate: the pattern is lowercased once and the characters of the string are lowercased one by one as they
+ * are compared. ASCII characters are lowercased without table lookups. The search skips ahead with the
+ * Boyer-Moore-Horspool table.
+ * <p>
+ * Lowercasing characters one by one gives the same string as lowercasing the whole string, except for a few characters:
+ * the capital I with dot above lowercases into two characters, the capital sigma lowercases depending on its position
+ * in a word, and the characters outside the BMP are encoded with surrogate pairs. Lowercases of these characters can
+ * only be a part of the match if the pattern has the small i, the combining dot above, the small sigma or the
+ * surrogates. The strings with such characters are lowercased as a whole if the pattern has one of these. Turkic and
+ * Lithuanian locales lowercase some ASCII characters differently too, so the strings are always lowercased as a whole
+ * in these locales. The indices of the matches in the strings lowercased as a whole are the indices in the lowercased
+ * string.
+ */
+final class IgnoreCaseFinder {
+    private static final ImmutableSet<String> CONTEXT_SENSITIVE_LANGUAGES = ImmutableSet.of("tr", "az", "lt");
+    private static final int SKIP_TABLE_SIZE = 256;
+
+    private final Locale locale;
+    private final String pattern;
+    private final boolean isLowercasedCharByChar;
+    private final boolean mayMatchSpecialLowercase;
+    // Indexed by the low byte of the lowercased character. Characters that share the same low byte get the smallest of
+    // their skips, so the skip is never too long.
+    private final int[] skipTable = new int[SKIP_TABLE_SIZE];
+
+    /**
+     * Creates the finder of the pattern that uses the current default locale.
+     *
+     * @param pattern the pattern to find
+     */
+    IgnoreCaseFinder(String pattern) {
+        this(pattern, Locale.getDefault());
+    }
+
+    @VisibleForTesting
+    IgnoreCaseFinder(String pattern, Locale locale) {
+        this.locale = locale;
+        this.pattern = pattern.toLowerCase(locale);
+        this.isLowercasedCharByChar = !CONTEXT_SENSITIVE_LANGUAGES.contains(locale.getLanguage());
+        this.mayMatchSpecialLowercase = this.pattern.chars().anyMatch(IgnoreCaseFinder::isSpecialLowercase);
+
+        int last = this.pattern.length() - 1;
+        Arrays.fill(skipTable, Math.max(1, this.pattern.length()));
+        for (int i = 0; i < last; ++i) {
+            skipTable[this.pattern.charAt(i) % SKIP_TABLE_SIZE] = last - i;
+        }
+    }
+
+    /**
+     * Finds the first occurrence of the pattern in the text starting from {@code fromIndex}.
+     *
+     * @param text the text to search in
+     * @param fromIndex the index to start from
+     * @return the index of the occurrence or -1 if the pattern is not found
+     */
+    public int indexIn(String text, int fromIndex) {
+        if (!isLowercasedCharByChar || pattern.isEmpty() || (mayMatchSpecialLowercase && hasSpecialChars(text))) {
+            return text.toLowerCase(locale).indexOf(pattern, fromIndex);
+        }
+        int last = pattern.length() - 1;
+        char lastChar = pattern.charAt(last);
+        int end = text.length() - last;
+        for (int start = Math.max(0, fromIndex); start < end; ) {
+            char c = toLowerCase(text.charAt(start + last));
+            if (c == lastChar && matchesAt(text, start, last)) {
+                return start;
+            }
+            start += skipTable[c % SKIP_TABLE_SIZE];
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the text contains the pattern.
+     *
+     * @param text the text to search in
+     * @return {@code true} if the pattern is found
+     */
+    public boolean isContainedIn(String text) {
+        return indexIn(text, 0) >= 0;
+    }
+
+    private boolean matchesAt(String text, int start, int length) {
+        for (int i = 0; i < length; ++i) {
+            if (toLowerCase(text.charAt(start + i)) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerCase(char c) {
+        if (c < 0x80) {
+            return 'A' <= c && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /** Checks if the character can be a part of the lowercase of some special character. */
+    private static boolean isSpecialLowercase(int c) {
+        return c == 'i' || c == '\u0307' || c == '\u03c3' || c == '\u03c2' || Character.isSurrogate((char) c);
+    }
+
+    private static boolean hasSpecialChars(String text) {
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (c >= 0x80 && (c == '\u0130' || c == '\u03a3' || Character.isSurrogate(c))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -15,26 +15,31 @@
  */
 package name.mlopatkin.andlogview.search.text;
 
-import name.mlopatkin.andlogview.utils.MyStringUtils;
-
 class IgnoreCaseSearcher implements HighlightStrategy, SearchStrategy {
     private final String textToSearch;
+    private final IgnoreCaseFinder finder;
 
     public IgnoreCaseSearcher(String text) {
         this.textToSearch = text;
+        this.finder = new IgnoreCaseFinder(text);
     }
 
     @Override
     public boolean test(String s) {
-        return MyStringUtils.indexOfIgnoreCase(s, textToSearch) >= 0;
+        return finder.isContainedIn(s);
+    }
+
+    @Override
+    public String getRequiredText() {
+        return textToSearch;
     }
 
     @Override
     public void highlightOccurences(String text, TextHighlighter highlighter) {
-        int pos = MyStringUtils.indexOfIgnoreCase(text, textToSearch);
-        while (pos != MyStringUtils.NOT_FOUND && pos < text.length()) {
+        int pos = finder.indexIn(text, 0);
+        while (pos >= 0 && pos < text.length()) {
             highlighter.highlightText(pos, pos + textToSearch.length());
-            pos = MyStringUtils.indexOfIgnoreCase(text, textToSearch, pos + textToSearch.length());
+            pos = finder.indexIn(text, pos + textToSearch.length());
         }
     }
 }
@@ -15,29 +15,45 @@
  */
 package name.mlopatkin.andlogview.search.text;
 
-import java.util.regex.Matcher;
+import org.jspecify.annotations.Nullable;
+
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 class RegExpSearcher implements HighlightStrategy, SearchStrategy {
-    private final Pattern pattern;
+    private final GuardedPattern pattern;
+    private final @Nullable RequiredLiteral requiredLiteral;
+    private final RegexStatistics statistics = new RegexStatistics();
 
     public RegExpSearcher(String regex) throws PatternSyntaxException {
-        pattern = Pattern.compile(regex);
+        var compiledPattern = Pattern.compile(regex);
+        pattern = new GuardedPattern(compiledPattern, statistics);
+        requiredLiteral = RequiredLiteral.find(compiledPattern);
     }
 
     @Override
     public boolean test(String s) {
-        return pattern.matcher(s).find();
+        return mayMatch(s) && pattern.find(s);
     }
 
     @Override
     public void highlightOccurences(String text, TextHighlighter highlighter) {
-        Matcher m = pattern.matcher(text);
-        int pos = 0;
-        while (m.find(pos)) {
-            highlighter.highlightText(m.start(), m.end());
-            pos = m.end();
+        if (mayMatch(text)) {
+            pattern.highlightAll(text, highlighter);
         }
     }
+
+    @Override
+    public long getAbortedEvaluations() {
+        return statistics.getAbortedEvaluations();
+    }
+
+    @Override
+    public @Nullable String getRequiredText() {
+        return requiredLiteral != null ? requiredLiteral.getText() : null;
+    }
+
+    private boolean mayMatch(String s) {
+        return requiredLiteral == null || requiredLiteral.isContainedIn(s);
+    }
 }
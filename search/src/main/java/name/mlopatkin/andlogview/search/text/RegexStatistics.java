@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.text;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics of evaluating regular expressions: how many evaluations were aborted because the expression
+ * took too long to evaluate. A pattern with aborted evaluations is likely to backtrack catastrophically, so the UI can
+ * warn the user that the results may be incomplete.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class RegexStatistics {
+    private final LongAdder abortedEvaluations = new LongAdder();
+
+    public RegexStatistics() {}
+
+    /**
+     * Returns the number of evaluations that were aborted. The aborted evaluation is treated as not matching.
+     *
+     * @return the number of aborted evaluations
+     */
+    public long getAbortedEvaluations() {
+        return abortedEvaluations.sum();
+    }
+
+    void recordAbortedEvaluation() {
+        abortedEvaluations.increment();
+    }
+}
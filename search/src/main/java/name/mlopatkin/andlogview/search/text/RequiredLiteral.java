@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.search.text;
+
+import com.google.common.base.Ascii;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * The literal text that every match of a regular expression contains. Checking for it with a plain substring search is
+ * much faster than running the regex engine, so the lines without the literal are rejected before the engine runs.
+ * Most of the regexes people search logs with have such a literal, e.g. {@code ANR in .*} or
+ * {@code Exception: .*timeout}.
+ * <p>
+ * The analysis of the regex is conservative. Only the top-level sequence of the regex is considered: groups, classes
+ * and escapes other than escaped punctuation break the literal. If the regex has a top-level alternation or inline
+ * flags, then there is no required literal.
+ */
+final class RequiredLiteral {
+    // Shorter literals reject too few lines to be worth checking.
+    private static final int MIN_LENGTH = 2;
+    // These flags change the meaning of the literal characters in the regex.
+    private static final int UNSUPPORTED_FLAGS =
+            Pattern.COMMENTS | Pattern.CANON_EQ | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+
+    private final String text;
+    private final boolean ignoreCase;
+
+    private RequiredLiteral(String text, boolean ignoreCase) {
+        this.text = ignoreCase ? Ascii.toLowerCase(text) : text;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Finds the longest literal that every match of the pattern contains.
+     *
+     * @param pattern the compiled pattern
+     * @return the literal or null if the pattern has no required literal that is long enough
+     */
+    static @Nullable RequiredLiteral find(Pattern pattern) {
+        int flags = pattern.flags();
+        if ((flags & UNSUPPORTED_FLAGS) != 0) {
+            return null;
+        }
+        boolean ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+        String literal = (flags & Pattern.LITERAL) != 0
+                ? pattern.pattern()
+                : new Parser(pattern.pattern()).findLongestLiteral();
+        if (literal == null || literal.length() < MIN_LENGTH) {
+            return null;
+        }
+        return new RequiredLiteral(literal, ignoreCase);
+    }
+
+    /**
+     * Returns the text of the literal. The text is in lower case if the literal ignores case.
+     *
+     * @return the text of the literal
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Checks if the text contains the literal. Without {@link Pattern#UNICODE_CASE}, the case-insensitive regex only
+     * ignores the case of ASCII letters, and so does this check.
+     *
+     * @param s the text to check
+     * @return true if the text contains the literal
+     */
+    boolean isContainedIn(String s) {
+        if (!ignoreCase) {
+            return s.contains(text);
+        }
+        int lastStart = s.length() - text.length();
+        char first = text.charAt(0);
+        for (int start = 0; start <= lastStart; ++start) {
+            if (Ascii.toLowerCase(s.charAt(start)) == first && matchesAt(s, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAt(String s, int start) {
+        for (int i = 1; i < text.length(); ++i) {
+            if (Ascii.toLowerCase(s.charAt(start + i)) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return ignoreCase ? "(?i)" + text : text;
+    }
+
+    /**
+     * Scans the top-level sequence of the regex, collecting runs of literal characters. The regex is known to be valid.
+     */
+    private static final class Parser {
+        private final String regex;
+        private int pos;
+        private final StringBuilder run = new StringBuilder();
+        private String longest = "";
+        // True if the last atom is a literal character at the end of the current run.
+        private boolean lastAtomInRun;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        @Nullable String findLongestLiteral() {
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos++);
+                switch (c) {
+                    case '|':
+                        // The literals of one alternative are not required by the others.
+                        return null;
+                    case '\\':
+                        if (!parseEscape()) {
+                            return null;
+                        }
+                        break;
+                    case '[':
+                        skipClass();
+                        breakRun();
+                        break;
+                    case '(':
+                        if (pos < regex.length() && regex.charAt(pos) == '?' && isInlineFlags()) {
+                            return null;
+                        }
+                        skipGroup();
+                        breakRun();
+                        break;
+                    case '.':
+                    case '^':
+                    case '$':
+                        breakRun();
+                        break;
+                    case '?':
+                    case '*':
+                        dropLastAtom();
+                        skipQuantifierModifier();
+                        break;
+                    case '+':
+                        keepLastAtom();
+                        skipQuantifierModifier();
+                        break;
+                    case '{':
+                        if (parseRepetitionMinimum() == 0) {
+                            dropLastAtom();
+                        } else {
+                            keepLastAtom();
+                        }
+                        skipQuantifierModifier();
+                        break;
+                    default:
+                        appendLiteral(c);
+                        break;
+                }
+            }
+            breakRun();
+            return longest;
+        }
+
+        /** Parses the escape after the backslash. Returns false if the escape makes the analysis impossible. */
+        private boolean parseEscape() {
+            char c = regex.charAt(pos++);
+            if (c == 'Q') {
+                int end = regex.indexOf("\\E", pos);
+                String quoted = end >= 0 ? regex.substring(pos, end) : regex.substring(pos);
+                pos = end >= 0 ? end + 2 : regex.length();
+                for (int i = 0; i < quoted.length(); ++i) {
+                    appendLiteral(quoted.charAt(i));
+                }
+                return true;
+            }
+            if (!Ascii.isLowerCase(c) && !Ascii.isUpperCase(c) && !(c >= '0' && c <= '9')) {
+                appendLiteral(c);
+                return true;
+            }
+            // Character classes, boundaries, control characters, back references and so on. Skip the arguments of the
+            // escape too. Skipping more than needed is safe, it only makes the literal shorter.
+            breakRun();
+            if (pos < regex.length() && (regex.charAt(pos) == '{' || regex.charAt(pos) == '<')) {
+                int end = regex.indexOf(regex.charAt(pos) == '{' ? '}' : '>', pos);
+                pos = end >= 0 ? end + 1 : regex.length();
+            } else if ("xuc0123456789pP".indexOf(c) >= 0) {
+                while (pos < regex.length() && Character.isLetterOrDigit(regex.charAt(pos))) {
+                    ++pos;
+                }
+            }
+            return true;
+        }
+
+        private boolean isInlineFlags() {
+            // "(?" followed by flags, e.g. "(?i)" or "(?-s:...)". Flags may change how the literal characters match.
+            int next = pos + 1;
+            return next < regex.length() && (Ascii.isLowerCase(regex.charAt(next)) || regex.charAt(next) == '-');
+        }
+
+        private void skipClass() {
+            // The closing bracket right after the opening one (or after the negation) is a literal.
+            if (pos < regex.length() && regex.charAt(pos) == '^') {
+                ++pos;
+            }
+            if (pos < regex.length() && regex.charAt(pos) == ']') {
+                ++pos;
+            }
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos++);
+                if (c == '\\') {
+                    ++pos;
+                } else if (c == '[') {
+                    skipClass();
+                } else if (c == ']') {
+                    return;
+                }
+            }
+        }
+
+        private void skipGroup() {
+            int depth = 1;
+            while (pos < regex.length() && depth > 0) {
+                char c = regex.charAt(pos++);
+                if (c == '\\') {
+                    if (pos < regex.length() && regex.charAt(pos) == 'Q') {
+                        int end = regex.indexOf("\\E", pos);
+                        pos = end >= 0 ? end + 2 : regex.length();
+                    } else {
+                        ++pos;
+                    }
+                } else if (c == '[') {
+                    skipClass();
+                } else if (c == '(') {
+                    ++depth;
+                } else if (c == ')') {
+                    --depth;
+                }
+            }
+        }
+
+        private int parseRepetitionMinimum() {
+            int end = regex.indexOf('}', pos);
+            String bounds = regex.substring(pos, end);
+            pos = end + 1;
+            int comma = bounds.indexOf(',');
+            String minimum = (comma >= 0 ? bounds.substring(0, comma) : bounds).trim();
+            try {
+                return Integer.parseInt(minimum);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        private void skipQuantifierModifier() {
+            // Reluctant and possessive quantifiers.
+            if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+                ++pos;
+            }
+        }
+
+        private void appendLiteral(char c) {
+            run.append(c);
+            lastAtomInRun = true;
+        }
+
+        /** The last atom may be absent in the match, so it isn't a part of the literal. */
+        private void dropLastAtom() {
+            if (lastAtomInRun) {
+                int last = run.length() - 1;
+                if (last > 0 && Character.isSurrogatePair(run.charAt(last - 1), run.charAt(last))) {
+                    --last;
+                }
+                run.setLength(last);
+            }
+            breakRun();
+        }
+
+        /** The last atom is present in the match but may repeat, so the literal cannot continue after it. */
+        private void keepLastAtom() {
+            breakRun();
+        }
+
+        private void breakRun() {
+            if (run.length() > longest.length()) {
+                longest = run.toString();
+            }
+            run.setLength(0);
+            lastAtomInRun = false;
+        }
+    }
+}
@@ -15,9 +15,31 @@
  */
 package name.mlopatkin.andlogview.search.text;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.function.Predicate;
 
 /**
  * A predicate that can check if the String contains some pattern.
  */
-public interface SearchStrategy extends Predicate<String> {}
+public interface SearchStrategy extends Predicate<String> {
+    /**
+     * Returns the text that every matching string contains, if the case of letters is ignored. The search can use it to
+     * skip strings that cannot match, e.g. with the help of an index.
+     *
+     * @return the required text or null if the strategy doesn't know it
+     */
+    default @Nullable String getRequiredText() {
+        return null;
+    }
+
+    /**
+     * Returns the number of evaluations of this strategy that were aborted because the pattern took too long to
+     * evaluate. The aborted evaluation doesn't match.
+     *
+     * @return the number of aborted evaluations
+     */
+    default long getAbortedEvaluations() {
+        return 0;
+    }
+}
@@ -18,16 +18,20 @@ package name.mlopatkin.andlogview.search.text;
 
 import name.mlopatkin.andlogview.search.RequestCompilationException;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 /**
- * Utility class that helps to construct {@link Predicate} that checks string match.
+ * Utility class that helps to construct {@link Predicate} that checks string match. The regular expressions are
+ * evaluated with a bounded number of steps, see {@link GuardedPattern}.
  */
 public class SearcherBuilder {
     private boolean matchWholeText = true;
     private boolean ignoreCase;
+    private @Nullable RegexStatistics statistics;
 
     /**
      * Constructs a builder object that by default will not ignore case and will attempt to match whole string.
@@ -58,6 +62,17 @@ public class SearcherBuilder {
         return this;
     }
 
+    /**
+     * Sets the statistics to record the aborted evaluations of the resulting predicates in.
+     *
+     * @param statistics the statistics
+     * @return this builder for chaining
+     */
+    public SearcherBuilder setStatistics(RegexStatistics statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
     /**
      * Builds a predicate that performs simple text comparison of the pattern.
      *
@@ -94,18 +109,33 @@ public class SearcherBuilder {
         }
 
         try {
-            return buildRegexpSearcher(Pattern.compile(pattern, flags), matchWholeText);
+            var currentStatistics = statistics;
+            return buildRegexpSearcher(Pattern.compile(pattern, flags), matchWholeText,
+                    currentStatistics != null ? currentStatistics : new RegexStatistics());
         } catch (PatternSyntaxException e) {
             throw new RequestCompilationException(e.getDescription(), pattern, e);
         }
     }
 
     // static to avoid reference to the enclosing builder instance
-    private static Predicate<String> buildRegexpSearcher(final Pattern pattern, boolean matchWholeText) {
+    private static Predicate<String> buildRegexpSearcher(final Pattern pattern, boolean matchWholeText,
+            RegexStatistics statistics) {
+        var literal = RequiredLiteral.find(pattern);
+        var guardedPattern = new GuardedPattern(pattern, statistics);
+        if (literal == null) {
+            if (matchWholeText) {
+                return guardedPattern::matches;
+            } else {
+                return guardedPattern::find;
+            }
+        }
         if (matchWholeText) {
-            return input -> pattern.matcher(input).matches();
+            return input -> literal.isContainedIn(input) && guardedPattern.matches(input);
+        } else if ((pattern.flags() & Pattern.LITERAL) != 0) {
+            // Finding the literal pattern is the same as finding the literal.
+            return literal::isContainedIn;
         } else {
-            return input -> pattern.matcher(input).find();
+            return input -> literal.isContainedIn(input) && guardedPattern.find(input);
         }
     }
 }
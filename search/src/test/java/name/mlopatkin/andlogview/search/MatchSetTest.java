@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
+
+class MatchSetTest {
+    @Test
+    void findsMatchingKeysInOrder() {
+        int[] keys = IntStream.range(0, 3 * MatchSet.CHUNK_SIZE + 1).map(i -> 2 * i).toArray();
+
+        int[] matches = MatchSet.findMatches(keys, key -> key, key -> key % 3 == 0, () -> false);
+
+        assertThat(matches).hasSize((keys.length + 2) / 3).isSorted();
+        assertThat(matches).startsWith(0, 6, 12).endsWith(keys[keys.length - 1]);
+    }
+
+    @Test
+    void itemsAreLookedUpByKey() {
+        String[] items = {"a", "b", "a", "c", "a"};
+
+        int[] matches = MatchSet.findMatches(new int[] {1, 2, 4}, i -> items[i], "a"::equals, () -> false);
+
+        assertThat(matches).containsExactly(2, 4);
+    }
+
+    @Test
+    void cancelledSearchThrows() {
+        int[] keys = IntStream.range(0, 2 * MatchSet.CHUNK_SIZE).toArray();
+
+        assertThatThrownBy(() -> MatchSet.findMatches(keys, key -> key, key -> true, () -> true))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void matchNumbersStartFromOne() {
+        var matches = new MatchSet(new int[] {2, 5, 7});
+
+        assertThat(matches.size()).isEqualTo(3);
+        assertThat(matches.getMatchNumber(2)).isEqualTo(1);
+        assertThat(matches.getMatchNumber(7)).isEqualTo(3);
+        assertThat(matches.getMatchNumber(3)).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, FORWARD, 2",
+            "2, FORWARD, 5",
+            "2, CURRENT_THEN_FORWARD, 2",
+            "3, CURRENT_THEN_FORWARD, 5",
+            "7, FORWARD, -1",
+            "8, BACKWARD, 7",
+            "5, BACKWARD, 2",
+            "5, CURRENT_THEN_BACKWARD, 5",
+            "4, CURRENT_THEN_BACKWARD, 2",
+            "2, BACKWARD, -1",
+    })
+    void findsMatchInDirection(int fromKey, Search.Direction direction, int expected) {
+        var matches = new MatchSet(new int[] {2, 5, 7});
+
+        assertThat(matches.find(fromKey, direction)).isEqualTo(expected);
+    }
+
+    @Test
+    void appendedMatchesAreFound() {
+        var matches = new MatchSet(new int[] {2});
+
+        matches.addAll(new int[] {5, 7});
+        matches.addAll(new int[0]);
+
+        assertThat(matches.size()).isEqualTo(3);
+        assertThat(matches.getMatchNumber(7)).isEqualTo(3);
+        assertThat(matches.find(2, Search.Direction.FORWARD)).isEqualTo(5);
+    }
+
+    @Test
+    void appendingKeysOutOfOrderFails() {
+        var matches = new MatchSet(new int[] {2, 5});
+
+        assertThatThrownBy(() -> matches.addAll(new int[] {4})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
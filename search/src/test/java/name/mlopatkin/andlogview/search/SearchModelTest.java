@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.base.concurrent.TestExecutor;
+
+import com.google.common.primitives.Ints;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+class SearchModelTest {
+    private final TestExecutor searchExecutor = new TestExecutor();
+
+    @Test
+    void searchCompletesOnSearchExecutor() {
+        var search = startSearch(equalTo(1), 0, 1, 2);
+
+        var result = search.search(Search.Direction.FORWARD);
+
+        assertThat(result).isNotDone();
+        searchExecutor.flush();
+        assertThat(result).isCompletedWithValue(Optional.of(1));
+    }
+
+    @Test
+    void newSearchRequestCancelsPendingOne() {
+        var search = startSearch(equalTo(1), 0, 1, 2, 1);
+
+        var first = search.search(Search.Direction.FORWARD);
+        var second = search.search(Search.Direction.FORWARD);
+        searchExecutor.flush();
+
+        assertThat(first).isCancelled();
+        assertThat(second).isCompletedWithValue(Optional.of(1));
+    }
+
+    @Test
+    void finishingSearchCancelsPendingRequest() {
+        var model = new SearchModel<Integer, Integer, Predicate<Integer>>(items(0, 1, 2), searchExecutor);
+        model.startSearch(equalTo(1));
+        var search = model.getCurrentSearch().orElseThrow();
+
+        var result = search.search(Search.Direction.FORWARD);
+        model.finishSearch();
+        searchExecutor.flush();
+
+        assertThat(result).isCancelled();
+    }
+
+    @Test
+    void cancelledSearchDoesNotMovePosition() {
+        var search = startSearch(equalTo(1), 0, 1, 2, 1);
+
+        search.search(Search.Direction.FORWARD);
+        search.cancel();
+        searchExecutor.flush();
+        var result = search.search(Search.Direction.FORWARD);
+        searchExecutor.flush();
+
+        assertThat(result).isCompletedWithValue(Optional.of(1));
+    }
+
+    @Test
+    void longSearchReportsProgress() {
+        var search = startSearch(equalTo(1), new int[2 * SyncSearch.PROGRESS_STEP + 1]);
+        var progress = new ArrayList<Integer>();
+
+        var result = search.search(Search.Direction.FORWARD, progress::add);
+        searchExecutor.flush();
+
+        assertThat(result).isCompletedWithValue(Optional.empty());
+        assertThat(progress).containsExactly(SyncSearch.PROGRESS_STEP, 2 * SyncSearch.PROGRESS_STEP);
+    }
+
+    @Test
+    void searchCanBeCancelledWhileRunning() {
+        var values = new int[2 * SyncSearch.PROGRESS_STEP + 1];
+        values[values.length - 1] = 1;
+        var search = startSearch(equalTo(1), values);
+
+        var result = search.search(Search.Direction.FORWARD, checkedItems -> search.cancel());
+        searchExecutor.flush();
+
+        assertThat(result).isCancelled();
+    }
+
+    private Search<Integer> startSearch(Predicate<Integer> matcher, int... values) {
+        var model = new SearchModel<Integer, Integer, Predicate<Integer>>(items(values), searchExecutor);
+        model.startSearch(matcher);
+        return model.getCurrentSearch().orElseThrow();
+    }
+
+    private static ListSearchModel<Integer> items(int... values) {
+        return new ListSearchModel<>(Ints.asList(values));
+    }
+
+    private static Predicate<Integer> equalTo(int value) {
+        return i -> Objects.equals(value, i);
+    }
+}
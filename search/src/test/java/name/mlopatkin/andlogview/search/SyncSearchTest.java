@@ -17,6 +17,7 @@
 package name.mlopatkin.andlogview.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.primitives.Ints;
 
@@ -25,9 +26,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 class SyncSearchTest {
+    private static final int LARGE_SIZE = SyncSearch.PROGRESS_STEP + 5 * SyncSearch.PARALLEL_CHUNK_SIZE + 7;
+
     @Test
     void canFindElementSearchingForward() {
         var s = createSearch(equalTo(1), 0, 1, 2);
@@ -127,6 +133,94 @@ class SyncSearchTest {
         assertThat(cursor.getPosition()).isEqualTo(1);
     }
 
+    @Test
+    void cancelledSearchDoesNotAdvanceCursor() {
+        var cursor = cursor(new int[SyncSearch.PROGRESS_STEP + 2]);
+        var s = createSearch(equalTo(1), cursor);
+
+        assertThatThrownBy(() -> s.search(Search.Direction.FORWARD, checkedItems -> {}, () -> true))
+                .isInstanceOf(CancellationException.class);
+        assertThat(cursor.getPosition()).isEqualTo(0);
+    }
+
+    @Test
+    void farMatchIsFoundForward() {
+        var items = new int[LARGE_SIZE];
+        items[LARGE_SIZE - 10] = 1;
+        items[LARGE_SIZE - 5] = 1;
+        var s = createSearch(equalTo(1), items);
+
+        assertThat(s.search(Search.Direction.FORWARD)).contains(LARGE_SIZE - 10);
+        assertThat(s.search(Search.Direction.FORWARD)).contains(LARGE_SIZE - 5);
+    }
+
+    @Test
+    void farMatchIsFoundBackward() {
+        var items = new int[LARGE_SIZE];
+        items[5] = 1;
+        items[10] = 1;
+        var s = createSearch(equalTo(1), items);
+        s.setPosition(LARGE_SIZE - 1);
+
+        assertThat(s.search(Search.Direction.BACKWARD)).contains(10);
+        assertThat(s.search(Search.Direction.BACKWARD)).contains(5);
+    }
+
+    @Test
+    void nearestMatchWinsWhenEveryChunkHasOne() {
+        var items = new int[LARGE_SIZE];
+        for (int i = SyncSearch.PROGRESS_STEP + 100; i < LARGE_SIZE; i += 1000) {
+            items[i] = 1;
+        }
+        var s = createSearch(equalTo(1), items);
+
+        assertThat(s.search(Search.Direction.FORWARD)).contains(SyncSearch.PROGRESS_STEP + 100);
+    }
+
+    @Test
+    void notFindingFarMatchDoesNotAdvanceCursor() {
+        var cursor = cursor(new int[LARGE_SIZE]);
+        var s = createSearch(equalTo(1), cursor);
+
+        assertThat(s.search(Search.Direction.FORWARD)).isEmpty();
+        assertThat(cursor.getPosition()).isEqualTo(0);
+    }
+
+    @Test
+    void cancelledParallelSearchDoesNotAdvanceCursor() {
+        var items = new int[LARGE_SIZE];
+        items[LARGE_SIZE - 1] = 1;
+        var cursor = cursor(items);
+        var s = createSearch(equalTo(1), cursor);
+        var cancelled = new AtomicBoolean();
+
+        // The search is cancelled after the sequential part.
+        Search.ProgressListener cancelOnProgress = checkedItems -> cancelled.set(true);
+
+        assertThatThrownBy(() -> s.search(Search.Direction.FORWARD, cancelOnProgress, cancelled::get))
+                .isInstanceOf(CancellationException.class);
+        assertThat(cursor.getPosition()).isEqualTo(0);
+    }
+
+    @Test
+    void cancellationStopsParallelSearchWithinChunk() {
+        var cancelled = new AtomicBoolean();
+        var checkedItems = new AtomicInteger();
+        int cancelAfter = SyncSearch.PROGRESS_STEP + 10;
+        Predicate<Integer> matcher = i -> {
+            if (checkedItems.incrementAndGet() >= cancelAfter) {
+                cancelled.set(true);
+            }
+            return false;
+        };
+        var s = createSearch(matcher, new int[LARGE_SIZE]);
+
+        assertThatThrownBy(() -> s.search(Search.Direction.FORWARD, p -> {}, cancelled::get))
+                .isInstanceOf(CancellationException.class);
+        // Chunks that already run when the search is cancelled check at most CHUNK_CHECK_STEP items more.
+        assertThat(checkedItems.get()).isLessThan(SyncSearch.PROGRESS_STEP + SyncSearch.PARALLEL_CHUNK_SIZE);
+    }
+
     private static Predicate<Integer> equalTo(int value) {
         return i -> Objects.equals(value, i);
     }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+class GuardedPatternTest {
+    // Backtracks polynomially with a high degree, takes seconds to fail on a few dozen characters.
+    private static final String CATASTROPHIC_REGEX = "(.*a){12}b";
+    private static final String CATASTROPHIC_INPUT = "a".repeat(40);
+
+    private final RegexStatistics statistics = new RegexStatistics();
+
+    @Test
+    void findsMatchingSubstring() {
+        var pattern = guarded("fo+");
+
+        assertThat(pattern.find("say fooo")).isTrue();
+        assertThat(pattern.find("say bar")).isFalse();
+        assertThat(statistics.getAbortedEvaluations()).isZero();
+    }
+
+    @Test
+    void matchesWholeInput() {
+        var pattern = guarded("fo+");
+
+        assertThat(pattern.matches("fooo")).isTrue();
+        assertThat(pattern.matches("say fooo")).isFalse();
+        assertThat(statistics.getAbortedEvaluations()).isZero();
+    }
+
+    @Test
+    void catastrophicFindIsAborted() {
+        var pattern = guarded(CATASTROPHIC_REGEX);
+
+        assertThat(pattern.find(CATASTROPHIC_INPUT)).isFalse();
+        assertThat(statistics.getAbortedEvaluations()).isEqualTo(1);
+    }
+
+    @Test
+    void catastrophicMatchIsAborted() {
+        var pattern = guarded(CATASTROPHIC_REGEX);
+
+        assertThat(pattern.matches(CATASTROPHIC_INPUT)).isFalse();
+        assertThat(statistics.getAbortedEvaluations()).isEqualTo(1);
+    }
+
+    @Test
+    void catastrophicPatternStillMatchesEasyInput() {
+        var pattern = guarded(CATASTROPHIC_REGEX);
+
+        assertThat(pattern.find(CATASTROPHIC_INPUT + "b")).isTrue();
+        assertThat(statistics.getAbortedEvaluations()).isZero();
+    }
+
+    @Test
+    void quadraticBacktrackingIsNotAborted() {
+        var pattern = guarded(".*foo.*bar");
+
+        assertThat(pattern.find("x".repeat(2000) + "foo" + "y".repeat(2000))).isFalse();
+        assertThat(statistics.getAbortedEvaluations()).isZero();
+    }
+
+    @Test
+    void allOccurrencesAreHighlighted() {
+        var pattern = guarded("o+");
+
+        assertThat(highlight(pattern, "foo boo")).containsExactly(1, 3, 5, 7);
+    }
+
+    @Test
+    void highlightingEmptyMatchesTerminates() {
+        var pattern = guarded("o*");
+
+        assertThat(highlight(pattern, "foo")).containsExactly(0, 0, 1, 3, 3, 3);
+        assertThat(statistics.getAbortedEvaluations()).isZero();
+    }
+
+    @Test
+    void catastrophicHighlightingIsAborted() {
+        var pattern = guarded(CATASTROPHIC_REGEX);
+
+        assertThat(highlight(pattern, CATASTROPHIC_INPUT)).isEmpty();
+        assertThat(statistics.getAbortedEvaluations()).isEqualTo(1);
+    }
+
+    @Test
+    void abortsDoNotAffectOtherEvaluations() {
+        var pattern = guarded(CATASTROPHIC_REGEX);
+        for (int i = 0; i < 20; ++i) {
+            pattern.find(CATASTROPHIC_INPUT);
+        }
+
+        assertThat(pattern.find(CATASTROPHIC_INPUT + "b")).isTrue();
+        assertThat(highlight(pattern, CATASTROPHIC_INPUT + "b")).isNotEmpty();
+        assertThat(statistics.getAbortedEvaluations()).isEqualTo(20);
+    }
+
+    @Test
+    void stepBudgetGrowsWithInputLengthUpToLimit() {
+        assertThat(GuardedPattern.getStepBudget(0)).isEqualTo(GuardedPattern.MIN_STEP_BUDGET);
+        assertThat(GuardedPattern.getStepBudget(1000)).isGreaterThan(GuardedPattern.getStepBudget(100));
+        assertThat(GuardedPattern.getStepBudget(Integer.MAX_VALUE)).isEqualTo(GuardedPattern.MAX_STEP_BUDGET);
+    }
+
+    private GuardedPattern guarded(String regex) {
+        return new GuardedPattern(Pattern.compile(regex), statistics);
+    }
+
+    private static List<Integer> highlight(GuardedPattern pattern, String text) {
+        var result = new ArrayList<Integer>();
+        pattern.highlightAll(text, (start, end) -> {
+            result.add(start);
+            result.add(end);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.search.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Locale;
+
+class IgnoreCaseFinderTest {
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Hello World|WORLD",
+            "Hello World|o",
+            "aaaaaaab|AAB",
+            "abcabcabd|cabd",
+            "ActivityManager: ANR in com.example|anr IN",
+            "no match here|missing",
+            "short|longer than text",
+            "\u041f\u0440\u0438\u0432\u0435\u0442|\u043f\u0420\u0418",
+            "\u03a3\u039f\u03a3 \u039f\u03a3|\u03c3",
+            "\u03a3\u039f\u03a3 \u039f\u03a3|\u03bf\u03c3",
+            "K\u0130LO kilo|ki",
+            "K\u0130LO kilo|lo",
+            "\u212a kelvin|k",
+            "\ud801\udc00\ud801\udc28|\ud801\udc28",
+            "\ud801\udc00 abc|ABC",
+    })
+    void findsSameOccurrencesAsLowercasedText(String text, String pattern) {
+        assertFindsSameAsLowercase(text, pattern, Locale.ROOT);
+        assertFindsSameAsLowercase(text, pattern, Locale.ENGLISH);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "TITLE|title",
+            "TITLE|I",
+            "\u0130stanbul|istanbul",
+    })
+    void usesLocaleSpecificRules(String text, String pattern) {
+        assertFindsSameAsLowercase(text, pattern, TURKISH);
+    }
+
+    @Test
+    void findsSubsequentOccurrences() {
+        var finder = new IgnoreCaseFinder("ab", Locale.ROOT);
+
+        assertThat(finder.indexIn("xAbxaBxab", 0)).isEqualTo(1);
+        assertThat(finder.indexIn("xAbxaBxab", 2)).isEqualTo(4);
+        assertThat(finder.indexIn("xAbxaBxab", 5)).isEqualTo(7);
+        assertThat(finder.indexIn("xAbxaBxab", 8)).isEqualTo(-1);
+    }
+
+    @Test
+    void skipTableCollisionsDoNotSkipMatches() {
+        // U+0163 and 'c' share the low byte.
+        var finder = new IgnoreCaseFinder("c\u0163bd", Locale.ROOT);
+
+        assertThat(finder.isContainedIn("xxc\u0163bd")).isTrue();
+        assertThat(finder.isContainedIn("cccc\u0162BD")).isTrue();
+    }
+
+    private static void assertFindsSameAsLowercase(String text, String pattern, Locale locale) {
+        var finder = new IgnoreCaseFinder(pattern, locale);
+        var lowercaseText = text.toLowerCase(locale);
+        var lowercasePattern = pattern.toLowerCase(locale);
+
+        assertThat(finder.isContainedIn(text)).isEqualTo(lowercaseText.contains(lowercasePattern));
+        if (text.length() != lowercaseText.length()) {
+            // Indices of the original and the lowercased text don't match.
+            return;
+        }
+        for (int from = 0; from <= text.length(); ++from) {
+            assertThat(finder.indexIn(text, from)).as("index from %d", from)
+                    .isEqualTo(lowercaseText.indexOf(lowercasePattern, from));
+        }
+    }
+}
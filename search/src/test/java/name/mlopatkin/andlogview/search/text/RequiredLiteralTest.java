@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package name.mlopatkin.andlogview.search.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+class RequiredLiteralTest {
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', ignoreLeadingAndTrailingWhitespace = false, value = {
+            "ANR in .*|ANR in ",
+            "Exception: .*timeout|Exception: ",
+            "Hel(l?)o|Hel",
+            "ab?cd|cd",
+            "a\\.b+c|a.b",
+            "x{0,3}yz|yz",
+            "a{2}bcd|bcd",
+            "\\bWakeLock\\b|WakeLock",
+            "(foo|bar)baz|baz",
+            "\\Qa.b\\E*|a.",
+            "[]a]bc|bc",
+            "\\d+ms|ms",
+    })
+    void findsLongestRequiredLiteral(String regex, String expectedLiteral) {
+        assertThat(findLiteral(regex, 0)).isEqualTo(expectedLiteral);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"foo|bar", "(?i)hello", "a.b", "[abc]+", "a\\tb", "(hello)"})
+    void findsNoLiteralIfNoneIsRequired(String regex) {
+        assertThat(findLiteral(regex, 0)).isNull();
+    }
+
+    @Test
+    void literalPatternIsLiteral() {
+        assertThat(findLiteral("a.b|c", Pattern.LITERAL)).isEqualTo("a.b|c");
+    }
+
+    @Test
+    void ignoresCaseOfAsciiLettersOnlyIfPatternDoes() {
+        var caseSensitive = RequiredLiteral.find(Pattern.compile("Timeout \\d+"));
+        var caseInsensitive = RequiredLiteral.find(Pattern.compile("Timeout \\d+", Pattern.CASE_INSENSITIVE));
+
+        assertThat(caseSensitive).isNotNull();
+        assertThat(caseSensitive.isContainedIn("TIMEOUT 100")).isFalse();
+        assertThat(caseInsensitive).isNotNull();
+        assertThat(caseInsensitive.isContainedIn("TIMEOUT 100")).isTrue();
+        assertThat(caseInsensitive.isContainedIn("Time out 100")).isFalse();
+    }
+
+    @Test
+    void unicodeCaseIsNotSupported() {
+        assertThat(RequiredLiteral.find(Pattern.compile("hello", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)))
+                .isNull();
+    }
+
+    private static @Nullable String findLiteral(String regex, int flags) {
+        var literal = RequiredLiteral.find(Pattern.compile(regex, flags));
+        return literal != null ? literal.toString() : null;
+    }
+}
@@ -188,6 +188,16 @@ public class SearcherBuilderTest {
         new SearcherBuilder().buildRegexp("foo[");
     }
 
+    @Test
+    public void testBuildRegexp_abortedEvaluationIsRecorded() throws Exception {
+        RegexStatistics statistics = new RegexStatistics();
+        Predicate<String> p =
+                new SearcherBuilder().setMatchWholeText(false).setStatistics(statistics).buildRegexp("(.*a){12}b");
+
+        Assert.assertFalse(p.test("a".repeat(40)));
+        Assert.assertEquals(1, statistics.getAbortedEvaluations());
+    }
+
     private static Matcher<Boolean> matchesCase(
             final boolean performsCaseConversion, boolean matchWholeStringOnly, final Case theCase) {
         final boolean performsSubstringMatch = !matchWholeStringOnly;
@@ -18,6 +18,9 @@ package name.mlopatkin.andlogview;
 
 import name.mlopatkin.andlogview.utils.properties.IllegalConfigurationException;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
 import joptsimple.OptionException;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
@@ -33,25 +36,23 @@ import java.util.List;
 public class CommandLine {
     private final boolean shouldShowUsage;
     private final boolean debug;
-    private final @Nullable File fileToOpen;
+    private final boolean follow;
+    private final ImmutableList<File> filesToOpen;
 
     CommandLine(String[] args) throws IllegalConfigurationException {
         shouldShowUsage = false;
-        OptionParser parser = new OptionParser("d");
+        OptionParser parser = new OptionParser("df");
         try {
             OptionSet result = parser.parse(args);
             debug = result.has("d");
+            follow = result.has("f");
 
             @SuppressWarnings("unchecked")
             List<String> files = (List<String>) result.nonOptionArguments();
-            if (files.isEmpty()) {
-                // ADB mode
-                fileToOpen = null;
-            } else if (files.size() == 1) {
-                // File mode
-                fileToOpen = new File(files.get(0));
-            } else {
-                throw new IllegalConfigurationException("Expected only one file on the command line");
+            // Empty list means ADB mode. Several files are merged together.
+            filesToOpen = files.stream().map(File::new).collect(ImmutableList.toImmutableList());
+            if (follow && filesToOpen.size() != 1) {
+                throw new IllegalConfigurationException("Expected exactly one file to follow");
             }
         } catch (OptionException e) {
             throw new IllegalConfigurationException(e);
@@ -61,17 +62,35 @@ public class CommandLine {
     CommandLine() {
         shouldShowUsage = true;
         debug = false;
-        fileToOpen = null;
+        follow = false;
+        filesToOpen = ImmutableList.of();
     }
 
+    /**
+     * @return the first file argument or {@code null} if there are no files on the command line
+     */
     public @Nullable File getFileArgument() {
-        return fileToOpen;
+        return Iterables.getFirst(filesToOpen, null);
+    }
+
+    /**
+     * @return all file arguments in the command line order, can be empty
+     */
+    public List<File> getFileArguments() {
+        return filesToOpen;
     }
 
     public boolean isDebug() {
         return debug;
     }
 
+    /**
+     * @return {@code true} if the file should be watched for new records, like {@code tail -f} does
+     */
+    public boolean isFollow() {
+        return follow;
+    }
+
     public boolean isShouldShowUsage() {
         return shouldShowUsage;
     }
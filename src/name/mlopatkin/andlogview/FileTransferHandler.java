@@ -49,11 +49,13 @@ public class FileTransferHandler extends TransferHandler {
 
         try {
             @SuppressWarnings("unchecked")
-            List<File> l = (List<File>) t.getTransferData(DataFlavor.javaFileListFlavor);
-            File file = l.get(0);
-            logger.debug("Start importing {}", file);
+            List<File> files = (List<File>) t.getTransferData(DataFlavor.javaFileListFlavor);
+            if (files.isEmpty()) {
+                return false;
+            }
+            logger.debug("Start importing {}", files);
 
-            frame.openFile(file);
+            frame.openFiles(files);
         } catch (UnsupportedFlavorException | IOException e) {
             return false;
         }
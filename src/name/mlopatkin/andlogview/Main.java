@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import java.awt.EventQueue;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -116,12 +117,14 @@ public class Main {
 
         if (commandLine.isShouldShowUsage()) {
             OptionPanes.error("Incorrect parameters")
-                    .message("<html>Usage:<br>java -jar logview.jar [FILENAME]</html>")
+                    .message("<html>Usage:<br>java -jar logview.jar [-f FILENAME | FILENAME...]</html>")
                     .show(window.mainFrameUi);
         }
-        File fileToOpen = commandLine.getFileArgument();
-        if (fileToOpen != null) {
-            window.openFile(fileToOpen);
+        List<File> filesToOpen = commandLine.getFileArguments();
+        if (commandLine.isFollow()) {
+            window.followFile(filesToOpen.get(0));
+        } else if (!filesToOpen.isEmpty()) {
+            window.openFiles(filesToOpen);
         } else {
             window.tryToConnectToFirstAvailableDevice();
         }
@@ -37,6 +37,7 @@ import name.mlopatkin.andlogview.ui.device.AdbOpener;
 import name.mlopatkin.andlogview.ui.device.AdbServicesInitializationPresenter;
 import name.mlopatkin.andlogview.ui.device.AdbServicesStatus;
 import name.mlopatkin.andlogview.ui.file.FileOpener;
+import name.mlopatkin.andlogview.ui.filters.DeviceSideFiltering;
 import name.mlopatkin.andlogview.ui.filters.LogModelFilterImpl;
 import name.mlopatkin.andlogview.ui.filtertree.FilterTreeFactory;
 import name.mlopatkin.andlogview.ui.logtable.Column;
@@ -50,8 +51,10 @@ import name.mlopatkin.andlogview.ui.mainframe.MainFrameDependencies;
 import name.mlopatkin.andlogview.ui.mainframe.MainFrameModule;
 import name.mlopatkin.andlogview.ui.mainframe.MainFrameUi;
 import name.mlopatkin.andlogview.ui.mainframe.TableColumnModelFactory;
+import name.mlopatkin.andlogview.ui.mainframe.search.GlobalSearchPresenter;
 import name.mlopatkin.andlogview.ui.mainframe.search.MainFrameSearchPromptView;
 import name.mlopatkin.andlogview.ui.mainframe.search.MainFrameSearchUi;
+import name.mlopatkin.andlogview.ui.overview.OverviewRuler;
 import name.mlopatkin.andlogview.ui.preferences.ConfigurationDialogPresenter;
 import name.mlopatkin.andlogview.ui.processes.ProcessListFrame;
 import name.mlopatkin.andlogview.ui.search.SearchPresenter;
@@ -85,6 +88,7 @@ import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -95,6 +99,7 @@ import javax.inject.Named;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
@@ -112,6 +117,8 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
 
     private static final KeyStroke KEY_HIDE = KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0);
     private static final KeyStroke KEY_SHOW_SEARCH_FIELD = UiHelper.createPlatformKeystroke(KeyEvent.VK_F);
+    private static final KeyStroke KEY_FIND_IN_ALL_ROWS =
+            UiHelper.createPlatformKeystroke(KeyEvent.VK_F, InputEvent.SHIFT_DOWN_MASK);
     private static final KeyStroke KEY_FIND_NEXT =
             SystemUtils.IS_OS_MAC_OSX
                     ? UiHelper.createPlatformKeystroke(KeyEvent.VK_G)
@@ -142,6 +149,8 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
     BookmarkModel bookmarkModel;
     @Inject
     BufferFilterMenu bufferMenu;
+    @Inject
+    DeviceSideFiltering deviceSideFiltering;
 
     private JPanel controlsPanel;
     private JTextField instantSearchTextField;
@@ -158,6 +167,8 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
 
     @Inject
     SearchPresenter<LogRecord, TablePosition, RowSearchStrategy> searchPresenter;
+    @Inject
+    GlobalSearchPresenter globalSearchPresenter;
 
     @Inject
     StatusPanel statusPanel;
@@ -186,6 +197,8 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
     @Inject
     FileDialog fileDialog;
     @Inject
+    OverviewRuler overviewRuler;
+    @Inject
     AdbServicesStatus adbServicesStatus;
 
     private @Nullable CompletableFuture<? extends @Nullable DataSource> pendingDataSource;
@@ -202,6 +215,8 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
     // File menu
     private final Action acOpenFile =
             UiHelper.makeAction("Open...", UiHelper.createPlatformKeystroke(KeyEvent.VK_O), this::selectAndOpenFile);
+    private final Action acFollowFile =
+            UiHelper.makeAction("Open and follow" + CommonChars.ELLIPSIS, this::selectAndFollowFile);
     private final Action acSaveToFile =
             UiHelper.makeAction("Save...", UiHelper.createPlatformKeystroke(KeyEvent.VK_S), this::saveToFile);
 
@@ -214,6 +229,8 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
             UiHelper.makeAction("Find next occurrence", KEY_FIND_NEXT, () -> searchPresenter.findNext());
     private final Action acFindPrev =
             UiHelper.makeAction("Find previous occurrence", KEY_FIND_PREV, () -> searchPresenter.findPrev());
+    private final Action acFindInAllRows =
+            UiHelper.makeAction("Find in all rows", KEY_FIND_IN_ALL_ROWS, () -> globalSearchPresenter.findInAllRows());
     private final Action acStopSearch =
             UiHelper.makeAction("Stop search", KEY_HIDE, () -> searchPresenter.stopSearch());
 
@@ -358,6 +375,9 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
                 .setComponentPopupMenu(new LogTableHeaderPopupMenuController(columnModel).createMenu());
 
         JScrollPane logTableScrollPane = new JScrollPane(logElements);
+        var logTablePanel = new JPanel(new BorderLayout());
+        logTablePanel.add(logTableScrollPane, BorderLayout.CENTER);
+        logTablePanel.add(overviewRuler, BorderLayout.EAST);
 
         var filterToolbar = new JToolBar();
         var filterTreePane = new JScrollPane(filterTreeFactory.buildFilterTree(filterToolbar));
@@ -376,7 +396,7 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
         filterControls.add(filterToolbar, BorderLayout.NORTH);
         filterControls.add(filterTreePane, BorderLayout.CENTER);
 
-        var splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, filterControls, logTableScrollPane);
+        var splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, filterControls, logTablePanel);
         // Some paddings around the table and the filters to avoid them overlapping the other stuff, like the toolbar.
         splitPane.setBorder(BorderFactory.createEmptyBorder(3, 3, 3, 3));
         mainFrameUi.getContentPane().add(splitPane, BorderLayout.CENTER);
@@ -469,6 +489,7 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
 
         JMenu mnFile = new JMenu("File");
         mnFile.add(acOpenFile);
+        mnFile.add(acFollowFile);
         mnFile.add(acSaveToFile);
         mainMenu.add(mnFile);
 
@@ -476,6 +497,7 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
         mnEdit.add(acFind);
         mnEdit.add(acFindNext);
         mnEdit.add(acFindPrev);
+        mnEdit.add(acFindInAllRows);
         mnEdit.add(acStopSearch);
         mainMenu.add(mnEdit);
 
@@ -492,6 +514,12 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
         mnAdb.addSeparator();
         mnAdb.add(acResetLogs);
         mnAdb.add(acChangeConfiguration);
+        var filterOnDevice = new JCheckBoxMenuItem("Filter on device", deviceSideFiltering.isEnabled());
+        filterOnDevice.setToolTipText(
+                "Let the device drop records by the priority and pid of show filters and by the tags of hide filters. "
+                        + "Shown tags and other conditions are still checked after the transfer.");
+        filterOnDevice.addActionListener(e -> deviceSideFiltering.setEnabled(filterOnDevice.isSelected()));
+        mnAdb.add(filterOnDevice);
         if (isDebug) {
             mnAdb.addSeparator();
             mnAdb.add(acDumpDevice);
@@ -514,10 +542,32 @@ public class MainFrame implements MainFrameSearchUi, DeviceDisconnectedHandler.D
         startOpeningDataSource(() -> fileOpener.openFile(file));
     }
 
+    /**
+     * Opens several files as a single source. Records of all files are merged by timestamp.
+     *
+     * @param files the non-empty list of files to open
+     */
+    public void openFiles(List<File> files) {
+        startOpeningDataSource(() -> fileOpener.openFiles(files));
+    }
+
+    /**
+     * Opens the file and keeps watching it for new records.
+     *
+     * @param file the file to open
+     */
+    public void followFile(File file) {
+        startOpeningDataSource(() -> fileOpener.followFile(file));
+    }
+
     private void selectAndOpenFile() {
         startOpeningDataSource(fileOpener::selectAndOpenFile);
     }
 
+    private void selectAndFollowFile() {
+        startOpeningDataSource(fileOpener::selectAndFollowFile);
+    }
+
     private void connectToDevice() {
         var source = adbOpener.selectAndOpenDevice();
         startOpeningDataSource(() -> source);
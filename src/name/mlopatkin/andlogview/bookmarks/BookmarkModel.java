@@ -21,6 +21,8 @@ import name.mlopatkin.andlogview.ui.mainframe.MainFrameScoped;
 import name.mlopatkin.andlogview.utils.events.Observable;
 import name.mlopatkin.andlogview.utils.events.Subject;
 
+import com.google.common.collect.ImmutableSet;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -52,6 +54,15 @@ public class BookmarkModel {
         return records.contains(record);
     }
 
+    /**
+     * Returns the copy of the current set of bookmarked records. The copy can be used on any thread.
+     *
+     * @return the immutable set of bookmarked records
+     */
+    public ImmutableSet<LogRecord> snapshot() {
+        return ImmutableSet.copyOf(records);
+    }
+
     public void addRecord(LogRecord record) {
         records.add(record);
         notifyAdd();
@@ -21,23 +21,32 @@ import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.parsers.ParserControl;
 import name.mlopatkin.andlogview.parsers.logcat.CollectingHandler;
 import name.mlopatkin.andlogview.parsers.logcat.Format;
+import name.mlopatkin.andlogview.parsers.logcat.LogcatParseEventsHandler;
 import name.mlopatkin.andlogview.parsers.logcat.LogcatParsers;
 import name.mlopatkin.andlogview.utils.Threads;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.IntFunction;
 
 /**
  * This class retrieves log records from the device using a background thread
- * and pushes them back to creator.
+ * and pushes them back to creator. The records may come from a single buffer or from all buffers at once, if the
+ * device supports it.
  */
 class AdbBuffer {
     public interface BufferReceiver {
@@ -46,21 +55,27 @@ class AdbBuffer {
 
     private static final Logger logger = LoggerFactory.getLogger(AdbBuffer.class);
     private static final Format FORMAT = Format.LONG;
+    // Drops records of the buffers that weren't reported as available.
+    private static final LogcatParseEventsHandler IGNORED = new LogcatParseEventsHandler() {};
 
     private final BufferReceiver receiver;
-    private final LogRecord.Buffer buffer;
+    private final ImmutableSet<LogRecord.Buffer> buffers;
     private final Map<Integer, String> pidToProcess;
     private final ExecutorService executorService;
     private final LogcatCommand command;
+    private final LogcatFilterSpec filterSpec;
 
-    public AdbBuffer(BufferReceiver receiver, Device device, LogRecord.Buffer buffer, LogcatCommand command,
-            Map<Integer, String> pidToProcess) {
+    public AdbBuffer(BufferReceiver receiver, Device device, Set<LogRecord.Buffer> buffers, LogcatCommand command,
+            LogcatFilterSpec filterSpec, Map<Integer, String> pidToProcess) {
+        Preconditions.checkArgument(command.isMultiplexed() || buffers.size() == 1,
+                "Single-buffer command cannot provide buffers %s", buffers);
         this.receiver = receiver;
-        this.buffer = buffer;
+        this.buffers = Sets.immutableEnumSet(buffers);
         this.pidToProcess = pidToProcess;
         this.executorService = Executors.newSingleThreadExecutor(
-                Threads.withName(String.format("logcat-%s-%s", buffer, device.getSerialNumber())));
+                Threads.withName(String.format("logcat-%s-%s", command.getBufferName(), device.getSerialNumber())));
         this.command = command;
+        this.filterSpec = filterSpec;
     }
 
     public void start() {
@@ -71,11 +86,16 @@ class AdbBuffer {
         executorService.shutdownNow();
     }
 
-    private void executeCommand() {
+    /**
+     * @return the buffers this stream provides records for
+     */
+    public Set<LogRecord.Buffer> getBuffers() {
+        return buffers;
+    }
+
+    private LogcatParseEventsHandler createRecordHandler(LogRecord.Buffer buffer) {
         //noinspection RedundantCast - NullAway complains without it
-        CollectingHandler parserEventsHandler = new CollectingHandler(
-                buffer, (IntFunction<@Nullable String>) pidToProcess::get
-        ) {
+        return new CollectingHandler(buffer, (IntFunction<@Nullable String>) pidToProcess::get) {
             @Override
             protected ParserControl logRecord(LogRecord record) {
                 receiver.pushRecord(record);
@@ -88,8 +108,14 @@ class AdbBuffer {
                 return ParserControl.proceed();
             }
         };
+    }
+
+    private void executeCommand() {
+        LogcatParseEventsHandler parserEventsHandler = command.isMultiplexed()
+                ? new BufferDemultiplexer(buffer -> buffers.contains(buffer) ? createRecordHandler(buffer) : IGNORED)
+                : createRecordHandler(Iterables.getOnlyElement(buffers));
         try (var parser = LogcatParsers.withFormat(FORMAT, parserEventsHandler)) {
-            command.readLogStreaming(FORMAT, parser::nextLine);
+            command.readLogStreaming(FORMAT, filterSpec, parser::nextLine);
             if (Thread.currentThread().isInterrupted()) {
                 logger.debug("cancelled because of interruption, stopping providing new lines");
             } else {
@@ -107,14 +133,52 @@ class AdbBuffer {
     }
 
     public static Optional<AdbBuffer> tryOpen(BufferReceiver receiver, Device device, LogRecord.Buffer buffer,
-            Map<Integer, String> pidToProcess) {
+            LogcatFilterSpec filterSpec, Map<Integer, String> pidToProcess) {
         return LogcatCommand.tryPrepare(device, buffer)
                 .filter(LogcatCommand::isBufferPresent)
-                .map(command -> {
-                    AdbBuffer adbBuffer = new AdbBuffer(receiver, device, buffer, command, pidToProcess);
-                    adbBuffer.start();
-                    return adbBuffer;
-                });
+                .map(command -> start(receiver, device, EnumSet.of(buffer), command, filterSpec, pidToProcess));
+    }
+
+    /**
+     * Same as {@link #tryOpen(BufferReceiver, Device, LogRecord.Buffer, LogcatFilterSpec, Map)} but skips the check
+     * for buffer presence. Use it to reopen the buffer that was successfully opened before.
+     */
+    public static Optional<AdbBuffer> reopen(BufferReceiver receiver, Device device, LogRecord.Buffer buffer,
+            LogcatFilterSpec filterSpec, Map<Integer, String> pidToProcess) {
+        return LogcatCommand.tryPrepare(device, buffer)
+                .map(command -> start(receiver, device, EnumSet.of(buffer), command, filterSpec, pidToProcess));
+    }
+
+    /**
+     * Tries to open a single stream that provides records from all buffers available on the device. Returns an empty
+     * Optional if the device doesn't support this, the caller should fall back to opening buffers one by one.
+     */
+    public static Optional<AdbBuffer> tryOpenAll(BufferReceiver receiver, Device device, LogcatFilterSpec filterSpec,
+            Map<Integer, String> pidToProcess) {
+        return LogcatCommand.tryPrepareMultiplexed(device).flatMap(command -> {
+            var presentBuffers = command.getPresentBuffers();
+            if (presentBuffers.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(start(receiver, device, presentBuffers, command, filterSpec, pidToProcess));
+        });
+    }
+
+    /**
+     * Same as {@link #tryOpenAll(BufferReceiver, Device, LogcatFilterSpec, Map)} but uses the provided set of buffers
+     * instead of querying the device. Use it to reopen the stream that was successfully opened before.
+     */
+    public static Optional<AdbBuffer> reopenAll(BufferReceiver receiver, Device device, Set<LogRecord.Buffer> buffers,
+            LogcatFilterSpec filterSpec, Map<Integer, String> pidToProcess) {
+        return LogcatCommand.tryPrepareMultiplexed(device)
+                .map(command -> start(receiver, device, buffers, command, filterSpec, pidToProcess));
+    }
+
+    private static AdbBuffer start(BufferReceiver receiver, Device device, Set<LogRecord.Buffer> buffers,
+            LogcatCommand command, LogcatFilterSpec filterSpec, Map<Integer, String> pidToProcess) {
+        AdbBuffer adbBuffer = new AdbBuffer(receiver, device, buffers, command, filterSpec, pidToProcess);
+        adbBuffer.start();
+        return adbBuffer;
     }
 
 }
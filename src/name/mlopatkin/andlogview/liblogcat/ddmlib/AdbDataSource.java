@@ -29,6 +29,9 @@ import name.mlopatkin.andlogview.utils.events.Observable;
 import name.mlopatkin.andlogview.utils.events.ScopedObserver;
 import name.mlopatkin.andlogview.utils.events.Subject;
 
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +41,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-public class AdbDataSource implements DataSource, BufferReceiver {
+public class AdbDataSource implements DataSource {
     /**
      * The reason for the data source to become invalid.
      */
@@ -71,11 +74,18 @@ public class AdbDataSource implements DataSource, BufferReceiver {
     private final AdbPidToProcessConverter converter;
     private final Set<AdbBuffer> buffers = new HashSet<>();
     private final EnumSet<Buffer> availableBuffers = EnumSet.noneOf(Buffer.class);
+    // All buffers are read with a single logcat stream.
+    private final boolean multiplexed;
     private final SourceMetadata sourceMetadata;
     private final ScopedObserver deviceChangeObserver;
     private final Subject<StateObserver> stateObservers = new Subject<>();
 
+    @GuardedBy("this")
     private @Nullable RecordListener<LogRecord> listener;
+    // Incremented each time the buffers are restarted, records from the older generations are dropped.
+    @GuardedBy("this")
+    private int generation;
+    private LogcatFilterSpec filterSpec = LogcatFilterSpec.ALL;
     private boolean closed = false;
 
     public AdbDataSource(Device device) {
@@ -83,8 +93,17 @@ public class AdbDataSource implements DataSource, BufferReceiver {
         assert device.isOnline();
         this.device = device;
         this.converter = new AdbPidToProcessConverter(this.device);
-        for (Buffer buffer : Buffer.values()) {
-            setUpStream(buffer);
+        BufferReceiver receiver = createReceiver();
+        var allBuffersStream = AdbBuffer.tryOpenAll(receiver, device, filterSpec, getPidToProcessConverter());
+        if (allBuffersStream.isPresent()) {
+            multiplexed = true;
+            availableBuffers.addAll(allBuffersStream.get().getBuffers());
+            buffers.add(allBuffersStream.get());
+        } else {
+            multiplexed = false;
+            for (Buffer buffer : Buffer.values()) {
+                setUpStream(receiver, buffer);
+            }
         }
         sourceMetadata = new AdbSourceMetadata(device);
         deviceChangeObserver = device.asObservable().addScopedObserver(new DeviceChangeObserver() {
@@ -145,20 +164,73 @@ public class AdbDataSource implements DataSource, BufferReceiver {
         }
     }
 
-    @Override
-    public synchronized void pushRecord(final LogRecord record) {
+    private synchronized BufferReceiver createReceiver() {
+        int receiverGeneration = generation;
+        return record -> pushRecord(receiverGeneration, record);
+    }
+
+    private synchronized void pushRecord(int recordGeneration, LogRecord record) {
         waitForListener();
+        if (recordGeneration != generation) {
+            // A late record from the stopped buffer.
+            return;
+        }
         assert listener != null;
         listener.addRecord(record);
     }
 
-    private void setUpStream(LogRecord.Buffer buffer) {
-        AdbBuffer.tryOpen(this, device, buffer, getPidToProcessConverter()).ifPresent(adbBuffer -> {
+    private void setUpStream(BufferReceiver receiver, LogRecord.Buffer buffer) {
+        AdbBuffer.tryOpen(receiver, device, buffer, filterSpec, getPidToProcessConverter()).ifPresent(adbBuffer -> {
             availableBuffers.add(buffer);
             buffers.add(adbBuffer);
         });
     }
 
+    /**
+     * Changes the device-side filter. The logcat streams are restarted with the new filter. Records received so far are
+     * discarded and the whole log is re-read from the device, so the records filtered out previously become available
+     * if the new filter selects them.
+     * <p>
+     * The filter must select a superset of records that are shown to the user.
+     *
+     * @param newFilterSpec the new filter
+     */
+    public void setFilterSpec(LogcatFilterSpec newFilterSpec) {
+        if (closed || filterSpec.equals(newFilterSpec)) {
+            return;
+        }
+        logger.debug("Restarting logcat with the device-side filter {}", newFilterSpec);
+        filterSpec = newFilterSpec;
+        for (AdbBuffer stream : buffers) {
+            stream.close();
+        }
+        buffers.clear();
+
+        BufferReceiver receiver;
+        synchronized (this) {
+            ++generation;
+            receiver = createReceiver();
+            if (listener != null) {
+                listener.setRecords(ImmutableList.of());
+            }
+        }
+        if (multiplexed) {
+            AdbBuffer.reopenAll(receiver, device, availableBuffers, filterSpec, getPidToProcessConverter())
+                    .ifPresent(buffers::add);
+            return;
+        }
+        for (Buffer buffer : availableBuffers) {
+            AdbBuffer.reopen(receiver, device, buffer, filterSpec, getPidToProcessConverter()).ifPresent(buffers::add);
+        }
+    }
+
+    /**
+     * @return the current device-side filter
+     */
+    public LogcatFilterSpec getFilterSpec() {
+        return filterSpec;
+    }
+
     @Override
     public EnumSet<Buffer> getAvailableBuffers() {
         return availableBuffers;
@@ -23,6 +23,7 @@ import name.mlopatkin.andlogview.parsers.ps.PsPushParser;
 import name.mlopatkin.andlogview.thirdparty.device.AndroidVersionCodes;
 import name.mlopatkin.andlogview.utils.Threads;
 
+import com.google.common.base.Stopwatch;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 
 import org.jspecify.annotations.Nullable;
@@ -30,35 +31,47 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Maintains the pid to process name mapping for the device. Looking up an unknown pid schedules the refresh of the
+ * process list. Refreshes are debounced and rate-limited, so a burst of new processes doesn't make us run {@code ps}
+ * continuously. Refresh only updates the entries that have changed.
+ */
 class AdbPidToProcessConverter {
     private static final Logger logger = LoggerFactory.getLogger(AdbPidToProcessConverter.class);
 
     private static final String[] PS_COMMAND_LINE = {"ps"};
-    private static final String[] PS_COMMAND_LINE_API_26 = {"ps", "-A"};
+    // Only request the columns we need, the output is several times smaller and is cheaper to parse.
+    private static final String[] PS_COMMAND_LINE_API_26 = {"ps", "-A", "-o", "PID,NAME"};
     private static final String NO_INFO = "No info available";
 
-    private final ExecutorService backgroundUpdater;
+    // Unknown pids tend to come in bursts, e.g. when the app starts. The delay allows to handle a burst in one go.
+    private static final long DEBOUNCE_DELAY_MS = 100;
+    private static final long MIN_REFRESH_INTERVAL_MS = 1000;
+
+    private final ScheduledExecutorService backgroundUpdater;
     private final Device device;
     private final String[] psCmdline;
+
+    @GuardedBy("this")
+    private boolean refreshScheduled;
+    @GuardedBy("this")
+    private long lastRefreshStartNanos;
+    @GuardedBy("this")
+    private int refreshCount;
     @GuardedBy("this")
-    private @Nullable Future<?> result;
+    private long lastRefreshLatencyMs;
+    @GuardedBy("this")
+    private long totalRefreshLatencyMs;
 
-    private final ConcurrentHashMap<Integer, String> processMap = new ConcurrentHashMap<>() {
-        @Override
-        public @Nullable String get(Object key) {
-            String r = putIfAbsent((Integer) key, NO_INFO);
-            if (r == null) {
-                scheduleUpdate();
-            }
-            return super.get(key);
-        }
-    };
+    private final ProcessMap processMap = new ProcessMap();
 
     AdbPidToProcessConverter(Device device) {
         this.device = device;
@@ -68,24 +81,62 @@ class AdbPidToProcessConverter {
             psCmdline = PS_COMMAND_LINE;
         }
         backgroundUpdater =
-                Executors.newSingleThreadExecutor(Threads.withName("ps-reader-" + device.getSerialNumber()));
+                Executors.newSingleThreadScheduledExecutor(Threads.withName("ps-reader-" + device.getSerialNumber()));
+        lastRefreshStartNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(MIN_REFRESH_INTERVAL_MS);
     }
 
     public Map<Integer, String> getMap() {
         return processMap;
     }
 
+    /**
+     * @return the number of completed process list refreshes
+     */
+    public synchronized int getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * @return the duration of the last process list refresh in milliseconds or 0 if there were no refreshes yet
+     */
+    public synchronized long getLastRefreshLatencyMs() {
+        return lastRefreshLatencyMs;
+    }
+
+    /**
+     * @return the average duration of the process list refresh in milliseconds or 0 if there were no refreshes yet
+     */
+    public synchronized long getAverageRefreshLatencyMs() {
+        return refreshCount > 0 ? totalRefreshLatencyMs / refreshCount : 0;
+    }
+
     private synchronized void scheduleUpdate() {
-        if (!backgroundUpdater.isShutdown() && (result == null || result.isDone())) {
-            result = backgroundUpdater.submit(this::update);
+        if (backgroundUpdater.isShutdown() || refreshScheduled) {
+            return;
+        }
+        long sinceLastRefreshMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRefreshStartNanos);
+        long delayMs = Math.max(DEBOUNCE_DELAY_MS, MIN_REFRESH_INTERVAL_MS - sinceLastRefreshMs);
+        try {
+            backgroundUpdater.schedule(this::update, delayMs, TimeUnit.MILLISECONDS);
+            refreshScheduled = true;
+        } catch (RejectedExecutionException e) {
+            // The converter is being closed concurrently.
+            logger.debug("Refresh is not scheduled because the converter is closed");
         }
     }
 
     private void update() {
+        synchronized (this) {
+            // Lookups that happen while ps runs may miss the snapshot, so they should schedule one more refresh.
+            refreshScheduled = false;
+            lastRefreshStartNanos = System.nanoTime();
+        }
+        var stopwatch = Stopwatch.createStarted();
+        Map<Integer, String> snapshot = new HashMap<>();
         PsParseEventsHandler eventsHandler = new PsParseEventsHandler() {
             @Override
             public ParserControl processLine(int pid, String processName) {
-                processMap.put(pid, processName);
+                snapshot.put(pid, processName);
                 return ParserControl.proceed();
             }
 
@@ -100,12 +151,61 @@ class AdbPidToProcessConverter {
             device.command(psCmdline).executeStreaming(pushParser::nextLine);
         } catch (DeviceGoneException | IOException e) {
             logger.error("Unexpected IO exception", e);
+            return;
         } catch (InterruptedException e) {
             // do nothing, just return.
+            return;
+        }
+        int updatedCount = applyChanges(snapshot);
+        long latencyMs = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+        synchronized (this) {
+            ++refreshCount;
+            lastRefreshLatencyMs = latencyMs;
+            totalRefreshLatencyMs += latencyMs;
         }
+        logger.debug("Process list refreshed in {} ms, {} of {} entries updated", latencyMs, updatedCount,
+                snapshot.size());
+    }
+
+    private int applyChanges(Map<Integer, String> snapshot) {
+        int updatedCount = 0;
+        for (var entry : snapshot.entrySet()) {
+            // Entries of the dead processes are kept, their records may still be in the log buffer.
+            if (!entry.getValue().equals(processMap.peek(entry.getKey()))) {
+                processMap.put(entry.getKey(), entry.getValue());
+                ++updatedCount;
+            }
+        }
+        return updatedCount;
     }
 
     public void close() {
-        backgroundUpdater.shutdown();
+        backgroundUpdater.shutdownNow();
+        synchronized (this) {
+            logger.debug("Process list was refreshed {} times, average latency {} ms", refreshCount,
+                    getAverageRefreshLatencyMs());
+        }
+    }
+
+    /**
+     * The map that schedules the refresh upon lookup of the unknown pid. The placeholder is put into the map for the
+     * unknown pid, so subsequent lookups of the same pid don't cause more refreshes.
+     */
+    private class ProcessMap extends ConcurrentHashMap<Integer, String> {
+        @Override
+        public @Nullable String get(Object key) {
+            String r = putIfAbsent((Integer) key, NO_INFO);
+            if (r == null) {
+                scheduleUpdate();
+            }
+            return super.get(key);
+        }
+
+        /**
+         * Same as {@link #get(Object)}, but doesn't schedule the refresh.
+         */
+        @Nullable String peek(Integer key) {
+            return super.get(key);
+        }
     }
 }
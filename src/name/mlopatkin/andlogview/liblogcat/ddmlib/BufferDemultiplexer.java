@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.ddmlib;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecord.Buffer;
+import name.mlopatkin.andlogview.logmodel.Timestamp;
+import name.mlopatkin.andlogview.parsers.ParserControl;
+import name.mlopatkin.andlogview.parsers.logcat.LogcatParseEventsHandler;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Splits the output of {@code logcat -b all} into per-buffer streams. The handler tracks the current buffer with the
+ * help of {@code --------- switch to} control lines and forwards the records to the handler of this buffer. Each buffer
+ * gets its own handler, so the sequence numbers are assigned per buffer as if the buffers were read separately.
+ * <p>
+ * Records of buffers not listed in {@link Buffer} (e.g. {@code security}) and records that precede the first control
+ * line are dropped.
+ */
+class BufferDemultiplexer implements LogcatParseEventsHandler {
+    private static final Logger logger = LoggerFactory.getLogger(BufferDemultiplexer.class);
+
+    // Older devices print the path of the log device instead of the buffer name.
+    private static final String LOG_DEVICE_PREFIX = "/dev/log/";
+
+    private final Function<? super Buffer, ? extends LogcatParseEventsHandler> handlerFactory;
+    private final Map<Buffer, LogcatParseEventsHandler> handlers = new EnumMap<>(Buffer.class);
+    private @Nullable LogcatParseEventsHandler currentHandler;
+
+    /**
+     * Creates the demultiplexer.
+     *
+     * @param handlerFactory the factory to create a handler for the buffer, called once per buffer when it first
+     *         appears in the stream
+     */
+    public BufferDemultiplexer(Function<? super Buffer, ? extends LogcatParseEventsHandler> handlerFactory) {
+        this.handlerFactory = handlerFactory;
+    }
+
+    @Override
+    public ParserControl bufferSwitch(String bufferName) {
+        var logcatName = bufferName.startsWith(LOG_DEVICE_PREFIX)
+                ? bufferName.substring(LOG_DEVICE_PREFIX.length())
+                : bufferName;
+        currentHandler = Buffer.fromLogcatName(logcatName)
+                .map(buffer -> handlers.computeIfAbsent(buffer, handlerFactory))
+                .orElse(null);
+        if (currentHandler == null) {
+            logger.debug("Skipping records of unsupported buffer {}", bufferName);
+        }
+        return ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(int pid, LogRecord.Priority priority, String tag, String message) {
+        var handler = currentHandler;
+        return handler != null ? handler.logRecord(pid, priority, tag, message) : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(Timestamp timestamp, int pid, int tid, LogRecord.Priority priority, String tag,
+            String message) {
+        var handler = currentHandler;
+        return handler != null
+                ? handler.logRecord(timestamp, pid, tid, priority, tag, message)
+                : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(Timestamp timestamp, int pid, int tid, LogRecord.Priority priority, String tag,
+            String message, @Nullable String appName) {
+        var handler = currentHandler;
+        return handler != null
+                ? handler.logRecord(timestamp, pid, tid, priority, tag, message, appName)
+                : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(String message) {
+        var handler = currentHandler;
+        return handler != null ? handler.logRecord(message) : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(LogRecord.Priority priority, String tag, String message) {
+        var handler = currentHandler;
+        return handler != null ? handler.logRecord(priority, tag, message) : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(int pid, int tid, LogRecord.Priority priority, String message) {
+        var handler = currentHandler;
+        return handler != null ? handler.logRecord(pid, tid, priority, message) : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl logRecord(Timestamp timestamp, int pid, LogRecord.Priority priority, String tag,
+            String message) {
+        var handler = currentHandler;
+        return handler != null ? handler.logRecord(timestamp, pid, priority, tag, message) : ParserControl.proceed();
+    }
+
+    @Override
+    public ParserControl unparseableLine(CharSequence line) {
+        var handler = currentHandler;
+        return handler != null ? handler.unparseableLine(line) : ParserControl.proceed();
+    }
+
+    @Override
+    public void documentEnded() {
+        handlers.values().forEach(LogcatParseEventsHandler::documentEnded);
+    }
+}
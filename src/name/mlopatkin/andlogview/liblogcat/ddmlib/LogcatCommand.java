@@ -23,18 +23,31 @@ import name.mlopatkin.andlogview.device.OutputTarget;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.parsers.logcat.Format;
 
+import com.google.common.collect.ImmutableList;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
- * Represents various flavors of {@code adb logcat -b buffer} command.
+ * Represents various flavors of {@code adb logcat -b buffer} command. The command may read a single buffer or all
+ * buffers at once.
  */
 class LogcatCommand {
     private static final Logger logger = LoggerFactory.getLogger(LogcatCommand.class);
+    // logcat --pid is available since Android 7.0.
+    private static final int MIN_API_FOR_PID_FILTER = 24;
+    // logcat -b all with dividers (-D) is reliable since Android 7.0 too.
+    private static final int MIN_API_FOR_MULTIPLEXING = 24;
+    private static final String ALL_BUFFERS = "all";
+    // The output of "logcat -g" looks like "main: ring buffer is 256 KiB (...), max entry is 5120 B, ...".
+    private static final Pattern BUFFER_SIZE_LINE = Pattern.compile("^(\\S+): ring buffer is .*");
 
     private final Device device;
     private final String bufferName;
@@ -44,6 +57,20 @@ class LogcatCommand {
         this.bufferName = bufferName;
     }
 
+    /**
+     * @return the buffer name as passed to {@code logcat -b}
+     */
+    public String getBufferName() {
+        return bufferName;
+    }
+
+    /**
+     * @return {@code true} if this command reads all buffers in a single stream
+     */
+    public boolean isMultiplexed() {
+        return ALL_BUFFERS.equals(bufferName);
+    }
+
     /**
      * Checks if the buffer is available on the device.
      *
@@ -71,20 +98,52 @@ class LogcatCommand {
         }
     }
 
+    /**
+     * Retrieves the list of buffers available on the device with a single {@code logcat -g} call. Buffers unknown to
+     * {@link LogRecord.Buffer} are ignored.
+     *
+     * @return the set of available buffers, empty if the list cannot be retrieved
+     */
+    public Set<LogRecord.Buffer> getPresentBuffers() {
+        var result = EnumSet.noneOf(LogRecord.Buffer.class);
+        try {
+            device.command("logcat", "-b", bufferName, "-g").executeStreaming(line -> {
+                var matcher = BUFFER_SIZE_LINE.matcher(line);
+                if (matcher.matches()) {
+                    LogRecord.Buffer.fromLogcatName(matcher.group(1)).ifPresent(result::add);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EnumSet.noneOf(LogRecord.Buffer.class);
+        } catch (IOException | DeviceGoneException e) {
+            logger.error("Failed to retrieve the list of buffers from the device", e);
+            return EnumSet.noneOf(LogRecord.Buffer.class);
+        }
+        return result;
+    }
+
     /**
      * Starts reading the log in {@code format} format. Lines are forwarded into the provided receiver. This method
      * blocks until the current thread is interrupted or I/O error occurs.
      *
      * @param format the log format, must be known to logcat
+     * @param filterSpec the device-side filter to apply
      * @param lineReceiver the receiver to get lines, is called on this thread
      * @throws DeviceGoneException if the device is disconnected
      * @throws IOException if other I/O error happened
      * @throws InterruptedException if the thread is interrupted
      */
-    public void readLogStreaming(Format format, Consumer<? super String> lineReceiver)
+    public void readLogStreaming(Format format, LogcatFilterSpec filterSpec, Consumer<? super String> lineReceiver)
             throws DeviceGoneException, IOException, InterruptedException {
-        device.command("logcat", "-b", bufferName, "-v", format.getCmdFormatName())
-                .executeStreaming(lineReceiver::accept);
+        var commandLine = ImmutableList.<String>builder().add("logcat", "-b", bufferName);
+        if (isMultiplexed()) {
+            // Print "--------- switch to" dividers to tell which buffer the following records belong to.
+            commandLine.add("-D");
+        }
+        commandLine.add("-v", format.getCmdFormatName())
+                .addAll(filterSpec.toArguments(device.getApiLevel() >= MIN_API_FOR_PID_FILTER));
+        device.command(commandLine.build()).executeStreaming(lineReceiver::accept);
     }
 
     /**
@@ -97,4 +156,18 @@ class LogcatCommand {
     public static Optional<LogcatCommand> tryPrepare(Device device, LogRecord.Buffer buffer) {
         return Optional.of(new LogcatCommand(device, buffer.logcatName));
     }
+
+    /**
+     * Tries to prepare the command that reads all buffers at once. The buffers are demultiplexed with the help of the
+     * control lines. May return an empty optional if the device's logcat is too old to print these reliably.
+     *
+     * @param device the device to get the logs from
+     * @return optional with the prepared command
+     */
+    public static Optional<LogcatCommand> tryPrepareMultiplexed(Device device) {
+        if (device.getApiLevel() < MIN_API_FOR_MULTIPLEXING) {
+            return Optional.empty();
+        }
+        return Optional.of(new LogcatCommand(device, ALL_BUFFERS));
+    }
 }
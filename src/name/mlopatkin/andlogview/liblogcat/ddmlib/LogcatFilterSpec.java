@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.ddmlib;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord.Priority;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * The device-side filter for logcat, expressed as logcat filterspecs ({@code TAG:P}) and an optional {@code --pid}.
+ * The device-side filter only reduces the amount of data transferred from the device, so it must select a superset of
+ * what the host-side filters show.
+ * <p>
+ * A {@code null} priority stands for the silent level {@code S} that suppresses everything.
+ */
+public final class LogcatFilterSpec {
+    /** The spec that doesn't filter anything. */
+    public static final LogcatFilterSpec ALL = new Builder().build();
+
+    // Tags are passed to the device shell without quoting, so only allow the safe ones.
+    private static final Pattern SAFE_TAG = Pattern.compile("[A-Za-z0-9_.\\-]+");
+
+    private final ImmutableSortedMap<String, String> tagLevels;
+    private final String defaultLevel;
+    private final OptionalInt pid;
+
+    private LogcatFilterSpec(Map<String, String> tagLevels, String defaultLevel, OptionalInt pid) {
+        this.tagLevels = ImmutableSortedMap.copyOf(tagLevels);
+        this.defaultLevel = defaultLevel;
+        this.pid = pid;
+    }
+
+    /**
+     * @return {@code true} if this spec doesn't filter out anything
+     */
+    public boolean isUnfiltered() {
+        return equals(ALL);
+    }
+
+    /**
+     * Builds logcat command-line arguments that implement this spec.
+     *
+     * @param supportsPid whether the device's logcat supports {@code --pid} (Android 7.0+)
+     * @return the list of arguments, may be empty
+     */
+    public List<String> toArguments(boolean supportsPid) {
+        var result = ImmutableList.<String>builder();
+        if (supportsPid && pid.isPresent()) {
+            result.add("--pid=" + pid.getAsInt());
+        }
+        tagLevels.forEach((tag, level) -> result.add(tag + ":" + level));
+        if (!tagLevels.isEmpty() || !"V".equals(defaultLevel)) {
+            result.add("*:" + defaultLevel);
+        }
+        return result.build();
+    }
+
+    /**
+     * Checks if the tag can be passed to logcat as a part of filterspec.
+     *
+     * @param tag the tag
+     * @return {@code true} if the tag can be used in the spec
+     */
+    public static boolean isSupportedTag(String tag) {
+        return SAFE_TAG.matcher(tag).matches();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LogcatFilterSpec that)) {
+            return false;
+        }
+        return tagLevels.equals(that.tagLevels) && defaultLevel.equals(that.defaultLevel) && pid.equals(that.pid);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tagLevels, defaultLevel, pid);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("tags", tagLevels)
+                .add("default", defaultLevel)
+                .add("pid", pid)
+                .toString();
+    }
+
+    private static String toLevel(@Nullable Priority priority) {
+        if (priority == null) {
+            return "S";
+        }
+        return priority.getLetter();
+    }
+
+    /**
+     * Builds the spec.
+     */
+    public static class Builder {
+        private final Map<String, String> tagLevels = new TreeMap<>();
+        private @Nullable Priority defaultPriority = Priority.LOWEST;
+        private OptionalInt pid = OptionalInt.empty();
+
+        /**
+         * Sets the minimal priority for the tag. Use {@code null} to suppress the tag completely.
+         *
+         * @param tag the tag, must be {@linkplain #isSupportedTag(String) supported}
+         * @param priority the minimal priority to show or null to suppress the tag
+         * @return this builder
+         */
+        public Builder setTagPriority(String tag, @Nullable Priority priority) {
+            Preconditions.checkArgument(isSupportedTag(tag), "Unsupported tag '%s'", tag);
+            tagLevels.put(tag, toLevel(priority));
+            return this;
+        }
+
+        /**
+         * Sets the minimal priority for all tags without explicit priority. Use {@code null} to suppress them.
+         *
+         * @param priority the minimal priority or null
+         * @return this builder
+         */
+        public Builder setDefaultPriority(@Nullable Priority priority) {
+            this.defaultPriority = priority;
+            return this;
+        }
+
+        /**
+         * Only show records from the given process.
+         *
+         * @param pid the pid of the process
+         * @return this builder
+         */
+        public Builder setPid(int pid) {
+            this.pid = OptionalInt.of(pid);
+            return this;
+        }
+
+        public LogcatFilterSpec build() {
+            return new LogcatFilterSpec(tagLevels, toLevel(defaultPriority), pid);
+        }
+    }
+}
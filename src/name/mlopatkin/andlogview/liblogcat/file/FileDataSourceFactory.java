@@ -38,6 +38,7 @@ import java.nio.charset.StandardCharsets;
 public class FileDataSourceFactory {
     private static final Logger logger = LoggerFactory.getLogger(FileDataSourceFactory.class);
     private static final int MAX_LOOKAHEAD_LINES = 100;
+    private static final long NO_FOLLOW = -1;
 
     private FileDataSourceFactory() {}
 
@@ -45,9 +46,31 @@ public class FileDataSourceFactory {
         return createDataSource(file, Files.asCharSource(file, StandardCharsets.UTF_8));
     }
 
+    /**
+     * Opens the file and keeps watching it for the new records. Only logcat files can be followed, dumpstate files are
+     * imported as usual.
+     *
+     * @param file the file to open
+     * @return the import result
+     * @throws UnrecognizedFormatException if the file format cannot be determined
+     * @throws IOException if the file cannot be read
+     */
+    public static ImportResult createFollowingDataSource(File file) throws UnrecognizedFormatException, IOException {
+        // The file may be growing while we're reading it. Only read up to the last complete line, the follower picks
+        // up the rest.
+        long followOffset = LogFileFollower.findLastLineEnd(file);
+        var data = Files.asByteSource(file).slice(0, followOffset).asCharSource(StandardCharsets.UTF_8);
+        return createDataSource(file, data, followOffset);
+    }
+
     @VisibleForTesting
     static ImportResult createDataSource(File file, CharSource data)
             throws UnrecognizedFormatException, IOException {
+        return createDataSource(file, data, NO_FOLLOW);
+    }
+
+    private static ImportResult createDataSource(File file, CharSource data, long followOffset)
+            throws UnrecognizedFormatException, IOException {
         try (LineReader in = new LineReader(data)) {
             DumpstateFormatSniffer dumpstateSniffer = DumpstateParsers.detectFormat();
             LogcatFormatSniffer logcatSniffer = LogcatParsers.detectFormat();
@@ -63,7 +86,7 @@ public class FileDataSourceFactory {
                         return createDumpstateFileSource(file, dumpstateSniffer, parser, in);
                     } else if (logcatSniffer.isFormatDetected()) {
                         logger.debug("Recognized {} as a logcat data", file);
-                        return createLogFileSource(file, logcatSniffer, parser, in);
+                        return createLogFileSource(file, logcatSniffer, parser, in, followOffset);
                     }
                     if (parserStopped) {
                         break;
@@ -75,11 +98,14 @@ public class FileDataSourceFactory {
     }
 
     private static ImportResult createLogFileSource(File file, LogcatFormatSniffer formatSniffer,
-            ReplayParser<?> replayParser, LineReader in)
+            ReplayParser<?> replayParser, LineReader in, long followOffset)
             throws IOException {
-        return new LogfileDataSource.Builder(file).setParserFactory(
-                        handler -> FormatSniffer.createAndReplay(replayParser, formatSniffer::createParser, handler))
-                .readFrom(in);
+        var builder = new LogfileDataSource.Builder(file).setParserFactory(
+                handler -> FormatSniffer.createAndReplay(replayParser, formatSniffer::createParser, handler));
+        if (followOffset != NO_FOLLOW) {
+            builder.setFollowFrom(followOffset);
+        }
+        return builder.readFrom(in);
     }
 
     private static ImportResult createDumpstateFileSource(File file, DumpstateFormatSniffer formatSniffer,
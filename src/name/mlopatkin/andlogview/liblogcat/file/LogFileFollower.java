@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.file;
+
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches a growing log file, like {@code tail -F} does. The file is polled for its size periodically, only the
+ * appended bytes are read. Complete lines are passed to the consumer on the follower's thread.
+ * <p>
+ * If the file is truncated or replaced (rotated), the follower starts reading the new content from the beginning.
+ * <p>
+ * Polling is used instead of {@link java.nio.file.WatchService}, because the latter doesn't work reliably for files on
+ * network shares.
+ */
+class LogFileFollower implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LogFileFollower.class);
+
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_END_LOOKBEHIND = 64 * 1024;
+
+    private final File file;
+    private final Consumer<? super String> lineConsumer;
+    private final ScheduledExecutorService executor;
+
+    // The following fields are only accessed on the executor thread.
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final ByteArrayOutputStream incompleteLine = new ByteArrayOutputStream();
+    private long offset;
+    private @Nullable Object fileKey;
+
+    LogFileFollower(File file, long offset, Consumer<? super String> lineConsumer) {
+        this.file = file;
+        this.offset = offset;
+        this.lineConsumer = lineConsumer;
+        this.fileKey = getFileKey(file);
+        this.executor = Executors.newSingleThreadScheduledExecutor(Threads.withName("follow-" + file.getName()));
+    }
+
+    /**
+     * Starts polling the file.
+     */
+    public void start() {
+        executor.scheduleWithFixedDelay(this::pollSafely, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (NoSuchFileException e) {
+            // The file is being rotated. Wait for the new one to appear.
+            logger.debug("Followed file {} disappeared", file);
+        } catch (IOException e) {
+            logger.error("Failed to read followed file {}", file, e);
+        }
+    }
+
+    @VisibleForTesting
+    void poll() throws IOException {
+        var currentKey = getFileKey(file);
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (!Objects.equals(currentKey, fileKey) || size < offset) {
+                logger.info("Followed file {} was truncated or replaced, reading from the beginning", file);
+                fileKey = currentKey;
+                offset = 0;
+                incompleteLine.reset();
+            }
+            if (size == offset) {
+                return;
+            }
+            channel.position(offset);
+            int read;
+            while (offset < size && (read = channel.read(readBuffer)) > 0) {
+                offset += read;
+                readBuffer.flip();
+                consumeLines(readBuffer);
+                readBuffer.clear();
+            }
+        }
+    }
+
+    private void consumeLines(ByteBuffer buffer) {
+        byte[] data = buffer.array();
+        int lineStart = buffer.position();
+        int end = buffer.limit();
+        for (int i = lineStart; i < end; ++i) {
+            if (data[i] == '\n') {
+                String line;
+                if (incompleteLine.size() > 0) {
+                    incompleteLine.write(data, lineStart, i - lineStart);
+                    line = decodeLine(incompleteLine.toByteArray(), 0, incompleteLine.size());
+                    incompleteLine.reset();
+                } else {
+                    line = decodeLine(data, lineStart, i - lineStart);
+                }
+                lineConsumer.accept(line);
+                lineStart = i + 1;
+            }
+        }
+        incompleteLine.write(data, lineStart, end - lineStart);
+    }
+
+    private static String decodeLine(byte[] data, int start, int length) {
+        if (length > 0 && data[start + length - 1] == '\r') {
+            --length;
+        }
+        return new String(data, start, length, StandardCharsets.UTF_8);
+    }
+
+    private static @Nullable Object getFileKey(File file) {
+        try {
+            // File key is an inode on Unix-like systems. Creation time helps on Windows where there are no file keys.
+            var attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            var key = attrs.fileKey();
+            return key != null ? key : attrs.creationTime();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the offset right after the last complete line in the file. The follower should start from this offset,
+     * otherwise the partially written last line can be consumed as two separate lines.
+     *
+     * @param file the file to check
+     * @return the offset after the last line break or the file size if the last line is too long
+     * @throws IOException if the file cannot be read
+     */
+    static long findLastLineEnd(File file) throws IOException {
+        try (var raf = new RandomAccessFile(file, "r")) {
+            long size = raf.length();
+            int lookBehind = (int) Math.min(size, MAX_LINE_END_LOOKBEHIND);
+            byte[] tail = new byte[lookBehind];
+            raf.seek(size - lookBehind);
+            raf.readFully(tail);
+            for (int i = lookBehind - 1; i >= 0; --i) {
+                if (tail[i] == '\n') {
+                    return size - lookBehind + i + 1;
+                }
+            }
+            return size;
+        }
+    }
+}
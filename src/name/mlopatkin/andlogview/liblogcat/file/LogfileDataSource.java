@@ -28,6 +28,10 @@ import name.mlopatkin.andlogview.parsers.logcat.CollectingHandler;
 import name.mlopatkin.andlogview.parsers.logcat.LogcatParseEventsHandler;
 import name.mlopatkin.andlogview.parsers.logcat.LogcatPushParser;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
 import org.jspecify.annotations.Nullable;
 
 import java.io.File;
@@ -38,30 +42,44 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * This class implements simple log parser with the ability to determine actual
  * logcat output format used.
+ * <p>
+ * The source can optionally follow the file: records appended to the file after the initial import are parsed with the
+ * same parser and delivered to the listener as they come.
  */
 public class LogfileDataSource implements DataSource {
     private final String fileName;
     private final Set<Field<?>> availableFields;
-    private final List<LogRecord> records;
     private final SourceMetadata sourceMetadata;
 
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final List<LogRecord> records;
+    @GuardedBy("lock")
     private @Nullable RecordListener<LogRecord> listener;
 
-    private LogfileDataSource(File file, Set<Field<?>> availableFields, List<LogRecord> records) {
+    private final @Nullable LogFileFollower follower;
+
+    private LogfileDataSource(File file, Set<Field<?>> availableFields, List<LogRecord> records,
+            @Nullable LogFileFollower follower) {
         this.fileName = file.getName();
         this.availableFields = availableFields;
-        // records may be huge, do not copy it needlessly
-        this.records = Collections.unmodifiableList(records);
+        this.records = records;
         this.sourceMetadata = new FileSourceMetadata(file);
+        this.follower = follower;
     }
 
     @Override
-    public void close() {}
+    public void close() {
+        if (follower != null) {
+            follower.close();
+        }
+    }
 
     @Override
     public EnumSet<Buffer> getAvailableBuffers() {
@@ -80,17 +98,45 @@ public class LogfileDataSource implements DataSource {
 
     @Override
     public void setLogRecordListener(RecordListener<LogRecord> listener) {
-        this.listener = listener;
-        this.listener.setRecords(records);
+        synchronized (lock) {
+            this.listener = listener;
+            if (follower == null) {
+                // records may be huge, do not copy it needlessly
+                listener.setRecords(Collections.unmodifiableList(records));
+            } else {
+                // The list keeps growing, so the listener has to get a snapshot.
+                listener.setRecords(ImmutableList.copyOf(records));
+            }
+        }
     }
 
     @Override
     public boolean reset() {
-        assert listener != null;
-        setLogRecordListener(listener);
+        RecordListener<LogRecord> currentListener;
+        synchronized (lock) {
+            currentListener = listener;
+        }
+        assert currentListener != null;
+        setLogRecordListener(currentListener);
         return true;
     }
 
+    /**
+     * @return {@code true} if this source watches the file for new records
+     */
+    public boolean isFollowing() {
+        return follower != null;
+    }
+
+    private void onRecordAppended(LogRecord record) {
+        synchronized (lock) {
+            records.add(record);
+            if (listener != null) {
+                listener.addRecord(record);
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return fileName;
@@ -106,6 +152,8 @@ public class LogfileDataSource implements DataSource {
         private final ArrayList<LogRecord> records = new ArrayList<>();
 
         private @Nullable LogcatPushParser<?> pushParser;
+        private Consumer<LogRecord> recordSink = records::add;
+        private long followOffset = -1;
 
         public Builder(File file) {
             this.file = file;
@@ -115,17 +163,39 @@ public class LogfileDataSource implements DataSource {
             pushParser = factory.apply(new CollectingHandler() {
                 @Override
                 protected ParserControl logRecord(LogRecord record) {
-                    records.add(record);
+                    recordSink.accept(record);
                     return ParserControl.proceed();
                 }
             });
             return this;
         }
 
+        /**
+         * Makes the built source follow the file for the new records, starting at the given byte offset. The offset
+         * should point right after the last line read by the parser.
+         *
+         * @param offset the offset in the file to start following from
+         * @return this builder
+         */
+        public Builder setFollowFrom(long offset) {
+            Preconditions.checkArgument(offset >= 0, "Invalid offset %s", offset);
+            followOffset = offset;
+            return this;
+        }
+
         public ImportResult readFrom(LineReader in) throws IOException {
             assert pushParser != null;
-            ParserUtils.readInto(pushParser, in::readLine);
-            return new ImportResult(new LogfileDataSource(file, pushParser.getAvailableFields(), records));
+            var parser = pushParser;
+            ParserUtils.readInto(parser, in::readLine);
+            if (followOffset < 0) {
+                return new ImportResult(new LogfileDataSource(file, parser.getAvailableFields(), records, null));
+            }
+            // The parser is only used by the follower thread from now on.
+            var follower = new LogFileFollower(file, followOffset, parser::nextLine);
+            var dataSource = new LogfileDataSource(file, parser.getAvailableFields(), records, follower);
+            recordSink = dataSource::onRecordAppended;
+            follower.start();
+            return new ImportResult(dataSource);
         }
     }
 }
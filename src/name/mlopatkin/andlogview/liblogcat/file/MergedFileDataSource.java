@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.file;
+
+import name.mlopatkin.andlogview.logmodel.DataSource;
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecord.Buffer;
+import name.mlopatkin.andlogview.logmodel.RecordListener;
+import name.mlopatkin.andlogview.logmodel.SourceMetadata;
+import name.mlopatkin.andlogview.logmodel.SourceMetadataItem;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A data source that combines records from several already loaded file sources into a single timeline. Records are
+ * ordered by timestamp. Records with the same timestamp keep the order of the sources they came from.
+ * <p>
+ * The merged source keeps the record objects of the original sources, but not the sources themselves, so the memory
+ * footprint is about the same as of the single file with all records.
+ */
+public class MergedFileDataSource implements DataSource {
+    /** The maximal number of files that can be merged together. */
+    public static final int MAX_SOURCES = 256;
+
+    private final ImmutableList<File> files;
+    private final List<LogRecord> records;
+    // Index of the origin file for each record, parallel to records. Stored as unsigned bytes to keep memory low.
+    private final byte[] origins;
+    private final Set<Field<?>> availableFields;
+    private final EnumSet<Buffer> availableBuffers;
+    private final SourceMetadata sourceMetadata;
+
+    private @Nullable RecordListener<LogRecord> listener;
+
+    private MergedFileDataSource(ImmutableList<File> files, List<LogRecord> records, byte[] origins,
+            Set<Field<?>> availableFields, EnumSet<Buffer> availableBuffers, SourceMetadata sourceMetadata) {
+        this.files = files;
+        this.records = Collections.unmodifiableList(records);
+        this.origins = origins;
+        this.availableFields = availableFields;
+        this.availableBuffers = availableBuffers;
+        this.sourceMetadata = sourceMetadata;
+    }
+
+    @Override
+    public void setLogRecordListener(RecordListener<LogRecord> listener) {
+        this.listener = listener;
+        listener.setRecords(records);
+    }
+
+    /**
+     * Returns nothing. Process ids of different files may come from different devices, so there is no single mapping.
+     * The records already have their app names resolved by the original sources where possible.
+     */
+    @Override
+    public @Nullable Map<Integer, String> getPidToProcessConverter() {
+        return null;
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public EnumSet<Buffer> getAvailableBuffers() {
+        return availableBuffers;
+    }
+
+    @Override
+    public Set<Field<?>> getAvailableFields() {
+        return availableFields;
+    }
+
+    @Override
+    public boolean reset() {
+        if (listener != null) {
+            setLogRecordListener(listener);
+        }
+        return true;
+    }
+
+    @Override
+    public SourceMetadata getMetadata() {
+        return sourceMetadata;
+    }
+
+    /**
+     * Returns the file the record came from.
+     *
+     * @param index the index of the record in the order it was passed to the listener
+     * @return the origin file of the record
+     */
+    public File getRecordOrigin(int index) {
+        return files.get(Byte.toUnsignedInt(origins[index]));
+    }
+
+    /**
+     * @return the merged files in the order they were provided
+     */
+    public List<File> getFiles() {
+        return files;
+    }
+
+    @Override
+    public String toString() {
+        return files.stream().map(File::getName).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Merges the records of the given sources. The sources must deliver all their records synchronously when the
+     * listener is set, as the file-based sources do. The sources are closed afterwards.
+     *
+     * @param files the files the sources were loaded from
+     * @param sources the sources, parallel to {@code files}
+     * @return the merged data source
+     */
+    public static MergedFileDataSource merge(List<File> files, List<? extends DataSource> sources) {
+        Preconditions.checkArgument(files.size() == sources.size(), "Files and sources size mismatch");
+        Preconditions.checkArgument(
+                sources.size() <= MAX_SOURCES, "Cannot merge more than %s files, got %s", MAX_SOURCES, sources.size());
+
+        var availableFields = new HashSet<Field<?>>();
+        var availableBuffers = EnumSet.noneOf(Buffer.class);
+        var metadataItems = ImmutableList.<SourceMetadataItem>builder();
+        var cursors = new ArrayList<SourceCursor>(sources.size());
+        int totalRecords = 0;
+        for (int i = 0; i < sources.size(); ++i) {
+            DataSource source = sources.get(i);
+            availableFields.addAll(source.getAvailableFields());
+            availableBuffers.addAll(source.getAvailableBuffers());
+            metadataItems.addAll(source.getMetadata().getMetadataItems());
+
+            var cursor = new SourceCursor(i, collectRecords(source));
+            source.close();
+            totalRecords += cursor.records.size();
+            if (cursor.hasCurrent()) {
+                cursors.add(cursor);
+            }
+        }
+
+        var records = new ArrayList<LogRecord>(totalRecords);
+        var origins = new byte[totalRecords];
+
+        // K-way merge. Each source is mostly sorted already, so this is O(N log K) for N records and K sources.
+        var queue = new PriorityQueue<SourceCursor>(Math.max(1, cursors.size()),
+                Comparator.comparing(SourceCursor::current, LogRecord.LEGACY_COMPARATOR)
+                        .thenComparingInt(c -> c.origin));
+        queue.addAll(cursors);
+        while (!queue.isEmpty()) {
+            var cursor = queue.poll();
+            origins[records.size()] = (byte) cursor.origin;
+            records.add(cursor.current());
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        ImmutableList<SourceMetadataItem> items = metadataItems.build();
+        return new MergedFileDataSource(ImmutableList.copyOf(files), records, origins,
+                Collections.unmodifiableSet(availableFields), availableBuffers, () -> items);
+    }
+
+    private static List<LogRecord> collectRecords(DataSource source) {
+        var collector = new RecordListener<LogRecord>() {
+            List<LogRecord> collected = new ArrayList<>();
+
+            @Override
+            public void addRecord(LogRecord record) {
+                collected.add(record);
+            }
+
+            @Override
+            public void setRecords(List<LogRecord> records) {
+                // File sources hand over their internal list, there is no need to copy it.
+                collected = records;
+            }
+        };
+        source.setLogRecordListener(collector);
+        return collector.collected;
+    }
+
+    private static final class SourceCursor {
+        final int origin;
+        final List<LogRecord> records;
+        private int position;
+
+        SourceCursor(int origin, List<LogRecord> records) {
+            this.origin = origin;
+            this.records = records;
+        }
+
+        boolean hasCurrent() {
+            return position < records.size();
+        }
+
+        LogRecord current() {
+            return records.get(position);
+        }
+
+        boolean advance() {
+            return ++position < records.size();
+        }
+    }
+}
@@ -25,6 +25,8 @@ import name.mlopatkin.andlogview.utils.events.Subject;
 import org.jspecify.annotations.Nullable;
 
 import java.awt.Color;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 
@@ -59,12 +61,24 @@ public class BookmarksLogModelFilter implements LogModelFilter {
         return bookmarkModel.containsRecord(record) && modelFilter.shouldShowRecord(record);
     }
 
+    @Override
+    public Predicate<LogRecord> snapshotShowPredicate() {
+        var bookmarks = bookmarkModel.snapshot();
+        var mainFilter = modelFilter.snapshotShowPredicate();
+        return record -> bookmarks.contains(record) && mainFilter.test(record);
+    }
+
     @Override
     public @Nullable Color getHighlightColor(LogRecord record) {
         // We don't want coloring in bookmarks list
         return null;
     }
 
+    @Override
+    public Function<LogRecord, @Nullable Color> snapshotHighlightColors() {
+        return record -> null;
+    }
+
     @Override
     public Observable<Observer> asObservable() {
         return observers.asObservable();
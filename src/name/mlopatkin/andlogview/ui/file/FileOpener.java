@@ -16,28 +16,42 @@
 
 package name.mlopatkin.andlogview.ui.file;
 
+import name.mlopatkin.andlogview.AppExecutors;
 import name.mlopatkin.andlogview.ErrorDialogsHelper;
 import name.mlopatkin.andlogview.liblogcat.file.FileDataSourceFactory;
 import name.mlopatkin.andlogview.liblogcat.file.ImportProblem;
+import name.mlopatkin.andlogview.liblogcat.file.ImportResult;
+import name.mlopatkin.andlogview.liblogcat.file.MergedFileDataSource;
 import name.mlopatkin.andlogview.liblogcat.file.UnrecognizedFormatException;
 import name.mlopatkin.andlogview.logmodel.DataSource;
 import name.mlopatkin.andlogview.preferences.LastUsedDirPref;
 import name.mlopatkin.andlogview.ui.FileDialog;
 import name.mlopatkin.andlogview.ui.mainframe.DialogFactory;
 import name.mlopatkin.andlogview.utils.CommonChars;
+import name.mlopatkin.andlogview.utils.MyFutures;
 import name.mlopatkin.andlogview.utils.TextUtils;
 import name.mlopatkin.andlogview.widgets.dialogs.OptionPanes;
 
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 
 /**
  * Handles opening a files as a {@link DataSource}. Shows error or warning dialogs if the file cannot be opened
@@ -50,12 +64,18 @@ public class FileOpener {
     private final DialogFactory dialogFactory;
     private final FileDialog fileDialog;
     private final LastUsedDirPref lastUsedDirPref;
+    private final Executor uiExecutor;
+    private final Executor fileExecutor;
 
     @Inject
-    FileOpener(DialogFactory dialogFactory, FileDialog fileDialog, LastUsedDirPref lastUsedDirPref) {
+    FileOpener(DialogFactory dialogFactory, FileDialog fileDialog, LastUsedDirPref lastUsedDirPref,
+            @Named(AppExecutors.UI_EXECUTOR) Executor uiExecutor,
+            @Named(AppExecutors.FILE_EXECUTOR) Executor fileExecutor) {
         this.dialogFactory = dialogFactory;
         this.fileDialog = fileDialog;
         this.lastUsedDirPref = lastUsedDirPref;
+        this.uiExecutor = uiExecutor;
+        this.fileExecutor = fileExecutor;
     }
 
     /**
@@ -68,7 +88,50 @@ public class FileOpener {
      * @return the cancellable handle to stop initialization
      */
     public CompletableFuture<DataSource> openFile(File file) {
-        return openFileAsDataSource(file);
+        return openFileAsDataSource(file, false);
+    }
+
+    /**
+     * Tries to open a file as a {@link DataSource} that keeps watching the file for the new records. Handles the whole
+     * UI flow, including showing the error dialogs if things go wrong. Does not update the source in the main frame,
+     * though.
+     * <p>
+     * This method must be called on UI thread.
+     *
+     * @param file the file to open and follow
+     * @return the cancellable handle to stop initialization
+     */
+    public CompletableFuture<DataSource> followFile(File file) {
+        return openFileAsDataSource(file, true);
+    }
+
+    /**
+     * Tries to open several files as a single {@link DataSource}. The files are parsed in parallel on the file thread
+     * pool, then their records are merged by timestamp in the background. Handles the whole UI flow, including showing
+     * the error dialogs if things go wrong. Does not update the source in the main frame, though.
+     * <p>
+     * This method must be called on UI thread.
+     *
+     * @param files the non-empty list of files to open
+     * @return the cancellable handle to stop initialization
+     */
+    public CompletableFuture<DataSource> openFiles(List<File> files) {
+        Preconditions.checkArgument(!files.isEmpty(), "No files to open");
+        if (files.size() == 1) {
+            return openFile(files.get(0));
+        }
+        if (files.size() > MergedFileDataSource.MAX_SOURCES) {
+            ErrorDialogsHelper.showError(dialogFactory.getOwner(),
+                    "Cannot open more than " + MergedFileDataSource.MAX_SOURCES + " files at once");
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Too many files to open: " + files.size()));
+        }
+        var imports = files.stream()
+                .map(file -> MyFutures.runAsync(() -> importFile(file, false), fileExecutor))
+                .collect(ImmutableList.toImmutableList());
+        return CompletableFuture.allOf(imports.toArray(new CompletableFuture<?>[0]))
+                .handleAsync((ignored, failure) -> mergeImported(files, imports), uiExecutor)
+                .thenCompose(Function.identity());
     }
 
     /**
@@ -84,29 +147,89 @@ public class FileOpener {
     @SuppressWarnings("RedundantCast") // The cast helps NullAway to infer the proper nullability
     public CompletableFuture<@Nullable DataSource> selectAndOpenFile() {
         return fileDialog.selectFileToOpen()
-                .map(file -> (CompletableFuture<@Nullable DataSource>) openFileAsDataSource(file))
+                .map(file -> (CompletableFuture<@Nullable DataSource>) openFileAsDataSource(file, false))
                 .orElse(CompletableFuture.completedFuture(null));
     }
 
-    private CompletableFuture<DataSource> openFileAsDataSource(File file) {
+    /**
+     * Presents a dialog to the user and tries to open a file as a {@link DataSource} that keeps watching the file for
+     * the new records. See {@link #selectAndOpenFile()} for details.
+     *
+     * @return the cancellable handle to stop initialization
+     */
+    @SuppressWarnings("RedundantCast") // The cast helps NullAway to infer the proper nullability
+    public CompletableFuture<@Nullable DataSource> selectAndFollowFile() {
+        return fileDialog.selectFileToOpen()
+                .map(file -> (CompletableFuture<@Nullable DataSource>) openFileAsDataSource(file, true))
+                .orElse(CompletableFuture.completedFuture(null));
+    }
+
+    private CompletableFuture<DataSource> openFileAsDataSource(File file, boolean follow) {
         try {
-            var importResult = FileDataSourceFactory.createDataSource(file);
-            var parentFile = file.getAbsoluteFile().getParentFile();
-            if (parentFile != null) {
-                // The null pathname is unlikely, as the file can be opened. We don't want to reset the preference if
-                // this is the case though.
-                lastUsedDirPref.set(parentFile);
-            }
+            var importResult = importFile(file, follow);
+            updateLastUsedDir(file);
             showImportProblemsIfNeeded(importResult.getProblems());
             return CompletableFuture.completedFuture(importResult.getDataSource());
-        } catch (UnrecognizedFormatException e) {
-            logger.error("Unrecognized file format for {}", file, e);
-            ErrorDialogsHelper.showError(dialogFactory.getOwner(), "Unrecognized file format for " + file);
+        } catch (UnrecognizedFormatException | IOException e) {
+            showImportError(file, e);
             return CompletableFuture.failedFuture(e);
-        } catch (IOException e) {
-            logger.error("Cannot open {}", file, e);
+        }
+    }
+
+    private CompletableFuture<DataSource> mergeImported(List<File> files,
+            List<CompletableFuture<ImportResult>> imports) {
+        assert imports.stream().allMatch(CompletableFuture::isDone);
+        var sources = new ArrayList<DataSource>(files.size());
+        var problems = new ArrayList<ImportProblem>();
+        Throwable failure = null;
+        for (int i = 0; i < files.size(); ++i) {
+            var file = files.get(i);
+            try {
+                var importResult = imports.get(i).join();
+                sources.add(importResult.getDataSource());
+                importResult.getProblems().stream()
+                        .map(problem -> new ImportProblem(file.getName() + ": " + problem.getMessage()))
+                        .forEachOrdered(problems::add);
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    // Only show the first failure, there is no point in flooding user with dialogs.
+                    failure = MoreObjects.firstNonNull(e.getCause(), e);
+                    showImportError(file, failure);
+                }
+            }
+        }
+        if (failure != null) {
+            sources.forEach(DataSource::close);
+            return CompletableFuture.failedFuture(failure);
+        }
+        updateLastUsedDir(files.get(0));
+        showImportProblemsIfNeeded(problems);
+        // Merging may take a while for big files, so it is better to do it off the UI thread.
+        return MyFutures.<DataSource>runAsync(() -> MergedFileDataSource.merge(files, sources), fileExecutor);
+    }
+
+    private static ImportResult importFile(File file, boolean follow) throws UnrecognizedFormatException, IOException {
+        return follow
+                ? FileDataSourceFactory.createFollowingDataSource(file)
+                : FileDataSourceFactory.createDataSource(file);
+    }
+
+    private void updateLastUsedDir(File file) {
+        var parentFile = file.getAbsoluteFile().getParentFile();
+        if (parentFile != null) {
+            // The null pathname is unlikely, as the file can be opened. We don't want to reset the preference if
+            // this is the case though.
+            lastUsedDirPref.set(parentFile);
+        }
+    }
+
+    private void showImportError(File file, Throwable failure) {
+        if (failure instanceof UnrecognizedFormatException) {
+            logger.error("Unrecognized file format for {}", file, failure);
+            ErrorDialogsHelper.showError(dialogFactory.getOwner(), "Unrecognized file format for " + file);
+        } else {
+            logger.error("Cannot open {}", file, failure);
             ErrorDialogsHelper.showError(dialogFactory.getOwner(), "Cannot read " + file);
-            return CompletableFuture.failedFuture(e);
         }
     }
 
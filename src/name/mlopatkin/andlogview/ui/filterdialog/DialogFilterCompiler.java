@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.filterdialog;
+
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.RequestCompilationException;
+import name.mlopatkin.andlogview.search.text.RegexStatistics;
+import name.mlopatkin.andlogview.search.text.SearchRequestParser;
+import name.mlopatkin.andlogview.search.text.SearcherBuilder;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.CharMatcher;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Ints;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the {@link FilterFromDialogData} into a record predicate. Instead of running every condition through the
+ * regex engine, the compiler picks a specialized matcher for each condition:
+ * <ul>
+ * <li>the priority is checked by comparing ordinals;</li>
+ * <li>pids are looked up in a sorted primitive array;</li>
+ * <li>plain tags and app names are looked up in a hash set that ignores ASCII case, like the
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE} regex used to;</li>
+ * <li>tag and app regexes without metacharacters become a case-insensitive substring search;</li>
+ * <li>the remaining regexes and the message pattern are matched by {@link SearcherBuilder}.</li>
+ * </ul>
+ * The conditions are checked from the cheapest to the most expensive one. The regexes are evaluated with a bounded
+ * number of steps, the aborted evaluations are recorded in the {@link RegexStatistics} given to the compiler.
+ */
+final class DialogFilterCompiler {
+    private static final CharMatcher REGEX_METACHARACTERS = CharMatcher.anyOf("\\^$.|?*+()[]{}");
+
+    private static final SearchRequestParser<Optional<String>> messageKeywordParser =
+            new SearchRequestParser<>(new SearchRequestParser.Delegate<>() {
+                @Override
+                public Optional<String> createRegexpSearcher(String pattern) {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Optional<String> createPlainSearcher(String pattern) {
+                    return Optional.of(pattern);
+                }
+            });
+
+    private DialogFilterCompiler() {}
+
+    public static Predicate<LogRecord> compile(FilterFromDialogData data) throws RequestCompilationException {
+        return compile(data, new RegexStatistics());
+    }
+
+    /**
+     * Compiles all conditions of the filter.
+     *
+     * @param data the filter data
+     * @param statistics the statistics to record the aborted evaluations of the regular expressions in
+     * @return the predicate
+     * @throws RequestCompilationException if some pattern is invalid
+     */
+    public static Predicate<LogRecord> compile(FilterFromDialogData data, RegexStatistics statistics)
+            throws RequestCompilationException {
+        return compile(data, true, statistics);
+    }
+
+    /**
+     * Returns the plain text message pattern of the filter. The message matches it if it contains the pattern,
+     * ignoring the case of ASCII letters.
+     *
+     * @param data the filter data
+     * @return the plain text pattern or null if there is no message pattern or the pattern is a regex
+     * @throws RequestCompilationException if the message pattern is invalid
+     */
+    public static @Nullable String getMessageKeyword(FilterFromDialogData data) throws RequestCompilationException {
+        var messagePattern = data.getMessagePattern();
+        if (messagePattern != null && !messagePattern.isEmpty()) {
+            return messageKeywordParser.parse(messagePattern).orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * Compiles all conditions of the filter except the message pattern.
+     *
+     * @param data the filter data
+     * @param statistics the statistics to record the aborted evaluations of the regular expressions in
+     * @return the predicate
+     * @throws RequestCompilationException if some pattern is invalid
+     */
+    public static Predicate<LogRecord> compileWithoutMessage(FilterFromDialogData data, RegexStatistics statistics)
+            throws RequestCompilationException {
+        return compile(data, false, statistics);
+    }
+
+    private static Predicate<LogRecord> compile(FilterFromDialogData data, boolean withMessage,
+            RegexStatistics statistics) throws RequestCompilationException {
+        var nameParser = createNameParser(statistics);
+        List<Predicate<LogRecord>> predicates = new ArrayList<>(4);
+        var priority = data.getPriority();
+        if (priority != null && priority != LogRecord.Priority.LOWEST) {
+            int minOrdinal = priority.ordinal();
+            predicates.add(record -> record.getPriority().ordinal() >= minOrdinal);
+        }
+        var pidsPredicate = !data.getPids().isEmpty() ? compilePids(data.getPids()) : null;
+        var appsPredicate =
+                !data.getApps().isEmpty() ? compileNames(nameParser, data.getApps(), LogRecord::getAppName) : null;
+        if (pidsPredicate != null && appsPredicate != null) {
+            predicates.add(pidsPredicate.or(appsPredicate));
+        } else if (pidsPredicate != null) {
+            predicates.add(pidsPredicate);
+        } else if (appsPredicate != null) {
+            predicates.add(appsPredicate);
+        }
+        if (!data.getTags().isEmpty()) {
+            predicates.add(compileNames(nameParser, data.getTags(), LogRecord::getTag));
+        }
+        var messagePattern = data.getMessagePattern();
+        if (withMessage && messagePattern != null && !messagePattern.isEmpty()) {
+            var messageMatcher = createMessageParser(statistics).parse(messagePattern);
+            predicates.add(record -> messageMatcher.test(record.getMessage()));
+        }
+        return predicates.stream().reduce(Predicate::and).orElse(record -> true);
+    }
+
+    /**
+     * Returns the fields of the record that the compiled predicate inspects.
+     *
+     * @param data the filter data
+     * @return the set of fields
+     */
+    public static ImmutableSet<Field<?>> getInspectedFields(FilterFromDialogData data) {
+        var result = ImmutableSet.<Field<?>>builder();
+        var priority = data.getPriority();
+        if (priority != null && priority != LogRecord.Priority.LOWEST) {
+            result.add(Field.PRIORITY);
+        }
+        if (!data.getPids().isEmpty()) {
+            result.add(Field.PID);
+        }
+        if (!data.getApps().isEmpty()) {
+            result.add(Field.APP_NAME);
+        }
+        if (!data.getTags().isEmpty()) {
+            result.add(Field.TAG);
+        }
+        var messagePattern = data.getMessagePattern();
+        if (messagePattern != null && !messagePattern.isEmpty()) {
+            result.add(Field.MESSAGE);
+        }
+        return result.build();
+    }
+
+    private static SearchRequestParser<Predicate<String>> createNameParser(RegexStatistics statistics) {
+        var findIgnoreCase =
+                new SearcherBuilder().setIgnoreCase(true).setMatchWholeText(false).setStatistics(statistics);
+        return new SearchRequestParser<>(new SearchRequestParser.Delegate<>() {
+            @Override
+            public Predicate<String> createRegexpSearcher(String pattern) throws RequestCompilationException {
+                if (REGEX_METACHARACTERS.matchesNoneOf(pattern)) {
+                    return new ContainsIgnoreCase(pattern);
+                }
+                return findIgnoreCase.buildRegexp(pattern);
+            }
+
+            @Override
+            public Predicate<String> createPlainSearcher(String pattern) {
+                return new EqualsIgnoreCase(pattern);
+            }
+        });
+    }
+
+    private static SearchRequestParser<Predicate<String>> createMessageParser(RegexStatistics statistics) {
+        var matchSubstring = new SearcherBuilder().setMatchWholeText(false).setStatistics(statistics);
+        return new SearchRequestParser<>(new SearchRequestParser.Delegate<>() {
+            @Override
+            public Predicate<String> createRegexpSearcher(String pattern) throws RequestCompilationException {
+                return matchSubstring.setIgnoreCase(false).buildRegexp(pattern);
+            }
+
+            @Override
+            public Predicate<String> createPlainSearcher(String pattern) throws RequestCompilationException {
+                return matchSubstring.setIgnoreCase(true).buildPlain(pattern);
+            }
+        });
+    }
+
+    private static Predicate<LogRecord> compilePids(List<Integer> pids) {
+        int[] sortedPids = Ints.toArray(pids);
+        Arrays.sort(sortedPids);
+        if (sortedPids.length == 1) {
+            int pid = sortedPids[0];
+            return record -> record.getPid() == pid;
+        }
+        return record -> Arrays.binarySearch(sortedPids, record.getPid()) >= 0;
+    }
+
+    private static Predicate<LogRecord> compileNames(SearchRequestParser<Predicate<String>> nameParser,
+            List<String> patterns, Function<LogRecord, String> field) throws RequestCompilationException {
+        var plainNames = new ArrayList<EqualsIgnoreCase>();
+        var otherMatchers = new ArrayList<Predicate<String>>();
+        for (var pattern : patterns) {
+            var matcher = nameParser.parse(pattern);
+            if (matcher instanceof EqualsIgnoreCase plainName) {
+                plainNames.add(plainName);
+            } else {
+                otherMatchers.add(matcher);
+            }
+        }
+        var matchers = new ArrayList<Predicate<String>>(otherMatchers.size() + 1);
+        if (plainNames.size() == 1) {
+            matchers.add(plainNames.get(0));
+        } else if (plainNames.size() > 1) {
+            matchers.add(new AsciiIgnoreCaseSet(plainNames));
+        }
+        matchers.addAll(otherMatchers);
+        var nameMatcher = matchers.stream().reduce(Predicate::or).orElseThrow();
+        return record -> nameMatcher.test(field.apply(record));
+    }
+
+    private static int hashIgnoreCase(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); ++i) {
+            h = 31 * h + Ascii.toLowerCase(s.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Matches the whole string, ignoring the case of ASCII letters.
+     */
+    private record EqualsIgnoreCase(String name) implements Predicate<String> {
+        @Override
+        public boolean test(String s) {
+            return Ascii.equalsIgnoreCase(name, s);
+        }
+    }
+
+    /**
+     * Looks for the substring, ignoring the case of ASCII letters.
+     */
+    private static final class ContainsIgnoreCase implements Predicate<String> {
+        private final String lowerCaseNeedle;
+
+        ContainsIgnoreCase(String needle) {
+            this.lowerCaseNeedle = Ascii.toLowerCase(needle);
+        }
+
+        @Override
+        public boolean test(String s) {
+            int lastStart = s.length() - lowerCaseNeedle.length();
+            for (int start = 0; start <= lastStart; ++start) {
+                if (matchesAt(s, start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesAt(String s, int start) {
+            for (int i = 0; i < lowerCaseNeedle.length(); ++i) {
+                if (Ascii.toLowerCase(s.charAt(start + i)) != lowerCaseNeedle.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The open-addressing hash set of names that ignores the case of ASCII letters. Lookups don't allocate.
+     */
+    private static final class AsciiIgnoreCaseSet implements Predicate<String> {
+        private final @Nullable String[] table;
+        private final int mask;
+
+        AsciiIgnoreCaseSet(List<EqualsIgnoreCase> names) {
+            // Keep the load factor at 0.5 at most.
+            table = new String[Integer.highestOneBit(names.size() * 2 - 1) << 1];
+            mask = table.length - 1;
+            for (var name : names) {
+                int slot = findSlot(name.name());
+                if (table[slot] == null) {
+                    table[slot] = name.name();
+                }
+            }
+        }
+
+        @Override
+        public boolean test(String s) {
+            return table[findSlot(s)] != null;
+        }
+
+        /** Returns the slot that holds the name equal to {@code s} or the empty slot where it should be. */
+        private int findSlot(String s) {
+            int slot = hashIgnoreCase(s) & mask;
+            String current;
+            while ((current = table[slot]) != null && !Ascii.equalsIgnoreCase(current, s)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -34,4 +34,12 @@ public interface FilterFromDialog extends Filter {
 
     @Nullable
     String getName();
+
+    /**
+     * Returns the number of times the evaluation of a regular expression of this filter was aborted because it took too
+     * long. The aborted evaluation doesn't match, so the filter may miss some records.
+     *
+     * @return the number of aborted evaluations
+     */
+    long getAbortedRegexEvaluations();
 }
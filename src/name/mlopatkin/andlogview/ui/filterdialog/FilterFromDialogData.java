@@ -18,15 +18,11 @@ package name.mlopatkin.andlogview.ui.filterdialog;
 
 import name.mlopatkin.andlogview.filters.FilteringMode;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
-import name.mlopatkin.andlogview.logmodel.LogRecordPredicates;
 import name.mlopatkin.andlogview.search.RequestCompilationException;
-import name.mlopatkin.andlogview.search.text.SearchRequestParser;
-import name.mlopatkin.andlogview.search.text.SearcherBuilder;
-import name.mlopatkin.andlogview.utils.MorePredicates;
+import name.mlopatkin.andlogview.search.text.RegexStatistics;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 import org.jspecify.annotations.Nullable;
 
@@ -37,38 +33,6 @@ import java.util.function.Predicate;
 
 public class FilterFromDialogData {
 
-    private static final SearchRequestParser<Predicate<String>> tagParser =
-            new SearchRequestParser<>(new SearchRequestParser.Delegate<>() {
-                private final SearcherBuilder matchIgnoreCase = new SearcherBuilder().setIgnoreCase(true);
-
-                @Override
-                public Predicate<String> createRegexpSearcher(String pattern)
-                        throws RequestCompilationException {
-                    return matchIgnoreCase.setMatchWholeText(false).buildRegexp(pattern);
-                }
-
-                @Override
-                public Predicate<String> createPlainSearcher(String pattern)
-                        throws RequestCompilationException {
-                    return matchIgnoreCase.setMatchWholeText(true).buildPlain(pattern);
-                }
-            });
-
-    private static final SearchRequestParser<Predicate<String>> messageParser =
-            new SearchRequestParser<>(new SearchRequestParser.Delegate<>() {
-                private final SearcherBuilder matchSubstring = new SearcherBuilder().setMatchWholeText(false);
-
-                @Override
-                public Predicate<String> createRegexpSearcher(String pattern) throws RequestCompilationException {
-                    return matchSubstring.setIgnoreCase(false).buildRegexp(pattern);
-                }
-
-                @Override
-                public Predicate<String> createPlainSearcher(String pattern) throws RequestCompilationException {
-                    return matchSubstring.setIgnoreCase(true).buildPlain(pattern);
-                }
-            });
-
     private final FilteringMode mode;
 
     private @Nullable String name;
@@ -95,37 +59,11 @@ public class FilterFromDialogData {
     }
 
     Predicate<LogRecord> compilePredicate() throws RequestCompilationException {
-        List<Predicate<LogRecord>> predicates = Lists.newArrayListWithCapacity(4);
-        if (!tags.isEmpty()) {
-            List<Predicate<String>> tagPredicates = Lists.newArrayListWithCapacity(tags.size());
-            for (String tagPattern : tags) {
-                tagPredicates.add(tagParser.parse(tagPattern));
-            }
-            predicates.add(LogRecordPredicates.matchTag(MorePredicates.or(tagPredicates)));
-        }
-        Predicate<LogRecord> appsAndPidsPredicate = null;
-        if (!pids.isEmpty()) {
-            appsAndPidsPredicate = LogRecordPredicates.withAnyOfPids(pids);
-        }
-        if (!apps.isEmpty()) {
-            List<Predicate<String>> appsPredicates = Lists.newArrayListWithCapacity(apps.size());
-            for (String appPattern : apps) {
-                appsPredicates.add(tagParser.parse(appPattern));
-            }
-            Predicate<LogRecord> appsPredicate = LogRecordPredicates.matchAppName(MorePredicates.or(appsPredicates));
-            appsAndPidsPredicate =
-                    appsAndPidsPredicate != null ? appsPredicate.or(appsAndPidsPredicate) : appsPredicate;
-        }
-        if (appsAndPidsPredicate != null) {
-            predicates.add(appsAndPidsPredicate);
-        }
-        if (messagePattern != null && !messagePattern.isEmpty()) {
-            predicates.add(LogRecordPredicates.matchMessage(messageParser.parse(messagePattern)));
-        }
-        if (priority != null && priority != LogRecord.Priority.LOWEST) {
-            predicates.add(LogRecordPredicates.moreSevereThan(priority));
-        }
-        return MorePredicates.and(predicates);
+        return DialogFilterCompiler.compile(this);
+    }
+
+    Predicate<LogRecord> compilePredicate(RegexStatistics statistics) throws RequestCompilationException {
+        return DialogFilterCompiler.compile(this, statistics);
     }
 
     public List<String> getTags() {
@@ -18,26 +18,43 @@ package name.mlopatkin.andlogview.ui.filterdialog;
 
 import name.mlopatkin.andlogview.filters.AbstractFilter;
 import name.mlopatkin.andlogview.filters.ColoringFilter;
+import name.mlopatkin.andlogview.logmodel.Field;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.search.RequestCompilationException;
+import name.mlopatkin.andlogview.search.text.RegexStatistics;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 
 import org.jspecify.annotations.Nullable;
 
 import java.awt.Color;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 
 public class FilterFromDialogImpl extends AbstractFilter<FilterFromDialogImpl>
         implements FilterFromDialog, ColoringFilter {
     private final FilterFromDialogData data;
     private final Predicate<LogRecord> recordPredicate;
+    private final Set<Field<?>> inspectedFields;
+    private final @Nullable String messageKeyword;
+    private final Predicate<LogRecord> predicateWithoutKeyword;
+    private final MatchKey matchKey;
+    private final RegexStatistics regexStatistics;
 
     FilterFromDialogImpl(boolean enabled, FilterFromDialogData data) throws RequestCompilationException {
         super(Objects.requireNonNull(data.getMode()), enabled);
         this.data = data;
-        this.recordPredicate = data.compilePredicate();
+        this.regexStatistics = new RegexStatistics();
+        this.recordPredicate = data.compilePredicate(regexStatistics);
+        this.inspectedFields = DialogFilterCompiler.getInspectedFields(data);
+        this.messageKeyword = DialogFilterCompiler.getMessageKeyword(data);
+        this.predicateWithoutKeyword = messageKeyword != null
+                ? DialogFilterCompiler.compileWithoutMessage(data, regexStatistics)
+                : recordPredicate;
+        this.matchKey = new MatchKey(ImmutableList.copyOf(data.getTags()), ImmutableList.copyOf(data.getPids()),
+                ImmutableList.copyOf(data.getApps()), data.getMessagePattern(), data.getPriority());
     }
 
     /**
@@ -50,6 +67,11 @@ public class FilterFromDialogImpl extends AbstractFilter<FilterFromDialogImpl>
         super(orig.getMode(), enabled);
         this.data = orig.data;
         this.recordPredicate = orig.recordPredicate;
+        this.inspectedFields = orig.inspectedFields;
+        this.messageKeyword = orig.messageKeyword;
+        this.predicateWithoutKeyword = orig.predicateWithoutKeyword;
+        this.matchKey = orig.matchKey;
+        this.regexStatistics = orig.regexStatistics;
     }
 
     @Override
@@ -57,6 +79,26 @@ public class FilterFromDialogImpl extends AbstractFilter<FilterFromDialogImpl>
         return recordPredicate.test(input);
     }
 
+    @Override
+    public Set<Field<?>> getInspectedFields() {
+        return inspectedFields;
+    }
+
+    @Override
+    public @Nullable String getMessageKeyword() {
+        return messageKeyword;
+    }
+
+    @Override
+    public boolean testWithoutKeyword(LogRecord record) {
+        return predicateWithoutKeyword.test(record);
+    }
+
+    @Override
+    public Object getMatchKey() {
+        return matchKey;
+    }
+
     @Override
     public @Nullable Color getHighlightColor() {
         return data.getHighlightColor();
@@ -78,8 +120,19 @@ public class FilterFromDialogImpl extends AbstractFilter<FilterFromDialogImpl>
         return data.getName();
     }
 
+    @Override
+    public long getAbortedRegexEvaluations() {
+        return regexStatistics.getAbortedEvaluations();
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("enabled", isEnabled()).add("data", getData()).toString();
     }
+
+    /**
+     * The conditions of the filter. The name, the mode and the highlight color don't affect the matching records.
+     */
+    private record MatchKey(ImmutableList<String> tags, ImmutableList<Integer> pids, ImmutableList<String> apps,
+            @Nullable String messagePattern, LogRecord.@Nullable Priority priority) {}
 }
@@ -24,6 +24,7 @@ import name.mlopatkin.andlogview.filters.MutableFilterModel;
 import name.mlopatkin.andlogview.filters.PredicateFilter;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.search.RequestCompilationException;
+import name.mlopatkin.andlogview.search.text.RegexStatistics;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -35,6 +36,7 @@ import java.util.function.Predicate;
 public class IndexWindowFilter extends AbstractFilter<IndexWindowFilter> implements FilterFromDialog, ChildModelFilter {
     private final FilterFromDialogData filterData;
     private final MutableFilterModel model;
+    private final RegexStatistics regexStatistics;
 
     public IndexWindowFilter(boolean enabled, FilterFromDialogData filterData) throws RequestCompilationException {
         this(enabled, filterData, ImmutableSet.of());
@@ -43,7 +45,8 @@ public class IndexWindowFilter extends AbstractFilter<IndexWindowFilter> impleme
     public IndexWindowFilter(boolean enabled, FilterFromDialogData filterData,
             Collection<? extends Filter> childFilters) throws RequestCompilationException {
         super(FilteringMode.WINDOW, enabled);
-        var hideFilter = predicateToHideFilter(filterData.compilePredicate());
+        this.regexStatistics = new RegexStatistics();
+        var hideFilter = predicateToHideFilter(filterData.compilePredicate(regexStatistics));
         this.model =
                 MutableFilterModel.create(ImmutableSet.<Filter>builder().add(hideFilter).addAll(childFilters).build());
         this.filterData = filterData;
@@ -53,6 +56,7 @@ public class IndexWindowFilter extends AbstractFilter<IndexWindowFilter> impleme
         super(FilteringMode.WINDOW, enabled);
         this.model = orig.model;
         this.filterData = orig.filterData;
+        this.regexStatistics = orig.regexStatistics;
     }
 
     private static PredicateFilter predicateToHideFilter(Predicate<? super LogRecord> filterPredicate) {
@@ -95,4 +99,9 @@ public class IndexWindowFilter extends AbstractFilter<IndexWindowFilter> impleme
     public @Nullable String getName() {
         return filterData.getName();
     }
+
+    @Override
+    public long getAbortedRegexEvaluations() {
+        return regexStatistics.getAbortedEvaluations();
+    }
 }
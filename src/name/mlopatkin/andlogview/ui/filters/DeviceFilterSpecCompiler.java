@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.filters;
+
+import name.mlopatkin.andlogview.filters.ChildModelFilter;
+import name.mlopatkin.andlogview.filters.Filter;
+import name.mlopatkin.andlogview.filters.FilteringMode;
+import name.mlopatkin.andlogview.liblogcat.ddmlib.LogcatFilterSpec;
+import name.mlopatkin.andlogview.logmodel.LogRecord.Priority;
+import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialog;
+import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialogData;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.MoreObjects;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates the host-side filters into the logcat filterspec. The resulting spec selects a superset of records the
+ * filters show, so it can be applied on the device.
+ * <p>
+ * Only the enabled dialog filters that precede the first index window are taken into account, as the index windows
+ * only see filters before them. Show filters contribute their tags, pids and priority, their message patterns are
+ * ignored. Hide filters contribute only if they consist of plain tags alone. Unknown show filters disable the push
+ * down completely.
+ * <p>
+ * Tags are compared case-insensitively on the host, but logcat compares them exactly. A shown tag is passed to the
+ * device only if it has no ASCII letters, so no other spelling of it can match on the host. Almost all real tags have
+ * letters, so in practice show filters are pushed down only by their priority and pid: a show filter with such tags
+ * contributes its priority to all tags. Silencing the hidden tags on the device as written is safe, it hides less than
+ * the host does.
+ */
+final class DeviceFilterSpecCompiler {
+    private static final CharMatcher ASCII_LETTERS = CharMatcher.inRange('a', 'z').or(CharMatcher.inRange('A', 'Z'));
+
+    private DeviceFilterSpecCompiler() {}
+
+    public static LogcatFilterSpec compile(Collection<? extends Filter> filters) {
+        var shown = new ShownSet();
+        var hiddenTags = new HashSet<String>();
+        for (var filter : filters) {
+            if (!filter.isEnabled()) {
+                continue;
+            }
+            if (filter instanceof ChildModelFilter) {
+                break;
+            }
+            var mode = filter.getMode();
+            if (mode == FilteringMode.SHOW) {
+                if (!(filter instanceof FilterFromDialog dialogFilter)) {
+                    return LogcatFilterSpec.ALL;
+                }
+                shown.add(dialogFilter.getData());
+            } else if (mode == FilteringMode.HIDE && filter instanceof FilterFromDialog dialogFilter) {
+                var data = dialogFilter.getData();
+                if (isTagOnly(data)) {
+                    hiddenTags.addAll(data.getTags());
+                }
+            }
+        }
+        return shown.toSpec(hiddenTags);
+    }
+
+    private static boolean isTagOnly(FilterFromDialogData data) {
+        var priority = data.getPriority();
+        return !data.getTags().isEmpty()
+                && data.getTags().stream().allMatch(LogcatFilterSpec::isSupportedTag)
+                && data.getPids().isEmpty()
+                && data.getApps().isEmpty()
+                && isNullOrEmpty(data.getMessagePattern())
+                && (priority == null || priority == Priority.LOWEST);
+    }
+
+    private static boolean isCaseless(String tag) {
+        return LogcatFilterSpec.isSupportedTag(tag) && ASCII_LETTERS.matchesNoneOf(tag);
+    }
+
+    private static boolean isNullOrEmpty(@Nullable String s) {
+        return s == null || s.isEmpty();
+    }
+
+    private static Priority lower(@Nullable Priority a, Priority b) {
+        return (a == null || b.compareTo(a) < 0) ? b : a;
+    }
+
+    /** The union of all show filters. */
+    private static class ShownSet {
+        private boolean hasShowFilters;
+        // The minimal priority for the tags not listed in tagPriorities. Null means nothing is shown.
+        private @Nullable Priority defaultPriority;
+        private final Map<String, Priority> tagPriorities = new HashMap<>();
+        // Null means the pids cannot be pushed down, because some filter doesn't restrict them.
+        private @Nullable Set<Integer> pids = new HashSet<>();
+
+        void add(FilterFromDialogData data) {
+            hasShowFilters = true;
+            var priority = MoreObjects.firstNonNull(data.getPriority(), Priority.LOWEST);
+            var tags = data.getTags();
+            if (tags.isEmpty() || !tags.stream().allMatch(DeviceFilterSpecCompiler::isCaseless)) {
+                defaultPriority = lower(defaultPriority, priority);
+            } else {
+                for (var tag : tags) {
+                    tagPriorities.put(tag, lower(tagPriorities.get(tag), priority));
+                }
+            }
+            if (pids != null) {
+                // Apps are matched by the process name which isn't known to logcat, and apps are OR-ed with pids.
+                if (data.getPids().isEmpty() || !data.getApps().isEmpty()) {
+                    pids = null;
+                } else {
+                    pids.addAll(data.getPids());
+                }
+            }
+        }
+
+        LogcatFilterSpec toSpec(Set<String> hiddenTags) {
+            var builder = new LogcatFilterSpec.Builder();
+            if (!hasShowFilters) {
+                hiddenTags.forEach(tag -> builder.setTagPriority(tag, null));
+                return builder.build();
+            }
+            var minPriority = defaultPriority;
+            builder.setDefaultPriority(minPriority);
+            tagPriorities.forEach((tag, priority) -> {
+                // Logcat applies tag priority instead of the default one, not in addition to it.
+                if (minPriority == null || priority.compareTo(minPriority) < 0) {
+                    builder.setTagPriority(tag, priority);
+                }
+            });
+            hiddenTags.forEach(tag -> builder.setTagPriority(tag, null));
+            if (pids != null && pids.size() == 1) {
+                builder.setPid(pids.iterator().next());
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.filters;
+
+import name.mlopatkin.andlogview.DataSourceHolder;
+import name.mlopatkin.andlogview.filters.FilterModel;
+import name.mlopatkin.andlogview.filters.FiltersChangeObserver;
+import name.mlopatkin.andlogview.liblogcat.ddmlib.AdbDataSource;
+import name.mlopatkin.andlogview.liblogcat.ddmlib.LogcatFilterSpec;
+import name.mlopatkin.andlogview.ui.mainframe.MainFrameScoped;
+
+import javax.inject.Inject;
+
+/**
+ * Pushes the current filters down to the device when the device-side filtering is enabled. The logcat on the device
+ * then only sends the records that can be shown, which saves the bandwidth and the parsing time.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+@MainFrameScoped
+public class DeviceSideFiltering {
+    private final FilterModel filterModel;
+    private final DataSourceHolder dataSourceHolder;
+
+    private boolean enabled;
+
+    @Inject
+    DeviceSideFiltering(FilterModel filterModel, DataSourceHolder dataSourceHolder) {
+        this.filterModel = filterModel;
+        this.dataSourceHolder = dataSourceHolder;
+    }
+
+    @Inject
+    void init() {
+        filterModel.asObservable().addObserver(new FiltersChangeObserver(model -> updateDeviceFilter()));
+        dataSourceHolder.asObservable().addObserver((oldSource, newSource) -> updateDeviceFilter());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the device-side filtering. Changing the filter on device restarts the log collection.
+     *
+     * @param enabled the new state
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        updateDeviceFilter();
+    }
+
+    private void updateDeviceFilter() {
+        if (dataSourceHolder.getDataSource() instanceof AdbDataSource adbDataSource) {
+            adbDataSource.setFilterSpec(
+                    enabled ? DeviceFilterSpecCompiler.compile(filterModel.getFilters()) : LogcatFilterSpec.ALL);
+        }
+    }
+}
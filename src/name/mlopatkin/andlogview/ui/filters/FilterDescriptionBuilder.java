@@ -16,6 +16,7 @@
 
 package name.mlopatkin.andlogview.ui.filters;
 
+import name.mlopatkin.andlogview.filters.FilterStatistics;
 import name.mlopatkin.andlogview.filters.FilteringMode;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 
@@ -28,26 +29,47 @@ import org.jspecify.annotations.Nullable;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
 
 /**
- * Constructs a filter description suitable for tooltip or tree display.
+ * Constructs a filter description suitable for tooltip or tree display. The description is HTML, unless the builder is
+ * created with {@link #plainText()}.
  */
 class FilterDescriptionBuilder {
     private static final Joiner commaJoiner = Joiner.on(", ");
 
     private final StringBuilder content;
     private final Deque<String> tags = new ArrayDeque<>();
+    private final boolean isHtml;
 
     private boolean isFirstLine = true;
 
     public FilterDescriptionBuilder() {
-        content = new StringBuilder("<html>");
-        tags.push("html");
+        this(true);
+    }
+
+    private FilterDescriptionBuilder(boolean isHtml) {
+        this.isHtml = isHtml;
+        content = new StringBuilder();
+        startTag("html");
+    }
+
+    /**
+     * Creates the builder of a single-line plain text description. Lines are separated with semicolons.
+     *
+     * @return the new builder
+     */
+    public static FilterDescriptionBuilder plainText() {
+        return new FilterDescriptionBuilder(false);
     }
 
     private FilterDescriptionBuilder beginLine() {
         if (!isFirstLine) {
-            tag("br");
+            if (isHtml) {
+                tag("br");
+            } else {
+                content.append("; ");
+            }
         }
         return this;
     }
@@ -78,7 +100,7 @@ class FilterDescriptionBuilder {
 
         if (elements != null && !elements.isEmpty()) {
             beginLine().append(caption).append(": ");
-            commaJoiner.appendTo(content, Iterables.transform(elements, FilterDescriptionBuilder::escape));
+            commaJoiner.appendTo(content, Iterables.transform(elements, this::escape));
         }
         return this;
     }
@@ -101,6 +123,31 @@ class FilterDescriptionBuilder {
         return this;
     }
 
+    public FilterDescriptionBuilder addStatistics(FilterStatistics.Stats stats) {
+        assert !isFinished();
+
+        if (stats.evaluations() > 0) {
+            beginLine().append(String.format("Evaluated %,d times, matched %,d, took %s ms", stats.evaluations(),
+                    stats.matches(), formatMillis(stats.estimatedNanos()))).endLine();
+        }
+        return this;
+    }
+
+    public FilterDescriptionBuilder addAbortedEvaluations(long abortedEvaluations) {
+        assert !isFinished();
+
+        if (abortedEvaluations > 0) {
+            beginLine().append(String.format(
+                    "The pattern is too complex, %,d evaluations were aborted and didn't match", abortedEvaluations))
+                    .endLine();
+        }
+        return this;
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
     public String build() {
         if (!isFinished()) {
             endTag();
@@ -113,24 +160,31 @@ class FilterDescriptionBuilder {
         return this;
     }
 
-    private static String escape(Object rawText) {
-        return HtmlEscapers.htmlEscaper().escape(String.valueOf(rawText));
+    private String escape(Object rawText) {
+        var text = String.valueOf(rawText);
+        return isHtml ? HtmlEscapers.htmlEscaper().escape(text) : text;
     }
 
     private FilterDescriptionBuilder startTag(String tag) {
         tags.push(tag);
-        content.append("<").append(tag).append(">");
+        if (isHtml) {
+            content.append("<").append(tag).append(">");
+        }
         return this;
     }
 
     private FilterDescriptionBuilder tag(String tag) {
-        content.append("<").append(tag).append(">");
+        if (isHtml) {
+            content.append("<").append(tag).append(">");
+        }
         return this;
     }
 
     private FilterDescriptionBuilder endTag() {
         var tag = tags.pop();
-        content.append("</").append(tag).append(">");
+        if (isHtml) {
+            content.append("</").append(tag).append(">");
+        }
         return this;
     }
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.filters;
+
+import name.mlopatkin.andlogview.filters.BufferFilter;
+import name.mlopatkin.andlogview.filters.Filter;
+import name.mlopatkin.andlogview.logmodel.LogRecord.Buffer;
+import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialog;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Iterables;
+
+/**
+ * Describes filters in the messages shown to the user.
+ */
+public final class FilterDescriptions {
+    private static final Joiner commaJoiner = Joiner.on(", ");
+
+    private FilterDescriptions() {}
+
+    /**
+     * Returns the single-line plain text description of the filter: its name, if it has one, or its conditions.
+     *
+     * @param filter the filter
+     * @return the description
+     */
+    public static String describe(Filter filter) {
+        if (filter instanceof FilterFromDialog filterFromDialog) {
+            var name = filterFromDialog.getName();
+            return name != null ? name : addConditions(FilterDescriptionBuilder.plainText(), filterFromDialog).build();
+        }
+        if (filter instanceof BufferFilter bufferFilter) {
+            return "Selected buffers: "
+                    + commaJoiner.join(Iterables.transform(bufferFilter.getAllowedBuffers(), Buffer::getCaption));
+        }
+        return filter.getMode().getDescription();
+    }
+
+    static FilterDescriptionBuilder addConditions(FilterDescriptionBuilder builder, FilterFromDialog filter) {
+        var data = filter.getData();
+        return builder.addMode(data.getMode())
+                .addList("Tags", data.getTags())
+                .addList("PIDs", data.getPids())
+                .addList("App names like", data.getApps())
+                .addPattern("Message text like", data.getMessagePattern())
+                .addPriorityBound("Priority>=", data.getPriority());
+    }
+}
@@ -17,7 +17,11 @@
 package name.mlopatkin.andlogview.ui.filters;
 
 import name.mlopatkin.andlogview.config.ConfigStorage;
+import name.mlopatkin.andlogview.config.SimpleClient;
+import name.mlopatkin.andlogview.filters.FilterChainGroup;
+import name.mlopatkin.andlogview.filters.FilterMatchCache;
 import name.mlopatkin.andlogview.filters.FilterModel;
+import name.mlopatkin.andlogview.filters.FilterStatistics;
 import name.mlopatkin.andlogview.filters.MutableFilterModel;
 import name.mlopatkin.andlogview.ui.filtertree.FilterNodeViewModel;
 import name.mlopatkin.andlogview.ui.filtertree.FilterTreeModel;
@@ -53,6 +57,27 @@ public abstract class FilterModule {
     @Binds
     abstract FilterModel filterModel(MutableFilterModel model);
 
+    @Provides
+    @MainFrameScoped
+    static FilterStatistics filterStatistics() {
+        return new FilterStatistics();
+    }
+
+    @Provides
+    @MainFrameScoped
+    static FilterChainGroup filterChainGroup(FilterStatistics statistics) {
+        // The main view and all index windows evaluate their filters together.
+        return new FilterChainGroup(statistics);
+    }
+
+    @Provides
+    @MainFrameScoped
+    static FilterMatchCache filterMatchCache(ConfigStorage configStorage, FilterStatistics statistics) {
+        var budgetMegabytes = configStorage.preference(
+                new SimpleClient<>("filterMatchCacheMegabytes", Integer.class, () -> 64)).get();
+        return new FilterMatchCache(Math.max(0, budgetMegabytes) * 1024L * 1024L, statistics);
+    }
+
     @Provides
     static FilterTreeModel<FilterNodeViewModel> filterTreeModel(FilterTreeModelAdapter modelAdapter) {
         // TODO(mlopatkin) This is actually not type-safe, but the true safety is surprisingly hard to achieve. As long
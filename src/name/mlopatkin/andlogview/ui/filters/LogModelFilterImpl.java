@@ -17,8 +17,13 @@
 package name.mlopatkin.andlogview.ui.filters;
 
 import name.mlopatkin.andlogview.filters.FilterChain;
+import name.mlopatkin.andlogview.filters.FilterChainGroup;
+import name.mlopatkin.andlogview.filters.FilterMatchCache;
 import name.mlopatkin.andlogview.filters.FilterModel;
+import name.mlopatkin.andlogview.filters.FilterStatistics;
 import name.mlopatkin.andlogview.filters.LogRecordHighlighter;
+import name.mlopatkin.andlogview.filters.PredicateFilter;
+import name.mlopatkin.andlogview.filters.RowsFilter;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.ui.logtable.LogModelFilter;
 import name.mlopatkin.andlogview.ui.mainframe.MainFrameScoped;
@@ -30,6 +35,9 @@ import com.google.common.annotations.VisibleForTesting;
 import org.jspecify.annotations.Nullable;
 
 import java.awt.Color;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 
@@ -37,18 +45,26 @@ import javax.inject.Inject;
 public class LogModelFilterImpl implements LogModelFilter {
     private final FilterChain filterChain;
     private final LogRecordHighlighter highlighter;
+    private final FilterMatchCache matchCache;
 
     private final Subject<Observer> observers = new Subject<>();
+    private final Subject<Observer> highlightingObservers = new Subject<>();
 
-    @Inject
     @VisibleForTesting
     public LogModelFilterImpl(FilterModel model) {
+        this(model, new FilterChainGroup(), new FilterMatchCache(0), new FilterStatistics());
+    }
+
+    @Inject
+    LogModelFilterImpl(FilterModel model, FilterChainGroup chainGroup, FilterMatchCache matchCache,
+            FilterStatistics statistics) {
+        this.matchCache = matchCache;
         // TODO(mlopatkin) Ideally, we should clean up these.
-        filterChain = new FilterChain(model);
-        highlighter = new LogRecordHighlighter(model);
+        filterChain = new FilterChain(model, chainGroup);
+        highlighter = new LogRecordHighlighter(model, statistics);
 
         filterChain.asObservable().addObserver(this::notifyObservers);
-        highlighter.asObservable().addObserver(this::notifyObservers);
+        highlighter.asObservable().addObserver(this::onHighlightingChanged);
     }
 
     @Override
@@ -56,16 +72,54 @@ public class LogModelFilterImpl implements LogModelFilter {
         return filterChain.shouldShow(record);
     }
 
+    @Override
+    public Predicate<LogRecord> snapshotShowPredicate() {
+        return filterChain.snapshot();
+    }
+
+    /**
+     * Returns the function that finds the filters hiding the record, with the current state of this filter. The
+     * function doesn't follow subsequent changes of the filter and can be evaluated on any thread.
+     *
+     * @return the function that returns the filters hiding the record or the empty list if the record is shown
+     * @see FilterChain#snapshotHidingFilters()
+     */
+    public Function<LogRecord, List<PredicateFilter>> snapshotHidingFilters() {
+        return filterChain.snapshotHidingFilters();
+    }
+
+    @Override
+    public RowsFilter snapshotRowsFilter() {
+        return filterChain.snapshotRowsFilter(matchCache);
+    }
+
     @Override
     public @Nullable Color getHighlightColor(LogRecord record) {
         return highlighter.getColor(record);
     }
 
+    @Override
+    public Function<LogRecord, @Nullable Color> snapshotHighlightColors() {
+        return highlighter.snapshot();
+    }
+
     @Override
     public Observable<Observer> asObservable() {
         return observers.asObservable();
     }
 
+    @Override
+    public Observable<Observer> asHighlightingObservable() {
+        return highlightingObservers.asObservable();
+    }
+
+    private void onHighlightingChanged() {
+        notifyObservers();
+        for (Observer o : highlightingObservers) {
+            o.onModelChange();
+        }
+    }
+
     private void notifyObservers() {
         for (Observer o : observers) {
             o.onModelChange();
@@ -17,7 +17,9 @@
 package name.mlopatkin.andlogview.ui.filters;
 
 import name.mlopatkin.andlogview.filters.Filter;
+import name.mlopatkin.andlogview.filters.FilterStatistics;
 import name.mlopatkin.andlogview.filters.MutableFilterModel;
+import name.mlopatkin.andlogview.filters.PredicateFilter;
 import name.mlopatkin.andlogview.ui.filterdialog.FilterDialogFactory;
 import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialog;
 import name.mlopatkin.andlogview.ui.filtertree.FilterNodeViewModel;
@@ -26,11 +28,19 @@ import dagger.assisted.Assisted;
 import dagger.assisted.AssistedFactory;
 import dagger.assisted.AssistedInject;
 
+import java.util.List;
+
 public class TreeNodeFilter extends BaseFilterPresenter implements FilterNodeViewModel {
+    // The filter that was evaluated this many times without a single match is likely obsolete.
+    private static final long NEVER_MATCHED_MIN_EVALUATIONS = 1000;
+
+    private final FilterStatistics statistics;
+
     @AssistedInject
-    public TreeNodeFilter(MutableFilterModel model, FilterDialogFactory dialogFactory,
+    public TreeNodeFilter(MutableFilterModel model, FilterDialogFactory dialogFactory, FilterStatistics statistics,
             @Assisted FilterFromDialog filter) {
         super(model, dialogFactory, filter);
+        this.statistics = statistics;
     }
 
     Filter getFilter() {
@@ -49,31 +59,45 @@ public class TreeNodeFilter extends BaseFilterPresenter implements FilterNodeVie
             return name;
         }
 
-        var data = filter.getData();
-        return new FilterDescriptionBuilder()
-                .addMode(data.getMode())
-                .addList("Tags", data.getTags())
-                .addList("PIDs", data.getPids())
-                .addList("App names like", data.getApps())
-                .addPattern("Message text like", data.getMessagePattern())
-                .addPriorityBound("Priority>=", data.getPriority())
-                .build();
+        return addConditions(new FilterDescriptionBuilder()).build();
     }
 
     @Override
     public String getTooltip() {
-        var data = filter.getData();
-        return new FilterDescriptionBuilder()
-                .addName(filter.getName())
-                .addMode(data.getMode())
-                .addList("Tags", data.getTags())
-                .addList("PIDs", data.getPids())
-                .addList("App names like", data.getApps())
-                .addPattern("Message text like", data.getMessagePattern())
-                .addPriorityBound("Priority>=", data.getPriority())
+        return addConditions(new FilterDescriptionBuilder().addName(filter.getName()))
+                .addStatistics(getStats())
+                .addAbortedEvaluations(filter.getAbortedRegexEvaluations())
                 .build();
     }
 
+    @Override
+    public boolean isNeverMatched() {
+        var stats = getStats();
+        return stats.evaluations() >= NEVER_MATCHED_MIN_EVALUATIONS && stats.matches() == 0;
+    }
+
+    @Override
+    public List<String> getStatistics() {
+        var name = filter.getName();
+        var stats = getStats();
+        return List.of(
+                name != null ? name : addConditions(FilterDescriptionBuilder.plainText()).build(),
+                Long.toString(stats.evaluations()),
+                Long.toString(stats.matches()),
+                FilterDescriptionBuilder.formatMillis(stats.estimatedNanos()));
+    }
+
+    private FilterStatistics.Stats getStats() {
+        // Only the predicate filters are evaluated directly, the index window filter is evaluated through its children.
+        return filter instanceof PredicateFilter predicateFilter
+                ? statistics.getStats(predicateFilter)
+                : FilterStatistics.Stats.EMPTY;
+    }
+
+    private FilterDescriptionBuilder addConditions(FilterDescriptionBuilder builder) {
+        return FilterDescriptions.addConditions(builder, filter);
+    }
+
     @Override
     public String toString() {
         return filter.toString();
@@ -43,6 +43,7 @@ class FilterNodeRenderer implements TreeCellRenderer {
     private Color selectionBackground;
     private Color textForeground;
     private Color textBackground;
+    private Color neverMatchedForeground;
     private Color selectionInactiveForeground;
     private Color selectionInactiveBackground;
 
@@ -71,6 +72,7 @@ class FilterNodeRenderer implements TreeCellRenderer {
         selectionBackground = UIManager.getColor("Tree.selectionBackground");
         textForeground = UIManager.getColor("Tree.textForeground");
         textBackground = UIManager.getColor("Tree.background");
+        neverMatchedForeground = UIManager.getColor("Label.disabledForeground");
     }
 
     /**
@@ -91,6 +93,10 @@ class FilterNodeRenderer implements TreeCellRenderer {
         }
 
         var fgColor = getForegroundColor(selected, hasFocus);
+        if (!selected && filter.isNeverMatched() && neverMatchedForeground != null) {
+            // Dim the filters that look obsolete.
+            fgColor = neverMatchedForeground;
+        }
         text.setForeground(fgColor);
 
         var bgColor = getBackgroundColor(selected, hasFocus);
@@ -16,6 +16,8 @@
 
 package name.mlopatkin.andlogview.ui.filtertree;
 
+import java.util.List;
+
 /**
  * This interface provides information necessary to display a filter in the {@link FilterNodeRenderer}.
  */
@@ -40,4 +42,24 @@ public interface FilterNodeViewModel {
      * @return the tree node tooltip
      */
     String getTooltip();
+
+    /**
+     * Returns true if the filter was evaluated for many records, but none of them matched. Such filters are likely
+     * obsolete.
+     *
+     * @return true if the filter never matched
+     */
+    default boolean isNeverMatched() {
+        return false;
+    }
+
+    /**
+     * Returns the evaluation statistics of the filter for export. The columns are: the plain text description of the
+     * filter, the number of evaluations, the number of matches, the estimated total evaluation time in milliseconds.
+     *
+     * @return the list of columns or an empty list if the statistics are not available
+     */
+    default List<String> getStatistics() {
+        return List.of();
+    }
 }
@@ -122,12 +122,15 @@ public class FilterTreeFactory {
             var menu = new JPopupMenu();
             menu.add(treeActions.editSelectedFilter);
             menu.add(treeActions.deleteSelectedFilter);
+            menu.addSeparator();
+            menu.add(treeActions.copyFilterStatistics);
             return menu;
         };
 
         Supplier<JPopupMenu> treePopupMenu = () -> {
             var menu = new JPopupMenu();
             menu.add(treeActions.createFilter).setToolTipText(null);
+            menu.add(treeActions.copyFilterStatistics);
             return menu;
         };
 
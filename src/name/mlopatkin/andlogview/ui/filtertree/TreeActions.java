@@ -16,15 +16,19 @@
 
 package name.mlopatkin.andlogview.ui.filtertree;
 
+import name.mlopatkin.andlogview.ui.GlobalClipboard;
 import name.mlopatkin.andlogview.ui.Icons;
 import name.mlopatkin.andlogview.ui.themes.CurrentTheme;
 import name.mlopatkin.andlogview.widgets.UiHelper;
 
+import com.google.common.base.Joiner;
+
 import dagger.assisted.Assisted;
 import dagger.assisted.AssistedFactory;
 import dagger.assisted.AssistedInject;
 
 import java.awt.event.KeyEvent;
+import java.util.List;
 import java.util.function.Consumer;
 
 import javax.swing.Action;
@@ -35,16 +39,20 @@ import javax.swing.JTree;
  * shortcuts.
  */
 class TreeActions {
+    private static final Joiner tabJoiner = Joiner.on('\t');
+
     public final Action createFilter;
     public final Action editSelectedFilter;
     public final Action deleteSelectedFilter;
     public final Action toggleSelectedFilter;
+    public final Action copyFilterStatistics;
 
     @AssistedInject
     public TreeActions(
             FilterCreator filterCreator,
             FilterTreeModel<FilterNodeViewModel> model,
             CurrentTheme theme,
+            GlobalClipboard clipboard,
             @Assisted JTree tree
     ) {
         this.createFilter = UiHelper.makeAction(filterCreator::createFilterWithDialog)
@@ -59,6 +67,22 @@ class TreeActions {
                 UiHelper.makeAction("Delete filter", () -> withSelectedFilter(tree, model::removeFilterForView));
         this.toggleSelectedFilter = UiHelper.makeAction("Toggle filter",
                 () -> withSelectedFilter(tree, filter -> model.setFilterEnabled(filter, !filter.isEnabled())));
+        this.copyFilterStatistics = UiHelper.makeAction("Copy filter statistics",
+                () -> clipboard.setText(formatStatistics(model.getFilters())));
+    }
+
+    /**
+     * Formats the statistics of the filters as tab-separated values, so they can be pasted into a spreadsheet.
+     */
+    private static String formatStatistics(List<? extends FilterNodeViewModel> filters) {
+        var result = new StringBuilder("Filter\tEvaluations\tMatches\tTime, ms\n");
+        for (var filter : filters) {
+            var statistics = filter.getStatistics();
+            if (!statistics.isEmpty()) {
+                tabJoiner.appendTo(result, statistics).append('\n');
+            }
+        }
+        return result.toString();
     }
 
     private static void withSelectedFilter(JTree tree, Consumer<? super FilterNodeViewModel> filterConsumer) {
@@ -17,7 +17,10 @@
 package name.mlopatkin.andlogview.ui.indexfilter;
 
 import name.mlopatkin.andlogview.filters.FilterChain;
+import name.mlopatkin.andlogview.filters.FilterChainGroup;
+import name.mlopatkin.andlogview.filters.FilterMatchCache;
 import name.mlopatkin.andlogview.filters.FilterModel;
+import name.mlopatkin.andlogview.filters.RowsFilter;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.ui.logtable.LogModelFilter;
 import name.mlopatkin.andlogview.utils.events.Observable;
@@ -26,14 +29,18 @@ import name.mlopatkin.andlogview.utils.events.Subject;
 import org.jspecify.annotations.Nullable;
 
 import java.awt.Color;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 class IndexFilter implements LogModelFilter, AutoCloseable {
     private final FilterChain filters;
+    private final FilterMatchCache matchCache;
 
     private final Subject<Observer> observers = new Subject<>();
 
-    public IndexFilter(FilterModel model) {
-        filters = new FilterChain(model);
+    public IndexFilter(FilterModel model, FilterChainGroup chainGroup, FilterMatchCache matchCache) {
+        this.matchCache = matchCache;
+        filters = new FilterChain(model, chainGroup);
         filters.asObservable().addObserver(this::notifyObservers);
     }
 
@@ -42,11 +49,26 @@ class IndexFilter implements LogModelFilter, AutoCloseable {
         return filters.shouldShow(record);
     }
 
+    @Override
+    public Predicate<LogRecord> snapshotShowPredicate() {
+        return filters.snapshot();
+    }
+
+    @Override
+    public RowsFilter snapshotRowsFilter() {
+        return filters.snapshotRowsFilter(matchCache);
+    }
+
     @Override
     public @Nullable Color getHighlightColor(LogRecord record) {
         return null;
     }
 
+    @Override
+    public Function<LogRecord, @Nullable Color> snapshotHighlightColors() {
+        return record -> null;
+    }
+
     @Override
     public Observable<Observer> asObservable() {
         return observers.asObservable();
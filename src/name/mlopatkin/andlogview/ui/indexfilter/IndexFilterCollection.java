@@ -16,15 +16,19 @@
 
 package name.mlopatkin.andlogview.ui.indexfilter;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
 import name.mlopatkin.andlogview.filters.Filter;
 import name.mlopatkin.andlogview.filters.FilterModel;
 import name.mlopatkin.andlogview.filters.FilteringMode;
 import name.mlopatkin.andlogview.filters.FiltersChangeObserver;
 import name.mlopatkin.andlogview.ui.filterdialog.IndexWindowFilter;
+import name.mlopatkin.andlogview.ui.mainframe.MainFrameScoped;
 
 import org.jspecify.annotations.Nullable;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -32,19 +36,31 @@ import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
+@MainFrameScoped
 public class IndexFilterCollection {
     private final Map<IndexWindowFilter, IndexFilterController> controllerMap = new HashMap<>();
     private final IndexFilterController.Factory controllerFactory;
+    private final FilterModel model;
 
     @Inject
     public IndexFilterCollection(IndexFilterController.Factory controllerFactory, FilterModel model) {
         this.controllerFactory = controllerFactory;
+        this.model = model;
 
         fetchFilters(model).forEach(filter -> controllerMap.computeIfAbsent(filter, controllerFactory::create).show());
 
         model.asObservable().addObserver(new FiltersChangeObserver(this::onFiltersChanged));
     }
 
+    /**
+     * Returns the controllers of the open index windows, in the order of their filters.
+     *
+     * @return the list of controllers
+     */
+    public List<IndexFilterController> getControllers() {
+        return fetchFilters(model).map(controllerMap::get).filter(Objects::nonNull).collect(toImmutableList());
+    }
+
     private void onFiltersChanged(FilterModel model) {
         var updatedControllers = fetchFilters(model).collect(Collectors.toSet());
 
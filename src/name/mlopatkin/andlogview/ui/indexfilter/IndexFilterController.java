@@ -19,6 +19,8 @@ package name.mlopatkin.andlogview.ui.indexfilter;
 import static name.mlopatkin.andlogview.ui.mainframe.MainFrameDependencies.FOR_MAIN_FRAME;
 
 import name.mlopatkin.andlogview.filters.CompoundFilterModel;
+import name.mlopatkin.andlogview.filters.FilterChainGroup;
+import name.mlopatkin.andlogview.filters.FilterMatchCache;
 import name.mlopatkin.andlogview.filters.MutableFilterModel;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.ui.filterdialog.IndexWindowFilter;
@@ -42,6 +44,7 @@ import dagger.assisted.AssistedInject;
 import java.awt.EventQueue;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 import javax.inject.Named;
 import javax.swing.JTable;
@@ -61,6 +64,8 @@ public class IndexFilterController extends AbstractIndexController implements Au
             LogRecordTableModel logModel,
             DialogFactory dialogFactory,
             MutableFilterModel parentFilterModel,
+            FilterChainGroup filterChainGroup,
+            FilterMatchCache filterMatchCache,
             @Named(FOR_MAIN_FRAME) JTable mainTable,
             @Assisted IndexWindowFilter filter) {
         super(mainTable);
@@ -69,7 +74,7 @@ public class IndexFilterController extends AbstractIndexController implements Au
         this.filter = filter;
         var parent = Objects.requireNonNull(parentFilterModel.findSubModel(filter));
         logModelFilter = new IndexFilter(
-                new CompoundFilterModel(parent, filter));
+                new CompoundFilterModel(parent, filter), filterChainGroup, filterMatchCache);
 
         IndexFrameDi.IndexFrameComponent component = DaggerIndexFrameDi_IndexFrameComponent.builder()
                 .themeColors(themeColors)
@@ -88,6 +93,16 @@ public class IndexFilterController extends AbstractIndexController implements Au
         EventQueue.invokeLater(() -> frame.setVisible(true));
     }
 
+    /**
+     * Returns the predicate that tells if this index window shows the record with the current filters. The predicate
+     * can be evaluated on any thread.
+     *
+     * @return the snapshot of the filters of this window
+     */
+    public Predicate<LogRecord> snapshotShowPredicate() {
+        return logModelFilter.snapshotShowPredicate();
+    }
+
     @Override
     public void close() {
         frame.dispose();
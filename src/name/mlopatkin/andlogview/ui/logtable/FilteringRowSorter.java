@@ -0,0 +1,506 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.logtable;
+
+import name.mlopatkin.andlogview.filters.RowsFilter;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.jspecify.annotations.Nullable;
+
+import java.awt.EventQueue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.swing.RowSorter;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.RowSorterEvent;
+import javax.swing.event.RowSorterListener;
+
+/**
+ * The row sorter of the log tables. It never sorts, only filters, and keeps the model indices of the visible rows in a
+ * primitive array. The array is updated incrementally when records are appended to the model: only the new records are
+ * evaluated. When the filter changes, the index is rebuilt in background from the snapshot of records and the snapshot
+ * of the filter. If the filter provides a {@link RowsFilter}, it processes the whole snapshot, reusing the outcomes of
+ * individual filters it computed before. Otherwise, the snapshot is split into chunks that are filtered in parallel on
+ * the common fork-join pool. The table keeps showing the previous state until the rebuild completes.
+ * <p>
+ * Unlike {@link javax.swing.DefaultRowSorter}, this sorter doesn't copy the index to provide the previous state to
+ * {@link javax.swing.JTable}.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+class FilteringRowSorter extends RowSorter<LogRecordTableModel> {
+    // Rebuilding the small index asynchronously isn't worth it.
+    @VisibleForTesting
+    static final int MAX_SYNC_REBUILD_ROWS = 10_000;
+
+    // The number of rows filtered by a single parallel task. The task also checks if the rebuild is still needed after
+    // processing this many rows.
+    @VisibleForTesting
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private static final Executor REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setThreadFactory(Threads.withName("log-table-filter")).setDaemon(true).build());
+
+    private final LogRecordTableModel model;
+    private final Supplier<? extends Predicate<? super LogRecord>> predicateFactory;
+    private final Supplier<? extends @Nullable RowsFilter> rowsFilterFactory;
+    private final Executor rebuildExecutor;
+    private final Executor uiExecutor;
+    private final EventListenerList listeners = new EventListenerList();
+    // Incremented on each rebuild request, so the background rebuild can find out that it was superseded.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private Predicate<? super LogRecord> predicate;
+    private @Nullable RowsFilter rowsFilter;
+    private RowIndex index;
+    // The copy of the index handed out to the callers. It is dropped when the index changes.
+    private int @Nullable [] viewToModelSnapshot;
+    private @Nullable PendingRebuild pendingRebuild;
+
+    /**
+     * Creates the sorter and builds the initial index synchronously.
+     *
+     * @param model the table model
+     * @param predicateFactory the factory of the filter snapshots, see {@link LogModelFilter#snapshotShowPredicate()}
+     * @param rowsFilterFactory the factory of the filter snapshots for the background rebuild, see
+     *         {@link LogModelFilter#snapshotRowsFilter()}
+     */
+    public FilteringRowSorter(LogRecordTableModel model,
+            Supplier<? extends Predicate<? super LogRecord>> predicateFactory,
+            Supplier<? extends @Nullable RowsFilter> rowsFilterFactory) {
+        this(model, predicateFactory, rowsFilterFactory, REBUILD_EXECUTOR, EventQueue::invokeLater);
+    }
+
+    @VisibleForTesting
+    FilteringRowSorter(LogRecordTableModel model, Supplier<? extends Predicate<? super LogRecord>> predicateFactory,
+            Supplier<? extends @Nullable RowsFilter> rowsFilterFactory, Executor rebuildExecutor,
+            Executor uiExecutor) {
+        this.model = model;
+        this.predicateFactory = predicateFactory;
+        this.rowsFilterFactory = rowsFilterFactory;
+        this.rebuildExecutor = rebuildExecutor;
+        this.uiExecutor = uiExecutor;
+        this.predicate = predicateFactory.get();
+        this.rowsFilter = rowsFilterFactory.get();
+        this.index = buildIndex(model::getRowData, 0, model.getRowCount(), predicate, () -> false);
+    }
+
+    /**
+     * Re-evaluates the filter for all rows of the model. The big models are processed in background, the small ones are
+     * processed immediately. The {@code onComplete} callback is invoked on UI thread when the new index is in place. If
+     * another refilter is requested before this one completes, then only the latest callback is invoked.
+     *
+     * @param onComplete the callback to run after the index is updated
+     */
+    public void refilter(Runnable onComplete) {
+        predicate = predicateFactory.get();
+        rowsFilter = rowsFilterFactory.get();
+        rebuild(onComplete);
+    }
+
+    /**
+     * Returns the model indices of the visible rows in ascending order. The array is shared by all callers until the
+     * index changes, so it must not be modified. It can be used on any thread.
+     *
+     * @return the model indices of the visible rows
+     */
+    public int[] snapshotViewToModel() {
+        var result = viewToModelSnapshot;
+        if (result == null) {
+            result = viewToModelSnapshot = Arrays.copyOf(index.rows, index.size);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the model indices of the visible rows that are not less than {@code fromModelRow}, in ascending order.
+     * This is cheaper than taking the whole snapshot to find out which of the appended rows are visible.
+     *
+     * @param fromModelRow the first model row of interest
+     * @return the model indices of the visible rows at or above {@code fromModelRow}
+     */
+    public int[] snapshotViewToModel(int fromModelRow) {
+        return Arrays.copyOfRange(index.rows, index.lowerBound(fromModelRow), index.size);
+    }
+
+    private void rebuild(Runnable onComplete) {
+        int currentGeneration = generation.incrementAndGet();
+        int rowCount = model.getRowCount();
+        if (rowCount <= MAX_SYNC_REBUILD_ROWS) {
+            pendingRebuild = null;
+            replaceIndex(buildIndex(model::getRowData, 0, rowCount, predicate, () -> false));
+            onComplete.run();
+            return;
+        }
+        var rows = model.snapshotRows();
+        var rebuildPredicate = predicate;
+        var rebuildRowsFilter = rowsFilter;
+        pendingRebuild = new PendingRebuild(currentGeneration, rows.size(), onComplete);
+        rebuildExecutor.execute(() -> {
+            try {
+                BooleanSupplier isCancelled = () -> generation.get() != currentGeneration;
+                var rebuilt = rebuildRowsFilter != null
+                        ? RowIndex.of(rebuildRowsFilter.filterRows(rows, isCancelled))
+                        : buildIndexInParallel(rows, rebuildPredicate, isCancelled);
+                uiExecutor.execute(() -> completeRebuild(currentGeneration, rebuilt));
+            } catch (CancellationException e) {
+                // Superseded by the newer rebuild.
+            }
+        });
+    }
+
+    /**
+     * Builds the index of the rows in {@code [from, to)} that pass the predicate. Can be called on any thread.
+     *
+     * @throws CancellationException if {@code isCancelled} returns true while building
+     */
+    private static RowIndex buildIndex(IntFunction<LogRecord> rows, int from, int to,
+            Predicate<? super LogRecord> predicate, BooleanSupplier isCancelled) {
+        var result = new RowIndex(to - from);
+        for (int i = from; i < to; ++i) {
+            if ((i - from) % CHUNK_SIZE == 0 && isCancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            if (predicate.test(rows.apply(i))) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the index of the rows that pass the predicate by filtering chunks of rows in parallel. The predicate must
+     * be thread-safe.
+     *
+     * @throws CancellationException if {@code isCancelled} returns true while building
+     */
+    private static RowIndex buildIndexInParallel(List<LogRecord> rows, Predicate<? super LogRecord> predicate,
+            BooleanSupplier isCancelled) {
+        int rowCount = rows.size();
+        var chunks = new RowIndex[(rowCount + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        IntStream.range(0, chunks.length).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            chunks[chunk] = buildIndex(rows::get, from, Math.min(from + CHUNK_SIZE, rowCount), predicate, isCancelled);
+        });
+        var result = new RowIndex(Arrays.stream(chunks).mapToInt(chunk -> chunk.size).sum());
+        for (var chunk : chunks) {
+            System.arraycopy(chunk.rows, 0, result.rows, result.size, chunk.size);
+            result.size += chunk.size;
+        }
+        return result;
+    }
+
+    private void completeRebuild(int rebuildGeneration, RowIndex rebuilt) {
+        var pending = pendingRebuild;
+        if (pending == null || pending.generation != rebuildGeneration) {
+            return;
+        }
+        if (!pending.canMerge()) {
+            // The model was changed in a way the rebuilt index doesn't account for. Start over.
+            rebuild(pending.onComplete);
+            return;
+        }
+        pendingRebuild = null;
+        // The rebuilt index is valid below freshFrom, the current index has entries evaluated with the new predicate at
+        // and above it.
+        rebuilt.size = rebuilt.lowerBound(pending.freshFrom);
+        for (int i = index.lowerBound(pending.freshFrom); i < index.size; ++i) {
+            rebuilt.add(index.rows[i]);
+        }
+        replaceIndex(rebuilt);
+        pending.onComplete.run();
+    }
+
+    private void replaceIndex(RowIndex newIndex) {
+        var oldIndex = index;
+        index = newIndex;
+        viewToModelSnapshot = null;
+        fireIndexChanged(oldIndex.rows, oldIndex.size, RowIndex.EMPTY_ROWS);
+    }
+
+    /**
+     * Rewrites the index starting from the entry of {@code fromModelRow}. The entries of the model rows in
+     * {@code [fromModelRow, toModelRow)} are dropped, then the model rows in {@code [evalFrom, evalTo)} (new numbering)
+     * are evaluated, then the remaining entries (model rows {@code >= toModelRow}) are appended with the {@code shift}.
+     */
+    private void rewriteTail(int fromModelRow, int toModelRow, int evalFrom, int evalTo, int shift) {
+        int tailStart = index.lowerBound(fromModelRow);
+        int keptStart = index.lowerBound(toModelRow);
+        int[] oldTail = Arrays.copyOfRange(index.rows, tailStart, index.size);
+        index.size = tailStart;
+        viewToModelSnapshot = null;
+        for (int row = evalFrom; row < evalTo; ++row) {
+            if (predicate.test(model.getRowData(row))) {
+                index.add(row);
+            }
+        }
+        for (int i = keptStart - tailStart; i < oldTail.length; ++i) {
+            index.add(oldTail[i] + shift);
+        }
+        // The head of the array is not changed, even if the array was reallocated.
+        fireIndexChanged(index.rows, tailStart, oldTail);
+    }
+
+    private void fireIndexChanged(int[] previousHead, int previousHeadSize, int[] previousTail) {
+        var event = new IndexChangedEvent(this, previousHead, previousHeadSize, previousTail);
+        for (var listener : listeners.getListeners(RowSorterListener.class)) {
+            listener.sorterChanged(event);
+        }
+    }
+
+    @Override
+    public void addRowSorterListener(RowSorterListener l) {
+        listeners.add(RowSorterListener.class, l);
+    }
+
+    @Override
+    public void removeRowSorterListener(RowSorterListener l) {
+        listeners.remove(RowSorterListener.class, l);
+    }
+
+    @Override
+    public LogRecordTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        // Sorting is not supported.
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (index < 0 || index >= this.index.size) {
+            throw new IndexOutOfBoundsException("Invalid view index " + index);
+        }
+        return this.index.rows[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= getModelRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid model index " + index);
+        }
+        int viewIndex = this.index.lowerBound(index);
+        return (viewIndex < this.index.size && this.index.rows[viewIndex] == index) ? viewIndex : -1;
+    }
+
+    @Override
+    public void setSortKeys(@Nullable List<? extends SortKey> keys) {
+        // Sorting is not supported.
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return index.size;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        if (model.getRowCount() > MAX_SYNC_REBUILD_ROWS) {
+            // The current index is meaningless for the new content, so show nothing until the rebuild completes.
+            replaceIndex(new RowIndex(0));
+        }
+        var pending = pendingRebuild;
+        rebuild(pending != null ? pending.onComplete : () -> {});
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        var pending = pendingRebuild;
+        if (pending != null) {
+            pending.onRowsInserted(firstRow, count);
+        }
+        rewriteTail(firstRow, firstRow, firstRow, endRow + 1, count);
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        var pending = pendingRebuild;
+        if (pending != null) {
+            pending.onRowsDeleted(firstRow);
+        }
+        rewriteTail(firstRow, endRow + 1, 0, 0, -count);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        var pending = pendingRebuild;
+        if (pending != null) {
+            pending.onRowsUpdated(firstRow, endRow == getModelRowCount() - 1);
+        }
+        rewriteTail(firstRow, endRow + 1, firstRow, endRow + 1, 0);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    /**
+     * The growable array of model indices in ascending order.
+     */
+    private static final class RowIndex {
+        static final int[] EMPTY_ROWS = new int[0];
+
+        int[] rows;
+        int size;
+
+        RowIndex(int expectedCapacity) {
+            rows = expectedCapacity > 0 ? new int[expectedCapacity] : EMPTY_ROWS;
+        }
+
+        static RowIndex of(int[] modelRows) {
+            var result = new RowIndex(0);
+            result.rows = modelRows;
+            result.size = modelRows.length;
+            return result;
+        }
+
+        void add(int modelRow) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(16, size + (size >> 1)));
+            }
+            rows[size++] = modelRow;
+        }
+
+        /** Returns the position of the first entry that is not less than {@code modelRow}. */
+        int lowerBound(int modelRow) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rows[mid] < modelRow) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Tracks the model changes that happen while the background rebuild is running. The rebuilt index is computed for
+     * the snapshot of rows, so it can only be used for the model rows that weren't shifted or replaced since the
+     * snapshot. The current index, on the other hand, is only valid for the rows that were evaluated after the rebuild
+     * had started.
+     */
+    private static final class PendingRebuild {
+        final int generation;
+        final Runnable onComplete;
+        // The current index entries for the model rows at or above freshFrom were evaluated with the new predicate.
+        int freshFrom;
+        // The model rows below unchangedBelow are the same as in the snapshot.
+        int unchangedBelow;
+
+        PendingRebuild(int generation, int snapshotSize, Runnable onComplete) {
+            this.generation = generation;
+            this.onComplete = onComplete;
+            this.freshFrom = snapshotSize;
+            this.unchangedBelow = snapshotSize;
+        }
+
+        void onRowsInserted(int firstRow, int count) {
+            if (firstRow < freshFrom) {
+                freshFrom += count;
+            }
+            unchangedBelow = Math.min(unchangedBelow, firstRow);
+        }
+
+        void onRowsDeleted(int firstRow) {
+            // Deleted rows shift the stale entries into the fresh region.
+            if (firstRow < freshFrom) {
+                freshFrom = Integer.MAX_VALUE;
+            }
+            unchangedBelow = Math.min(unchangedBelow, firstRow);
+        }
+
+        void onRowsUpdated(int firstRow, boolean isTail) {
+            if (isTail) {
+                freshFrom = Math.min(freshFrom, firstRow);
+            }
+            unchangedBelow = Math.min(unchangedBelow, firstRow);
+        }
+
+        boolean canMerge() {
+            return freshFrom <= unchangedBelow;
+        }
+    }
+
+    /**
+     * The event that provides the previous state of the index as the unchanged head of the current array and the copy
+     * of the replaced tail.
+     */
+    private static final class IndexChangedEvent extends RowSorterEvent {
+        private final int[] previousHead;
+        private final int previousHeadSize;
+        private final int[] previousTail;
+
+        IndexChangedEvent(FilteringRowSorter source, int[] previousHead, int previousHeadSize, int[] previousTail) {
+            super(source, Type.SORTED, null);
+            this.previousHead = previousHead;
+            this.previousHeadSize = previousHeadSize;
+            this.previousTail = previousTail;
+        }
+
+        @Override
+        public int getPreviousRowCount() {
+            return previousHeadSize + previousTail.length;
+        }
+
+        @Override
+        public int convertPreviousRowIndexToModel(int index) {
+            if (index < 0 || index >= getPreviousRowCount()) {
+                return -1;
+            }
+            return index < previousHeadSize ? previousHead[index] : previousTail[index - previousHeadSize];
+        }
+    }
+}
@@ -16,12 +16,15 @@
 
 package name.mlopatkin.andlogview.ui.logtable;
 
+import name.mlopatkin.andlogview.filters.RowsFilter;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.utils.events.Observable;
 
 import org.jspecify.annotations.Nullable;
 
 import java.awt.Color;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Implementation of this interface controls the appearance of the table model.
@@ -33,7 +36,43 @@ public interface LogModelFilter {
 
     boolean shouldShowRecord(LogRecord record);
 
+    /**
+     * Returns the predicate equivalent to {@link #shouldShowRecord(LogRecord)} with the current state of this filter.
+     * The predicate doesn't follow subsequent changes of the filter and can be evaluated on any thread.
+     *
+     * @return the snapshot of this filter
+     */
+    Predicate<LogRecord> snapshotShowPredicate();
+
+    /**
+     * Returns the filter of the whole snapshot of rows that is equivalent to {@link #snapshotShowPredicate()}, if this
+     * filter can process many rows faster than evaluating the predicate for each of them.
+     *
+     * @return the snapshot of this filter or null if the predicate should be used
+     */
+    default @Nullable RowsFilter snapshotRowsFilter() {
+        return null;
+    }
+
     @Nullable Color getHighlightColor(LogRecord record);
 
+    /**
+     * Returns the function equivalent to {@link #getHighlightColor(LogRecord)} with the current state of this filter.
+     * The function doesn't follow subsequent changes of the filter and can be evaluated on any thread.
+     *
+     * @return the snapshot of the highlighting of this filter
+     */
+    Function<LogRecord, @Nullable Color> snapshotHighlightColors();
+
     Observable<Observer> asObservable();
+
+    /**
+     * Returns the observable that only notifies about the changes of {@link #getHighlightColor(LogRecord)}. The
+     * observers that don't depend on visibility of records can use it to skip the changes of the show filters.
+     *
+     * @return the observable of the highlighting changes
+     */
+    default Observable<Observer> asHighlightingObservable() {
+        return asObservable();
+    }
 }
@@ -22,6 +22,7 @@ import name.mlopatkin.andlogview.ui.mainframe.MainFrameScoped;
 
 import java.awt.EventQueue;
 import java.util.Date;
+import java.util.List;
 
 import javax.inject.Inject;
 import javax.swing.table.AbstractTableModel;
@@ -79,6 +80,15 @@ public class LogRecordTableModel extends AbstractTableModel implements LogModel.
         return logModel.getAt(row);
     }
 
+    /**
+     * Returns a copy of all rows of this model. The copy can be used off the UI thread.
+     *
+     * @return the list of all records in this model
+     */
+    public List<LogRecord> snapshotRows() {
+        return logModel.snapshot();
+    }
+
     @Override
     public void onRecordsDiscarded(int oldSize) {
         assert EventQueue.isDispatchThread();
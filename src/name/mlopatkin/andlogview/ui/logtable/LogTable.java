@@ -19,42 +19,35 @@ package name.mlopatkin.andlogview.ui.logtable;
 import name.mlopatkin.andlogview.PriorityColoredCellRenderer;
 import name.mlopatkin.andlogview.ui.themes.ThemeColors;
 import name.mlopatkin.andlogview.widgets.DecoratingRendererTable;
-import name.mlopatkin.andlogview.widgets.SortingDisableSorter;
-
-import javax.swing.RowFilter;
 
 /**
  * The ultimate log displaying table.
  */
 @LogTableScoped
 class LogTable extends DecoratingRendererTable implements LogModelFilter.Observer {
-    private final LogModelFilter filterModel;
-    private final SortingDisableSorter<LogRecordTableModel> sorter;
+    private final FilteringRowSorter sorter;
+    private final RowColorCache rowColors;
 
     private LogTable(ThemeColors themeColors, LogRecordTableModel dataModel, LogModelFilter filterModel) {
-        this.filterModel = filterModel;
-
+        rowColors = new RowColorCache(dataModel, filterModel);
         addDecorator(new PriorityColoredCellRenderer(themeColors));
-        addDecorator(new RowHighlightRenderer(filterModel));
+        addDecorator(new RowHighlightRenderer(rowColors));
 
         setModel(dataModel);
-        sorter = new SortingDisableSorter<>(dataModel);
-
-        RowFilter<LogRecordTableModel, Integer> rowFilter = new RowFilter<>() {
-            @Override
-            public boolean include(Entry<? extends LogRecordTableModel, ? extends Integer> entry) {
-                return LogTable.this.filterModel.shouldShowRecord(entry.getModel().getRowData(entry.getIdentifier()));
-            }
-        };
-
-        sorter.setRowFilter(rowFilter);
+        dataModel.addTableModelListener(rowColors);
+        sorter = new FilteringRowSorter(dataModel, filterModel::snapshotShowPredicate, filterModel::snapshotRowsFilter);
         setRowSorter(sorter);
     }
 
     @Override
     public void onModelChange() {
-        sorter.sort();
+        // Highlighting may have changed even if the set of visible rows hasn't.
+        rowColors.invalidate();
         repaint();
+        sorter.refilter(this::onRefilterCompleted);
+    }
+
+    private void onRefilterCompleted() {
         // if the filtering state has changed and row is selected - scroll to selected row to avoid "get lost" syndrome
         if (getSelectedRow() != -1) {
             scrollRectToVisible(getCellRect(getSelectedRow(), getSelectedColumn(), false));
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.logtable;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.jspecify.annotations.Nullable;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+
+/**
+ * Caches highlight colors of the recently painted rows by their model index. The renderer is called for every cell,
+ * so without the cache the highlighting filters are evaluated once per column on every repaint. When the cache
+ * misses, colors of all rows in the visible part of the table are computed at once, so scrolling through the table
+ * evaluates each row only once.
+ * <p>
+ * The cache is a direct-mapped table: the row occupies the slot {@code modelRow % CAPACITY}. The visible part of the
+ * table is always a contiguous range of rows much shorter than the capacity, so it fits in the cache entirely.
+ * <p>
+ * The cache must be {@linkplain #invalidate() invalidated} when the highlighting changes. It also listens to the table
+ * model and drops colors of the rows that were changed or shifted. Must be used on the EDT only.
+ */
+class RowColorCache implements TableModelListener {
+    @VisibleForTesting
+    static final int CAPACITY = 4096;
+
+    private static final int MASK = CAPACITY - 1;
+    private static final int NO_ROW = -1;
+
+    private final LogModelFilter colorer;
+    private final LogRecordTableModel model;
+    // Model row that occupies the slot, or NO_ROW if the slot is empty.
+    private final int[] rows = new int[CAPACITY];
+    private final @Nullable Color[] colors = new Color[CAPACITY];
+
+    public RowColorCache(LogRecordTableModel model, LogModelFilter colorer) {
+        this.model = model;
+        this.colorer = colorer;
+        Arrays.fill(rows, NO_ROW);
+    }
+
+    /**
+     * Returns the highlight color of the given row of the table.
+     *
+     * @param table the table that displays the model of this cache
+     * @param viewRow the row of the table in view coordinates
+     * @return the highlight color or null if the row isn't highlighted
+     */
+    public @Nullable Color getColor(JTable table, int viewRow) {
+        int modelRow = table.convertRowIndexToModel(viewRow);
+        int slot = modelRow & MASK;
+        if (rows[slot] != modelRow) {
+            fillVisibleRows(table);
+            if (rows[slot] != modelRow) {
+                // The row is outside the visible part, e.g. when printing.
+                store(modelRow);
+            }
+        }
+        return colors[slot];
+    }
+
+    /**
+     * Drops all cached colors.
+     */
+    public void invalidate() {
+        Arrays.fill(rows, NO_ROW);
+        Arrays.fill(colors, null);
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        if (e.getType() == TableModelEvent.INSERT && e.getLastRow() == model.getRowCount() - 1) {
+            // Appending rows doesn't affect existing ones. The appended rows cannot be cached yet.
+            return;
+        }
+        invalidate();
+    }
+
+    private void fillVisibleRows(JTable table) {
+        Rectangle visible = table.getVisibleRect();
+        int firstRow = table.rowAtPoint(visible.getLocation());
+        if (firstRow < 0) {
+            return;
+        }
+        int lastRow = table.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+        if (lastRow < 0) {
+            lastRow = table.getRowCount() - 1;
+        }
+        lastRow = Math.min(lastRow, firstRow + CAPACITY - 1);
+        for (int viewRow = firstRow; viewRow <= lastRow; ++viewRow) {
+            int modelRow = table.convertRowIndexToModel(viewRow);
+            if (rows[modelRow & MASK] != modelRow) {
+                store(modelRow);
+            }
+        }
+    }
+
+    private void store(int modelRow) {
+        int slot = modelRow & MASK;
+        rows[slot] = modelRow;
+        colors[slot] = colorer.getHighlightColor(model.getRowData(modelRow));
+    }
+}
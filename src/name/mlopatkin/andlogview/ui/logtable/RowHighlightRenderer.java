@@ -15,7 +15,6 @@
  */
 package name.mlopatkin.andlogview.ui.logtable;
 
-import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.widgets.DecoratingCellRenderer;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -28,10 +27,10 @@ import javax.swing.table.TableCellRenderer;
 
 class RowHighlightRenderer implements DecoratingCellRenderer {
     private @MonotonicNonNull TableCellRenderer inner;
-    private final LogModelFilter colorer;
+    private final RowColorCache colors;
 
-    public RowHighlightRenderer(LogModelFilter colorer) {
-        this.colorer = colorer;
+    public RowHighlightRenderer(RowColorCache colors) {
+        this.colors = colors;
     }
 
     @Override
@@ -45,10 +44,7 @@ class RowHighlightRenderer implements DecoratingCellRenderer {
         assert inner != null;
         Component result = inner.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
         if (!isSelected) {
-            LogRecordTableModel tableModel = (LogRecordTableModel) table.getModel();
-            int modelRow = table.convertRowIndexToModel(row);
-            LogRecord record = tableModel.getRowData(modelRow);
-            Color targetColor = colorer.getHighlightColor(record);
+            Color targetColor = colors.getColor(table, row);
             result.setBackground(targetColor);
         }
         return result;
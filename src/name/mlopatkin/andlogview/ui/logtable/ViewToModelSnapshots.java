@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.logtable;
+
+import javax.swing.JTable;
+
+/**
+ * Takes the snapshots of the mapping of the visible rows of the table to the model rows. The log tables keep the
+ * mapping in a primitive array, so the snapshot is a copy of it. Other tables are asked for every visible row. The
+ * rows of the table must not be sorted.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+public final class ViewToModelSnapshots {
+    private ViewToModelSnapshots() {}
+
+    /**
+     * Returns the model indices of the visible rows of the table, in ascending order. The returned array must not be
+     * modified.
+     *
+     * @param table the table
+     * @return the model indices of the visible rows
+     */
+    public static int[] snapshot(JTable table) {
+        if (table.getRowSorter() instanceof FilteringRowSorter sorter) {
+            return sorter.snapshotViewToModel();
+        }
+        int[] viewToModel = new int[table.getRowCount()];
+        for (int i = 0; i < viewToModel.length; ++i) {
+            viewToModel[i] = table.convertRowIndexToModel(i);
+        }
+        return viewToModel;
+    }
+
+    /**
+     * Returns the model indices of the visible rows of the table that are not less than {@code fromModelRow}, in
+     * ascending order. Use this to find out which of the appended rows are visible.
+     *
+     * @param table the table
+     * @param fromModelRow the first model row of interest
+     * @return the model indices of the visible rows at or above {@code fromModelRow}
+     */
+    public static int[] snapshotFrom(JTable table, int fromModelRow) {
+        if (table.getRowSorter() instanceof FilteringRowSorter sorter) {
+            return sorter.snapshotViewToModel(fromModelRow);
+        }
+        int viewRowCount = table.getRowCount();
+        int first = viewRowCount;
+        while (first > 0 && table.convertRowIndexToModel(first - 1) >= fromModelRow) {
+            --first;
+        }
+        int[] viewToModel = new int[viewRowCount - first];
+        for (int i = 0; i < viewToModel.length; ++i) {
+            viewToModel[i] = table.convertRowIndexToModel(first + i);
+        }
+        return viewToModel;
+    }
+}
@@ -16,9 +16,13 @@
 
 package name.mlopatkin.andlogview.ui.mainframe;
 
+import name.mlopatkin.andlogview.AppExecutors;
 import name.mlopatkin.andlogview.MainFrame;
 import name.mlopatkin.andlogview.bookmarks.BookmarkModel;
 import name.mlopatkin.andlogview.filters.MainFilterController;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.SearchModel;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
 import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialog;
 import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialogData;
 import name.mlopatkin.andlogview.ui.filters.FilterModule;
@@ -28,9 +32,12 @@ import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
 import name.mlopatkin.andlogview.ui.mainframe.device.MainFrameAdbModule;
 import name.mlopatkin.andlogview.ui.mainframe.popupmenu.MenuFilterCreator;
 import name.mlopatkin.andlogview.ui.mainframe.search.MainFrameSearchModule;
+import name.mlopatkin.andlogview.ui.overview.LogOverviewModel;
+import name.mlopatkin.andlogview.ui.overview.OverviewRuler;
 import name.mlopatkin.andlogview.ui.preferences.InstallAdbPresenter;
 import name.mlopatkin.andlogview.ui.preferences.InstallAdbPresenterFactory;
 import name.mlopatkin.andlogview.ui.preferences.PreferencesUiModule;
+import name.mlopatkin.andlogview.ui.search.logtable.TablePosition;
 import name.mlopatkin.andlogview.ui.status.StatusPanelModule;
 import name.mlopatkin.andlogview.ui.themes.ThemeColors;
 import name.mlopatkin.andlogview.widgets.DecoratingRendererTable;
@@ -39,6 +46,8 @@ import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 
+import java.util.concurrent.Executor;
+
 import javax.inject.Named;
 import javax.swing.JFrame;
 import javax.swing.JTable;
@@ -112,4 +121,19 @@ public class MainFrameModule {
         ((DecoratingRendererTable) logTable).addDecorator(logTableComponent.getBookmarkHighlighter());
         return logTable;
     }
+
+    @Provides
+    @MainFrameScoped
+    OverviewRuler getOverviewRuler(
+            @Named(MainFrameDependencies.FOR_MAIN_FRAME) JTable logTable,
+            LogRecordTableModel tableModel,
+            LogModelFilter filter,
+            ThemeColors themeColors,
+            SearchModel<LogRecord, TablePosition, RowSearchStrategy> searchModel,
+            @Named(AppExecutors.UI_EXECUTOR) Executor uiExecutor) {
+        var overviewModel = new LogOverviewModel(logTable, tableModel, filter, uiExecutor);
+        filter.asHighlightingObservable().addObserver(overviewModel);
+        searchModel.asSearchStrategyObservable().addObserver(overviewModel);
+        return new OverviewRuler(overviewModel, logTable, themeColors);
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.mainframe.search;
+
+import name.mlopatkin.andlogview.ui.mainframe.DialogFactory;
+import name.mlopatkin.andlogview.widgets.dialogs.OptionPanes;
+
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+
+/**
+ * Shows the report of the search in all rows in a modal dialog.
+ */
+public class GlobalSearchDialogView implements GlobalSearchPresenter.View {
+    private final DialogFactory dialogFactory;
+
+    @Inject
+    GlobalSearchDialogView(DialogFactory dialogFactory) {
+        this.dialogFactory = dialogFactory;
+    }
+
+    @Override
+    public void showReport(String message, @Nullable Runnable revealHiddenMatches) {
+        var dialog = OptionPanes.information("Find in all rows").message(message);
+        if (revealHiddenMatches != null) {
+            dialog.addOption("Disable hiding filters", revealHiddenMatches);
+        }
+        dialog.addCancelOptionAsInitial("Close", () -> {}).show(dialogFactory.getOwner());
+    }
+}
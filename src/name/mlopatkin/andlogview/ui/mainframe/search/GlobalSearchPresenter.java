@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.mainframe.search;
+
+import static name.mlopatkin.andlogview.utils.MyFutures.exceptionHandler;
+import static name.mlopatkin.andlogview.utils.MyFutures.ignoreCancellations;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import name.mlopatkin.andlogview.AppExecutors;
+import name.mlopatkin.andlogview.filters.MutableFilterModel;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.SearchModel;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialog;
+import name.mlopatkin.andlogview.ui.filters.FilterDescriptions;
+import name.mlopatkin.andlogview.ui.search.SearchPresenter;
+import name.mlopatkin.andlogview.ui.search.SearchScoped;
+import name.mlopatkin.andlogview.ui.search.logtable.GlobalLogSearch;
+import name.mlopatkin.andlogview.ui.search.logtable.TablePosition;
+import name.mlopatkin.andlogview.utils.MyFutures;
+import name.mlopatkin.andlogview.utils.TextUtils;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Searches all rows of the log with the current search pattern, including the rows hidden by the filters, and reports
+ * where the matches are: in the log table, behind which filters, in which index windows. If the filters from the filter
+ * panel hide some matches, the user can reveal them by disabling these filters.
+ */
+@SearchScoped
+public class GlobalSearchPresenter {
+    private final Executor uiExecutor;
+    private final SearchModel<LogRecord, TablePosition, RowSearchStrategy> searchModel;
+    private final SearchPresenter<LogRecord, TablePosition, RowSearchStrategy> searchPresenter;
+    private final GlobalLogSearch globalSearch;
+    private final MutableFilterModel filterModel;
+    private final View view;
+
+    /**
+     * The view that shows the report of the search.
+     */
+    public interface View {
+        /**
+         * Shows the report to the user.
+         *
+         * @param message the multi-line text of the report
+         * @param revealHiddenMatches the action to reveal the hidden matches or null if the user cannot reveal them
+         */
+        void showReport(String message, @Nullable Runnable revealHiddenMatches);
+    }
+
+    @Inject
+    GlobalSearchPresenter(
+            @Named(AppExecutors.UI_EXECUTOR) Executor uiExecutor,
+            SearchModel<LogRecord, TablePosition, RowSearchStrategy> searchModel,
+            SearchPresenter<LogRecord, TablePosition, RowSearchStrategy> searchPresenter,
+            GlobalLogSearch globalSearch,
+            MutableFilterModel filterModel,
+            View view) {
+        this.uiExecutor = uiExecutor;
+        this.searchModel = searchModel;
+        this.searchPresenter = searchPresenter;
+        this.globalSearch = globalSearch;
+        this.filterModel = filterModel;
+        this.view = view;
+    }
+
+    /**
+     * Searches all rows with the current search pattern. If there is no search in progress then opens a prompt for the
+     * user to enter the pattern.
+     */
+    public void findInAllRows() {
+        searchModel.getSearchStrategy().ifPresentOrElse(this::startSearch, searchPresenter::showSearchPrompt);
+    }
+
+    private void startSearch(RowSearchStrategy strategy) {
+        globalSearch.search(strategy)
+                .thenAcceptAsync(report -> onSearchCompleted(strategy, report), uiExecutor)
+                .exceptionally(exceptionHandler(ignoreCancellations(MyFutures::uncaughtException)));
+    }
+
+    private void onSearchCompleted(RowSearchStrategy strategy, GlobalLogSearch.Report report) {
+        if (searchModel.getSearchStrategy().orElse(null) != strategy) {
+            // The search was stopped or replaced while the rows were being searched.
+            return;
+        }
+        var revealableFilters = report.hidingFilters().elementSet().stream()
+                .filter(filter -> filter instanceof FilterFromDialog && filter.isEnabled())
+                .map(filter -> (FilterFromDialog) filter)
+                .collect(toImmutableList());
+        view.showReport(formatReport(report),
+                !revealableFilters.isEmpty() ? () -> disableFilters(revealableFilters) : null);
+    }
+
+    private void disableFilters(List<FilterFromDialog> filters) {
+        for (var filter : filters) {
+            // The filter could have been changed while the report was shown.
+            if (filterModel.getFilters().contains(filter)) {
+                filterModel.replaceFilter(filter, filter.disabled());
+            }
+        }
+    }
+
+    private static String formatReport(GlobalLogSearch.Report report) {
+        if (report.matchCount() == 0) {
+            return "No rows match the pattern.";
+        }
+        var result = new StringBuilder();
+        result.append(String.format("%,d %s the pattern.", report.matchCount(),
+                TextUtils.plural(report.matchCount(), "row matches", "rows match")));
+        result.append('\n').append(String.format("Shown in the log table: %,d", report.visibleMatchCount()));
+        for (var entry : report.hidingFilters().entrySet()) {
+            result.append('\n').append(String.format("Hidden by the filter \"%s\": %,d",
+                    FilterDescriptions.describe(entry.getElement()), entry.getCount()));
+        }
+        for (var window : report.indexWindowMatches()) {
+            result.append('\n').append(
+                    String.format("Shown in the index window \"%s\": %,d", window.title(), window.matchCount()));
+        }
+        return result.toString();
+    }
+}
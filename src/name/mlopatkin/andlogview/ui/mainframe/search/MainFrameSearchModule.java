@@ -16,15 +16,26 @@
 
 package name.mlopatkin.andlogview.ui.mainframe.search;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import name.mlopatkin.andlogview.AppExecutors;
 import name.mlopatkin.andlogview.MainFrame;
+import name.mlopatkin.andlogview.config.ConfigStorage;
+import name.mlopatkin.andlogview.config.SimpleClient;
+import name.mlopatkin.andlogview.filters.PredicateFilter;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.search.SearchModel;
 import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.ui.filters.LogModelFilterImpl;
+import name.mlopatkin.andlogview.ui.indexfilter.IndexFilterCollection;
 import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
 import name.mlopatkin.andlogview.ui.mainframe.MainFrameDependencies;
 import name.mlopatkin.andlogview.ui.search.SearchPresenter;
 import name.mlopatkin.andlogview.ui.search.SearchScoped;
+import name.mlopatkin.andlogview.ui.search.logtable.GlobalLogSearch;
+import name.mlopatkin.andlogview.ui.search.logtable.LogTableMatchCounter;
 import name.mlopatkin.andlogview.ui.search.logtable.LogTableSearchAdapter;
+import name.mlopatkin.andlogview.ui.search.logtable.LogTableSearchIndex;
 import name.mlopatkin.andlogview.ui.search.logtable.SearchableTableView;
 import name.mlopatkin.andlogview.ui.search.logtable.TablePosition;
 import name.mlopatkin.andlogview.widgets.DecoratingRendererTable;
@@ -33,6 +44,10 @@ import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
 
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
 import javax.inject.Named;
 import javax.swing.JTable;
 
@@ -52,10 +67,51 @@ public abstract class MainFrameSearchModule {
     @Provides
     @SearchScoped
     static LogTableSearchAdapter getSearchAdapter(@Named(MainFrameDependencies.FOR_MAIN_FRAME) JTable logTable,
-            LogRecordTableModel tableModel) {
-        return new LogTableSearchAdapter(logTable, tableModel);
+            LogRecordTableModel tableModel, ConfigStorage configStorage) {
+        var indexMegabytes = configStorage.preference(
+                new SimpleClient<>("searchIndexMegabytes", Integer.class, () -> 64)).get();
+        // Non-positive budget turns the index off.
+        var searchIndex =
+                indexMegabytes > 0 ? new LogTableSearchIndex(tableModel, indexMegabytes * 1024L * 1024L) : null;
+        return new LogTableSearchAdapter(logTable, tableModel, searchIndex);
+    }
+
+    @Provides
+    @SearchScoped
+    static SearchPresenter.MatchCounter<TablePosition> getMatchCounter(
+            @Named(MainFrameDependencies.FOR_MAIN_FRAME) JTable logTable,
+            LogRecordTableModel tableModel,
+            @Named(AppExecutors.UI_EXECUTOR) Executor uiExecutor,
+            SearchModel<LogRecord, TablePosition, RowSearchStrategy> searchModel) {
+        var matchCounter = new LogTableMatchCounter(logTable, tableModel, uiExecutor);
+        searchModel.asSearchStrategyObservable().addObserver(matchCounter);
+        return matchCounter;
     }
 
+    @Provides
+    @SearchScoped
+    static GlobalLogSearch getGlobalSearch(LogRecordTableModel tableModel, LogModelFilterImpl logModelFilter,
+            IndexFilterCollection indexFilters) {
+        return new GlobalLogSearch(tableModel, new GlobalLogSearch.FilterSnapshots() {
+            @Override
+            public Function<LogRecord, List<PredicateFilter>> snapshotHidingFilters() {
+                return logModelFilter.snapshotHidingFilters();
+            }
+
+            @Override
+            public List<GlobalLogSearch.IndexWindow> snapshotIndexWindows() {
+                return indexFilters.getControllers()
+                        .stream()
+                        .map(window -> new GlobalLogSearch.IndexWindow(window.getTitle(),
+                                window.snapshotShowPredicate()))
+                        .collect(toImmutableList());
+            }
+        });
+    }
+
+    @Binds
+    abstract GlobalSearchPresenter.View getGlobalSearchView(GlobalSearchDialogView impl);
+
     @Binds
     abstract SearchPresenter.SearchPromptView getSearchPromptView(MainFrameSearchPromptView impl);
 
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import name.mlopatkin.andlogview.search.SearchModel;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.ui.logtable.LogModelFilter;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+import name.mlopatkin.andlogview.ui.logtable.ViewToModelSnapshots;
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+
+/**
+ * Maintains the overview of the log table: where the search hits, the errors and warnings, and the highlighted rows are
+ * among the visible rows. The per-row {@link OverviewColumns} are computed in background when the search, the
+ * highlighting or the model change. The {@link OverviewBuckets} are then built from the columns in background too, so
+ * changing the set of visible rows doesn't evaluate anything again. The appended rows are added to both as they appear
+ * in the table.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+public class LogOverviewModel implements SearchModel.StrategyObserver<RowSearchStrategy>, LogModelFilter.Observer {
+    private static final Executor OVERVIEW_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setThreadFactory(Threads.withName("log-table-overview")).setDaemon(true)
+                    .build());
+
+    // The bucketing task checks for cancellation after processing this many rows.
+    private static final int CANCELLATION_CHECK_STEP = 1 << 16;
+
+    private final JTable table;
+    private final LogRecordTableModel tableModel;
+    private final LogModelFilter filter;
+    private final Executor backgroundExecutor;
+    private final Executor uiExecutor;
+    // Incremented on each background request, so the background task can find out that it was superseded.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private Runnable changeListener = () -> {};
+    private @Nullable RowSearchStrategy strategy;
+    private OverviewColumns columns = new OverviewColumns();
+    private OverviewBuckets buckets = new OverviewBuckets(columns.snapshot().palette());
+    // The columns are stale while they are recomputed. The buckets are stale while they are rebuilt.
+    private boolean isComputingColumns;
+    private boolean isBuildingBuckets;
+    // The buckets have all visible rows with the model index below this one.
+    private int bucketedModelRows;
+    private int modelRowCount;
+    // Set when the model changes in a way that can't be handled by adding the appended rows.
+    private boolean isInvalidated;
+    private boolean hasAppendedRows;
+
+    /**
+     * Creates the overview. The table must already be set up with its row sorter.
+     *
+     * @param table the log table
+     * @param tableModel the model of the log table
+     * @param filter the filter that provides highlight colors of the table
+     * @param uiExecutor the executor of UI thread
+     */
+    public LogOverviewModel(JTable table, LogRecordTableModel tableModel, LogModelFilter filter, Executor uiExecutor) {
+        this(table, tableModel, filter, OVERVIEW_EXECUTOR, uiExecutor);
+    }
+
+    LogOverviewModel(JTable table, LogRecordTableModel tableModel, LogModelFilter filter, Executor backgroundExecutor,
+            Executor uiExecutor) {
+        this.table = table;
+        this.tableModel = tableModel;
+        this.filter = filter;
+        this.backgroundExecutor = backgroundExecutor;
+        this.uiExecutor = uiExecutor;
+        this.modelRowCount = tableModel.getRowCount();
+
+        var rowSorter = table.getRowSorter();
+        // The listeners of the table model are notified in the reverse order, so this listener runs before the table
+        // and its row sorter get the event.
+        tableModel.addTableModelListener(e -> {
+            onModelChanged(e);
+            if (rowSorter == null) {
+                onViewChanged();
+            }
+        });
+        if (rowSorter != null) {
+            rowSorter.addRowSorterListener(e -> onViewChanged());
+        }
+        recomputeColumns();
+    }
+
+    /**
+     * Sets the listener to be notified when the overview changes.
+     *
+     * @param listener the listener
+     */
+    public void setChangeListener(Runnable listener) {
+        changeListener = listener;
+    }
+
+    /**
+     * Returns the current buckets. The buckets are replaced when rebuilt, so they shouldn't be stored.
+     *
+     * @return the buckets
+     */
+    OverviewBuckets getBuckets() {
+        return buckets;
+    }
+
+    @Override
+    public void onNewSearchStrategy(RowSearchStrategy searchStrategy) {
+        strategy = searchStrategy;
+        recomputeColumns();
+    }
+
+    @Override
+    public void onSearchStrategyCleared() {
+        strategy = null;
+        recomputeColumns();
+    }
+
+    @Override
+    public void onModelChange() {
+        // The highlighting has changed. The change of the visible rows is handled when the table is refiltered.
+        recomputeColumns();
+    }
+
+    private void onModelChanged(TableModelEvent e) {
+        if (e.getType() == TableModelEvent.INSERT && e.getFirstRow() == modelRowCount) {
+            hasAppendedRows = true;
+        } else {
+            isInvalidated = true;
+        }
+        modelRowCount = tableModel.getRowCount();
+    }
+
+    private void onViewChanged() {
+        // The view changes without the model change when the table is refiltered.
+        boolean isAppendOnly = hasAppendedRows && !isInvalidated;
+        boolean isModelInvalidated = isInvalidated;
+        hasAppendedRows = false;
+        isInvalidated = false;
+        if (isModelInvalidated) {
+            recomputeColumns();
+        } else if (isAppendOnly) {
+            addAppendedRows();
+        } else {
+            rebuildBuckets();
+        }
+    }
+
+    private void recomputeColumns() {
+        int currentGeneration = generation.incrementAndGet();
+        isComputingColumns = true;
+        var rows = tableModel.snapshotRows();
+        var highlightColors = filter.snapshotHighlightColors();
+        var searchStrategy = strategy;
+        backgroundExecutor.execute(() -> {
+            try {
+                var computed = OverviewColumns.compute(rows, highlightColors, searchStrategy,
+                        () -> generation.get() != currentGeneration);
+                uiExecutor.execute(() -> completeColumns(currentGeneration, computed));
+            } catch (CancellationException e) {
+                // Superseded by the newer request.
+            }
+        });
+    }
+
+    private void completeColumns(int requestGeneration, OverviewColumns computed) {
+        if (generation.get() != requestGeneration) {
+            return;
+        }
+        columns = computed;
+        isComputingColumns = false;
+        appendColumns();
+        rebuildBuckets();
+    }
+
+    private void rebuildBuckets() {
+        if (isComputingColumns) {
+            // The buckets are rebuilt when the columns are ready.
+            return;
+        }
+        int currentGeneration = generation.incrementAndGet();
+        isBuildingBuckets = true;
+        var snapshot = columns.snapshot();
+        var viewToModel = ViewToModelSnapshots.snapshot(table);
+        backgroundExecutor.execute(() -> {
+            var built = new OverviewBuckets(snapshot.palette());
+            for (int i = 0; i < viewToModel.length; ++i) {
+                if (i % CANCELLATION_CHECK_STEP == 0 && generation.get() != currentGeneration) {
+                    return;
+                }
+                if (viewToModel[i] < snapshot.size()) {
+                    snapshot.addTo(viewToModel[i], built);
+                }
+            }
+            uiExecutor.execute(() -> completeBuckets(currentGeneration, built, snapshot.size()));
+        });
+    }
+
+    private void completeBuckets(int requestGeneration, OverviewBuckets built, int builtModelRows) {
+        if (generation.get() != requestGeneration) {
+            return;
+        }
+        buckets = built;
+        bucketedModelRows = builtModelRows;
+        isBuildingBuckets = false;
+        appendBuckets();
+        changeListener.run();
+    }
+
+    private void addAppendedRows() {
+        if (isComputingColumns) {
+            // The appended rows are added when the columns are ready.
+            return;
+        }
+        appendColumns();
+        if (!isBuildingBuckets) {
+            appendBuckets();
+            changeListener.run();
+        }
+    }
+
+    private void appendColumns() {
+        var highlightColors = filter.snapshotHighlightColors();
+        for (int i = columns.size(); i < tableModel.getRowCount(); ++i) {
+            columns.append(tableModel.getRowData(i), highlightColors, strategy);
+        }
+    }
+
+    private void appendBuckets() {
+        var snapshot = columns.snapshot();
+        for (int modelRow : ViewToModelSnapshots.snapshotFrom(table, bucketedModelRows)) {
+            if (modelRow < snapshot.size()) {
+                snapshot.addTo(modelRow, buckets);
+            }
+        }
+        bucketedModelRows = snapshot.size();
+    }
+}
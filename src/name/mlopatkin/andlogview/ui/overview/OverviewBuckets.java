@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.jspecify.annotations.Nullable;
+
+import java.awt.Color;
+
+/**
+ * The density of the interesting rows over the visible rows of the table, aggregated into a fixed number of buckets.
+ * Each bucket covers the same power-of-two number of consecutive rows, except for the last one, which may be
+ * incomplete. When the rows no longer fit, the adjacent buckets are merged and each bucket covers twice as many rows.
+ * Adding a row takes constant amortized time, and the size of the buckets doesn't depend on the number of rows, so
+ * painting them doesn't either.
+ * <p>
+ * The bucket keeps the number of search hits, errors, warnings and highlighted rows, and the color of the first
+ * highlighted row in it.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class OverviewBuckets {
+    @VisibleForTesting
+    static final int BUCKET_COUNT = 1024;
+
+    private static final int ERROR_ORDINAL = LogRecord.Priority.ERROR.ordinal();
+    private static final int WARN_ORDINAL = LogRecord.Priority.WARN.ordinal();
+
+    private final int[] hits = new int[BUCKET_COUNT];
+    private final int[] errors = new int[BUCKET_COUNT];
+    private final int[] warnings = new int[BUCKET_COUNT];
+    private final int[] highlighted = new int[BUCKET_COUNT];
+    private final byte[] colors = new byte[BUCKET_COUNT];
+    private final Palette palette;
+    private int rowsPerBucket = 1;
+    private int rowCount;
+
+    OverviewBuckets(Palette palette) {
+        this.palette = palette;
+    }
+
+    /**
+     * Adds the next row.
+     *
+     * @param priority the ordinal of the priority of the row
+     * @param color the palette index of the highlight color of the row
+     * @param isHit true if the row matches the search
+     */
+    void add(byte priority, byte color, boolean isHit) {
+        if (rowCount == BUCKET_COUNT * rowsPerBucket) {
+            mergeBuckets();
+        }
+        int bucket = rowCount++ / rowsPerBucket;
+        if (isHit) {
+            ++hits[bucket];
+        }
+        if (priority >= ERROR_ORDINAL) {
+            ++errors[bucket];
+        } else if (priority == WARN_ORDINAL) {
+            ++warnings[bucket];
+        }
+        if (color != Palette.NO_COLOR) {
+            if (highlighted[bucket]++ == 0) {
+                colors[bucket] = color;
+            }
+        }
+    }
+
+    private void mergeBuckets() {
+        for (int i = 0; i < BUCKET_COUNT / 2; ++i) {
+            hits[i] = hits[2 * i] + hits[2 * i + 1];
+            errors[i] = errors[2 * i] + errors[2 * i + 1];
+            warnings[i] = warnings[2 * i] + warnings[2 * i + 1];
+            colors[i] = highlighted[2 * i] > 0 ? colors[2 * i] : colors[2 * i + 1];
+            highlighted[i] = highlighted[2 * i] + highlighted[2 * i + 1];
+        }
+        for (int i = BUCKET_COUNT / 2; i < BUCKET_COUNT; ++i) {
+            hits[i] = errors[i] = warnings[i] = highlighted[i] = 0;
+            colors[i] = Palette.NO_COLOR;
+        }
+        rowsPerBucket *= 2;
+    }
+
+    /** Returns the number of rows added so far. */
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /** Returns the number of buckets that have rows. */
+    int getBucketCount() {
+        return (rowCount + rowsPerBucket - 1) / rowsPerBucket;
+    }
+
+    /** Returns the number of rows covered by each bucket, the last bucket may have less. */
+    int getRowsPerBucket() {
+        return rowsPerBucket;
+    }
+
+    /** Returns the number of rows in the bucket. */
+    int getRows(int bucket) {
+        return Math.min(rowsPerBucket, rowCount - bucket * rowsPerBucket);
+    }
+
+    int getHits(int bucket) {
+        return hits[bucket];
+    }
+
+    int getErrors(int bucket) {
+        return errors[bucket];
+    }
+
+    int getWarnings(int bucket) {
+        return warnings[bucket];
+    }
+
+    int getHighlighted(int bucket) {
+        return highlighted[bucket];
+    }
+
+    /** Returns the highlight color of the first highlighted row in the bucket. */
+    @Nullable Color getColor(int bucket) {
+        return palette.getColor(colors[bucket]);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import org.jspecify.annotations.Nullable;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * The compact per-row data the overview is built from: the priority, the highlight color and the search hit flag of
+ * each row of the model, indexed by the model row. The highlight colors are stored as indices in the {@link Palette}.
+ * <p>
+ * The columns only grow. The rows that are already stored never change, so the background tasks can read them while
+ * new rows are appended on UI thread, as long as the tasks use the {@link #snapshot()} taken on UI thread.
+ */
+final class OverviewColumns {
+    // The number of rows computed by a single parallel task. The task also checks for cancellation.
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final Palette palette;
+    private byte[] priorities;
+    private byte[] colors;
+    private boolean[] hits;
+    private int size;
+
+    private OverviewColumns(Palette palette, byte[] priorities, byte[] colors, boolean[] hits) {
+        this.palette = palette;
+        this.priorities = priorities;
+        this.colors = colors;
+        this.hits = hits;
+        this.size = priorities.length;
+    }
+
+    /**
+     * Creates empty columns.
+     */
+    OverviewColumns() {
+        this(new Palette(), new byte[0], new byte[0], new boolean[0]);
+    }
+
+    /**
+     * Computes the columns for the rows. The rows are split into chunks that are processed in parallel on the common
+     * fork-join pool, so the functions must be thread-safe.
+     *
+     * @param rows the rows of the model
+     * @param highlightColors the highlight colors of the rows
+     * @param searchStrategy the current search strategy or null if there is no search
+     * @param isCancelled the cancellation flag, checked periodically
+     * @return the computed columns
+     * @throws CancellationException if {@code isCancelled} returns true while computing
+     */
+    static OverviewColumns compute(List<LogRecord> rows, Function<LogRecord, @Nullable Color> highlightColors,
+            @Nullable Predicate<? super LogRecord> searchStrategy, BooleanSupplier isCancelled) {
+        var palette = new Palette();
+        var priorities = new byte[rows.size()];
+        var colors = new byte[rows.size()];
+        var hits = new boolean[rows.size()];
+        IntStream.range(0, (rows.size() + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel().forEach(chunk -> {
+            if (isCancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            int end = Math.min(rows.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; ++i) {
+                var record = rows.get(i);
+                priorities[i] = (byte) record.getPriority().ordinal();
+                colors[i] = palette.indexOf(highlightColors.apply(record));
+                hits[i] = searchStrategy != null && searchStrategy.test(record);
+            }
+        });
+        return new OverviewColumns(palette, priorities, colors, hits);
+    }
+
+    /**
+     * Computes the columns of the appended row and stores them.
+     *
+     * @param record the appended row
+     * @param highlightColors the highlight colors of the rows
+     * @param searchStrategy the current search strategy or null if there is no search
+     */
+    void append(LogRecord record, Function<LogRecord, @Nullable Color> highlightColors,
+            @Nullable Predicate<? super LogRecord> searchStrategy) {
+        if (size == priorities.length) {
+            int newCapacity = Math.max(16, 2 * size);
+            priorities = Arrays.copyOf(priorities, newCapacity);
+            colors = Arrays.copyOf(colors, newCapacity);
+            hits = Arrays.copyOf(hits, newCapacity);
+        }
+        priorities[size] = (byte) record.getPriority().ordinal();
+        colors[size] = palette.indexOf(highlightColors.apply(record));
+        hits[size] = searchStrategy != null && searchStrategy.test(record);
+        ++size;
+    }
+
+    /**
+     * Returns the number of rows in the columns.
+     *
+     * @return the number of rows
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the read-only view of the rows stored so far. The view can be used on any thread.
+     *
+     * @return the view of the columns
+     */
+    Snapshot snapshot() {
+        return new Snapshot(palette, priorities, colors, hits, size);
+    }
+
+    /**
+     * The read-only view of the columns.
+     */
+    record Snapshot(Palette palette, byte[] priorities, byte[] colors, boolean[] hits, int size) {
+        /**
+         * Adds the row to the buckets.
+         *
+         * @param modelRow the model row, must be less than {@link #size()}
+         * @param buckets the buckets to add the row to
+         */
+        void addTo(int modelRow, OverviewBuckets buckets) {
+            buckets.add(priorities[modelRow], colors[modelRow], hits[modelRow]);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.ui.themes.ThemeColors;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JComponent;
+import javax.swing.JTable;
+
+/**
+ * The narrow ruler to put next to the scroll bar of the log table. It shows the density of the errors and warnings,
+ * of the highlighted rows and of the search hits over all visible rows of the table in three lanes. Each pixel row of
+ * the ruler aggregates the buckets of the {@link LogOverviewModel}, so painting doesn't depend on the number of rows in
+ * the table. Clicking the ruler scrolls the table to the corresponding row.
+ */
+public class OverviewRuler extends JComponent {
+    private static final int LANE_WIDTH = 4;
+    private static final int LANE_COUNT = 3;
+    private static final Color SEARCH_HIT_COLOR = new Color(0xFF, 0x99, 0x00);
+    // Even a single interesting row in a pixel must be noticeable, so the opacity starts from this value.
+    private static final int MIN_ALPHA = 96;
+
+    private final LogOverviewModel model;
+    private final JTable table;
+    private final ThemeColors themeColors;
+
+    public OverviewRuler(LogOverviewModel model, JTable table, ThemeColors themeColors) {
+        this.model = model;
+        this.table = table;
+        this.themeColors = themeColors;
+        model.setChangeListener(this::repaint);
+
+        var mouseListener = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                scrollTableTo(e.getY());
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                scrollTableTo(e.getY());
+            }
+        };
+        addMouseListener(mouseListener);
+        addMouseMotionListener(mouseListener);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        Insets insets = getInsets();
+        return new Dimension(LANE_COUNT * LANE_WIDTH + insets.left + insets.right, 0);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        var buckets = model.getBuckets();
+        Insets insets = getInsets();
+        int height = getHeight() - insets.top - insets.bottom;
+        long rowCount = buckets.getRowCount();
+        if (height <= 0 || rowCount == 0) {
+            return;
+        }
+        int rowsPerBucket = buckets.getRowsPerBucket();
+        var errorColor = themeColors.getPriorityForegroundColor(LogRecord.Priority.ERROR);
+        var warningColor = themeColors.getPriorityForegroundColor(LogRecord.Priority.WARN);
+        for (int y = 0; y < height; ++y) {
+            // The pixel covers the rows [firstRow, lastRow], the bucket of the last row is included.
+            int firstRow = (int) (y * rowCount / height);
+            int lastRow = Math.max(firstRow, (int) ((y + 1) * rowCount / height) - 1);
+            int rows = 0;
+            int hits = 0;
+            int errors = 0;
+            int warnings = 0;
+            int highlighted = 0;
+            Color highlightColor = null;
+            for (int bucket = firstRow / rowsPerBucket; bucket <= lastRow / rowsPerBucket; ++bucket) {
+                rows += buckets.getRows(bucket);
+                hits += buckets.getHits(bucket);
+                errors += buckets.getErrors(bucket);
+                warnings += buckets.getWarnings(bucket);
+                if (highlightColor == null) {
+                    highlightColor = buckets.getColor(bucket);
+                }
+                highlighted += buckets.getHighlighted(bucket);
+            }
+            int top = insets.top + y;
+            if (errors > 0) {
+                paintLane(g, insets.left, top, errorColor, errors, rows);
+            } else if (warnings > 0) {
+                paintLane(g, insets.left, top, warningColor, warnings, rows);
+            }
+            if (highlightColor != null) {
+                paintLane(g, insets.left + LANE_WIDTH, top, highlightColor, highlighted, rows);
+            }
+            if (hits > 0) {
+                paintLane(g, insets.left + 2 * LANE_WIDTH, top, SEARCH_HIT_COLOR, hits, rows);
+            }
+        }
+    }
+
+    private static void paintLane(Graphics g, int x, int y, Color color, int count, int rows) {
+        int alpha = MIN_ALPHA + (255 - MIN_ALPHA) * Math.min(count, rows) / rows;
+        g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha));
+        g.fillRect(x, y, LANE_WIDTH, 1);
+    }
+
+    private void scrollTableTo(int y) {
+        Insets insets = getInsets();
+        int height = getHeight() - insets.top - insets.bottom;
+        int rowCount = table.getRowCount();
+        if (height <= 0 || rowCount == 0) {
+            return;
+        }
+        int row = (int) Math.max(0, Math.min(rowCount - 1, (long) (y - insets.top) * rowCount / height));
+        table.scrollRectToVisible(table.getCellRect(row, 0, true));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import org.jspecify.annotations.Nullable;
+
+import java.awt.Color;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Assigns small indices to the highlight colors, so the colors of the rows can be stored in a byte. The index of the
+ * absent color is {@link #NO_COLOR}. There are only a few highlight filters in practice. The colors that don't fit in
+ * a byte share the last index. The palette is thread-safe.
+ */
+final class Palette {
+    static final byte NO_COLOR = 0;
+
+    private static final int MAX_COLORS = Byte.MAX_VALUE;
+
+    private final ConcurrentHashMap<Color, Byte> indices = new ConcurrentHashMap<>();
+    // The color with index i is at position i - 1.
+    private final CopyOnWriteArrayList<Color> colors = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the index of the color, assigning the new one if needed.
+     *
+     * @param color the color or null
+     * @return the index of the color or {@link #NO_COLOR} if the color is null
+     */
+    byte indexOf(@Nullable Color color) {
+        if (color == null) {
+            return NO_COLOR;
+        }
+        var index = indices.get(color);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = indices.get(color);
+            if (index == null) {
+                if (colors.size() < MAX_COLORS) {
+                    colors.add(color);
+                }
+                index = (byte) colors.size();
+                indices.put(color, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Returns the color by its index.
+     *
+     * @param index the index
+     * @return the color or null if the index is {@link #NO_COLOR}
+     */
+    @Nullable Color getColor(byte index) {
+        return index != NO_COLOR ? colors.get(index - 1) : null;
+    }
+}
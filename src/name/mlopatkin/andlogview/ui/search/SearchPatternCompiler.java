@@ -20,4 +20,15 @@ import name.mlopatkin.andlogview.search.RequestCompilationException;
 
 public interface SearchPatternCompiler<S> {
     S compile(String patternText) throws RequestCompilationException;
+
+    /**
+     * Checks if evaluating the compiled pattern was aborted for some items because it took too long. Such items don't
+     * match, so the search may miss them.
+     *
+     * @param pattern the compiled pattern
+     * @return true if some evaluations were aborted
+     */
+    default boolean hasAbortedEvaluations(S pattern) {
+        return false;
+    }
 }
@@ -16,6 +16,9 @@
 
 package name.mlopatkin.andlogview.ui.search;
 
+import static name.mlopatkin.andlogview.utils.MyFutures.cancellationHandler;
+import static name.mlopatkin.andlogview.utils.MyFutures.exceptionHandler;
+
 import name.mlopatkin.andlogview.AppExecutors;
 import name.mlopatkin.andlogview.search.RequestCompilationException;
 import name.mlopatkin.andlogview.search.Search;
@@ -24,6 +27,8 @@ import name.mlopatkin.andlogview.ui.status.SearchStatusPresenter;
 import name.mlopatkin.andlogview.utils.MyFutures;
 import name.mlopatkin.andlogview.widgets.DialogResult;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
@@ -37,12 +42,18 @@ import javax.inject.Named;
  * takes care of showing the found item. The second, represented by the {@link SearchPromptView} interface, is the view
  * where the user can enter the search text. The text is then interpreted through the {@link SearchPatternCompiler}.
  * <p>
- * The presenter talks with the {@link SearchModel} to actually find stuff.
+ * The presenter talks with the {@link SearchModel} to actually find stuff. The search may run in background, the
+ * status presenter shows its progress meanwhile. Starting another search or abandoning the current one cancels the
+ * search in progress.
+ * <p>
+ * The {@link MatchCounter} counts all matches of the search in background. Once the matches are counted, the presenter
+ * shows the number of the found match and navigates between matches without searching.
  *
  * @param <T> the underlying searchable item type
  * @param <P> the type of the item position
  * @param <S> the actual type of a predicate used to search the model.
  */
+@SearchScoped
 public class SearchPresenter<T, P, S extends Predicate<? super T>> {
     private final Executor uiThreadExecutor;
     private final SearchModel<T, P, S> searchModel;
@@ -50,6 +61,12 @@ public class SearchPresenter<T, P, S extends Predicate<? super T>> {
     private final SearchableView<P> searchableView;
     private final SearchStatusPresenter searchStatusPresenter;
     private final SearchPromptView searchPromptView;
+    private final MatchCounter<P> matchCounter;
+
+    // Incremented on each search request, so the results and progress of the outdated requests can be ignored.
+    private int searchGeneration;
+    // The last shown search result, if it is still relevant.
+    private @Nullable P shownResult;
 
     public interface SearchableView<P> {
         void showSearchResult(P row);
@@ -106,6 +123,53 @@ public class SearchPresenter<T, P, S extends Predicate<? super T>> {
         void showPatternError(String errorMessage);
     }
 
+    /**
+     * Counts all matches of the current search. The matches are counted in background, so they may not be available
+     * right after the search starts. The counter must be used on UI thread only.
+     *
+     * @param <P> the type of the item position
+     */
+    public interface MatchCounter<P> {
+        /**
+         * Checks if the matches of the current search are counted and are up-to-date.
+         *
+         * @return {@code true} if the matches are counted
+         */
+        boolean isCounted();
+
+        /**
+         * Returns the number of matches. The matches must be counted.
+         *
+         * @return the number of matches
+         */
+        int getMatchCount();
+
+        /**
+         * Returns the number of the match at the position, counting from 1. The matches must be counted.
+         *
+         * @param position the position of the match
+         * @return the number of the match or 0 if the position doesn't match
+         */
+        int getMatchNumber(P position);
+
+        /**
+         * Finds the match starting from the position in the given direction. The matches must be counted.
+         *
+         * @param startPosition the position to start from
+         * @param direction the direction of the search
+         * @return the position of the found match or empty optional if there are no more matches in that direction
+         */
+        Optional<P> findMatch(P startPosition, Search.Direction direction);
+
+        /**
+         * Sets the listener to be notified when the matches are counted or when the count changes, e.g. because new
+         * items are appended.
+         *
+         * @param listener the listener
+         */
+        void setMatchesChangedListener(Runnable listener);
+    }
+
     @Inject
     public SearchPresenter(
             @Named(AppExecutors.UI_EXECUTOR) Executor uiThreadExecutor,
@@ -113,13 +177,17 @@ public class SearchPresenter<T, P, S extends Predicate<? super T>> {
             SearchPatternCompiler<S> patternCompiler,
             SearchableView<P> searchableView,
             SearchStatusPresenter searchStatusPresenter,
-            SearchPromptView searchPromptView) {
+            SearchPromptView searchPromptView,
+            MatchCounter<P> matchCounter) {
         this.uiThreadExecutor = uiThreadExecutor;
         this.searchModel = searchModel;
         this.patternCompiler = patternCompiler;
         this.searchableView = searchableView;
         this.searchStatusPresenter = searchStatusPresenter;
         this.searchPromptView = searchPromptView;
+        this.matchCounter = matchCounter;
+
+        matchCounter.setMatchesChangedListener(this::onMatchesChanged);
     }
 
     /**
@@ -161,6 +229,8 @@ public class SearchPresenter<T, P, S extends Predicate<? super T>> {
     }
 
     private void find(Search.Direction direction) {
+        ++searchGeneration;
+        shownResult = null;
         searchStatusPresenter.reset();
         searchModel.getCurrentSearch().ifPresentOrElse(
                 s -> continueSearch(direction, s),
@@ -169,20 +239,74 @@ public class SearchPresenter<T, P, S extends Predicate<? super T>> {
     }
 
     private void continueSearch(Search.Direction direction, Search<P> search) {
-        searchableView.getSearchStartPosition().ifPresent(search::setPosition);
-        search.search(direction)
+        int generation = searchGeneration;
+        var startPosition = searchableView.getSearchStartPosition();
+        startPosition.ifPresent(search::setPosition);
+        if (startPosition.isPresent() && matchCounter.isCounted()) {
+            var result = matchCounter.findMatch(startPosition.get(), direction);
+            result.ifPresent(search::setPosition);
+            onSearchCompleted(generation, result);
+            return;
+        }
+        Search.ProgressListener progressListener =
+                checkedItems -> uiThreadExecutor.execute(() -> onSearchProgress(generation, checkedItems));
+        search.search(direction, progressListener)
                 .thenAcceptAsync(
-                        r -> r.ifPresentOrElse(this::onSearchHit, this::onNoMoreHits),
+                        r -> onSearchCompleted(generation, r),
                         uiThreadExecutor
-                ).exceptionally(MyFutures::uncaughtException);
+                ).exceptionally(exceptionHandler(cancellationHandler(
+                        () -> uiThreadExecutor.execute(() -> onSearchCancelled(generation)),
+                        MyFutures::uncaughtException)));
+    }
+
+    private void onSearchCompleted(int generation, Optional<P> result) {
+        if (generation == searchGeneration) {
+            result.ifPresentOrElse(this::onSearchHit, this::onNoMoreHits);
+        }
+    }
+
+    private void onSearchCancelled(int generation) {
+        // The search is cancelled when the model changes, the progress it has shown is no longer relevant.
+        if (generation == searchGeneration) {
+            searchStatusPresenter.reset();
+        }
+    }
+
+    private void onSearchProgress(int generation, int checkedItems) {
+        if (generation == searchGeneration) {
+            searchStatusPresenter.showSearchProgress(checkedItems);
+        }
     }
 
     private void onSearchHit(P foundPosition) {
+        searchStatusPresenter.reset();
         searchableView.showSearchResult(foundPosition);
+        shownResult = foundPosition;
+        showMatchNumber(foundPosition);
+    }
+
+    private void onMatchesChanged() {
+        var result = shownResult;
+        if (result != null) {
+            showMatchNumber(result);
+        }
+    }
+
+    private void showMatchNumber(P foundPosition) {
+        if (matchCounter.isCounted()) {
+            int matchNumber = matchCounter.getMatchNumber(foundPosition);
+            if (matchNumber > 0) {
+                searchStatusPresenter.showMatchNumber(matchNumber, matchCounter.getMatchCount());
+            }
+        }
     }
 
     private void onNoMoreHits() {
-        searchStatusPresenter.showNotFoundMessage();
+        if (searchModel.getSearchStrategy().filter(patternCompiler::hasAbortedEvaluations).isPresent()) {
+            searchStatusPresenter.showIncompleteNotFoundMessage();
+        } else {
+            searchStatusPresenter.showNotFoundMessage();
+        }
     }
 
     private void tryStartSearchWithPrompt(String patternText) {
@@ -202,6 +326,8 @@ public class SearchPresenter<T, P, S extends Predicate<? super T>> {
     }
 
     private void discardSearchPrompt() {
+        ++searchGeneration;
+        shownResult = null;
         searchStatusPresenter.reset();
         searchPromptView.hide();
         searchPromptView.clearSearchPattern();
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import name.mlopatkin.andlogview.filters.Filter;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.MatchSet;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Searches all rows of the log model, regardless of the filters. The rows are checked in background, in parallel, by
+ * the same engine that counts the matches among the visible rows. The report tells how many matches the log table
+ * shows, which filters hide the rest, and how many matches each index window shows.
+ * <p>
+ * Starting a new search cancels the one in progress.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+public class GlobalLogSearch {
+    private static final Executor SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setThreadFactory(Threads.withName("log-table-global-search")).setDaemon(true)
+                    .build());
+
+    // The matches are classified sequentially, the cancellation is checked after processing this many matches.
+    private static final int CANCELLATION_CHECK_INTERVAL = 1 << 12;
+
+    private final LogRecordTableModel tableModel;
+    private final FilterSnapshots filterSnapshots;
+    private final Executor searchExecutor;
+    // Incremented on each search request, so the background search can find out that it was superseded.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Provides the current state of the filters of the log table and of the index windows.
+     */
+    public interface FilterSnapshots {
+        /**
+         * Returns the function that finds the filters that hide the record from the log table. The function returns
+         * the empty list if the table shows the record. The function must not follow the subsequent changes of the
+         * filters and must be safe to call on any thread.
+         *
+         * @return the snapshot of the filters of the log table
+         */
+        Function<LogRecord, ? extends List<? extends Filter>> snapshotHidingFilters();
+
+        /**
+         * Returns the currently open index windows. The predicates must not follow the subsequent changes of the
+         * filters and must be safe to call on any thread.
+         *
+         * @return the snapshot of the index windows
+         */
+        List<IndexWindow> snapshotIndexWindows();
+    }
+
+    /**
+     * The index window and the predicate that tells if the window shows the record.
+     *
+     * @param title the title of the window
+     * @param showPredicate the predicate that tells if the window shows the record
+     */
+    public record IndexWindow(String title, Predicate<LogRecord> showPredicate) {}
+
+    /**
+     * The number of matches that the index window shows.
+     *
+     * @param title the title of the window
+     * @param matchCount the number of matches
+     */
+    public record IndexWindowMatches(String title, int matchCount) {}
+
+    /**
+     * The outcome of the search.
+     *
+     * @param matchCount the number of matching rows in the log model
+     * @param visibleMatchCount the number of matching rows the log table shows
+     * @param hidingFilters the filters that hide matching rows from the log table, each filter is counted once for each
+     *         row it hides
+     * @param indexWindowMatches the number of matches each index window shows
+     */
+    public record Report(int matchCount, int visibleMatchCount, ImmutableMultiset<Filter> hidingFilters,
+            ImmutableList<IndexWindowMatches> indexWindowMatches) {
+        public int hiddenMatchCount() {
+            return matchCount - visibleMatchCount;
+        }
+    }
+
+    public GlobalLogSearch(LogRecordTableModel tableModel, FilterSnapshots filterSnapshots) {
+        this(tableModel, filterSnapshots, SEARCH_EXECUTOR);
+    }
+
+    GlobalLogSearch(LogRecordTableModel tableModel, FilterSnapshots filterSnapshots, Executor searchExecutor) {
+        this.tableModel = tableModel;
+        this.filterSnapshots = filterSnapshots;
+        this.searchExecutor = searchExecutor;
+    }
+
+    /**
+     * Starts searching all rows of the log model with the current state of the filters. The search in progress is
+     * cancelled. The returned future completes on the search thread.
+     *
+     * @param strategy the search strategy
+     * @return the future with the report, it is cancelled if the search is superseded
+     */
+    public CompletableFuture<Report> search(RowSearchStrategy strategy) {
+        int currentGeneration = generation.incrementAndGet();
+        BooleanSupplier isCancelled = () -> generation.get() != currentGeneration;
+        var rows = tableModel.snapshotRows();
+        var hidingFilters = filterSnapshots.snapshotHidingFilters();
+        var indexWindows = filterSnapshots.snapshotIndexWindows();
+        var result = new CompletableFuture<Report>();
+        searchExecutor.execute(() -> {
+            try {
+                var matches = MatchSet.findMatches(
+                        IntStream.range(0, rows.size()).toArray(), rows::get, strategy, isCancelled);
+                result.complete(buildReport(rows, matches, hidingFilters, indexWindows, isCancelled));
+            } catch (CancellationException e) {
+                result.cancel(false);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Cancels the search in progress, if any.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    private static Report buildReport(List<LogRecord> rows, int[] matches,
+            Function<LogRecord, ? extends List<? extends Filter>> hidingFiltersLookup, List<IndexWindow> indexWindows,
+            BooleanSupplier isCancelled) {
+        int visibleMatchCount = 0;
+        var hidingFilters = ImmutableMultiset.<Filter>builder();
+        var indexWindowMatchCounts = new int[indexWindows.size()];
+        for (int i = 0; i < matches.length; ++i) {
+            if (i % CANCELLATION_CHECK_INTERVAL == 0 && isCancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            var record = rows.get(matches[i]);
+            var filters = hidingFiltersLookup.apply(record);
+            if (filters.isEmpty()) {
+                ++visibleMatchCount;
+            } else {
+                hidingFilters.addAll(filters);
+            }
+            for (int window = 0; window < indexWindowMatchCounts.length; ++window) {
+                if (indexWindows.get(window).showPredicate().test(record)) {
+                    ++indexWindowMatchCounts[window];
+                }
+            }
+        }
+        var indexWindowMatches = ImmutableList.<IndexWindowMatches>builderWithExpectedSize(indexWindows.size());
+        for (int window = 0; window < indexWindowMatchCounts.length; ++window) {
+            indexWindowMatches.add(
+                    new IndexWindowMatches(indexWindows.get(window).title(), indexWindowMatchCounts[window]));
+        }
+        return new Report(matches.length, visibleMatchCount, hidingFilters.build(), indexWindowMatches.build());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.search.text.TextHighlighter;
+
+import com.google.common.base.Preconditions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the highlighted ranges of the record fields, so repainting the table doesn't run the search strategy for
+ * every cell again. Only the most recently used entries are kept, the capacity should cover the visible part of the
+ * table with some margin. The records are compared by identity.
+ * <p>
+ * The cache doesn't track the strategy. It must be cleared when the strategy changes.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+class HighlightRangesCache {
+    private static final int[] NO_RANGES = new int[0];
+
+    private int capacity;
+    private final Map<Key, int[]> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+            return size() > capacity;
+        }
+    };
+
+    HighlightRangesCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Updates the maximal number of cached entries. The least recently used entries over the new capacity are only
+     * evicted when the new entries are added.
+     *
+     * @param capacity the new capacity, must be positive
+     */
+    public void setCapacity(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive, got %s", capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Highlights the ranges the strategy finds in the field of the record. The strategy only runs if the ranges are
+     * not cached yet.
+     *
+     * @param strategy the current search strategy
+     * @param record the record
+     * @param field the field of the record
+     * @param highlighters the highlighters to apply the ranges to
+     */
+    public void highlight(RowSearchStrategy strategy, LogRecord record, Field<?> field,
+            TextHighlighter... highlighters) {
+        var ranges = cache.computeIfAbsent(new Key(record, field), k -> findRanges(strategy, record, field));
+        for (var highlighter : highlighters) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                highlighter.highlightText(ranges[i], ranges[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Discards all cached ranges.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private static int[] findRanges(RowSearchStrategy strategy, LogRecord record, Field<?> field) {
+        var collector = new TextHighlighter() {
+            int[] ranges = NO_RANGES;
+            int size;
+
+            @Override
+            public void highlightText(int from, int to) {
+                if (size == ranges.length) {
+                    ranges = Arrays.copyOf(ranges, Math.max(4, 2 * size));
+                }
+                ranges[size++] = from;
+                ranges[size++] = to;
+            }
+        };
+        strategy.highlightColumn(record, field, collector);
+        return collector.size > 0 ? Arrays.copyOf(collector.ranges, collector.size) : NO_RANGES;
+    }
+
+    private record Key(LogRecord record, Field<?> field) {
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof Key other && record == other.record && field.equals(other.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(record) + field.hashCode();
+        }
+    }
+}
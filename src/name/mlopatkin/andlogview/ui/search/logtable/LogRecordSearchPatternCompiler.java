@@ -32,4 +32,9 @@ public class LogRecordSearchPatternCompiler implements SearchPatternCompiler<Row
     public RowSearchStrategy compile(String patternText) throws RequestCompilationException {
         return RowSearchStrategyFactory.compile(patternText);
     }
+
+    @Override
+    public boolean hasAbortedEvaluations(RowSearchStrategy pattern) {
+        return pattern.hasAbortedEvaluations();
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import name.mlopatkin.andlogview.search.MatchSet;
+import name.mlopatkin.andlogview.search.Search;
+import name.mlopatkin.andlogview.search.SearchModel;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+import name.mlopatkin.andlogview.ui.logtable.ViewToModelSnapshots;
+import name.mlopatkin.andlogview.ui.search.SearchPresenter;
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+
+/**
+ * Counts the matches of the current search among the visible rows of the log table. The matches are counted in
+ * background over the snapshot of the table, the rows are checked in parallel. The matches of the appended rows are
+ * counted as the rows appear in the table. Other changes of the table, including the change of the filter, start the
+ * count over.
+ * <p>
+ * The matches are kept as model indices of the rows. The visible rows are in the ascending order of their model
+ * indices, so the matches are in the order the user sees them.
+ * <p>
+ * This class must be used on UI thread only.
+ */
+public class LogTableMatchCounter
+        implements SearchPresenter.MatchCounter<TablePosition>, SearchModel.StrategyObserver<RowSearchStrategy> {
+    private static final Executor COUNT_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setThreadFactory(Threads.withName("log-table-match-count")).setDaemon(true)
+                    .build());
+
+    private final JTable table;
+    private final LogRecordTableModel tableModel;
+    private final Executor countExecutor;
+    private final Executor uiExecutor;
+    // Incremented on each count request, so the background count can find out that it was superseded.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private Runnable matchesChangedListener = () -> {};
+    private @Nullable RowSearchStrategy strategy;
+    // Null while the matches are being counted.
+    private @Nullable MatchSet matches;
+    // The matches of the model rows below this one are counted.
+    private int countedModelRows;
+    private int modelRowCount;
+    // Set when the model changes in a way that can't be handled by counting the appended rows.
+    private boolean isInvalidated;
+    private boolean hasAppendedRows;
+
+    /**
+     * Creates the counter. The table must already be set up with its row sorter.
+     *
+     * @param table the log table
+     * @param tableModel the model of the log table
+     * @param uiExecutor the executor of UI thread
+     */
+    public LogTableMatchCounter(JTable table, LogRecordTableModel tableModel, Executor uiExecutor) {
+        this(table, tableModel, COUNT_EXECUTOR, uiExecutor);
+    }
+
+    LogTableMatchCounter(JTable table, LogRecordTableModel tableModel, Executor countExecutor, Executor uiExecutor) {
+        this.table = table;
+        this.tableModel = tableModel;
+        this.countExecutor = countExecutor;
+        this.uiExecutor = uiExecutor;
+        this.modelRowCount = tableModel.getRowCount();
+
+        var rowSorter = table.getRowSorter();
+        // The listeners of the table model are notified in the reverse order, so this listener runs before the table
+        // and its row sorter get the event.
+        tableModel.addTableModelListener(e -> {
+            onModelChanged(e);
+            if (rowSorter == null) {
+                onViewChanged();
+            }
+        });
+        if (rowSorter != null) {
+            rowSorter.addRowSorterListener(e -> onViewChanged());
+        }
+    }
+
+    @Override
+    public void onNewSearchStrategy(RowSearchStrategy searchStrategy) {
+        strategy = searchStrategy;
+        recount();
+    }
+
+    @Override
+    public void onSearchStrategyCleared() {
+        strategy = null;
+        generation.incrementAndGet();
+        matches = null;
+    }
+
+    @Override
+    public boolean isCounted() {
+        return matches != null;
+    }
+
+    @Override
+    public int getMatchCount() {
+        return getMatches().size();
+    }
+
+    @Override
+    public int getMatchNumber(TablePosition position) {
+        return getMatches().getMatchNumber(position.getModelIndex());
+    }
+
+    @Override
+    public Optional<TablePosition> findMatch(TablePosition startPosition, Search.Direction direction) {
+        int found = getMatches().find(startPosition.getModelIndex(), direction);
+        return found >= 0 ? Optional.of(TablePosition.fromModelIndex(found)) : Optional.empty();
+    }
+
+    @Override
+    public void setMatchesChangedListener(Runnable listener) {
+        matchesChangedListener = listener;
+    }
+
+    private MatchSet getMatches() {
+        var result = matches;
+        if (result == null) {
+            throw new IllegalStateException("Matches are not counted yet");
+        }
+        return result;
+    }
+
+    private void onModelChanged(TableModelEvent e) {
+        if (e.getType() == TableModelEvent.INSERT && e.getFirstRow() == modelRowCount) {
+            hasAppendedRows = true;
+        } else {
+            isInvalidated = true;
+        }
+        modelRowCount = tableModel.getRowCount();
+    }
+
+    private void onViewChanged() {
+        // The view changes without the model change when the table is refiltered.
+        boolean isAppendOnly = hasAppendedRows && !isInvalidated;
+        hasAppendedRows = false;
+        isInvalidated = false;
+        if (strategy == null) {
+            return;
+        }
+        if (!isAppendOnly) {
+            recount();
+        } else if (matches != null) {
+            // If the count is in progress, the appended rows are counted when it completes.
+            countAppendedRows();
+        }
+    }
+
+    private void recount() {
+        int currentGeneration = generation.incrementAndGet();
+        matches = null;
+        var searchStrategy = strategy;
+        if (searchStrategy == null) {
+            return;
+        }
+        var rows = tableModel.snapshotRows();
+        var viewToModel = ViewToModelSnapshots.snapshot(table);
+        countExecutor.execute(() -> {
+            try {
+                var found = MatchSet.findMatches(viewToModel, rows::get, searchStrategy,
+                        () -> generation.get() != currentGeneration);
+                uiExecutor.execute(() -> completeCount(currentGeneration, found, rows.size()));
+            } catch (CancellationException e) {
+                // Superseded by the newer count.
+            }
+        });
+    }
+
+    private void completeCount(int countGeneration, int[] found, int countedRows) {
+        if (generation.get() != countGeneration) {
+            return;
+        }
+        matches = new MatchSet(found);
+        countedModelRows = countedRows;
+        countAppendedRows();
+    }
+
+    private void countAppendedRows() {
+        var searchStrategy = strategy;
+        var currentMatches = matches;
+        assert searchStrategy != null && currentMatches != null;
+        var appendedRows = ViewToModelSnapshots.snapshotFrom(table, countedModelRows);
+        currentMatches.addAll(MatchSet.findMatches(appendedRows, tableModel::getRowData, searchStrategy, () -> false));
+        countedModelRows = tableModel.getRowCount();
+        matchesChangedListener.run();
+    }
+}
@@ -20,43 +20,142 @@ import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.search.AbstractIndexCursor;
 import name.mlopatkin.andlogview.search.SearchCursor;
 import name.mlopatkin.andlogview.search.SearchDataModel;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.search.logrecord.TrigramIndex;
 import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+import name.mlopatkin.andlogview.ui.logtable.ViewToModelSnapshots;
+
+import com.google.common.base.Suppliers;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
 
+/**
+ * Provides the rows of the log table to the search. Each cursor works on the snapshot of the table rows and of the
+ * mapping of the visible rows to the model, so it can be used off the UI thread. The snapshot positions stay valid
+ * while the records are appended to the model, any other model change invalidates them.
+ * <p>
+ * If the search index is available, the cursor created for the search strategy skips the rows that the index rules
+ * out. The index is only consulted on the search thread.
+ * <p>
+ * The rows of the log table are never sorted, so the visible rows are in the ascending order of their model indices.
+ * <p>
+ * This class must be used on UI thread only.
+ */
 public class LogTableSearchAdapter implements SearchDataModel<LogRecord, TablePosition> {
     private final JTable table;
     private final LogRecordTableModel logModel;
+    private final @Nullable LogTableSearchIndex searchIndex;
 
     public LogTableSearchAdapter(JTable table, LogRecordTableModel logModel) {
+        this(table, logModel, null);
+    }
+
+    public LogTableSearchAdapter(JTable table, LogRecordTableModel logModel,
+            @Nullable LogTableSearchIndex searchIndex) {
         this.table = table;
         this.logModel = logModel;
+        this.searchIndex = searchIndex;
     }
 
     @Override
     public SearchCursor<LogRecord, TablePosition> newCursor() {
-        return new Cursor();
+        return new SnapshotCursor(logModel.snapshotRows(), ViewToModelSnapshots.snapshot(table), () -> null);
+    }
+
+    @Override
+    public SearchCursor<LogRecord, TablePosition> newCursor(Predicate<? super LogRecord> strategy) {
+        var index = searchIndex;
+        var requiredTexts = strategy instanceof RowSearchStrategy rowStrategy ? rowStrategy.getRequiredTexts() : null;
+        if (index == null || requiredTexts == null) {
+            return newCursor();
+        }
+        return new SnapshotCursor(
+                logModel.snapshotRows(), ViewToModelSnapshots.snapshot(table), index.prepareLookup(requiredTexts));
     }
 
-    private class Cursor extends AbstractIndexCursor<LogRecord, TablePosition> {
+    /**
+     * Registers the listener to be notified when the model changes in a way that invalidates the positions of the
+     * existing cursors.
+     *
+     * @param listener the listener
+     */
+    public void addPositionsInvalidatedListener(Runnable listener) {
+        logModel.addTableModelListener(e -> {
+            if (e.getType() != TableModelEvent.INSERT) {
+                listener.run();
+            }
+        });
+    }
+
+    private static class SnapshotCursor extends AbstractIndexCursor<LogRecord, TablePosition> {
+        private final List<LogRecord> rows;
+        private final int[] viewToModel;
+        private final Supplier<TrigramIndex.@Nullable Candidates> candidates;
+
+        SnapshotCursor(List<LogRecord> rows, int[] viewToModel,
+                Supplier<TrigramIndex.@Nullable Candidates> candidatesLookup) {
+            this.rows = rows;
+            this.viewToModel = viewToModel;
+            // The lookup is deferred until the search thread needs it. The parallel search may need it on several
+            // threads at once.
+            this.candidates = Suppliers.memoize(candidatesLookup::get);
+        }
+
+        @Override
+        protected int findCandidate(int fromIndex, int direction) {
+            var currentCandidates = candidates.get();
+            if (currentCandidates == null) {
+                return fromIndex;
+            }
+            int index = fromIndex;
+            while (0 <= index && index < viewToModel.length) {
+                int modelRow = viewToModel[index];
+                int candidateRow = direction > 0
+                        ? currentCandidates.nextCandidate(modelRow)
+                        : currentCandidates.previousCandidate(modelRow);
+                if (candidateRow == modelRow) {
+                    return index;
+                }
+                index = direction > 0
+                        ? lowerBound(candidateRow, index, viewToModel.length)
+                        : lowerBound(candidateRow + 1, 0, index) - 1;
+            }
+            return index;
+        }
+
+        /** Returns the first view index in {@code [from, to)} which model row is not less than {@code modelRow}. */
+        private int lowerBound(int modelRow, int from, int to) {
+            int index = Arrays.binarySearch(viewToModel, from, to, modelRow);
+            return index >= 0 ? index : -index - 1;
+        }
+
         @Override
         protected TablePosition indexToPosition(int index) {
-            return TablePosition.fromViewIndex(table, index);
+            return TablePosition.fromModelIndex(viewToModel[index]);
         }
 
         @Override
         protected int positionToIndex(TablePosition position) {
-            return position.getViewIndex(table);
+            int index = Arrays.binarySearch(viewToModel, position.getModelIndex());
+            return index >= 0 ? index : -1;
         }
 
         @Override
         protected LogRecord getValueAtIndex(int index) {
-            return logModel.getRowData(table.convertRowIndexToModel(index));
+            return rows.get(viewToModel[index]);
         }
 
         @Override
         protected int size() {
-            return table.getRowCount();
+            return viewToModel.length;
         }
     }
 }
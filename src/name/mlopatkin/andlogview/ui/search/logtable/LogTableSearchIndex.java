@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.search.logrecord.RequiredText;
+import name.mlopatkin.andlogview.search.logrecord.TrigramIndex;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+
+/**
+ * Maintains the {@link TrigramIndex} of the rows of the log table model. The index is updated in background: the UI
+ * thread only copies the changed rows. Appended rows are added to the index, other changes make the index drop the
+ * changed rows and index them again.
+ * <p>
+ * Each change that isn't an append bumps the version of the rows. The lookup prepared for some version only uses the
+ * index if the index is at the same version, i.e. its rows are the same as the rows of the snapshot being searched.
+ * The index may lag behind or run ahead with appended rows, this is fine.
+ * <p>
+ * This class must be used on UI thread only, but the prepared lookups can be performed on any thread.
+ */
+public class LogTableSearchIndex implements TableModelListener {
+    private static final Executor INDEX_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setThreadFactory(Threads.withName("log-table-index")).setDaemon(true).build());
+
+    private final LogRecordTableModel tableModel;
+    private final TrigramIndex index;
+    private final Executor indexExecutor;
+
+    private int version;
+    // Guarded by index.
+    private int indexedVersion;
+
+    /**
+     * Creates the index and starts indexing the rows of the table model.
+     *
+     * @param tableModel the table model to index
+     * @param memoryBudgetBytes the amount of memory the index may use, approximately
+     */
+    public LogTableSearchIndex(LogRecordTableModel tableModel, long memoryBudgetBytes) {
+        this(tableModel, memoryBudgetBytes, INDEX_EXECUTOR);
+    }
+
+    LogTableSearchIndex(LogRecordTableModel tableModel, long memoryBudgetBytes, Executor indexExecutor) {
+        this.tableModel = tableModel;
+        this.index = new TrigramIndex(memoryBudgetBytes);
+        this.indexExecutor = indexExecutor;
+        tableModel.addTableModelListener(this);
+        reindexFrom(0);
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        int firstRow = e.getFirstRow();
+        if (e.getType() == TableModelEvent.INSERT && firstRow >= 0) {
+            var rows = copyRows(firstRow, e.getLastRow() + 1);
+            indexExecutor.execute(() -> index.append(firstRow, rows));
+        } else if (firstRow == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) {
+            reindexFrom(0);
+        } else {
+            reindexFrom(firstRow);
+        }
+    }
+
+    private void reindexFrom(int firstRow) {
+        int newVersion = ++version;
+        int blockStart = TrigramIndex.getBlockStart(firstRow);
+        var rows = copyRows(blockStart, tableModel.getRowCount());
+        indexExecutor.execute(() -> {
+            synchronized (index) {
+                index.truncate(blockStart);
+                indexedVersion = newVersion;
+            }
+            index.append(blockStart, rows);
+        });
+    }
+
+    private List<LogRecord> copyRows(int from, int to) {
+        var result = new ArrayList<LogRecord>(Math.max(0, to - from));
+        for (int i = from; i < to; ++i) {
+            result.add(tableModel.getRowData(i));
+        }
+        return result;
+    }
+
+    /**
+     * Prepares the lookup of the rows that may contain one of the required texts. The lookup is bound to the current
+     * rows of the table model.
+     *
+     * @param requiredTexts the alternatives of the text to look for
+     * @return the lookup that can be performed on any thread, it returns null if the index cannot help
+     */
+    public Supplier<TrigramIndex.@Nullable Candidates> prepareLookup(List<RequiredText> requiredTexts) {
+        int expectedVersion = version;
+        return () -> {
+            synchronized (index) {
+                return indexedVersion == expectedVersion ? index.findCandidates(requiredTexts) : null;
+            }
+        };
+    }
+}
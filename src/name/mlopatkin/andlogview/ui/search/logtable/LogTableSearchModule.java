@@ -21,18 +21,29 @@ import name.mlopatkin.andlogview.search.SearchModel;
 import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
 import name.mlopatkin.andlogview.ui.search.SearchPatternCompiler;
 import name.mlopatkin.andlogview.ui.search.SearchScoped;
+import name.mlopatkin.andlogview.utils.Threads;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 @Module
 public abstract class LogTableSearchModule {
+    private static final Executor SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setThreadFactory(Threads.withName("log-table-search")).setDaemon(true).build());
+
     @Provides
     @SearchScoped
     static SearchModel<LogRecord, TablePosition, RowSearchStrategy> createSearchModel(
             LogTableSearchAdapter searchAdapter) {
-        return new SearchModel<>(searchAdapter);
+        var searchModel = new SearchModel<LogRecord, TablePosition, RowSearchStrategy>(searchAdapter, SEARCH_EXECUTOR);
+        searchAdapter.addPositionsInvalidatedListener(searchModel::cancelPendingSearch);
+        return searchModel;
     }
 
     @Binds
@@ -35,8 +35,13 @@ import javax.swing.JTable;
 import javax.swing.table.TableCellRenderer;
 
 public class SearchResultsHighlightCellRenderer implements DecoratingCellRenderer {
+    // The number of searchable columns, see isSearchableColumn.
+    private static final int SEARCHABLE_COLUMNS = 3;
+    private static final int MIN_CACHE_CAPACITY = 64 * SEARCHABLE_COLUMNS;
+
     private @MonotonicNonNull TableCellRenderer inner;
     private @Nullable RowSearchStrategy strategy;
+    private final HighlightRangesCache highlightRanges = new HighlightRangesCache(MIN_CACHE_CAPACITY);
 
     @Override
     public void setInnerRenderer(TableCellRenderer renderer) {
@@ -59,19 +64,20 @@ public class SearchResultsHighlightCellRenderer implements DecoratingCellRendere
                 // searchable columns always have backing fields.
                 assert field != null;
                 String text = value.toString();
+                TooltipGenerator tooltip = null;
                 if (!UiHelper.isTextFit(c, table, row, columnIndex, text)) {
-                    TooltipGenerator tooltip = new TooltipGenerator(text);
-                    if (strategy != null) {
-                        strategy.highlightColumn(rowData, field, tooltip);
-                    }
-                    c.setToolTipText(tooltip.getTooltip());
-                } else {
-                    c.setToolTipText(null);
+                    tooltip = new TooltipGenerator(text);
                 }
                 if (strategy != null) {
+                    updateCacheCapacity(table);
                     TextHighlighter th = (TextHighlighter) c;
-                    strategy.highlightColumn(rowData, field, th);
+                    if (tooltip != null) {
+                        highlightRanges.highlight(strategy, rowData, field, tooltip, th);
+                    } else {
+                        highlightRanges.highlight(strategy, rowData, field, th);
+                    }
                 }
+                c.setToolTipText(tooltip != null ? tooltip.getTooltip() : null);
             }
         }
         return c;
@@ -82,7 +88,14 @@ public class SearchResultsHighlightCellRenderer implements DecoratingCellRendere
                 Column.APP_NAME));
     }
 
+    private void updateCacheCapacity(JTable table) {
+        // Keep the ranges of the visible rows and of a screenful of rows above and below them.
+        int visibleRows = table.getVisibleRect().height / Math.max(1, table.getRowHeight()) + 1;
+        highlightRanges.setCapacity(Math.max(MIN_CACHE_CAPACITY, 3 * visibleRows * SEARCHABLE_COLUMNS));
+    }
+
     public void setHighlightStrategy(@Nullable RowSearchStrategy strategy) {
         this.strategy = strategy;
+        highlightRanges.clear();
     }
 }
@@ -38,6 +38,10 @@ public class SearchableTableView
     @Override
     public void showSearchResult(TablePosition row) {
         int curRow = row.getViewIndex(table);
+        if (curRow < 0) {
+            // The row was hidden or removed while the search was running.
+            return;
+        }
         table.getSelectionModel().setSelectionInterval(curRow, curRow);
         table.scrollRectToVisible(table.getCellRect(curRow, 0, false));
         table.requestFocusInWindow();
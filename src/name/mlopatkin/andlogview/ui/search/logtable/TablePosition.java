@@ -30,6 +30,9 @@ public class TablePosition {
     }
 
     int getViewIndex(JTable table) {
+        if (modelIndex >= table.getModel().getRowCount()) {
+            return -1;
+        }
         return table.convertRowIndexToView(modelIndex);
     }
 
@@ -32,6 +32,10 @@ import javax.inject.Inject;
 @MainFrameScoped
 public class SearchStatusPresenter {
     private static final String MESSAGE_NOT_FOUND = "Text not found";
+    private static final String MESSAGE_NOT_FOUND_INCOMPLETE =
+            "Text not found, the pattern is too complex for some rows";
+    private static final String MESSAGE_SEARCHING = "Searching: %,d rows checked";
+    private static final String MESSAGE_MATCH_NUMBER = "Match %,d of %,d";
     @VisibleForTesting
     static final int MESSAGE_SHOW_TIMEOUT_MS = 2000;
 
@@ -55,11 +59,46 @@ public class SearchStatusPresenter {
      * Shows a message about text being not found. The text hides after some delay.
      */
     public void showNotFoundMessage() {
+        showTemporaryMessage(MESSAGE_NOT_FOUND);
+    }
+
+    /**
+     * Shows a message about text being not found, while some rows were skipped because the search pattern took too long
+     * to evaluate on them. The text hides after some delay.
+     */
+    public void showIncompleteNotFoundMessage() {
+        showTemporaryMessage(MESSAGE_NOT_FOUND_INCOMPLETE);
+    }
+
+    private void showTemporaryMessage(String message) {
         cancelPendingHideJobIfNeeded();
-        view.showSearchMessage(MESSAGE_NOT_FOUND);
+        view.showSearchMessage(message);
         pendingHideJob = timer.postDelayedTask(this::reset, MESSAGE_SHOW_TIMEOUT_MS);
     }
 
+    /**
+     * Shows the progress of the long-running search. The message stays until the search completes and some other
+     * message is shown or the status is reset.
+     *
+     * @param checkedRows the number of rows checked so far
+     */
+    public void showSearchProgress(int checkedRows) {
+        cancelPendingHideJobIfNeeded();
+        view.showSearchMessage(String.format(MESSAGE_SEARCHING, checkedRows));
+    }
+
+    /**
+     * Shows the number of the found match among all matches. The message stays until some other message is shown or
+     * the status is reset.
+     *
+     * @param matchNumber the number of the found match, counting from 1
+     * @param matchCount the total number of matches
+     */
+    public void showMatchNumber(int matchNumber, int matchCount) {
+        cancelPendingHideJobIfNeeded();
+        view.showSearchMessage(String.format(MESSAGE_MATCH_NUMBER, matchNumber, matchCount));
+    }
+
     /**
      * Hides all search status messages.
      */
@@ -22,6 +22,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.File;
+
 class CommandLineTest {
     @Test
     void canParseDefaultCommandLine() {
@@ -29,6 +31,7 @@ class CommandLineTest {
 
         assertThat(cmd.isShouldShowUsage()).isFalse();
         assertThat(cmd.getFileArgument()).isNull();
+        assertThat(cmd.getFileArguments()).isEmpty();
         assertThat(cmd.isDebug()).isFalse();
     }
 
@@ -63,6 +66,23 @@ class CommandLineTest {
         assertThat(cmd.isDebug()).isTrue();
     }
 
+    @Test
+    void canParseFollowArgument() {
+        var cmd = CommandLine.fromArgs("-f", "input.txt");
+
+        assertThat(cmd.isShouldShowUsage()).isFalse();
+        assertThat(cmd.getFileArgument()).hasName("input.txt");
+        assertThat(cmd.isFollow()).isTrue();
+    }
+
+    @Test
+    void followWithoutFileShowsHelp() {
+        var cmd = CommandLine.fromArgs("-f");
+
+        assertThat(cmd.isShouldShowUsage()).isTrue();
+        assertThat(cmd.isFollow()).isFalse();
+    }
+
     @Test
     void invalidSwitchShowsHelp() {
         var cmd = CommandLine.fromArgs("--unsupported");
@@ -73,11 +93,11 @@ class CommandLineTest {
     }
 
     @Test
-    void multipleFilesShowsHelp() {
+    void canParseMultipleFiles() {
         var cmd = CommandLine.fromArgs("file1.txt", "file2.txt");
 
-        assertThat(cmd.isShouldShowUsage()).isTrue();
-        assertThat(cmd.getFileArgument()).isNull();
+        assertThat(cmd.isShouldShowUsage()).isFalse();
+        assertThat(cmd.getFileArguments()).map(File::getName).containsExactly("file1.txt", "file2.txt");
         assertThat(cmd.isDebug()).isFalse();
     }
 }
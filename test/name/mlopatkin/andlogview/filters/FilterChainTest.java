@@ -20,17 +20,30 @@ import static name.mlopatkin.andlogview.filters.ToggleFilter.index;
 import static name.mlopatkin.andlogview.filters.ToggleFilter.show;
 import static name.mlopatkin.andlogview.test.TestData.MATCH_ALL;
 import static name.mlopatkin.andlogview.test.TestData.MATCH_FIRST;
+import static name.mlopatkin.andlogview.test.TestData.MATCH_NONE;
 import static name.mlopatkin.andlogview.test.TestData.RECORD1;
 import static name.mlopatkin.andlogview.test.TestData.RECORD2;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+
+import com.google.common.collect.ImmutableSet;
+
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
 public class FilterChainTest {
     private final MutableFilterModel model = MutableFilterModel.create();
     private final FilterChain chain = new FilterChain(model);
@@ -97,6 +110,167 @@ public class FilterChainTest {
         assertTrue(chain.shouldShow(RECORD2));
     }
 
+    @Test
+    public void snapshotIsNotAffectedByLaterChanges() throws Exception {
+        model.addFilter(hide(MATCH_FIRST));
+        var snapshot = chain.snapshot();
+        model.addFilter(show(MATCH_ALL));
+        model.addFilter(hide(MATCH_ALL));
+
+        assertFalse(snapshot.test(RECORD1));
+        assertTrue(snapshot.test(RECORD2));
+    }
+
+    @Test
+    public void hidingFiltersAreTheHideFiltersThatMatch() throws Exception {
+        var hideFirst = hide(MATCH_FIRST);
+        var hideAll = hide(MATCH_ALL);
+        model.addFilter(hideFirst);
+        model.addFilter(hideAll);
+        model.addFilter(show(MATCH_ALL));
+
+        var hidingFilters = chain.snapshotHidingFilters();
+
+        assertEquals(List.of(hideFirst, hideAll), hidingFilters.apply(RECORD1));
+        assertEquals(List.of(hideAll), hidingFilters.apply(RECORD2));
+    }
+
+    @Test
+    public void hidingFiltersAreAllShowFiltersIfNoneMatches() throws Exception {
+        var showFirst = show(MATCH_FIRST);
+        var showNone = show(MATCH_NONE);
+        model.addFilter(showFirst);
+        model.addFilter(showNone);
+
+        var hidingFilters = chain.snapshotHidingFilters();
+
+        assertEquals(List.of(), hidingFilters.apply(RECORD1));
+        assertEquals(List.of(showFirst, showNone), hidingFilters.apply(RECORD2));
+    }
+
+    @Test
+    public void hidingFiltersSnapshotIsNotAffectedByLaterChanges() throws Exception {
+        var hideFirst = hide(MATCH_FIRST);
+        model.addFilter(hideFirst);
+        var hidingFilters = chain.snapshotHidingFilters();
+        model.removeFilter(hideFirst);
+        model.addFilter(hide(MATCH_ALL));
+
+        assertEquals(List.of(hideFirst), hidingFilters.apply(RECORD1));
+        assertEquals(List.of(), hidingFilters.apply(RECORD2));
+    }
+
+    @Test
+    public void verdictIsCachedIfFiltersDoNotInspectMessage() throws Exception {
+        var evaluations = new AtomicInteger();
+        model.addFilter(new FieldsFilter(countingMatchFirst(evaluations), ImmutableSet.of(Field.TAG)));
+
+        assertFalse(chain.shouldShow(RECORD1));
+        assertFalse(chain.shouldShow(RECORD1.withMessage("Other message")));
+        assertFalse(chain.snapshot().test(RECORD1));
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void verdictIsNotCachedIfFiltersInspectMessage() throws Exception {
+        var evaluations = new AtomicInteger();
+        model.addFilter(new FieldsFilter(countingMatchFirst(evaluations), ImmutableSet.of(Field.TAG)));
+        model.addFilter(show(MATCH_ALL));
+
+        assertFalse(chain.shouldShow(RECORD1));
+        assertFalse(chain.shouldShow(RECORD1.withMessage("Other message")));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void cachedVerdictIsDiscardedWhenFiltersChange() throws Exception {
+        var filter = new FieldsFilter(MATCH_FIRST, ImmutableSet.of(Field.TAG));
+        model.addFilter(filter);
+        assertFalse(chain.shouldShow(RECORD1));
+
+        model.removeFilter(filter);
+
+        assertTrue(chain.shouldShow(RECORD1));
+    }
+
+    @Test
+    public void filtersWithAbsentKeywordsAreNotEvaluated() throws Exception {
+        var evaluations = new AtomicInteger();
+        model.addFilter(new KeywordFilter("Calling", countingMatchFirst(evaluations)));
+        model.addFilter(new KeywordFilter("absent", countingMatchFirst(evaluations)));
+
+        assertFalse(chain.shouldShow(RECORD1));
+        assertTrue(chain.shouldShow(RECORD2));
+        assertTrue(chain.snapshot().test(RECORD1.withMessage("Other message")));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void chainsOfGroupEvaluateSharedFiltersOnce() throws Exception {
+        var evaluations = new AtomicInteger();
+        var sharedFilter = hide(countingMatchFirst(evaluations));
+        var otherModel = MutableFilterModel.create();
+        model.addFilter(sharedFilter);
+        otherModel.addFilter(sharedFilter);
+        otherModel.addFilter(show(MATCH_ALL));
+
+        var group = new FilterChainGroup();
+        try (var first = new FilterChain(model, group); var second = new FilterChain(otherModel, group)) {
+            assertFalse(first.shouldShow(RECORD1));
+            assertFalse(second.snapshot().test(RECORD1));
+            assertTrue(second.shouldShow(RECORD2));
+            assertTrue(first.shouldShow(RECORD2));
+        }
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void chainsOfGroupFollowTheirOwnFilters() throws Exception {
+        var otherModel = MutableFilterModel.create();
+        var group = new FilterChainGroup();
+        try (var first = new FilterChain(model, group); var second = new FilterChain(otherModel, group)) {
+            assertTrue(first.shouldShow(RECORD1));
+
+            otherModel.addFilter(hide(MATCH_FIRST));
+            assertTrue(first.shouldShow(RECORD1));
+            assertFalse(second.shouldShow(RECORD1));
+
+            model.addFilter(hide(MATCH_ALL));
+            assertFalse(first.shouldShow(RECORD2));
+            assertTrue(second.shouldShow(RECORD2));
+        }
+    }
+
+    @Test
+    public void rowsFilterReusesMatchesOfUnchangedFilters() throws Exception {
+        var evaluations = new AtomicInteger();
+        var matchCache = new FilterMatchCache(1 << 20);
+        model.addFilter(hide(countingMatchFirst(evaluations)));
+
+        assertArrayEquals(new int[] {1}, filterRows(matchCache, RECORD1, RECORD2));
+
+        model.addFilter(show(MATCH_ALL));
+        assertArrayEquals(new int[] {1, 3}, filterRows(matchCache, RECORD1, RECORD2, RECORD1, RECORD2));
+        assertEquals(4, evaluations.get());
+    }
+
+    @Test
+    public void statisticsCountEvaluationsOfFilters() throws Exception {
+        var statistics = new FilterStatistics();
+        var filter = hide(MATCH_FIRST);
+        model.addFilter(filter);
+
+        try (var countingChain = new FilterChain(model, new FilterChainGroup(statistics))) {
+            assertFalse(countingChain.shouldShow(RECORD1));
+            assertTrue(countingChain.shouldShow(RECORD2));
+        }
+
+        var stats = statistics.getStats(filter);
+        assertEquals(2, stats.evaluations());
+        assertEquals(1, stats.matches());
+        assertEquals(stats, statistics.getStats(filter.disabled()));
+    }
+
     @Test
     public void doesNotifyWhenShowFilterAdded() {
         FilterChain.Observer obs = mock();
@@ -123,4 +297,52 @@ public class FilterChainTest {
 
         verify(obs, never()).onFiltersChanged();
     }
+
+    private int[] filterRows(FilterMatchCache matchCache, LogRecord... rows) {
+        return chain.snapshotRowsFilter(matchCache).filterRows(List.of(rows), () -> false);
+    }
+
+    private static Predicate<LogRecord> countingMatchFirst(AtomicInteger evaluations) {
+        return record -> {
+            evaluations.incrementAndGet();
+            return MATCH_FIRST.test(record);
+        };
+    }
+
+    private static class FieldsFilter extends ToggleFilter {
+        private final Set<Field<?>> inspectedFields;
+
+        FieldsFilter(Predicate<? super LogRecord> predicate, Set<Field<?>> inspectedFields) {
+            super(FilteringMode.HIDE, true, predicate);
+            this.inspectedFields = inspectedFields;
+        }
+
+        @Override
+        public Set<Field<?>> getInspectedFields() {
+            return inspectedFields;
+        }
+    }
+
+    private static class KeywordFilter extends ToggleFilter {
+        private final String keyword;
+        private final Predicate<? super LogRecord> otherConditions;
+
+        KeywordFilter(String keyword, Predicate<? super LogRecord> otherConditions) {
+            super(FilteringMode.HIDE, true, record -> {
+                throw new AssertionError("The chain must look for the keyword itself");
+            });
+            this.keyword = keyword;
+            this.otherConditions = otherConditions;
+        }
+
+        @Override
+        public String getMessageKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public boolean testWithoutKeyword(LogRecord record) {
+            return otherConditions.test(record);
+        }
+    }
 }
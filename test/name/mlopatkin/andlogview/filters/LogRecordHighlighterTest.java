@@ -54,6 +54,21 @@ public class LogRecordHighlighterTest {
         assertNull(highlighter.getColor(RECORD2));
     }
 
+    @Test
+    public void statisticsCountEvaluationsOfFilters() throws Exception {
+        var statistics = new FilterStatistics();
+        model.addFilter(MATCH_FIRST_COLOR1);
+
+        try (var countingHighlighter = new LogRecordHighlighter(model, statistics)) {
+            assertEquals(COLOR1, countingHighlighter.getColor(RECORD1));
+            assertNull(countingHighlighter.getColor(RECORD2));
+        }
+
+        var stats = statistics.getStats(MATCH_FIRST_COLOR1);
+        assertEquals(2, stats.evaluations());
+        assertEquals(1, stats.matches());
+    }
+
     @Test
     public void testSimpleColor() throws Exception {
         model.addFilter(MATCH_FIRST_COLOR1);
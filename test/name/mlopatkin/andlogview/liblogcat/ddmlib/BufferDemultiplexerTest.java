@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.ddmlib;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecord.Buffer;
+import name.mlopatkin.andlogview.parsers.ParserControl;
+import name.mlopatkin.andlogview.parsers.ParserUtils;
+import name.mlopatkin.andlogview.parsers.logcat.CollectingHandler;
+import name.mlopatkin.andlogview.parsers.logcat.LogcatParsers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class BufferDemultiplexerTest {
+    private final List<LogRecord> records = new ArrayList<>();
+
+    @Test
+    void recordsAreAttributedToBuffers() {
+        parse("""
+                --------- beginning of main
+                [ 01-02 03:04:05.678  1234: 4321 I/Tag ]
+                main 1
+
+                --------- beginning of system
+                [ 01-02 03:04:05.679  1234: 4321 I/Tag ]
+                system 1
+
+                --------- switch to main
+                [ 01-02 03:04:05.680  1234: 4321 I/Tag ]
+                main 2
+
+                """);
+
+        assertThat(records).extracting(LogRecord::getMessage).containsExactly("main 1", "system 1", "main 2");
+        assertThat(records).extracting(LogRecord::getBuffer).containsExactly(Buffer.MAIN, Buffer.SYSTEM, Buffer.MAIN);
+    }
+
+    @Test
+    void sequenceNumbersArePerBuffer() {
+        parse("""
+                --------- beginning of main
+                [ 01-02 03:04:05.678  1234: 4321 I/Tag ]
+                main 1
+
+                --------- beginning of system
+                [ 01-02 03:04:05.679  1234: 4321 I/Tag ]
+                system 1
+
+                --------- switch to main
+                [ 01-02 03:04:05.680  1234: 4321 I/Tag ]
+                main 2
+
+                """);
+
+        var systemRecord = records.get(1);
+        var secondMainRecord = records.get(2);
+        assertThat(systemRecord.getSeqNo()).isEqualTo(systemRecord.withSequenceNumber(1).getSeqNo());
+        assertThat(secondMainRecord.getSeqNo()).isEqualTo(secondMainRecord.withSequenceNumber(2).getSeqNo());
+    }
+
+    @Test
+    void recordsOfUnknownBuffersAreDropped() {
+        parse("""
+                [ 01-02 03:04:05.677  1234: 4321 I/Tag ]
+                before any buffer
+
+                --------- beginning of security
+                [ 01-02 03:04:05.678  1234: 4321 I/Tag ]
+                security
+
+                --------- switch to /dev/log/main
+                [ 01-02 03:04:05.679  1234: 4321 I/Tag ]
+                main
+
+                """);
+
+        assertThat(records).extracting(LogRecord::getMessage).containsExactly("main");
+    }
+
+    private void parse(String log) {
+        try (var parser = LogcatParsers.logcatLong(new BufferDemultiplexer(this::createHandler))) {
+            ParserUtils.readInto(parser, log.lines());
+        }
+    }
+
+    private CollectingHandler createHandler(Buffer buffer) {
+        return new CollectingHandler(buffer) {
+            @Override
+            protected ParserControl logRecord(LogRecord record) {
+                records.add(record);
+                return ParserControl.proceed();
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+class LogFileFollowerTest {
+    @TempDir
+    Path tempDir;
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    void appendedLinesAreConsumed() throws Exception {
+        var file = createFile("first\n");
+        try (var follower = new LogFileFollower(file, file.length(), lines::add)) {
+            append(file, "second\nthird\n");
+            follower.poll();
+
+            assertThat(lines).containsExactly("second", "third");
+        }
+    }
+
+    @Test
+    void incompleteLineIsConsumedWhenCompleted() throws Exception {
+        var file = createFile("");
+        try (var follower = new LogFileFollower(file, 0, lines::add)) {
+            append(file, "sec");
+            follower.poll();
+            assertThat(lines).isEmpty();
+
+            append(file, "ond\r\n");
+            follower.poll();
+            assertThat(lines).containsExactly("second");
+        }
+    }
+
+    @Test
+    void truncatedFileIsReadFromStart() throws Exception {
+        var file = createFile("first line\nsecond line\n");
+        try (var follower = new LogFileFollower(file, file.length(), lines::add)) {
+            Files.writeString(file.toPath(), "new\n", StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING);
+            follower.poll();
+
+            assertThat(lines).containsExactly("new");
+        }
+    }
+
+    @Test
+    void lastLineEndSkipsIncompleteLine() throws Exception {
+        var file = createFile("first\nseco");
+
+        assertThat(LogFileFollower.findLastLineEnd(file)).isEqualTo("first\n".length());
+    }
+
+    private File createFile(String content) throws IOException {
+        var path = tempDir.resolve("logcat.log");
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path.toFile();
+    }
+
+    private static void append(File file, String content) throws IOException {
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+}
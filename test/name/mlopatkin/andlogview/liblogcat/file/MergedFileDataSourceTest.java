@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.liblogcat.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.logmodel.DataSource;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.RecordListener;
+import name.mlopatkin.andlogview.logmodel.SourceMetadataItem;
+
+import com.google.common.io.CharSource;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+class MergedFileDataSourceTest {
+    private static final File FIRST = new File("first.log");
+    private static final File SECOND = new File("second.log");
+
+    @Test
+    void recordsAreMergedByTimestamp() throws Exception {
+        var merged = MergedFileDataSource.merge(List.of(FIRST, SECOND), List.of(
+                importLog(FIRST,
+                        "07-19 13:29:22.100   380   530 I First   : one",
+                        "07-19 13:29:22.300   380   530 I First   : three"),
+                importLog(SECOND,
+                        "07-19 13:29:22.200   400   410 I Second  : two",
+                        "07-19 13:29:22.400   400   410 I Second  : four")));
+
+        assertThat(getRecords(merged)).map(LogRecord::getMessage).containsExactly("one", "two", "three", "four");
+        assertThat(merged.getRecordOrigin(0)).isEqualTo(FIRST);
+        assertThat(merged.getRecordOrigin(1)).isEqualTo(SECOND);
+        assertThat(merged.getRecordOrigin(2)).isEqualTo(FIRST);
+        assertThat(merged.getRecordOrigin(3)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void recordsWithSameTimestampKeepFileOrder() throws Exception {
+        var merged = MergedFileDataSource.merge(List.of(FIRST, SECOND), List.of(
+                importLog(FIRST,
+                        "07-19 13:29:22.100   380   530 I First   : one",
+                        "07-19 13:29:22.100   380   530 I First   : two"),
+                importLog(SECOND,
+                        "07-19 13:29:22.100   400   410 I Second  : three")));
+
+        assertThat(getRecords(merged)).map(LogRecord::getMessage).containsExactly("one", "two", "three");
+    }
+
+    @Test
+    void metadataContainsAllFiles() throws Exception {
+        var merged = MergedFileDataSource.merge(List.of(FIRST, SECOND), List.of(
+                importLog(FIRST, "07-19 13:29:22.100   380   530 I First   : one"),
+                importLog(SECOND, "07-19 13:29:22.200   400   410 I Second  : two")));
+
+        assertThat(merged.getMetadata().getMetadataItems())
+                .filteredOn(item -> "name".equals(item.getDisplayName()))
+                .map(SourceMetadataItem::getValue)
+                .containsExactly("first.log", "second.log");
+    }
+
+    private static DataSource importLog(File file, String... lines) throws Exception {
+        return FileDataSourceFactory.createDataSource(file, CharSource.wrap(String.join("\n", lines)))
+                .getDataSource();
+    }
+
+    private static List<LogRecord> getRecords(DataSource dataSource) {
+        var records = new ArrayList<LogRecord>();
+        dataSource.setLogRecordListener(new RecordListener<>() {
+            @Override
+            public void addRecord(LogRecord record) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void setRecords(List<LogRecord> newRecords) {
+                records.clear();
+                records.addAll(newRecords);
+            }
+        });
+        return records;
+    }
+}
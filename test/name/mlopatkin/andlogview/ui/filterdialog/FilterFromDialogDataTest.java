@@ -20,10 +20,13 @@ package name.mlopatkin.andlogview.ui.filterdialog;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import name.mlopatkin.andlogview.filters.FilterChain;
 import name.mlopatkin.andlogview.filters.FilteringMode;
+import name.mlopatkin.andlogview.filters.MutableFilterModel;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
 import name.mlopatkin.andlogview.search.RequestCompilationException;
@@ -217,6 +220,51 @@ public class FilterFromDialogDataTest {
         assertFalse(filter.test(record3));
     }
 
+    @Test
+    public void testTag_manyPlainTagsIgnoreCase() throws Exception {
+        data.setTags(Arrays.asList("Tag1", "TAG2", "tag3", "tag1"));
+        var filter = compileFilter();
+
+        assertTrue(filter.test(LogRecordUtils.forTag("tag1")));
+        assertTrue(filter.test(LogRecordUtils.forTag("Tag2")));
+        assertTrue(filter.test(LogRecordUtils.forTag("TAG3")));
+        assertFalse(filter.test(LogRecordUtils.forTag("tag4")));
+        assertFalse(filter.test(LogRecordUtils.forTag("tag")));
+    }
+
+    @Test
+    public void testTag_plainAndRegexTagsAreCombined() throws Exception {
+        data.setTags(Arrays.asList("Exact", "/^Prefix/", "/Inside/"));
+        var filter = compileFilter();
+
+        assertTrue(filter.test(LogRecordUtils.forTag("EXACT")));
+        assertTrue(filter.test(LogRecordUtils.forTag("prefixAndMore")));
+        assertTrue(filter.test(LogRecordUtils.forTag("ThisIsINSIDEtheTag")));
+        assertFalse(filter.test(LogRecordUtils.forTag("ExactAndMore")));
+        assertFalse(filter.test(LogRecordUtils.forTag("NoPrefix")));
+    }
+
+    @Test
+    public void testPids_Multiple() throws Exception {
+        data.setPids(Arrays.asList(30, 10, 20));
+        var filter = compileFilter();
+
+        assertTrue(filter.test(LogRecordUtils.forPid(10)));
+        assertTrue(filter.test(LogRecordUtils.forPid(20)));
+        assertTrue(filter.test(LogRecordUtils.forPid(30)));
+        assertFalse(filter.test(LogRecordUtils.forPid(15)));
+    }
+
+    @Test
+    public void testPriority_matchesMoreSevere() throws Exception {
+        data.setPriority(LogRecord.Priority.WARN);
+        var filter = compileFilter();
+
+        assertFalse(filter.test(LogRecordUtils.forPriority(LogRecord.Priority.INFO)));
+        assertTrue(filter.test(LogRecordUtils.forPriority(LogRecord.Priority.WARN)));
+        assertTrue(filter.test(LogRecordUtils.forPriority(LogRecord.Priority.ERROR)));
+    }
+
     @Test
     public void testMessage_MatchesSubstringCaseInsensitive() throws Exception {
         LogRecord record1 = LogRecordUtils.forMessage("test is good");
@@ -249,6 +297,41 @@ public class FilterFromDialogDataTest {
         assertFalse(filter.test(recordNo));
     }
 
+    @Test
+    public void testMessage_plainPatternIsKeyword() throws Exception {
+        data.setTags(Collections.singletonList("TAG1"));
+        data.setMessagePattern("Test");
+        var filter = new FilterFromDialogImpl(true, data);
+
+        assertEquals("Test", filter.getMessageKeyword());
+        assertTrue(filter.testWithoutKeyword(LogRecordUtils.forTag("TAG1")));
+        assertFalse(filter.testWithoutKeyword(LogRecordUtils.forTag("TAG2")));
+    }
+
+    @Test
+    public void testMessage_regexPatternIsNotKeyword() throws Exception {
+        data.setMessagePattern("/t[e]st/");
+        var filter = new FilterFromDialogImpl(true, data);
+
+        assertNull(filter.getMessageKeyword());
+        assertFalse(filter.testWithoutKeyword(LogRecordUtils.forMessage("Test")));
+    }
+
+    @Test
+    public void testMessage_abortedRegexEvaluationsDoNotUnhideMatchingRecords() throws Exception {
+        String catastrophicMessage = "a".repeat(40);
+        data.setMessagePattern("/(.*a){12}b/");
+        var filter = data.toFilter();
+        var chain = new FilterChain(MutableFilterModel.create(List.of(filter)));
+
+        for (int i = 0; i < 20; ++i) {
+            assertTrue(chain.shouldShow(LogRecordUtils.forMessage(catastrophicMessage)));
+        }
+
+        assertEquals(20, filter.getAbortedRegexEvaluations());
+        assertFalse(chain.shouldShow(LogRecordUtils.forMessage(catastrophicMessage + "b")));
+    }
+
     @Test
     public void testAppNamesRegexMatchThrowsAppropriateExceptions() throws Exception {
         assertInitializeThrowsExceptionWithRequestValue(
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.filters.Filter;
+import name.mlopatkin.andlogview.filters.FilteringMode;
+import name.mlopatkin.andlogview.liblogcat.ddmlib.LogcatFilterSpec;
+import name.mlopatkin.andlogview.logmodel.LogRecord.Priority;
+import name.mlopatkin.andlogview.ui.filterdialog.FilterFromDialogData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class DeviceFilterSpecCompilerTest {
+    @Test
+    void noFiltersProduceUnfilteredSpec() {
+        assertThat(DeviceFilterSpecCompiler.compile(List.of())).isEqualTo(LogcatFilterSpec.ALL);
+    }
+
+    @Test
+    void showFilterWithTagsSilencesOtherTags() throws Exception {
+        var spec = compile(show().setTags(List.of("1000", "1001")).setPriority(Priority.INFO));
+
+        assertThat(spec.toArguments(true)).containsExactly("1000:I", "1001:I", "*:S");
+    }
+
+    @Test
+    void tagsWithLettersAreNotPushedDown() throws Exception {
+        var spec = compile(
+                show().setTags(List.of("activitymanager")).setPriority(Priority.INFO),
+                show().setTags(List.of("1000")).setPriority(Priority.VERBOSE));
+
+        assertThat(spec.toArguments(true)).containsExactly("1000:V", "*:I");
+    }
+
+    @Test
+    void showFiltersAreUnited() throws Exception {
+        var spec = compile(
+                show().setTags(List.of("1000")).setPriority(Priority.DEBUG),
+                show().setPriority(Priority.WARN));
+
+        assertThat(spec.toArguments(true)).containsExactly("1000:D", "*:W");
+    }
+
+    @Test
+    void singlePidIsPushedDownOnlyIfSupported() throws Exception {
+        var spec = compile(show().setPids(List.of(42)));
+
+        assertThat(spec.toArguments(true)).containsExactly("--pid=42");
+        assertThat(spec.toArguments(false)).isEmpty();
+    }
+
+    @Test
+    void appsPreventPidPushDown() throws Exception {
+        var spec = compile(show().setPids(List.of(42)).setApps(List.of("com.example")));
+
+        assertThat(spec.toArguments(true)).isEmpty();
+    }
+
+    @Test
+    void regexTagsAreNotPushedDown() throws Exception {
+        var spec = compile(show().setTags(List.of("/Activity.*/")));
+
+        assertThat(spec).isEqualTo(LogcatFilterSpec.ALL);
+    }
+
+    @Test
+    void tagOnlyHideFiltersSilenceTags() throws Exception {
+        var spec = compile(hide().setTags(List.of("chatty")), hide().setTags(List.of("Other")).setMessagePattern("x"));
+
+        assertThat(spec.toArguments(true)).containsExactly("chatty:S", "*:V");
+    }
+
+    @Test
+    void filtersAfterIndexWindowAreIgnored() throws Exception {
+        var spec = compile(
+                new FilterFromDialogData(FilteringMode.WINDOW).setTags(List.of("Window")),
+                show().setTags(List.of("Tag")));
+
+        assertThat(spec).isEqualTo(LogcatFilterSpec.ALL);
+    }
+
+    @Test
+    void disabledFiltersAreIgnored() throws Exception {
+        var spec = DeviceFilterSpecCompiler.compile(List.of(show().setTags(List.of("Tag")).toFilter(false)));
+
+        assertThat(spec).isEqualTo(LogcatFilterSpec.ALL);
+    }
+
+    private static FilterFromDialogData show() {
+        return new FilterFromDialogData(FilteringMode.SHOW);
+    }
+
+    private static FilterFromDialogData hide() {
+        return new FilterFromDialogData(FilteringMode.HIDE);
+    }
+
+    private static LogcatFilterSpec compile(FilterFromDialogData... data) throws Exception {
+        var filters = new ArrayList<Filter>();
+        for (var d : data) {
+            filters.add(d.toFilter());
+        }
+        return DeviceFilterSpecCompiler.compile(filters);
+    }
+}
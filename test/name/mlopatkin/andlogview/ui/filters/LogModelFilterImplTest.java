@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import name.mlopatkin.andlogview.filters.ColoringToggleFilter;
 import name.mlopatkin.andlogview.filters.Filter;
 import name.mlopatkin.andlogview.filters.FilterModel;
+import name.mlopatkin.andlogview.filters.MutableFilterModel;
 import name.mlopatkin.andlogview.logmodel.LogRecord;
 import name.mlopatkin.andlogview.logmodel.LogRecordPredicates;
 import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
@@ -34,6 +35,7 @@ import org.junit.jupiter.api.Test;
 
 import java.awt.Color;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 class LogModelFilterImplTest {
@@ -95,6 +97,22 @@ class LogModelFilterImplTest {
         assertThat(filter.getHighlightColor(recordWithTag("PackageManager"))).isNull();
     }
 
+    @Test
+    void highlightingObserversAreNotNotifiedAboutShowFilterChanges() {
+        var model = MutableFilterModel.create();
+        var filter = create(model);
+        var notifications = new AtomicInteger();
+        filter.asHighlightingObservable().addObserver(notifications::incrementAndGet);
+
+        model.addFilter(show(matchesTag("ActivityManager")));
+
+        assertThat(notifications).hasValue(0);
+
+        model.addFilter(color(Color.BLACK, matchesTag("ActivityManager")));
+
+        assertThat(notifications).hasValue(1);
+    }
+
     private Filter color(Color color, Predicate<? super LogRecord> predicate) {
         return new ColoringToggleFilter(color, true, predicate);
     }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.logtable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.base.concurrent.TestExecutor;
+import name.mlopatkin.andlogview.filters.RowsFilter;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
+import name.mlopatkin.andlogview.logmodel.MutableLogModel;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import javax.swing.JTable;
+
+class FilteringRowSorterTest {
+    private static final int BIG_MODEL_SIZE = FilteringRowSorter.MAX_SYNC_REBUILD_ROWS + 1;
+
+    private final MutableLogModel logModel = new MutableLogModel();
+    private final LogRecordTableModel tableModel = new LogRecordTableModel();
+    private final TestExecutor backgroundExecutor = new TestExecutor();
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private Predicate<LogRecord> filter = record -> true;
+    private @Nullable RowsFilter rowsFilter;
+
+    @Test
+    void initialRowsAreFiltered() {
+        logModel.append(values(0, 1, 2, 3, 4));
+        filter = isEven();
+
+        var table = createTable();
+
+        assertThat(visibleRows(table)).containsExactly(0, 2, 4);
+    }
+
+    @Test
+    void onlyAppendedRowsAreEvaluated() {
+        filter = isEven();
+        logModel.append(values(0, 1, 2));
+        var table = createTable();
+        evaluations.set(0);
+
+        logModel.append(values(3, 4));
+
+        assertThat(visibleRows(table)).containsExactly(0, 2, 4);
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    void rowsInsertedInTheMiddleAreFiltered() {
+        filter = isEven();
+        logModel.append(values(0, 1, 4, 5));
+        var table = createTable();
+
+        logModel.insert(2, values(2, 3));
+
+        assertThat(visibleRows(table)).containsExactly(0, 2, 4);
+    }
+
+    @Test
+    void deletedRowsAreRemoved() throws Exception {
+        logModel.append(values(0, 1, 2, 3));
+        var table = createTable();
+
+        EventQueue.invokeAndWait(logModel::clear);
+
+        assertThat(table.getRowCount()).isZero();
+    }
+
+    @Test
+    void smallModelIsRefilteredImmediately() {
+        logModel.append(values(0, 1, 2, 3));
+        var table = createTable();
+        var completed = new AtomicInteger();
+
+        filter = isEven();
+        sorter(table).refilter(completed::incrementAndGet);
+
+        assertThat(visibleRows(table)).containsExactly(0, 2);
+        assertThat(completed).hasValue(1);
+        assertThat(backgroundExecutor.flush()).isFalse();
+    }
+
+    @Test
+    void bigModelIsRefilteredInBackground() {
+        logModel.append(range(0, BIG_MODEL_SIZE));
+        var table = createTable();
+        var completed = new AtomicInteger();
+
+        filter = isEven();
+        sorter(table).refilter(completed::incrementAndGet);
+
+        assertThat(table.getRowCount()).isEqualTo(BIG_MODEL_SIZE);
+        assertThat(completed).hasValue(0);
+
+        backgroundExecutor.flush();
+
+        assertThat(table.getRowCount()).isEqualTo(evenCount(BIG_MODEL_SIZE));
+        assertThat(completed).hasValue(1);
+    }
+
+    @Test
+    void chunksOfBigModelAreMergedInOrder() {
+        int size = 2 * FilteringRowSorter.CHUNK_SIZE + 1;
+        logModel.append(range(0, size));
+        var table = createTable();
+
+        filter = isEven();
+        sorter(table).refilter(() -> {});
+        backgroundExecutor.flush();
+
+        assertThat(table.getRowCount()).isEqualTo(evenCount(size));
+        assertThat(visibleRows(table)).isSorted();
+        assertThat(table.convertRowIndexToModel(table.getRowCount() - 1)).isEqualTo(size - 1);
+    }
+
+    @Test
+    void bigModelIsRefilteredWithRowsFilterIfAvailable() {
+        logModel.append(range(0, BIG_MODEL_SIZE));
+        var table = createTable();
+        evaluations.set(0);
+
+        rowsFilter = (rows, isCancelled) -> IntStream.range(0, rows.size()).filter(i -> i % 3 == 0).toArray();
+        sorter(table).refilter(() -> {});
+        backgroundExecutor.flush();
+
+        assertThat(table.getRowCount()).isEqualTo((BIG_MODEL_SIZE + 2) / 3);
+        assertThat(table.convertRowIndexToModel(1)).isEqualTo(3);
+        assertThat(evaluations).hasValue(0);
+    }
+
+    @Test
+    void rowsAppendedDuringRefilterAreKept() {
+        logModel.append(range(0, BIG_MODEL_SIZE));
+        var table = createTable();
+
+        filter = isEven();
+        sorter(table).refilter(() -> {});
+        logModel.append(values(BIG_MODEL_SIZE, BIG_MODEL_SIZE + 1));
+        backgroundExecutor.flush();
+
+        assertThat(table.getRowCount()).isEqualTo(evenCount(BIG_MODEL_SIZE + 2));
+        assertThat(table.convertRowIndexToModel(table.getRowCount() - 1)).isEqualTo(BIG_MODEL_SIZE + 1);
+    }
+
+    @Test
+    void rowsInsertedDuringRefilterAreKept() {
+        logModel.append(range(0, BIG_MODEL_SIZE));
+        var table = createTable();
+
+        filter = isEven();
+        sorter(table).refilter(() -> {});
+        logModel.insert(1, values(-2));
+        backgroundExecutor.flush();
+
+        assertThat(table.getRowCount()).isEqualTo(evenCount(BIG_MODEL_SIZE) + 1);
+        assertThat(visibleRows(table)).startsWith(0, -2, 2, 4);
+    }
+
+    @Test
+    void supersededRefilterIsDropped() {
+        logModel.append(range(0, BIG_MODEL_SIZE));
+        var table = createTable();
+        var firstCompleted = new AtomicInteger();
+        var secondCompleted = new AtomicInteger();
+
+        filter = isEven();
+        sorter(table).refilter(firstCompleted::incrementAndGet);
+        filter = record -> false;
+        sorter(table).refilter(secondCompleted::incrementAndGet);
+        backgroundExecutor.flush();
+
+        assertThat(table.getRowCount()).isZero();
+        assertThat(firstCompleted).hasValue(0);
+        assertThat(secondCompleted).hasValue(1);
+    }
+
+    @Test
+    void selectionIsPreservedAfterRefilter() {
+        logModel.append(values(0, 1, 2, 3, 4));
+        var table = createTable();
+        table.setRowSelectionInterval(4, 4);
+
+        filter = isEven();
+        sorter(table).refilter(() -> {});
+
+        assertThat(table.getSelectedRow()).isEqualTo(2);
+        assertThat(table.convertRowIndexToModel(table.getSelectedRow())).isEqualTo(4);
+    }
+
+    @Test
+    void convertsModelIndicesOfHiddenRows() {
+        filter = isEven();
+        logModel.append(values(0, 1, 2));
+        var table = createTable();
+
+        assertThat(table.convertRowIndexToView(1)).isEqualTo(-1);
+        assertThat(table.convertRowIndexToView(2)).isEqualTo(1);
+    }
+
+    @Test
+    void viewToModelSnapshotIsKeptUntilIndexChanges() {
+        filter = isEven();
+        logModel.append(values(0, 1, 2, 3));
+        var table = createTable();
+
+        var snapshot = sorter(table).snapshotViewToModel();
+        assertThat(snapshot).containsExactly(0, 2);
+        assertThat(sorter(table).snapshotViewToModel()).isSameAs(snapshot);
+
+        logModel.append(values(4));
+
+        assertThat(snapshot).containsExactly(0, 2);
+        assertThat(sorter(table).snapshotViewToModel()).containsExactly(0, 2, 4);
+    }
+
+    @Test
+    void viewToModelSnapshotCanStartFromModelRow() {
+        filter = isEven();
+        logModel.append(values(0, 1, 2, 3, 4));
+        var table = createTable();
+
+        assertThat(sorter(table).snapshotViewToModel(1)).containsExactly(2, 4);
+        assertThat(sorter(table).snapshotViewToModel(5)).isEmpty();
+    }
+
+    private JTable createTable() {
+        tableModel.setLogModel(logModel);
+        var table = new JTable(tableModel);
+        table.setRowSorter(new FilteringRowSorter(tableModel, () -> record -> {
+            evaluations.incrementAndGet();
+            return filter.test(record);
+        }, () -> rowsFilter, backgroundExecutor, MoreExecutors.directExecutor()));
+        return table;
+    }
+
+    private static FilteringRowSorter sorter(JTable table) {
+        return (FilteringRowSorter) table.getRowSorter();
+    }
+
+    private List<Integer> visibleRows(JTable table) {
+        var result = new ArrayList<Integer>();
+        for (int i = 0; i < table.getRowCount(); ++i) {
+            result.add(value(tableModel.getRowData(table.convertRowIndexToModel(i))));
+        }
+        return result;
+    }
+
+    private static Predicate<LogRecord> isEven() {
+        return record -> value(record) % 2 == 0;
+    }
+
+    private static int evenCount(int size) {
+        return (size + 1) / 2;
+    }
+
+    private static int value(LogRecord record) {
+        return Integer.parseInt(record.getMessage());
+    }
+
+    private static LogRecord[] values(int... values) {
+        return Arrays.stream(values).mapToObj(FilteringRowSorterTest::forValue).toArray(LogRecord[]::new);
+    }
+
+    private static List<LogRecord> range(int from, int to) {
+        return IntStream.range(from, to).mapToObj(FilteringRowSorterTest::forValue).toList();
+    }
+
+    private static LogRecord forValue(int value) {
+        return LogRecordUtils.forMessage(String.valueOf(value));
+    }
+}
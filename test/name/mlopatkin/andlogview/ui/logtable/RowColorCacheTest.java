@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.logtable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
+import name.mlopatkin.andlogview.logmodel.StaticLogModel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JTable;
+
+class RowColorCacheTest {
+    private static final int MODEL_SIZE = 10;
+    private static final int VISIBLE_ROWS = 3;
+
+    private final LogModelFilter colorer = mock();
+    private final LogRecordTableModel tableModel = new LogRecordTableModel();
+    private final RowColorCache cache = new RowColorCache(tableModel, colorer);
+    private final JTable table = new JTable(tableModel);
+
+    @BeforeEach
+    void setUp() {
+        List<LogRecord> records = new ArrayList<>();
+        for (int i = 0; i < MODEL_SIZE; ++i) {
+            records.add(LogRecordUtils.forMessage(String.valueOf(i)));
+        }
+        tableModel.setLogModel(new StaticLogModel(records));
+        tableModel.addTableModelListener(cache);
+        table.setSize(100, table.getRowHeight() * VISIBLE_ROWS);
+        when(colorer.getHighlightColor(any())).thenReturn(Color.RED);
+    }
+
+    @Test
+    void visibleRowsAreEvaluatedOnce() {
+        for (int column = 0; column < 3; ++column) {
+            for (int row = 0; row < VISIBLE_ROWS; ++row) {
+                assertThat(cache.getColor(table, row)).isEqualTo(Color.RED);
+            }
+        }
+
+        verify(colorer, times(VISIBLE_ROWS)).getHighlightColor(any());
+    }
+
+    @Test
+    void rowsOutsideVisiblePartAreEvaluated() {
+        assertThat(cache.getColor(table, MODEL_SIZE - 1)).isEqualTo(Color.RED);
+        assertThat(cache.getColor(table, MODEL_SIZE - 1)).isEqualTo(Color.RED);
+
+        verify(colorer, times(VISIBLE_ROWS + 1)).getHighlightColor(any());
+    }
+
+    @Test
+    void invalidatedColorsAreRecomputed() {
+        cache.getColor(table, 0);
+        when(colorer.getHighlightColor(any())).thenReturn(Color.BLUE);
+
+        cache.invalidate();
+
+        assertThat(cache.getColor(table, 0)).isEqualTo(Color.BLUE);
+    }
+
+    @Test
+    void appendingRowsKeepsColors() {
+        cache.getColor(table, 0);
+
+        tableModel.fireTableRowsInserted(MODEL_SIZE - 1, MODEL_SIZE - 1);
+        cache.getColor(table, 0);
+
+        verify(colorer, times(VISIBLE_ROWS)).getHighlightColor(any());
+    }
+
+    @Test
+    void updatingRowsDropsColors() {
+        cache.getColor(table, 0);
+        when(colorer.getHighlightColor(any())).thenReturn(null);
+
+        tableModel.fireTableRowsUpdated(0, MODEL_SIZE - 1);
+
+        assertThat(cache.getColor(table, 0)).isNull();
+    }
+}
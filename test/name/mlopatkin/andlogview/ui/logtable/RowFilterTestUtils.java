@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.logtable;
+
+import javax.swing.RowFilter;
+import javax.swing.table.TableModel;
+
+/**
+ * Helper methods to build row filters for tests of the log table.
+ */
+public final class RowFilterTestUtils {
+    private RowFilterTestUtils() {}
+
+    public static RowFilter<TableModel, Integer> hideRow(int hiddenRow) {
+        return new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return entry.getIdentifier() != hiddenRow;
+            }
+        };
+    }
+}
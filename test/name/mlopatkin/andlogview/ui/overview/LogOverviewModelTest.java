@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import static name.mlopatkin.andlogview.ui.logtable.RowFilterTestUtils.hideRow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import name.mlopatkin.andlogview.base.concurrent.TestExecutor;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
+import name.mlopatkin.andlogview.logmodel.MutableLogModel;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategyFactory;
+import name.mlopatkin.andlogview.ui.logtable.LogModelFilter;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JTable;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+
+class LogOverviewModelTest {
+    private final MutableLogModel logModel = new MutableLogModel();
+    private final LogRecordTableModel tableModel = new LogRecordTableModel();
+    private final LogModelFilter filter = mock();
+    private final TestExecutor backgroundExecutor = new TestExecutor();
+    private final AtomicInteger changes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        tableModel.setLogModel(logModel);
+        when(filter.snapshotHighlightColors()).thenReturn(record -> null);
+    }
+
+    @Test
+    void overviewIsComputedInBackground() {
+        logModel.append(records(LogRecord.Priority.ERROR, "foo", "bar"));
+        var overview = createOverview(new JTable(tableModel));
+
+        assertThat(overview.getBuckets().getRowCount()).isZero();
+
+        backgroundExecutor.flush();
+
+        var buckets = overview.getBuckets();
+        assertThat(buckets.getRowCount()).isEqualTo(2);
+        assertThat(buckets.getErrors(0)).isEqualTo(1);
+        assertThat(buckets.getErrors(1)).isEqualTo(1);
+        assertThat(changes).hasValue(1);
+    }
+
+    @Test
+    void searchHitsAreCounted() throws Exception {
+        logModel.append(records(LogRecord.Priority.INFO, "foo", "bar", "foo"));
+        var overview = createOverview(new JTable(tableModel));
+
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        backgroundExecutor.flush();
+
+        assertThat(hits(overview)).containsExactly(1, 0, 1);
+    }
+
+    @Test
+    void clearingSearchDropsHits() throws Exception {
+        logModel.append(records(LogRecord.Priority.INFO, "foo", "bar"));
+        var overview = createOverview(new JTable(tableModel));
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        backgroundExecutor.flush();
+
+        overview.onSearchStrategyCleared();
+        backgroundExecutor.flush();
+
+        assertThat(hits(overview)).containsExactly(0, 0);
+    }
+
+    @Test
+    void highlightedRowsAreCollectedWhenFilterChanges() {
+        logModel.append(records(LogRecord.Priority.INFO, "foo", "bar"));
+        var overview = createOverview(new JTable(tableModel));
+        backgroundExecutor.flush();
+
+        when(filter.snapshotHighlightColors()).thenReturn(
+                record -> record.getMessage().equals("bar") ? Color.YELLOW : null);
+        overview.onModelChange();
+        backgroundExecutor.flush();
+
+        var buckets = overview.getBuckets();
+        assertThat(buckets.getHighlighted(0)).isZero();
+        assertThat(buckets.getHighlighted(1)).isEqualTo(1);
+        assertThat(buckets.getColor(1)).isEqualTo(Color.YELLOW);
+    }
+
+    @Test
+    void appendedRowsAreAddedImmediately() throws Exception {
+        logModel.append(records(LogRecord.Priority.INFO, "foo"));
+        var overview = createOverview(new JTable(tableModel));
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        backgroundExecutor.flush();
+        changes.set(0);
+
+        logModel.append(records(LogRecord.Priority.INFO, "bar", "foo"));
+
+        assertThat(backgroundExecutor.flush()).isFalse();
+        assertThat(hits(overview)).containsExactly(1, 0, 1);
+        assertThat(changes).hasValue(1);
+    }
+
+    @Test
+    void rowsAppendedWhileComputingAreAdded() throws Exception {
+        logModel.append(records(LogRecord.Priority.INFO, "foo"));
+        var overview = createOverview(new JTable(tableModel));
+
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        logModel.append(records(LogRecord.Priority.INFO, "foo"));
+        backgroundExecutor.flush();
+
+        assertThat(hits(overview)).containsExactly(1, 1);
+    }
+
+    @Test
+    void hiddenRowsAreSkipped() {
+        logModel.append(records(LogRecord.Priority.WARN, "foo", "bar", "baz"));
+        var table = new JTable(tableModel);
+        var sorter = new TableRowSorter<TableModel>(tableModel);
+        table.setRowSorter(sorter);
+        var overview = createOverview(table);
+        backgroundExecutor.flush();
+
+        sorter.setRowFilter(hideRow(1));
+        backgroundExecutor.flush();
+
+        var buckets = overview.getBuckets();
+        assertThat(buckets.getRowCount()).isEqualTo(2);
+        assertThat(buckets.getWarnings(0) + buckets.getWarnings(1)).isEqualTo(2);
+    }
+
+    @Test
+    void insertingRowsInTheMiddleStartsOver() throws Exception {
+        logModel.append(records(LogRecord.Priority.INFO, "foo", "bar"));
+        var overview = createOverview(new JTable(tableModel));
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        backgroundExecutor.flush();
+
+        logModel.insert(1, records(LogRecord.Priority.INFO, "foo"));
+        backgroundExecutor.flush();
+
+        assertThat(hits(overview)).containsExactly(1, 1, 0);
+    }
+
+    @Test
+    void supersededComputationIsDropped() throws Exception {
+        logModel.append(records(LogRecord.Priority.INFO, "foo", "bar"));
+        var overview = createOverview(new JTable(tableModel));
+
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        overview.onNewSearchStrategy(RowSearchStrategyFactory.compile("bar"));
+        backgroundExecutor.flush();
+
+        assertThat(hits(overview)).containsExactly(0, 1);
+        assertThat(changes).hasValue(1);
+    }
+
+    private LogOverviewModel createOverview(JTable table) {
+        var overview =
+                new LogOverviewModel(table, tableModel, filter, backgroundExecutor, MoreExecutors.directExecutor());
+        overview.setChangeListener(changes::incrementAndGet);
+        return overview;
+    }
+
+    private static List<Integer> hits(LogOverviewModel overview) {
+        var buckets = overview.getBuckets();
+        var result = new ArrayList<Integer>();
+        for (int i = 0; i < buckets.getBucketCount(); ++i) {
+            result.add(buckets.getHits(i));
+        }
+        return result;
+    }
+
+    private static LogRecord[] records(LogRecord.Priority priority, String... messages) {
+        return Arrays.stream(messages)
+                .map(message -> LogRecordUtils.forMessage(message).withPriority(priority))
+                .toArray(LogRecord[]::new);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.overview;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.logmodel.LogRecord.Priority;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+class OverviewBucketsTest {
+    private final Palette palette = new Palette();
+    private final OverviewBuckets buckets = new OverviewBuckets(palette);
+
+    @Test
+    void rowsAreCountedPerBucket() {
+        buckets.add(priority(Priority.ERROR), Palette.NO_COLOR, true);
+        buckets.add(priority(Priority.WARN), Palette.NO_COLOR, false);
+        buckets.add(priority(Priority.FATAL), palette.indexOf(Color.RED), true);
+
+        assertThat(buckets.getRowCount()).isEqualTo(3);
+        assertThat(buckets.getBucketCount()).isEqualTo(3);
+        assertThat(buckets.getRowsPerBucket()).isEqualTo(1);
+        assertThat(buckets.getHits(0)).isEqualTo(1);
+        assertThat(buckets.getErrors(0)).isEqualTo(1);
+        assertThat(buckets.getWarnings(1)).isEqualTo(1);
+        assertThat(buckets.getErrors(2)).isEqualTo(1);
+        assertThat(buckets.getHighlighted(2)).isEqualTo(1);
+        assertThat(buckets.getColor(2)).isEqualTo(Color.RED);
+        assertThat(buckets.getColor(0)).isNull();
+    }
+
+    @Test
+    void bucketsAreMergedWhenFull() {
+        addRows(OverviewBuckets.BUCKET_COUNT + 1, Priority.ERROR, true);
+
+        assertThat(buckets.getRowsPerBucket()).isEqualTo(2);
+        assertThat(buckets.getBucketCount()).isEqualTo(OverviewBuckets.BUCKET_COUNT / 2 + 1);
+        assertThat(buckets.getRows(0)).isEqualTo(2);
+        assertThat(buckets.getHits(0)).isEqualTo(2);
+        assertThat(buckets.getErrors(0)).isEqualTo(2);
+        int last = buckets.getBucketCount() - 1;
+        assertThat(buckets.getRows(last)).isEqualTo(1);
+        assertThat(buckets.getHits(last)).isEqualTo(1);
+    }
+
+    @Test
+    void totalsArePreservedByMerging() {
+        int rowCount = 5 * OverviewBuckets.BUCKET_COUNT + 3;
+        addRows(rowCount, Priority.WARN, false);
+
+        int warnings = 0;
+        int rows = 0;
+        for (int i = 0; i < buckets.getBucketCount(); ++i) {
+            warnings += buckets.getWarnings(i);
+            rows += buckets.getRows(i);
+        }
+        assertThat(buckets.getBucketCount()).isLessThanOrEqualTo(OverviewBuckets.BUCKET_COUNT);
+        assertThat(warnings).isEqualTo(rowCount);
+        assertThat(rows).isEqualTo(rowCount);
+    }
+
+    @Test
+    void mergedBucketKeepsColorOfFirstHighlightedRow() {
+        addRows(OverviewBuckets.BUCKET_COUNT - 2, Priority.INFO, false);
+        buckets.add(priority(Priority.INFO), Palette.NO_COLOR, false);
+        buckets.add(priority(Priority.INFO), palette.indexOf(Color.GREEN), false);
+        buckets.add(priority(Priority.INFO), palette.indexOf(Color.BLUE), false);
+
+        int mergedBucket = (OverviewBuckets.BUCKET_COUNT - 1) / 2;
+        assertThat(buckets.getHighlighted(mergedBucket)).isEqualTo(1);
+        assertThat(buckets.getColor(mergedBucket)).isEqualTo(Color.GREEN);
+        assertThat(buckets.getColor(mergedBucket + 1)).isEqualTo(Color.BLUE);
+    }
+
+    private void addRows(int count, Priority priority, boolean isHit) {
+        for (int i = 0; i < count; ++i) {
+            buckets.add(priority(priority), Palette.NO_COLOR, isHit);
+        }
+    }
+
+    private static byte priority(Priority priority) {
+        return (byte) priority.ordinal();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search;
+
+import name.mlopatkin.andlogview.search.MatchSet;
+import name.mlopatkin.andlogview.search.Search;
+
+import com.google.common.base.Preconditions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Optional;
+
+public class FakeMatchCounter implements SearchPresenter.MatchCounter<Integer> {
+    private @Nullable MatchSet matches;
+    private Runnable listener = () -> {};
+
+    public void setMatches(int... matches) {
+        this.matches = new MatchSet(matches);
+        listener.run();
+    }
+
+    @Override
+    public boolean isCounted() {
+        return matches != null;
+    }
+
+    @Override
+    public int getMatchCount() {
+        return getMatches().size();
+    }
+
+    @Override
+    public int getMatchNumber(Integer position) {
+        return getMatches().getMatchNumber(position);
+    }
+
+    @Override
+    public Optional<Integer> findMatch(Integer startPosition, Search.Direction direction) {
+        int found = getMatches().find(startPosition, direction);
+        return found >= 0 ? Optional.of(found) : Optional.empty();
+    }
+
+    @Override
+    public void setMatchesChangedListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    private MatchSet getMatches() {
+        Preconditions.checkState(matches != null, "Matches are not counted");
+        return matches;
+    }
+}
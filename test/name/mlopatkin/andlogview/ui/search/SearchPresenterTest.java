@@ -18,6 +18,7 @@ package name.mlopatkin.andlogview.ui.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -41,12 +42,26 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayDeque;
 import java.util.Objects;
 import java.util.function.Predicate;
 
 @ExtendWith(MockitoExtension.class)
 class SearchPresenterTest {
-    final SearchPatternCompiler<Predicate<Integer>> patternCompiler = SearchPresenterTest::compilePredicate;
+    // The predicate that pretends its evaluations were aborted because the pattern is too complex.
+    static final Predicate<Integer> ABORTED_PREDICATE = i -> false;
+
+    final SearchPatternCompiler<Predicate<Integer>> patternCompiler = new SearchPatternCompiler<>() {
+        @Override
+        public Predicate<Integer> compile(String patternText) throws RequestCompilationException {
+            return compilePredicate(patternText);
+        }
+
+        @Override
+        public boolean hasAbortedEvaluations(Predicate<Integer> pattern) {
+            return pattern == ABORTED_PREDICATE;
+        }
+    };
 
     @Spy
     FakeSearchableView searchableView;
@@ -60,6 +75,8 @@ class SearchPresenterTest {
     @Spy
     FakeSearchPromptView searchPromptView;
 
+    final FakeMatchCounter matchCounter = new FakeMatchCounter();
+
     @Test
     void showsPromptViewWhenRequested() {
         var presenter = createPresenter(createModel(0, 1, 2));
@@ -140,6 +157,17 @@ class SearchPresenterTest {
         verify(statusPresenter).showNotFoundMessage();
     }
 
+    @Test
+    void startSearchShowsIncompleteNoMatchIfEvaluationsWereAborted() {
+        var presenter = createPresenter(createModel(0, 1, 2));
+
+        presenter.showSearchPrompt();
+        searchPromptView.commit("aborted");
+
+        verify(statusPresenter).showIncompleteNotFoundMessage();
+        verify(statusPresenter, never()).showNotFoundMessage();
+    }
+
     @Test
     void searchNextShowsNext() {
         var presenter = createPresenter(createModel(0, 1, 2));
@@ -286,6 +314,110 @@ class SearchPresenterTest {
         verify(searchableView).showSearchResult(2);
     }
 
+    @Test
+    void stoppingSearchCancelsSearchInProgress() {
+        var searchTasks = new ArrayDeque<Runnable>();
+        var model = new SearchModel<Integer, Integer, Predicate<Integer>>(
+                new ListSearchModel<>(Ints.asList(0, 1, 2)), searchTasks::add);
+        var presenter = createPresenter(model);
+
+        presenter.showSearchPrompt();
+        searchPromptView.commit("1");
+        presenter.stopSearch();
+        searchTasks.forEach(Runnable::run);
+
+        verify(searchableView, never()).showSearchResult(any());
+        verify(statusPresenter, never()).showNotFoundMessage();
+    }
+
+    @Test
+    void cancellingPendingSearchResetsStatus() {
+        var searchTasks = new ArrayDeque<Runnable>();
+        var model = new SearchModel<Integer, Integer, Predicate<Integer>>(
+                new ListSearchModel<>(Ints.asList(0, 1, 2)), searchTasks::add);
+        var presenter = createPresenter(model);
+
+        presenter.showSearchPrompt();
+        searchPromptView.commit("1");
+        reset(statusPresenter);
+        model.cancelPendingSearch();
+        searchTasks.forEach(Runnable::run);
+
+        verify(statusPresenter).reset();
+        verify(searchableView, never()).showSearchResult(any());
+    }
+
+    @Test
+    void countedMatchesAreFoundWithoutSearching() {
+        withSelectedRow(0);
+        var searchTasks = new ArrayDeque<Runnable>();
+        var model = new SearchModel<Integer, Integer, Predicate<Integer>>(
+                new ListSearchModel<>(Ints.asList(0, 1, 2, 3, 4, 5)), searchTasks::add);
+        var presenter = createPresenter(model);
+        withSearchStarted(presenter, "even");
+        searchTasks.clear();
+        matchCounter.setMatches(0, 2, 4);
+
+        presenter.findNext();
+        presenter.findNext();
+        presenter.findPrev();
+
+        var order = inOrder(searchableView);
+        order.verify(searchableView).showSearchResult(2);
+        order.verify(searchableView).showSearchResult(4);
+        order.verify(searchableView).showSearchResult(2);
+        assertThat(searchTasks).isEmpty();
+    }
+
+    @Test
+    void countedMatchesShowNoResultsWhenExhausted() {
+        withSelectedRow(4);
+        var presenter = createPresenter(createModel(0, 1, 2, 3, 4, 5));
+        withSearchStarted(presenter, "even");
+        matchCounter.setMatches(0, 2, 4);
+
+        presenter.findNext();
+
+        verify(searchableView, never()).showSearchResult(any());
+        verify(statusPresenter).showNotFoundMessage();
+    }
+
+    @Test
+    void foundMatchNumberIsShownIfMatchesAreCounted() {
+        var presenter = createPresenter(createModel(0, 1, 2, 3, 4, 5));
+        withSearchStarted(presenter, "even");
+        matchCounter.setMatches(0, 2, 4);
+
+        presenter.findNext();
+
+        verify(statusPresenter).showMatchNumber(2, 3);
+    }
+
+    @Test
+    void foundMatchNumberIsShownWhenMatchesAreCounted() {
+        var presenter = createPresenter(createModel(0, 1, 2, 3, 4, 5));
+        withSearchStarted(presenter, "even");
+        presenter.findNext();
+
+        verify(statusPresenter, never()).showMatchNumber(anyInt(), anyInt());
+
+        matchCounter.setMatches(0, 2, 4);
+
+        verify(statusPresenter).showMatchNumber(2, 3);
+    }
+
+    @Test
+    void matchNumberIsNotShownAfterSearchIsStopped() {
+        var presenter = createPresenter(createModel(0, 1, 2, 3, 4, 5));
+        withSearchStarted(presenter, "even");
+        presenter.findNext();
+
+        presenter.stopSearch();
+        matchCounter.setMatches(0, 2, 4);
+
+        verify(statusPresenter, never()).showMatchNumber(anyInt(), anyInt());
+    }
+
     private SearchModel<Integer, Integer, Predicate<Integer>> createModel(int... values) {
         var model =
                 new SearchModel<Integer, Integer, Predicate<Integer>>(new ListSearchModel<>(Ints.asList(values)));
@@ -297,7 +429,7 @@ class SearchPresenterTest {
             SearchModel<Integer, Integer, Predicate<Integer>> model) {
         return new SearchPresenter<>(new TestSequentialExecutor(MoreExecutors.directExecutor()), model, patternCompiler,
                 searchableView,
-                statusPresenter, searchPromptView);
+                statusPresenter, searchPromptView, matchCounter);
     }
 
     private void withSelectedRow(int index) {
@@ -316,6 +448,7 @@ class SearchPresenterTest {
         return switch (predicate) {
             case "odd" -> i -> i % 2 == 1;
             case "even" -> i -> i % 2 == 0;
+            case "aborted" -> ABORTED_PREDICATE;
             default -> equalsToValue(predicate);
         };
     }
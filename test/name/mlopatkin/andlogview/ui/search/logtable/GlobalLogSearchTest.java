@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import static name.mlopatkin.andlogview.filters.ToggleFilter.hide;
+import static name.mlopatkin.andlogview.filters.ToggleFilter.show;
+import static name.mlopatkin.andlogview.logmodel.LogRecordUtils.forMessages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.base.concurrent.TestExecutor;
+import name.mlopatkin.andlogview.filters.Filter;
+import name.mlopatkin.andlogview.filters.FilterChain;
+import name.mlopatkin.andlogview.filters.MutableFilterModel;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.MutableLogModel;
+import name.mlopatkin.andlogview.search.RequestCompilationException;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategyFactory;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+class GlobalLogSearchTest {
+    private final MutableLogModel logModel = new MutableLogModel();
+    private final LogRecordTableModel tableModel = new LogRecordTableModel();
+    private final MutableFilterModel filterModel = MutableFilterModel.create();
+    private final FilterChain filterChain = new FilterChain(filterModel);
+    private final List<GlobalLogSearch.IndexWindow> indexWindows = new ArrayList<>();
+    private final TestExecutor backgroundExecutor = new TestExecutor();
+
+    @Test
+    void allRowsAreSearchedInBackground() throws Exception {
+        logModel.append(forMessages("foo", "bar", "foo"));
+        var search = createSearch();
+
+        var report = search.search(RowSearchStrategyFactory.compile("foo"));
+
+        assertThat(report.isDone()).isFalse();
+
+        backgroundExecutor.flush();
+
+        assertThat(report.getNow(null).matchCount()).isEqualTo(2);
+        assertThat(report.getNow(null).visibleMatchCount()).isEqualTo(2);
+        assertThat(report.getNow(null).hiddenMatchCount()).isZero();
+    }
+
+    @Test
+    void matchesAreCountedForHidingFilters() throws Exception {
+        logModel.append(forMessages("foo 1", "foo 2", "foo 3", "bar"));
+        var hideFirst = hide(message("foo 1"));
+        var hideFooOrBar = hide(message("foo 1").or(message("foo 2")).or(message("bar")));
+        filterModel.addFilter(hideFirst);
+        filterModel.addFilter(hideFooOrBar);
+
+        var report = searchAll("foo");
+
+        assertThat(report.matchCount()).isEqualTo(3);
+        assertThat(report.visibleMatchCount()).isEqualTo(1);
+        assertThat(report.hidingFilters().count(hideFirst)).isEqualTo(1);
+        assertThat(report.hidingFilters().count(hideFooOrBar)).isEqualTo(2);
+    }
+
+    @Test
+    void matchesNotShownByShowFilterAreCountedForIt() throws Exception {
+        logModel.append(forMessages("foo 1", "foo 2"));
+        var showFirst = show(message("foo 1"));
+        filterModel.addFilter(showFirst);
+
+        var report = searchAll("foo");
+
+        assertThat(report.visibleMatchCount()).isEqualTo(1);
+        assertThat(report.hidingFilters().count(showFirst)).isEqualTo(1);
+    }
+
+    @Test
+    void matchesAreCountedForIndexWindows() throws Exception {
+        logModel.append(forMessages("foo 1", "foo 2", "bar"));
+        indexWindows.add(new GlobalLogSearch.IndexWindow("first", message("foo 1")));
+        indexWindows.add(new GlobalLogSearch.IndexWindow("all", record -> true));
+
+        var report = searchAll("foo");
+
+        assertThat(report.indexWindowMatches()).containsExactly(
+                new GlobalLogSearch.IndexWindowMatches("first", 1),
+                new GlobalLogSearch.IndexWindowMatches("all", 2));
+    }
+
+    @Test
+    void filtersChangedAfterSearchStartDoNotAffectReport() throws Exception {
+        logModel.append(forMessages("foo"));
+        var search = createSearch();
+
+        var report = search.search(RowSearchStrategyFactory.compile("foo"));
+        filterModel.addFilter(hide(record -> true));
+        backgroundExecutor.flush();
+
+        assertThat(report.getNow(null).visibleMatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void newSearchCancelsPreviousOne() throws Exception {
+        logModel.append(forMessages("foo", "bar"));
+        var search = createSearch();
+
+        var first = search.search(RowSearchStrategyFactory.compile("foo"));
+        var second = search.search(RowSearchStrategyFactory.compile("bar"));
+        backgroundExecutor.flush();
+
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(second.getNow(null).matchCount()).isEqualTo(1);
+    }
+
+    private GlobalLogSearch.Report searchAll(String pattern) throws RequestCompilationException {
+        var report = createSearch().search(RowSearchStrategyFactory.compile(pattern));
+        backgroundExecutor.flush();
+        return report.getNow(null);
+    }
+
+    private GlobalLogSearch createSearch() {
+        tableModel.setLogModel(logModel);
+        return new GlobalLogSearch(tableModel, new GlobalLogSearch.FilterSnapshots() {
+            @Override
+            public Function<LogRecord, ? extends List<? extends Filter>> snapshotHidingFilters() {
+                return filterChain.snapshotHidingFilters();
+            }
+
+            @Override
+            public List<GlobalLogSearch.IndexWindow> snapshotIndexWindows() {
+                return List.copyOf(indexWindows);
+            }
+        }, backgroundExecutor);
+    }
+
+    private static Predicate<LogRecord> message(String message) {
+        return record -> record.getMessage().equals(message);
+    }
+}
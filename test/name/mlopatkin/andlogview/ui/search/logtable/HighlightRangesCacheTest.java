@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.logmodel.Field;
+import name.mlopatkin.andlogview.logmodel.LogRecord;
+import name.mlopatkin.andlogview.logmodel.LogRecordUtils;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategy;
+import name.mlopatkin.andlogview.search.text.TextHighlighter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class HighlightRangesCacheTest {
+    private final CountingStrategy strategy = new CountingStrategy();
+
+    @Test
+    void rangesAreAppliedToAllHighlighters() {
+        var cache = new HighlightRangesCache(10);
+        var record = LogRecordUtils.forMessage("foo bar foo");
+        var first = new RecordingHighlighter();
+        var second = new RecordingHighlighter();
+
+        cache.highlight(strategy, record, Field.MESSAGE, first, second);
+
+        assertThat(first.ranges).containsExactly(List.of(0, 3), List.of(8, 11));
+        assertThat(second.ranges).containsExactly(List.of(0, 3), List.of(8, 11));
+    }
+
+    @Test
+    void strategyRunsOncePerCachedField() {
+        var cache = new HighlightRangesCache(10);
+        var record = LogRecordUtils.forMessage("foo");
+        var highlighter = new RecordingHighlighter();
+
+        cache.highlight(strategy, record, Field.MESSAGE, highlighter);
+        cache.highlight(strategy, record, Field.MESSAGE, highlighter);
+        cache.highlight(strategy, record, Field.TAG, highlighter);
+
+        assertThat(strategy.calls).isEqualTo(2);
+        assertThat(highlighter.ranges).containsExactly(List.of(0, 3), List.of(0, 3));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() {
+        var cache = new HighlightRangesCache(2);
+        var first = LogRecordUtils.forMessage("foo");
+        var second = LogRecordUtils.forMessage("foo");
+        var third = LogRecordUtils.forMessage("foo");
+
+        cache.highlight(strategy, first, Field.MESSAGE);
+        cache.highlight(strategy, second, Field.MESSAGE);
+        cache.highlight(strategy, first, Field.MESSAGE);
+        cache.highlight(strategy, third, Field.MESSAGE);
+        strategy.calls = 0;
+
+        cache.highlight(strategy, first, Field.MESSAGE);
+        cache.highlight(strategy, third, Field.MESSAGE);
+        assertThat(strategy.calls).isZero();
+
+        cache.highlight(strategy, second, Field.MESSAGE);
+        assertThat(strategy.calls).isEqualTo(1);
+    }
+
+    @Test
+    void clearedCacheRunsStrategyAgain() {
+        var cache = new HighlightRangesCache(10);
+        var record = LogRecordUtils.forMessage("foo");
+
+        cache.highlight(strategy, record, Field.MESSAGE);
+        cache.clear();
+        cache.highlight(strategy, record, Field.MESSAGE);
+
+        assertThat(strategy.calls).isEqualTo(2);
+    }
+
+    private static class CountingStrategy implements RowSearchStrategy {
+        int calls;
+
+        @Override
+        public void highlightColumn(LogRecord record, Field<?> field, TextHighlighter columnHighlighter) {
+            ++calls;
+            var text = String.valueOf(field.getValue(record));
+            for (int pos = text.indexOf("foo"); pos >= 0; pos = text.indexOf("foo", pos + 3)) {
+                columnHighlighter.highlightText(pos, pos + 3);
+            }
+        }
+
+        @Override
+        public boolean test(LogRecord record) {
+            return true;
+        }
+    }
+
+    private static class RecordingHighlighter implements TextHighlighter {
+        final List<List<Integer>> ranges = new ArrayList<>();
+
+        @Override
+        public void highlightText(int from, int to) {
+            ranges.add(List.of(from, to));
+        }
+    }
+}
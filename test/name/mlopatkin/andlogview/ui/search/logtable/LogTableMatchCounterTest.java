@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 the Andlogview authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package name.mlopatkin.andlogview.ui.search.logtable;
+
+import static name.mlopatkin.andlogview.logmodel.LogRecordUtils.forMessages;
+import static name.mlopatkin.andlogview.ui.logtable.RowFilterTestUtils.hideRow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import name.mlopatkin.andlogview.base.concurrent.TestExecutor;
+import name.mlopatkin.andlogview.logmodel.MutableLogModel;
+import name.mlopatkin.andlogview.search.RequestCompilationException;
+import name.mlopatkin.andlogview.search.Search;
+import name.mlopatkin.andlogview.search.logrecord.RowSearchStrategyFactory;
+import name.mlopatkin.andlogview.ui.logtable.LogRecordTableModel;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JTable;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+
+class LogTableMatchCounterTest {
+    private final MutableLogModel logModel = new MutableLogModel();
+    private final LogRecordTableModel tableModel = new LogRecordTableModel();
+    private final TestExecutor backgroundExecutor = new TestExecutor();
+    private final AtomicInteger matchesChanged = new AtomicInteger();
+
+    @Test
+    void matchesAreCountedInBackground() throws Exception {
+        logModel.append(forMessages("foo", "bar", "foo"));
+        var counter = createCounter(new JTable(tableModel));
+
+        counter.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+
+        assertThat(counter.isCounted()).isFalse();
+
+        backgroundExecutor.flush();
+
+        assertThat(counter.isCounted()).isTrue();
+        assertThat(counter.getMatchCount()).isEqualTo(2);
+        assertThat(counter.getMatchNumber(TablePosition.fromModelIndex(2))).isEqualTo(2);
+        assertThat(matchesChanged).hasValue(1);
+    }
+
+    @Test
+    void matchesAreFoundByPosition() throws Exception {
+        logModel.append(forMessages("foo", "bar", "foo", "bar"));
+        var counter = createCounter(new JTable(tableModel));
+
+        withCountedSearch(counter, "foo");
+
+        assertThat(counter.findMatch(TablePosition.fromModelIndex(0), Search.Direction.FORWARD))
+                .map(TablePosition::getModelIndex).contains(2);
+        assertThat(counter.findMatch(TablePosition.fromModelIndex(3), Search.Direction.BACKWARD))
+                .map(TablePosition::getModelIndex).contains(2);
+        assertThat(counter.findMatch(TablePosition.fromModelIndex(2), Search.Direction.FORWARD)).isEmpty();
+    }
+
+    @Test
+    void appendedRowsAreCountedImmediately() throws Exception {
+        logModel.append(forMessages("foo", "bar"));
+        var counter = createCounter(new JTable(tableModel));
+        withCountedSearch(counter, "foo");
+
+        logModel.append(forMessages("bar", "foo"));
+
+        assertThat(counter.isCounted()).isTrue();
+        assertThat(counter.getMatchCount()).isEqualTo(2);
+        assertThat(counter.getMatchNumber(TablePosition.fromModelIndex(3))).isEqualTo(2);
+        assertThat(backgroundExecutor.flush()).isFalse();
+    }
+
+    @Test
+    void rowsAppendedWhileCountingAreCounted() throws Exception {
+        logModel.append(forMessages("foo", "bar"));
+        var counter = createCounter(new JTable(tableModel));
+
+        counter.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+        logModel.append(forMessages("foo"));
+        backgroundExecutor.flush();
+
+        assertThat(counter.getMatchCount()).isEqualTo(2);
+    }
+
+    @Test
+    void hiddenRowsAreNotCounted() throws Exception {
+        logModel.append(forMessages("foo", "bar", "foo"));
+        var table = new JTable(tableModel);
+        var sorter = new TableRowSorter<TableModel>(tableModel);
+        sorter.setRowFilter(hideRow(0));
+        table.setRowSorter(sorter);
+        var counter = createCounter(table);
+
+        withCountedSearch(counter, "foo");
+
+        assertThat(counter.getMatchCount()).isEqualTo(1);
+        assertThat(counter.getMatchNumber(TablePosition.fromModelIndex(2))).isEqualTo(1);
+    }
+
+    @Test
+    void refilteringStartsCountOver() throws Exception {
+        logModel.append(forMessages("foo", "bar", "foo"));
+        var table = new JTable(tableModel);
+        var sorter = new TableRowSorter<TableModel>(tableModel);
+        table.setRowSorter(sorter);
+        var counter = createCounter(table);
+        withCountedSearch(counter, "foo");
+
+        sorter.setRowFilter(hideRow(0));
+
+        assertThat(counter.isCounted()).isFalse();
+
+        backgroundExecutor.flush();
+
+        assertThat(counter.getMatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void insertingRowsInTheMiddleStartsCountOver() throws Exception {
+        logModel.append(forMessages("foo", "bar"));
+        var counter = createCounter(new JTable(tableModel));
+        withCountedSearch(counter, "foo");
+
+        logModel.insert(1, forMessages("foo"));
+
+        assertThat(counter.isCounted()).isFalse();
+
+        backgroundExecutor.flush();
+
+        assertThat(counter.getMatchCount()).isEqualTo(2);
+        assertThat(counter.getMatchNumber(TablePosition.fromModelIndex(1))).isEqualTo(2);
+    }
+
+    @Test
+    void clearingSearchDropsMatches() throws Exception {
+        logModel.append(forMessages("foo", "bar"));
+        var counter = createCounter(new JTable(tableModel));
+        counter.onNewSearchStrategy(RowSearchStrategyFactory.compile("foo"));
+
+        counter.onSearchStrategyCleared();
+        backgroundExecutor.flush();
+
+        assertThat(counter.isCounted()).isFalse();
+        assertThat(matchesChanged).hasValue(0);
+    }
+
+    private LogTableMatchCounter createCounter(JTable table) {
+        tableModel.setLogModel(logModel);
+        var counter = new LogTableMatchCounter(table, tableModel, backgroundExecutor, MoreExecutors.directExecutor());
+        counter.setMatchesChangedListener(matchesChanged::incrementAndGet);
+        return counter;
+    }
+
+    private void withCountedSearch(LogTableMatchCounter counter, String pattern) throws RequestCompilationException {
+        counter.onNewSearchStrategy(RowSearchStrategyFactory.compile(pattern));
+        backgroundExecutor.flush();
+        assertThat(counter.isCounted()).isTrue();
+    }
+}
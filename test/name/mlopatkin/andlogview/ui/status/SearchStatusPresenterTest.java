@@ -81,6 +81,50 @@ class SearchStatusPresenterTest {
         Assertions.assertFalse(mockView.getDisplayMessage().isPresent(), "Message should not be shown");
     }
 
+    @Test
+    void incompleteNotFoundMessageIsHiddenAfterTimeout() {
+        presenter.showIncompleteNotFoundMessage();
+
+        Assertions.assertTrue(mockView.getDisplayMessage().isPresent(), "Message should be shown");
+
+        mockScheduler.advance(SearchStatusPresenter.MESSAGE_SHOW_TIMEOUT_MS);
+
+        Assertions.assertFalse(mockView.getDisplayMessage().isPresent(), "Message should not be shown");
+    }
+
+    @Test
+    void progressMessageIsShownUntilReset() {
+        presenter.showSearchProgress(1000);
+        mockScheduler.advance(SearchStatusPresenter.MESSAGE_SHOW_TIMEOUT_MS);
+
+        Assertions.assertTrue(mockView.getDisplayMessage().isPresent(), "Message should be shown");
+
+        presenter.reset();
+
+        Assertions.assertFalse(mockView.getDisplayMessage().isPresent(), "Message should not be shown");
+    }
+
+    @Test
+    void progressMessageCancelsHidingNotFoundMessage() {
+        presenter.showNotFoundMessage();
+        presenter.showSearchProgress(1000);
+        mockScheduler.advance(SearchStatusPresenter.MESSAGE_SHOW_TIMEOUT_MS);
+
+        Assertions.assertTrue(mockView.getDisplayMessage().isPresent(), "Message should be shown");
+    }
+
+    @Test
+    void matchNumberIsShownUntilReset() {
+        presenter.showMatchNumber(37, 204);
+        mockScheduler.advance(SearchStatusPresenter.MESSAGE_SHOW_TIMEOUT_MS);
+
+        Assertions.assertEquals(Optional.of("Match 37 of 204"), mockView.getDisplayMessage());
+
+        presenter.reset();
+
+        Assertions.assertFalse(mockView.getDisplayMessage().isPresent(), "Message should not be shown");
+    }
+
     private static class MockView implements SearchStatusPresenter.View {
         private @Nullable String currentMessage;
 
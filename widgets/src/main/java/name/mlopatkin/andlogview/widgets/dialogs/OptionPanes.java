@@ -40,4 +40,14 @@ public final class OptionPanes {
     public static OptionPaneBuilder warning(String title) {
         return new OptionPaneBuilderImpl(title, JOptionPane.WARNING_MESSAGE);
     }
+
+    /**
+     * Creates a JOptionPane with the default information icon.
+     *
+     * @param title the dialog title
+     * @return a builder to further configure
+     */
+    public static OptionPaneBuilder information(String title) {
+        return new OptionPaneBuilderImpl(title, JOptionPane.INFORMATION_MESSAGE);
+    }
 }